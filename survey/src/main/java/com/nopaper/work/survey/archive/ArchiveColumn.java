@@ -0,0 +1,125 @@
+/**
+ * @package com.nopaper.work.survey.archive -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 9:05:26 am
+ * @git
+ */
+package com.nopaper.work.survey.archive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columns of an archive file: every column of survey_response and
+ * survey_response_answer, in table order.
+ */
+public enum ArchiveColumn {
+
+    RESPONSE_ID(Table.RESPONSES, "response_id", Type.UUID),
+    RESPONDENT_ID(Table.RESPONSES, "respondent_id", Type.TEXT),
+    IP_ADDRESS(Table.RESPONSES, "ip_address", Type.TEXT),
+    USER_AGENT(Table.RESPONSES, "user_agent", Type.TEXT),
+    STATUS(Table.RESPONSES, "status", Type.TEXT),
+    TOTAL_SCORE(Table.RESPONSES, "total_score", Type.DOUBLE),
+    MAX_SCORE(Table.RESPONSES, "max_score", Type.DOUBLE),
+    SCORE_PERCENTAGE(Table.RESPONSES, "score_percentage", Type.DOUBLE),
+    IS_PASSED(Table.RESPONSES, "is_passed", Type.BOOLEAN),
+    TIME_SPENT_SECONDS(Table.RESPONSES, "time_spent_seconds", Type.INT),
+    STARTED_AT(Table.RESPONSES, "started_at", Type.TIMESTAMP),
+    SUBMITTED_AT(Table.RESPONSES, "submitted_at", Type.TIMESTAMP),
+    CREATED_AT(Table.RESPONSES, "created_at", Type.TIMESTAMP),
+    UPDATED_AT(Table.RESPONSES, "updated_at", Type.TIMESTAMP),
+
+    ANSWER_ID(Table.ANSWERS, "answer_id", Type.UUID),
+    ANSWER_RESPONSE_ID(Table.ANSWERS, "response_id", Type.UUID),
+    QUESTION_ID(Table.ANSWERS, "question_id", Type.UUID),
+    OPTION_ID(Table.ANSWERS, "option_id", Type.UUID),
+    ANSWER_PAYLOAD(Table.ANSWERS, "answer_payload", Type.TEXT),
+    ANSWER_DATA(Table.ANSWERS, "answer_data", Type.BYTES),
+    ANSWER_VALUE(Table.ANSWERS, "answer_value", Type.TEXT),
+    ANSWER_SCORE(Table.ANSWERS, "answer_score", Type.DOUBLE),
+    IS_CORRECT(Table.ANSWERS, "is_correct", Type.BOOLEAN),
+    ANSWER_TIME_SPENT_SECONDS(Table.ANSWERS, "time_spent_seconds", Type.INT),
+    ANSWERED_AT(Table.ANSWERS, "answered_at", Type.TIMESTAMP),
+    ANSWER_CREATED_AT(Table.ANSWERS, "created_at", Type.TIMESTAMP),
+    ANSWER_UPDATED_AT(Table.ANSWERS, "updated_at", Type.TIMESTAMP);
+
+    /**
+     * Archived table.
+     */
+    public enum Table {
+        RESPONSES,
+        ANSWERS
+    }
+
+    /**
+     * Value type and its encoding (after a presence byte, 0 for null).
+     */
+    public enum Type {
+        /** Two big-endian longs. */
+        UUID,
+        /** int length + UTF-8 bytes. */
+        TEXT,
+        /** IEEE 754 double. */
+        DOUBLE,
+        /** int. */
+        INT,
+        /** One byte, 0 or 1. */
+        BOOLEAN,
+        /** long: microseconds since 1970-01-01T00:00 (LocalDateTime, no zone). */
+        TIMESTAMP,
+        /** int length + bytes. */
+        BYTES
+    }
+
+    private static final Map<Table, List<ArchiveColumn>> BY_TABLE = new EnumMap<>(Table.class);
+
+    static {
+        for (ArchiveColumn column : values()) {
+            BY_TABLE.computeIfAbsent(column.table, table -> new ArrayList<>()).add(column);
+        }
+        BY_TABLE.replaceAll((table, columns) -> Collections.unmodifiableList(columns));
+    }
+
+    private final Table table;
+    private final String columnName;
+    private final Type type;
+
+    ArchiveColumn(Table table, String columnName, Type type) {
+        this.table = table;
+        this.columnName = columnName;
+        this.type = type;
+    }
+
+    public Table table() {
+        return table;
+    }
+
+    /**
+     * @return Column name in the source table
+     */
+    public String columnName() {
+        return columnName;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * @return 0-based position within its table
+     */
+    public int position() {
+        return ordinal() - BY_TABLE.get(table).get(0).ordinal();
+    }
+
+    /**
+     * @return Columns of a table, in position order
+     */
+    public static List<ArchiveColumn> columns(Table table) {
+        return BY_TABLE.get(table);
+    }
+}
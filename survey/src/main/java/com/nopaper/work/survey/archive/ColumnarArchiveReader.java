@@ -0,0 +1,288 @@
+/**
+ * @package com.nopaper.work.survey.archive -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 9:41:53 am
+ * @git
+ */
+package com.nopaper.work.survey.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.nopaper.work.survey.archive.ArchiveColumn.Table;
+
+/**
+ * Scans a file written by {@link ColumnarArchiveWriter}.
+ *
+ * The footer is read on open; scans then map each needed column chunk of
+ * each row group read-only and inflate it straight from the mapping, so
+ * the file is paged in by the OS rather than copied through the heap, and
+ * columns that are not asked for are never touched. Memory is bounded by
+ * one row group of the projected columns.
+ *
+ * Not thread-safe; open one reader per scanning thread.
+ */
+public final class ColumnarArchiveReader implements Closeable {
+
+    private final FileChannel channel;
+    private final UUID surveyId;
+    private final Map<Table, Long> rowCounts = new EnumMap<>(Table.class);
+    private final List<Group> groups = new ArrayList<>();
+    private final Inflater inflater = new Inflater(true);
+
+    private ColumnarArchiveReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < 2 * Integer.BYTES + ColumnarArchiveWriter.TRAILER_BYTES) {
+            throw new IOException("Not an archive file: too short");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 2 * Integer.BYTES);
+        if (header.getInt() != ColumnarArchiveWriter.MAGIC || header.getInt() != ColumnarArchiveWriter.VERSION) {
+            throw new IOException("Not an archive file or unsupported version");
+        }
+        ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY,
+                size - ColumnarArchiveWriter.TRAILER_BYTES, ColumnarArchiveWriter.TRAILER_BYTES);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != ColumnarArchiveWriter.MAGIC || footerOffset < 0
+                || footerOffset > size - ColumnarArchiveWriter.TRAILER_BYTES) {
+            throw new IOException("Archive file is incomplete");
+        }
+
+        ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset,
+                size - ColumnarArchiveWriter.TRAILER_BYTES - footerOffset);
+        this.surveyId = new UUID(footer.getLong(), footer.getLong());
+        for (Table table : Table.values()) {
+            rowCounts.put(table, footer.getLong());
+        }
+        int groupCount = footer.getInt();
+        for (int g = 0; g < groupCount; g++) {
+            Table table = Table.values()[footer.get()];
+            int rows = footer.getInt();
+            int columns = ArchiveColumn.columns(table).size();
+            long[] offsets = new long[columns];
+            int[] compressed = new int[columns];
+            int[] raw = new int[columns];
+            for (int c = 0; c < columns; c++) {
+                offsets[c] = footer.getLong();
+                compressed[c] = footer.getInt();
+                raw[c] = footer.getInt();
+            }
+            groups.add(new Group(table, rows, offsets, compressed, raw));
+        }
+    }
+
+    /**
+     * @throws IOException if the file is missing, truncated or not an archive
+     */
+    public static ColumnarArchiveReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new ColumnarArchiveReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public UUID surveyId() {
+        return surveyId;
+    }
+
+    public long rowCount(Table table) {
+        return rowCounts.get(table);
+    }
+
+    /**
+     * Visit every row of a table in write order, decoding only the given columns.
+     *
+     * @param table   Table to scan
+     * @param columns Columns of the table to decode
+     * @param visitor Called once per row; the Row is reused, do not keep it
+     */
+    public void scan(Table table, Set<ArchiveColumn> columns, Consumer<Row> visitor) throws IOException {
+        List<ArchiveColumn> projected = new ArrayList<>();
+        for (ArchiveColumn column : columns) {
+            if (column.table() != table) {
+                throw new IllegalArgumentException(column + " is not a column of " + table);
+            }
+            projected.add(column);
+        }
+        Row row = new Row();
+        ByteBuffer[] chunks = new ByteBuffer[ArchiveColumn.columns(table).size()];
+        byte[][] scratch = new byte[chunks.length][];
+        for (Group group : groups) {
+            if (group.table() != table) {
+                continue;
+            }
+            for (ArchiveColumn column : projected) {
+                int c = column.position();
+                if (scratch[c] == null || scratch[c].length < group.raw()[c]) {
+                    scratch[c] = new byte[group.raw()[c]];
+                }
+                chunks[c] = inflate(group.offsets()[c], group.compressed()[c], scratch[c], group.raw()[c]);
+            }
+            for (int r = 0; r < group.rows(); r++) {
+                for (ArchiveColumn column : projected) {
+                    row.decode(column, chunks[column.position()]);
+                }
+                visitor.accept(row);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+
+    private ByteBuffer inflate(long offset, int compressed, byte[] target, int raw) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, compressed);
+        inflater.reset();
+        inflater.setInput(mapped);
+        try {
+            int filled = 0;
+            while (filled < raw) {
+                int n = inflater.inflate(target, filled, raw - filled);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                filled += n;
+            }
+            if (filled != raw) {
+                throw new IOException("Archive column chunk at " + offset + " is corrupt");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Archive column chunk at " + offset + " is corrupt", e);
+        }
+        return ByteBuffer.wrap(target, 0, raw);
+    }
+
+    // ========================================================================
+    // Row
+    // ========================================================================
+
+    /**
+     * Current row of a scan. Only the projected columns can be read.
+     */
+    public static final class Row {
+
+        private final boolean[] present = new boolean[ArchiveColumn.values().length];
+        private final boolean[] decoded = new boolean[ArchiveColumn.values().length];
+        private final long[] primitives = new long[ArchiveColumn.values().length];
+        private final Object[] objects = new Object[ArchiveColumn.values().length];
+
+        private Row() {
+        }
+
+        public boolean isNull(ArchiveColumn column) {
+            return !present[checked(column)];
+        }
+
+        public UUID uuid(ArchiveColumn column) {
+            return (UUID) objects[checked(column, ArchiveColumn.Type.UUID)];
+        }
+
+        public String text(ArchiveColumn column) {
+            return (String) objects[checked(column, ArchiveColumn.Type.TEXT)];
+        }
+
+        public byte[] bytes(ArchiveColumn column) {
+            return (byte[]) objects[checked(column, ArchiveColumn.Type.BYTES)];
+        }
+
+        /**
+         * @return Value, NaN if null
+         */
+        public double number(ArchiveColumn column) {
+            int c = checked(column, ArchiveColumn.Type.DOUBLE);
+            return present[c] ? Double.longBitsToDouble(primitives[c]) : Double.NaN;
+        }
+
+        /**
+         * @return Value, 0 if null
+         */
+        public int integer(ArchiveColumn column) {
+            return (int) primitives[checked(column, ArchiveColumn.Type.INT)];
+        }
+
+        /**
+         * @return Value, false if null
+         */
+        public boolean bool(ArchiveColumn column) {
+            return primitives[checked(column, ArchiveColumn.Type.BOOLEAN)] != 0;
+        }
+
+        public LocalDateTime timestamp(ArchiveColumn column) {
+            int c = checked(column, ArchiveColumn.Type.TIMESTAMP);
+            if (!present[c]) {
+                return null;
+            }
+            long micros = primitives[c];
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+
+        private void decode(ArchiveColumn column, ByteBuffer in) {
+            int c = column.ordinal();
+            decoded[c] = true;
+            present[c] = in.get() != 0;
+            primitives[c] = 0;
+            objects[c] = null;
+            if (!present[c]) {
+                return;
+            }
+            switch (column.type()) {
+                case UUID -> objects[c] = new UUID(in.getLong(), in.getLong());
+                case TEXT -> {
+                    int length = in.getInt();
+                    objects[c] = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+                    in.position(in.position() + length);
+                }
+                case BYTES -> {
+                    byte[] value = new byte[in.getInt()];
+                    in.get(value);
+                    objects[c] = value;
+                }
+                case DOUBLE -> primitives[c] = Double.doubleToRawLongBits(in.getDouble());
+                case INT -> primitives[c] = in.getInt();
+                case BOOLEAN -> primitives[c] = in.get();
+                case TIMESTAMP -> primitives[c] = in.getLong();
+            }
+        }
+
+        private int checked(ArchiveColumn column) {
+            if (!decoded[column.ordinal()]) {
+                throw new IllegalArgumentException(column + " is not part of the scan");
+            }
+            return column.ordinal();
+        }
+
+        private int checked(ArchiveColumn column, ArchiveColumn.Type type) {
+            if (column.type() != type) {
+                throw new IllegalArgumentException(column + " is " + column.type() + ", not " + type);
+            }
+            return checked(column);
+        }
+    }
+
+    private record Group(Table table, int rows, long[] offsets, int[] compressed, int[] raw) {
+    }
+}
@@ -0,0 +1,336 @@
+/**
+ * @package com.nopaper.work.survey.archive -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 9:14:08 am
+ * @git
+ */
+package com.nopaper.work.survey.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+import com.nopaper.work.survey.archive.ArchiveColumn.Table;
+import com.nopaper.work.survey.archive.ArchiveColumn.Type;
+
+/**
+ * Writes one survey's responses and answers to a columnar archive file.
+ *
+ * Rows are appended one value per column, then closed with endRow. Each
+ * table is cut into row groups of up to ROW_GROUP_ROWS rows (or
+ * MAX_GROUP_BYTES of raw data); within a group every column is stored as
+ * its own raw-deflate chunk, so a reader inflates only the columns it
+ * needs, and similar values (ids, statuses, repeated option ids) sit next
+ * to each other and compress well.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * header   MAGIC int, VERSION int
+ * groups   column chunks
+ * footer   survey id (2 longs), row count per table (longs),
+ *          group count int, per group: table byte, rows int,
+ *          per column of the table: offset long, compressed int, raw int
+ * trailer  footer offset long, MAGIC int
+ * </pre>
+ * The file is complete only once close returns (the trailer is written
+ * and forced to disk last); write to a temporary name and move it.
+ *
+ * Not thread-safe.
+ */
+public final class ColumnarArchiveWriter implements Closeable {
+
+    static final int MAGIC = 0x53564131; // "SVA1"
+    static final int VERSION = 1;
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Rows per row group.
+     */
+    public static final int ROW_GROUP_ROWS = 65_536;
+
+    /**
+     * Raw bytes after which a row group is cut early (long texts).
+     */
+    static final int MAX_GROUP_BYTES = 32 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final UUID surveyId;
+    private final Map<Table, TableBuffer> tables = new EnumMap<>(Table.class);
+    private final List<GroupEntry> groups = new ArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final byte[] deflateBuffer = new byte[64 * 1024];
+    private long position;
+    private boolean closed;
+
+    /**
+     * @param file     File to create (must not exist)
+     * @param surveyId Survey the rows belong to
+     */
+    public ColumnarArchiveWriter(Path file, UUID surveyId) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.surveyId = surveyId;
+        for (Table table : Table.values()) {
+            tables.put(table, new TableBuffer(table));
+        }
+        ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES).putInt(MAGIC).putInt(VERSION).flip();
+        write(header);
+    }
+
+    // ========================================================================
+    // Values
+    // ========================================================================
+
+    public ColumnarArchiveWriter uuid(ArchiveColumn column, UUID value) throws IOException {
+        DataOutputStream out = begin(column, Type.UUID, value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+        return this;
+    }
+
+    public ColumnarArchiveWriter text(ArchiveColumn column, String value) throws IOException {
+        DataOutputStream out = begin(column, Type.TEXT, value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        return this;
+    }
+
+    public ColumnarArchiveWriter number(ArchiveColumn column, Double value) throws IOException {
+        DataOutputStream out = begin(column, Type.DOUBLE, value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+        return this;
+    }
+
+    public ColumnarArchiveWriter integer(ArchiveColumn column, Integer value) throws IOException {
+        DataOutputStream out = begin(column, Type.INT, value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+        return this;
+    }
+
+    public ColumnarArchiveWriter bool(ArchiveColumn column, Boolean value) throws IOException {
+        DataOutputStream out = begin(column, Type.BOOLEAN, value != null);
+        if (value != null) {
+            out.writeBoolean(value);
+        }
+        return this;
+    }
+
+    public ColumnarArchiveWriter timestamp(ArchiveColumn column, LocalDateTime value) throws IOException {
+        DataOutputStream out = begin(column, Type.TIMESTAMP, value != null);
+        if (value != null) {
+            out.writeLong(toMicros(value));
+        }
+        return this;
+    }
+
+    public ColumnarArchiveWriter bytes(ArchiveColumn column, byte[] value) throws IOException {
+        DataOutputStream out = begin(column, Type.BYTES, value != null);
+        if (value != null) {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+        return this;
+    }
+
+    /**
+     * Close the current row of a table; every column must have been given a value.
+     */
+    public void endRow(Table table) throws IOException {
+        TableBuffer buffer = tables.get(table);
+        for (ArchiveColumn column : ArchiveColumn.columns(table)) {
+            if (buffer.filled[column.position()] != buffer.groupRows + 1) {
+                throw new IllegalStateException("No value for " + column + " in row " + buffer.rows);
+            }
+        }
+        buffer.groupRows++;
+        buffer.rows++;
+        if (buffer.groupRows >= ROW_GROUP_ROWS || buffer.rawBytes() >= MAX_GROUP_BYTES) {
+            flushGroup(buffer);
+        }
+    }
+
+    /**
+     * @return Rows ended so far in a table
+     */
+    public long rowCount(Table table) {
+        return tables.get(table).rows;
+    }
+
+    /**
+     * Flush the last row groups, write the footer and force the file to disk.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (TableBuffer buffer : tables.values()) {
+                flushGroup(buffer);
+            }
+            writeFooter();
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    // ========================================================================
+    // Internals
+    // ========================================================================
+
+    private DataOutputStream begin(ArchiveColumn column, Type type, boolean present) throws IOException {
+        if (column.type() != type) {
+            throw new IllegalArgumentException(column + " is " + column.type() + ", not " + type);
+        }
+        TableBuffer buffer = tables.get(column.table());
+        int position = column.position();
+        if (buffer.filled[position] != buffer.groupRows) {
+            throw new IllegalStateException(column + " already has a value in row " + buffer.rows);
+        }
+        buffer.filled[position]++;
+        DataOutputStream out = buffer.outs[position];
+        out.writeByte(present ? 1 : 0);
+        return out;
+    }
+
+    private void flushGroup(TableBuffer buffer) throws IOException {
+        if (buffer.groupRows == 0) {
+            return;
+        }
+        List<ArchiveColumn> columns = ArchiveColumn.columns(buffer.table);
+        long[] offsets = new long[columns.size()];
+        int[] compressed = new int[columns.size()];
+        int[] raw = new int[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            ColumnBytes bytes = buffer.bytes[c];
+            offsets[c] = position;
+            raw[c] = bytes.size();
+            compressed[c] = deflate(bytes.array(), bytes.size());
+            bytes.reset();
+        }
+        groups.add(new GroupEntry(buffer.table, buffer.groupRows, offsets, compressed, raw));
+        buffer.groupRows = 0;
+        Arrays.fill(buffer.filled, 0);
+    }
+
+    private int deflate(byte[] data, int length) throws IOException {
+        deflater.reset();
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        int written = 0;
+        while (!deflater.finished()) {
+            int n = deflater.deflate(deflateBuffer);
+            write(ByteBuffer.wrap(deflateBuffer, 0, n));
+            written += n;
+        }
+        return written;
+    }
+
+    private void writeFooter() throws IOException {
+        long footerOffset = position;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(surveyId.getMostSignificantBits());
+        out.writeLong(surveyId.getLeastSignificantBits());
+        for (Table table : Table.values()) {
+            out.writeLong(tables.get(table).rows);
+        }
+        out.writeInt(groups.size());
+        for (GroupEntry group : groups) {
+            out.writeByte(group.table().ordinal());
+            out.writeInt(group.rows());
+            for (int c = 0; c < group.offsets().length; c++) {
+                out.writeLong(group.offsets()[c]);
+                out.writeInt(group.compressed()[c]);
+                out.writeInt(group.raw()[c]);
+            }
+        }
+        out.writeLong(footerOffset);
+        out.writeInt(MAGIC);
+        write(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+
+    static long toMicros(LocalDateTime value) {
+        return Math.addExact(Math.multiplyExact(value.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+                value.getNano() / 1_000);
+    }
+
+    private record GroupEntry(Table table, int rows, long[] offsets, int[] compressed, int[] raw) {
+    }
+
+    /**
+     * ByteArrayOutputStream exposing its buffer, so chunks are deflated without a copy.
+     */
+    private static final class ColumnBytes extends ByteArrayOutputStream {
+
+        ColumnBytes() {
+            super(8 * 1024);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    private static final class TableBuffer {
+
+        final Table table;
+        final ColumnBytes[] bytes;
+        final DataOutputStream[] outs;
+        final int[] filled;
+        int groupRows;
+        long rows;
+
+        TableBuffer(Table table) {
+            this.table = table;
+            int columns = ArchiveColumn.columns(table).size();
+            this.bytes = new ColumnBytes[columns];
+            this.outs = new DataOutputStream[columns];
+            this.filled = new int[columns];
+            for (int c = 0; c < columns; c++) {
+                bytes[c] = new ColumnBytes();
+                outs[c] = new DataOutputStream(bytes[c]);
+            }
+        }
+
+        long rawBytes() {
+            long total = 0;
+            for (ColumnBytes column : bytes) {
+                total += column.size();
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * @package com.nopaper.work.survey.archive -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 9:02:41 am
+ * @git 
+ */
+/**
+ * Compressed columnar files holding the responses and answers of archived
+ * surveys, written once and scanned through memory maps.
+ */
+package com.nopaper.work.survey.archive;
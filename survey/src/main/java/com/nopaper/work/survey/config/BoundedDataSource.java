@@ -0,0 +1,108 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 5:06:37 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource that lets at most a fixed number of threads hold a connection,
+ * queueing the others on a fair semaphore in front of the pool.
+ *
+ * With virtual threads every request has its own thread, so thousands may
+ * ask the pool for one of its 20 connections at once. Waiting here instead
+ * of inside the pool:
+ * - parks virtual threads on a java.util.concurrent semaphore, which
+ *   releases their carrier thread; nothing pins a carrier while it waits
+ * - hands connections out in arrival order, so no request starves while
+ *   later ones keep winning the pool's handoff
+ * - keeps the pool's own borrowers to at most its size, so its handoff
+ *   queue and housekeeping never see a thundering herd
+ * A permit is taken before getConnection and given back when the
+ * connection is closed (returned to the pool). A thread that waits longer
+ * than the pool's connection timeout fails with the same exception type
+ * the pool would throw.
+ *
+ * Wrapped around the pool by VirtualThreadConfig; unwrap reaches the pool.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final long timeoutMillis;
+
+    /**
+     * @param target         Pooled DataSource
+     * @param maxConnections Connections that may be held at once (the pool size)
+     * @param timeoutMillis  Longest wait for a permit
+     */
+    public BoundedDataSource(DataSource target, int maxConnections, long timeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return bounded(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return bounded(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Connections currently held through this DataSource
+     */
+    public int inUse() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    /**
+     * @return Threads waiting for a connection here (an estimate)
+     */
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No database connection available within "
+                        + timeoutMillis + "ms (" + maxConnections + " in use, " + waiting() + " waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private Connection bounded(Connection connection) {
+        return ConnectionCloseHook.onClose(connection, permits::release);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:08:45 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adaptive database concurrency limit (app.survey.db-limit-enabled, on by
+ * default): the DataSource is wrapped in a LimitedDataSource whose limit
+ * starts at the pool size and follows observed latency between
+ * app.survey.db-limit-min and the pool size.
+ *
+ * Runs after VirtualThreadConfig's post-processor, so with virtual threads
+ * the limiter sits outside the BoundedDataSource and sheds before anything
+ * queues on its semaphore.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.survey.db-limit-enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Static: post-processors are created before the beans they process.
+     * SurveyProperties is looked up lazily for the same reason.
+     */
+    @Bean
+    static BeanPostProcessor limitedDataSourcePostProcessor(ObjectProvider<SurveyProperties> properties) {
+        return new LimitingPostProcessor(properties);
+    }
+
+    private static final class LimitingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<SurveyProperties> properties;
+
+        LimitingPostProcessor(ObjectProvider<SurveyProperties> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            HikariDataSource pool;
+            if (bean instanceof HikariDataSource hikari) {
+                pool = hikari;
+            } else if (bean instanceof BoundedDataSource bounded
+                    && bounded.getTargetDataSource() instanceof HikariDataSource hikari) {
+                pool = hikari;
+            } else {
+                return bean;
+            }
+            SurveyProperties settings = properties.getObject();
+            int max = pool.getMaximumPoolSize();
+            int min = Math.min(settings.getDbLimitMin(), max);
+            log.info("Adaptive concurrency limit on DataSource {}: {} to {} connections", beanName, min, max);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(min, max,
+                    settings.getDbLimitTolerance(), settings.getDbLimitReportingShare());
+            return new LimitedDataSource((DataSource) bean, limiter, settings.getDbLimitSubmitWait());
+        }
+
+        /**
+         * Ahead of ReplicaRoutingConfig's post-processor, which wraps the result.
+         */
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 100;
+        }
+    }
+}
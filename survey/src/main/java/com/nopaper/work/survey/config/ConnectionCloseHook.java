@@ -0,0 +1,52 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 6:31:14 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection proxy that runs an action when the connection is first closed
+ * (returned to the pool), for DataSources that account for held connections.
+ */
+final class ConnectionCloseHook {
+
+    private ConnectionCloseHook() {
+    }
+
+    /**
+     * @param connection Connection to hand out
+     * @param onClose    Runs once, after the first close() of the proxy
+     * @return Proxy delegating everything else; equal only to itself
+     */
+    static Connection onClose(Connection connection, Runnable onClose) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (method.getName().equals("close") && method.getParameterCount() == 0
+                                && closed.compareAndSet(false, true)) {
+                            onClose.run();
+                        }
+                    }
+                });
+    }
+}
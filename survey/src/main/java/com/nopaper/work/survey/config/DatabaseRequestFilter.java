@@ -0,0 +1,79 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 6:56:03 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter;
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter.Priority;
+import com.nopaper.work.survey.routing.ReplicaRouting;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-request database context:
+ * - the priority of the request for LimitedDataSource: SUBMIT for starting,
+ *   autosaving and submitting responses; REPORTING for statistics, exports
+ *   and archive reads, shed first; NORMAL for everything else
+ * - read-your-writes tracking for replica routing (ReplicaRouting)
+ */
+@Component
+public class DatabaseRequestFilter extends OncePerRequestFilter {
+
+    private static final PathPatternParser PARSER = PathPatternParser.defaultInstance;
+
+    private static final PathPattern SUBMIT = PARSER.parse("/api/surveys/*/responses");
+    private static final PathPattern START = PARSER.parse("/api/surveys/*/responses/start");
+    private static final PathPattern DRAFT = PARSER.parse("/api/surveys/*/responses/*/draft");
+
+    private static final List<PathPattern> REPORTING = List.of(
+            PARSER.parse("/api/surveys/*/stats/**"),
+            PARSER.parse("/api/surveys/*/responses/export"),
+            PARSER.parse("/api/surveys/*/archive/**"));
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority previous = AdaptiveConcurrencyLimiter.setPriority(classify(request));
+        ReplicaRouting.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.endRequest();
+            AdaptiveConcurrencyLimiter.restorePriority(previous);
+        }
+    }
+
+    static Priority classify(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI()
+                .substring(request.getContextPath().length()));
+        String method = request.getMethod();
+        if (HttpMethod.POST.matches(method) && (SUBMIT.matches(path) || START.matches(path))
+                || HttpMethod.PUT.matches(method) && DRAFT.matches(path)) {
+            return Priority.SUBMIT;
+        }
+        if (HttpMethod.GET.matches(method)) {
+            for (PathPattern pattern : REPORTING) {
+                if (pattern.matches(path)) {
+                    return Priority.REPORTING;
+                }
+            }
+        }
+        return Priority.NORMAL;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 6:44:20 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.nopaper.work.survey.errors.DatabaseOverloadedException;
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter;
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter.Priority;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSource admitting connection requests through an
+ * AdaptiveConcurrencyLimiter, so every repository call (JPA, JdbcTemplate,
+ * streaming readers) is covered at the one place they all pass.
+ *
+ * - The priority is the current thread's (set per request by
+ *   DatabaseRequestFilter, NORMAL for background work)
+ * - A connection request that is not admitted fails at once with
+ *   DatabaseOverloadedException (HTTP 503), instead of waiting out the
+ *   pool's connection timeout
+ * - The latency sample is how long the connection was held, from
+ *   getConnection to close: with open-in-view off, that is the transaction
+ *   or repository call, including its time queued in PostgreSQL
+ * - Only short, request-scoped work is sampled. REPORTING connections
+ *   (exports, statistics, archive reads) and background work without a
+ *   priority (archive writer, purge, expiry) hold connections for as long
+ *   as their data takes, not as long as the database makes them wait, so
+ *   they are released without a sample
+ * - A pool timeout (SQLTransientConnectionException from the pool) counts
+ *   as a drop and cuts the limit
+ *
+ * Wrapped around the pool by ConcurrencyLimitConfig; unwrap reaches the pool.
+ */
+@Slf4j
+public class LimitedDataSource extends DelegatingDataSource {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long submitWaitMillis;
+
+    /**
+     * @param target           Pooled DataSource
+     * @param limiter          Limiter admitting connection requests
+     * @param submitWaitMillis Longest wait of a SUBMIT request for a slot
+     */
+    public LimitedDataSource(DataSource target, AdaptiveConcurrencyLimiter limiter, long submitWaitMillis) {
+        super(target);
+        this.limiter = limiter;
+        this.submitWaitMillis = submitWaitMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Priority priority = AdaptiveConcurrencyLimiter.currentPriority();
+        long start = admit(priority);
+        try {
+            return limited(obtainTargetDataSource().getConnection(), start, isSampled(priority));
+        } catch (SQLException | RuntimeException e) {
+            fail(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Priority priority = AdaptiveConcurrencyLimiter.currentPriority();
+        long start = admit(priority);
+        try {
+            return limited(obtainTargetDataSource().getConnection(username, password), start,
+                    isSampled(priority));
+        } catch (SQLException | RuntimeException e) {
+            fail(e);
+            throw e;
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * @return Admission time in nanoseconds
+     */
+    private long admit(Priority priority) throws SQLException {
+        try {
+            if (!limiter.acquire(priority, submitWaitMillis, TimeUnit.MILLISECONDS)) {
+                log.debug("Shedding {} connection request: {} in flight, limit {}", priority,
+                        limiter.getInFlight(), limiter.getLimit());
+                throw new DatabaseOverloadedException(priority, limiter.getLimit());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+        return System.nanoTime();
+    }
+
+    private void fail(Exception e) {
+        if (e instanceof SQLTransientConnectionException) {
+            limiter.drop();
+        } else {
+            limiter.cancel();
+        }
+    }
+
+    private static boolean isSampled(Priority priority) {
+        return priority != Priority.REPORTING && AdaptiveConcurrencyLimiter.hasPriority();
+    }
+
+    private Connection limited(Connection connection, long start, boolean sampled) {
+        return ConnectionCloseHook.onClose(connection, sampled
+                ? () -> limiter.release(System.nanoTime() - start)
+                : limiter::cancel);
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:41:26 am
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector that counts SQL statements per thread.
+ *
+ * Registered through
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector
+ * so that every statement Hibernate prepares (including lazy loads) is seen.
+ * Loaders read the counter before and after a unit of work to report how
+ * many round-trips it really took.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<long[]> COUNTER = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return Number of statements prepared by Hibernate on the current thread so far
+     */
+    public static long currentCount() {
+        return COUNTER.get()[0];
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 8:44:57 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.nopaper.work.survey.routing.ReadFrom;
+import com.nopaper.work.survey.routing.ReadTarget;
+import com.nopaper.work.survey.routing.ReplicaRouting;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read/write routing to a PostgreSQL read replica, enabled by setting
+ * app.datasource.replica.jdbc-url. The replica gets its own Hikari pool,
+ * configured by any HikariConfig property under app.datasource.replica
+ * (username, password, maximum-pool-size, connection-timeout, ...);
+ * it is read-only and does not fail startup when the replica is down.
+ *
+ * The application DataSource becomes:
+ * LazyConnectionDataSourceProxy -> ReplicaRoutingDataSource -> primary
+ * (with its limiter and bound, if any) or replica pool.
+ * Runs after the other DataSource post-processors, so reads sent to the
+ * replica do not count against the primary's concurrency limit.
+ *
+ * @ReadFrom on service methods sets the thread's read target for the
+ * call; its advice runs outside the transaction advice.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+public class ReplicaRoutingConfig {
+
+    static final String REPLICA_PREFIX = "app.datasource.replica";
+
+    /**
+     * Static: post-processors are created before the beans they process.
+     * SurveyProperties is looked up lazily for the same reason.
+     */
+    @Bean
+    static BeanPostProcessor replicaRoutingPostProcessor(Environment environment,
+                                                         ObjectProvider<SurveyProperties> properties) {
+        return new RoutingPostProcessor(environment, properties);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor readFromAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ReadFrom.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ReadFrom.class));
+        MethodInterceptor interceptor = invocation -> {
+            ReadFrom readFrom = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), ReadFrom.class);
+            if (readFrom == null && invocation.getThis() != null) {
+                readFrom = AnnotatedElementUtils.findMergedAnnotation(AopUtils.getTargetClass(invocation.getThis()),
+                        ReadFrom.class);
+            }
+            if (readFrom == null) {
+                return invocation.proceed();
+            }
+            ReadTarget previous = ReplicaRouting.setTarget(readFrom.value());
+            try {
+                return invocation.proceed();
+            } finally {
+                ReplicaRouting.restoreTarget(previous);
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+        private final ObjectProvider<SurveyProperties> properties;
+
+        RoutingPostProcessor(Environment environment, ObjectProvider<SurveyProperties> properties) {
+            this.environment = environment;
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource || bean instanceof BoundedDataSource
+                    || bean instanceof LimitedDataSource)) {
+                return bean;
+            }
+            HikariConfig config = Binder.get(environment).bind(REPLICA_PREFIX, HikariConfig.class)
+                    .orElseGet(HikariConfig::new);
+            if (config.getPoolName() == null) {
+                config.setPoolName("replica");
+            }
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            log.info("Routing read-only work of DataSource {} to replica {}", beanName, config.getJdbcUrl());
+
+            SurveyProperties settings = properties.getObject();
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource((DataSource) bean,
+                    new HikariDataSource(config), TimeUnit.SECONDS.toMillis(settings.getReplicaMaxLag()),
+                    TimeUnit.SECONDS.toMillis(3 * settings.getReplicaLagCheckInterval()));
+            return new RoutingDataSourceProxy(routing);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+
+    /**
+     * Lazy proxy that also closes both pools when the context shuts down.
+     */
+    private static final class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource routing;
+
+        RoutingDataSourceProxy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() throws Exception {
+            routing.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 8:18:05 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.nopaper.work.survey.routing.ReadTarget;
+import com.nopaper.work.survey.routing.ReplicaRouting;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSource sending each connection to the primary or the read replica,
+ * as decided by ReplicaRouting, unless the replica is not fit to read from:
+ * - its lag, as last measured by ReplicaLagMonitor, exceeds maxLagMillis
+ * - the last measurement is older than staleAfterMillis, failed, or has
+ *   not been taken yet
+ * In those cases every read falls back to the primary.
+ *
+ * The decision is taken when the connection is fetched, so this sits
+ * behind a LazyConnectionDataSourceProxy (ReplicaRoutingConfig): the
+ * physical connection is only fetched at the first statement, after the
+ * transaction's read-only flag and the @ReadFrom target are known.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long staleAfterMillis;
+
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile long checkedAtMillis;
+
+    /**
+     * @param primary          Read-write DataSource
+     * @param replica          Read-only replica DataSource
+     * @param maxLagMillis     Highest replica lag that still allows reads from it
+     * @param staleAfterMillis Age after which a lag measurement no longer counts
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long maxLagMillis,
+                                    long staleAfterMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+        this.staleAfterMillis = staleAfterMillis;
+        setTargetDataSources(Map.of(ReadTarget.PRIMARY, primary, ReadTarget.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ReplicaRouting.route() == ReadTarget.REPLICA && isReplicaUsable()
+                ? ReadTarget.REPLICA
+                : ReadTarget.PRIMARY;
+    }
+
+    /**
+     * Record a lag measurement.
+     *
+     * @param lagMillis How far the replica is behind the primary
+     */
+    public void replicaLag(long lagMillis) {
+        boolean wasUsable = isReplicaUsable();
+        this.lagMillis = lagMillis;
+        this.checkedAtMillis = System.currentTimeMillis();
+        if (wasUsable != isReplicaUsable()) {
+            log.info(wasUsable ? "Replica {} ms behind, reading from the primary"
+                    : "Replica {} ms behind, reading from it", lagMillis);
+        }
+    }
+
+    /**
+     * Record that the replica could not be measured (down, unreachable).
+     */
+    public void replicaUnavailable() {
+        if (isReplicaUsable()) {
+            log.warn("Replica unavailable, reading from the primary");
+        }
+        this.lagMillis = Long.MAX_VALUE;
+    }
+
+    /**
+     * @return Whether reads routed to the replica are currently sent to it
+     */
+    public boolean isReplicaUsable() {
+        return lagMillis <= maxLagMillis && System.currentTimeMillis() - checkedAtMillis <= staleAfterMillis;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Close both pools on shutdown.
+     */
+    @Override
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable pool) {
+            pool.close();
+        }
+        if (primary.isWrapperFor(AutoCloseable.class)) {
+            primary.unwrap(AutoCloseable.class).close();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 12:51:02 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Application wiring for the survey service.
+ */
+@Configuration
+@EnableConfigurationProperties(SurveyProperties.class)
+@EnableScheduling
+public class SurveyConfig {
+
+    /**
+     * Redis template for binary values (String keys, raw byte[] values).
+     * Used for compactly encoded survey definitions.
+     *
+     * @param connectionFactory Redis connection factory from spring-data-redis
+     * @return Binary Redis template
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> binaryRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    /**
+     * Listener container for Redis pub/sub channels (e.g. survey invalidations).
+     *
+     * @param connectionFactory Redis connection factory from spring-data-redis
+     * @return Listener container; channels are added by their subscribers
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 12:48:15 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Application-specific survey settings bound from the app.survey.* keys
+ * of application.properties.
+ */
+@ConfigurationProperties(prefix = "app.survey")
+@Getter
+@Setter
+public class SurveyProperties {
+
+    /**
+     * How often to check for expired surveys (in seconds).
+     */
+    private long expiryCheckInterval = 3600;
+
+    /**
+     * How long survey definitions stay in Redis (in seconds).
+     */
+    private long cacheTtl = 3600;
+
+    /**
+     * Time a survey response session remains active (in minutes).
+     */
+    private long sessionTimeout = 120;
+
+    /**
+     * Channel used to broadcast survey definition invalidations:
+     * redis (pub/sub, default) or local (in-process, tests / single node).
+     */
+    private String invalidationBus = "redis";
+
+    /**
+     * How often in-memory answer statistics are flushed to survey_answer_stat (in seconds).
+     */
+    private long statsFlushInterval = 10;
+
+    /**
+     * How often response partitions are created and dropped (in seconds).
+     */
+    private long partitionMaintenanceInterval = 86400;
+
+    /**
+     * Monthly partitions of survey_response / survey_response_answer created
+     * ahead of the current month.
+     */
+    private int partitionMonthsAhead = 3;
+
+    /**
+     * Months of partitions kept before the current month; older partitions
+     * are detached and dropped. 0 keeps every partition.
+     */
+    private int partitionRetentionMonths = 0;
+
+    /**
+     * Responses deleted per purge chunk (one transaction each).
+     */
+    private int purgeChunkSize = 500;
+
+    /**
+     * Pause between purge chunks (in milliseconds).
+     */
+    private long purgeChunkPause = 50;
+
+    /**
+     * Purging waits while any streaming replica is further behind than this (in seconds).
+     */
+    private double purgeMaxReplicaLag = 10;
+
+    /**
+     * Purging waits while more than this share of the connection pool is in use
+     * or any thread is waiting for a connection.
+     */
+    private double purgeMaxPoolUsage = 0.8;
+
+    /**
+     * How often pending purge jobs are picked up (in seconds).
+     */
+    private long purgePollInterval = 60;
+
+    /**
+     * A running purge job whose heartbeat is older than this is taken over by another node (in seconds).
+     */
+    private long purgeStaleAfter = 300;
+
+    /**
+     * Responses older than this are purged daily (in days). 0 disables age-based purging.
+     */
+    private int responseRetentionDays = 0;
+
+    /**
+     * How often ARCHIVED surveys are moved to cold archive files (in seconds).
+     */
+    private long archiveInterval = 3600;
+
+    /**
+     * Where archive files are kept: local (a directory, default).
+     */
+    private String archiveStore = "local";
+
+    /**
+     * Directory of the local archive store.
+     */
+    private String archiveDirectory = "archive";
+
+    /**
+     * Time allowed past a response's time limit for the final submit to arrive (in seconds).
+     */
+    private long timeLimitGrace = 5;
+
+    /**
+     * How often Redis is scanned for response deadlines left behind by stopped nodes (in seconds).
+     */
+    private long timeLimitSweepInterval = 60;
+
+    /**
+     * How often drafts no longer being autosaved are written to the database (in seconds).
+     */
+    private long draftFlushInterval = 60;
+
+    /**
+     * Time without an autosave after which a response's draft is written to the database (in seconds).
+     */
+    private long draftIdleAfter = 300;
+
+    /**
+     * Adaptive database concurrency limit in front of the connection pool (LimitedDataSource).
+     */
+    private boolean dbLimitEnabled = true;
+
+    /**
+     * Lowest value the adaptive database concurrency limit may shrink to.
+     */
+    private int dbLimitMin = 2;
+
+    /**
+     * Latency increase over the long-term average tolerated before the limit shrinks (1.5 = 50% slower).
+     */
+    private double dbLimitTolerance = 1.5;
+
+    /**
+     * Share of the limit reporting requests (stats, exports, archive reads) may use.
+     */
+    private double dbLimitReportingShare = 0.5;
+
+    /**
+     * Longest wait of a response submit for a database slot before it is shed (in milliseconds).
+     */
+    private long dbLimitSubmitWait = 250;
+
+    /**
+     * Reads fall back from the replica to the primary while it is more than this far behind (in seconds).
+     */
+    private long replicaMaxLag = 5;
+
+    /**
+     * How often the replica's lag is measured (in seconds); a measurement older than three intervals
+     * no longer counts.
+     */
+    private long replicaLagCheckInterval = 5;
+}
@@ -0,0 +1,66 @@
+/**
+ * @package com.nopaper.work.survey.config -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 5:21:09 pm
+ * @git
+ */
+package com.nopaper.work.survey.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual-thread execution mode, enabled by the virtual-threads profile
+ * (application-virtual-threads.properties sets spring.threads.virtual.enabled).
+ *
+ * Spring Boot then serves requests on virtual threads and runs @Scheduled
+ * and @Async tasks on them; this adds the one thing it does not: the
+ * Hikari pool is wrapped in a BoundedDataSource sized to the pool, so
+ * requests beyond the pool size wait on a fair semaphore instead of
+ * inside Hikari.
+ *
+ * The services' own background workers (purge, archive, timer wheels)
+ * stay on dedicated platform threads in both modes.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Static: post-processors are created before the beans they process.
+     */
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor() {
+        return new BoundingPostProcessor();
+    }
+
+    /**
+     * Ordered ahead of ConcurrencyLimitConfig's post-processor, so the
+     * bounded pool ends up inside the limiter.
+     */
+    private static final class BoundingPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource pool) {
+                log.info("Bounding DataSource {} to {} concurrent connections for virtual threads", beanName,
+                        pool.getMaximumPoolSize());
+                return new BoundedDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * @package com.nopaper.work.survey.controller -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:21:40 pm
+ * @git
+ */
+package com.nopaper.work.survey.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nopaper.work.survey.enums.ResponseFileFormat;
+import com.nopaper.work.survey.services.ResponseExportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Response export endpoint. Rows are written straight to the servlet output
+ * stream while the database cursor advances; the body is gzip-compressed on
+ * the fly when the client accepts it.
+ */
+@RestController
+@RequestMapping("/api/surveys/{surveyId}/responses/export")
+public class ResponseExportController {
+
+    private final ResponseExportService exportService;
+
+    public ResponseExportController(ResponseExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping
+    public void export(@PathVariable UUID surveyId,
+                       @RequestParam(defaultValue = "CSV") ResponseFileFormat format,
+                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                       HttpServletResponse response) throws IOException {
+        boolean csv = format == ResponseFileFormat.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"survey-" + surveyId + (csv ? ".csv" : ".ndjson") + "\"");
+
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+            exportService.export(surveyId, format, gzip);
+            gzip.finish();
+        } else {
+            OutputStream out = response.getOutputStream();
+            exportService.export(surveyId, format, out);
+        }
+        response.flushBuffer();
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * @package com.nopaper.work.survey.controller -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 9:24:30 pm
+ * @git
+ */
+package com.nopaper.work.survey.controller;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nopaper.work.survey.dto.ImportReport;
+import com.nopaper.work.survey.enums.ResponseFileFormat;
+import com.nopaper.work.survey.services.ResponseImportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Bulk import of paper-collected responses. The request body is the raw
+ * CSV or NDJSON file; it is streamed, not buffered.
+ */
+@RestController
+@RequestMapping("/api/surveys/{surveyId}/imports")
+public class ResponseImportController {
+
+    private final ResponseImportService importService;
+
+    public ResponseImportController(ResponseImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping
+    public ImportReport importResponses(@PathVariable UUID surveyId,
+                                        @RequestParam(defaultValue = "CSV") ResponseFileFormat format,
+                                        HttpServletRequest request) throws IOException {
+        return importService.importResponses(surveyId, format, request.getInputStream());
+    }
+}
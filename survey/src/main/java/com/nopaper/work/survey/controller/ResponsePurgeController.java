@@ -0,0 +1,62 @@
+/**
+ * @package com.nopaper.work.survey.controller -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 8:10:05 am
+ * @git
+ */
+package com.nopaper.work.survey.controller;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nopaper.work.survey.dto.PurgeJobStatus;
+import com.nopaper.work.survey.services.ResponsePurgeService;
+
+/**
+ * Queues response purges and reports their progress. Purges run in the
+ * background; poll the returned job.
+ */
+@RestController
+@RequestMapping("/api")
+public class ResponsePurgeController {
+
+    private final ResponsePurgeService purgeService;
+
+    public ResponsePurgeController(ResponsePurgeService purgeService) {
+        this.purgeService = purgeService;
+    }
+
+    /**
+     * Delete every response of a survey.
+     */
+    @PostMapping("/surveys/{surveyId}/purges")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public PurgeJobStatus purgeSurvey(@PathVariable UUID surveyId) {
+        return purgeService.purgeSurvey(surveyId);
+    }
+
+    /**
+     * Delete every response created before ?before=.
+     */
+    @PostMapping("/purges")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public PurgeJobStatus purgeOlderThan(@RequestParam
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return purgeService.purgeOlderThan(before);
+    }
+
+    @GetMapping("/purges/{jobId}")
+    public PurgeJobStatus getJob(@PathVariable UUID jobId) {
+        return purgeService.getJob(jobId);
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * @package com.nopaper.work.survey.controller -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:58:12 pm
+ * @git
+ */
+package com.nopaper.work.survey.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nopaper.work.survey.dto.AnswerSubmission;
+import com.nopaper.work.survey.dto.ResponseSession;
+import com.nopaper.work.survey.dto.ResponseStart;
+import com.nopaper.work.survey.dto.ResponseSubmission;
+import com.nopaper.work.survey.dto.SubmissionResult;
+import com.nopaper.work.survey.services.ResponseDraftService;
+import com.nopaper.work.survey.services.ResponseSubmissionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Response submission endpoints: one request carries every answer of a
+ * response, instead of one request per answer. Timed surveys are started
+ * first, so their time limit runs from the server's clock. Answers of a
+ * started response may be autosaved as drafts until it is submitted.
+ */
+@RestController
+@RequestMapping("/api/surveys/{surveyId}/responses")
+public class ResponseSubmissionController {
+
+    private final ResponseSubmissionService submissionService;
+    private final ResponseDraftService draftService;
+
+    public ResponseSubmissionController(ResponseSubmissionService submissionService,
+                                        ResponseDraftService draftService) {
+        this.submissionService = submissionService;
+        this.draftService = draftService;
+    }
+
+    @PostMapping("/start")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseSession start(@PathVariable UUID surveyId,
+                                 @RequestBody(required = false) ResponseStart start,
+                                 HttpServletRequest request) {
+        return submissionService.start(surveyId, start, request.getRemoteAddr(),
+                request.getHeader(HttpHeaders.USER_AGENT));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SubmissionResult submit(@PathVariable UUID surveyId,
+                                   @RequestBody ResponseSubmission submission,
+                                   HttpServletRequest request) {
+        return submissionService.submit(surveyId, submission, request.getRemoteAddr(),
+                request.getHeader(HttpHeaders.USER_AGENT));
+    }
+
+    @PutMapping("/{responseId}/draft")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void saveDraft(@PathVariable UUID surveyId,
+                          @PathVariable UUID responseId,
+                          @RequestBody List<AnswerSubmission> answers) {
+        draftService.save(surveyId, responseId, answers);
+    }
+}
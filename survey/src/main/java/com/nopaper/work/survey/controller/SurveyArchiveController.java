@@ -0,0 +1,45 @@
+/**
+ * @package com.nopaper.work.survey.controller -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 11:08:44 am
+ * @git
+ */
+package com.nopaper.work.survey.controller;
+
+import java.util.UUID;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nopaper.work.survey.dto.ArchiveInfo;
+import com.nopaper.work.survey.dto.SurveyStats;
+import com.nopaper.work.survey.services.SurveyArchiveService;
+
+/**
+ * Response history of ARCHIVED surveys, read from their cold archive files.
+ */
+@RestController
+@RequestMapping("/api/surveys/{surveyId}/archive")
+public class SurveyArchiveController {
+
+    private final SurveyArchiveService archiveService;
+
+    public SurveyArchiveController(SurveyArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    @GetMapping
+    public ArchiveInfo getArchive(@PathVariable UUID surveyId) {
+        return archiveService.getArchive(surveyId);
+    }
+
+    /**
+     * Answer distribution at the time the survey was archived.
+     */
+    @GetMapping("/stats")
+    public SurveyStats getStats(@PathVariable UUID surveyId) {
+        return archiveService.getStats(surveyId);
+    }
+}
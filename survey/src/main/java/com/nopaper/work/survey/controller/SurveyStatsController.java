@@ -0,0 +1,89 @@
+/**
+ * @package com.nopaper.work.survey.controller -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:48:26 pm
+ * @git
+ */
+package com.nopaper.work.survey.controller;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nopaper.work.survey.dto.DistinctStats;
+import com.nopaper.work.survey.dto.QuantileStats;
+import com.nopaper.work.survey.dto.RankingStats;
+import com.nopaper.work.survey.dto.SurveyStats;
+import com.nopaper.work.survey.services.SurveyStatsService;
+
+/**
+ * Answer distribution, percentiles, consensus rankings and distinct counts
+ * for dashboards, served from incremental aggregates, quantile sketches,
+ * rank aggregates and HyperLogLogs.
+ */
+@RestController
+@RequestMapping("/api/surveys/{surveyId}/stats")
+public class SurveyStatsController {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final SurveyStatsService statsService;
+
+    public SurveyStatsController(SurveyStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping
+    public SurveyStats getStats(@PathVariable UUID surveyId) {
+        return statsService.getStats(surveyId);
+    }
+
+    /**
+     * Percentiles of a NUMERIC / SLIDER question, e.g. ?q=0.5&q=0.9.
+     * Without from/to, covers everything up to now.
+     */
+    @GetMapping("/questions/{questionId}/quantiles")
+    public QuantileStats getQuantiles(@PathVariable UUID surveyId,
+                                      @PathVariable UUID questionId,
+                                      @RequestParam(name = "q", defaultValue = "0.5,0.9") double[] fractions,
+                                      @RequestParam(required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                      @RequestParam(required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return statsService.getQuantiles(surveyId, questionId,
+                from != null ? from : EPOCH,
+                to != null ? to : LocalDateTime.now().plusHours(1),
+                fractions);
+    }
+
+    /**
+     * Consensus ranking of a RANKING / ORDERING question: Borda scores, mean
+     * ranks and the pairwise-preference matrix.
+     */
+    @GetMapping("/questions/{questionId}/ranking")
+    public RankingStats getRanking(@PathVariable UUID surveyId, @PathVariable UUID questionId) {
+        return statsService.getRanking(surveyId, questionId);
+    }
+
+    /**
+     * Estimated distinct respondents and IP addresses.
+     * Without from/to, covers everything up to now.
+     */
+    @GetMapping("/distinct")
+    public DistinctStats getDistinct(@PathVariable UUID surveyId,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return statsService.getDistinct(surveyId,
+                from != null ? from : EPOCH,
+                to != null ? to : LocalDateTime.now().plusDays(1));
+    }
+}
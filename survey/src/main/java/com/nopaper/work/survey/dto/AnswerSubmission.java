@@ -0,0 +1,41 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:04:51 pm
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import tools.jackson.databind.JsonNode;
+
+/**
+ * One answer within a {@link ResponseSubmission}.
+ *
+ * Which fields are used depends on the question type:
+ * - Choice types: optionIds (one or more selected options)
+ * - RANKING / ORDERING: optionIds in ranked order
+ * - MATRIX: optionIds = selected column option per row, in row order
+ * - NUMERIC, SLIDER, TEXT, DATE_TIME: value
+ * - Anything else: payload, a value in the question type's answer_payload
+ *   shape ({"value": ...})
+ *
+ * A payload is decoded with the question type's codec and stored
+ * re-encoded, so unknown properties are dropped; sent along with optionIds
+ * or value it must carry the same answer.
+ *
+ * @param questionId       Question answered
+ * @param optionIds        Selected options, in answer order
+ * @param value            Flat value (number, text, ISO date-time)
+ * @param payload          Answer payload, checked against the question type
+ * @param timeSpentSeconds Time spent on the question, if tracked
+ */
+public record AnswerSubmission(
+        UUID questionId,
+        List<UUID> optionIds,
+        String value,
+        JsonNode payload,
+        Integer timeSpentSeconds) {
+}
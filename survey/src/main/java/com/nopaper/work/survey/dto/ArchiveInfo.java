@@ -0,0 +1,29 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 10:34:28 am
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cold archive of a survey's response history.
+ *
+ * @param surveyId      Archived survey
+ * @param responseCount survey_response rows in the archive
+ * @param answerCount   survey_response_answer rows in the archive
+ * @param fileSize      Compressed archive size in bytes
+ * @param archivedAt    When the archive was written
+ * @param purgeJobId    Purge job removing the rows from the hot tables (null until queued)
+ */
+public record ArchiveInfo(
+        UUID surveyId,
+        long responseCount,
+        long answerCount,
+        long fileSize,
+        LocalDateTime archivedAt,
+        UUID purgeJobId) {
+}
@@ -0,0 +1,28 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 2:04:36 am
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Estimated distinct respondents and client IP addresses of a survey over a
+ * period, from merged HyperLogLogs (standard error about 1.6%).
+ *
+ * @param surveyId    Survey id
+ * @param from        Start of the period (inclusive, day aligned)
+ * @param to          End of the period (exclusive)
+ * @param respondents Distinct non-null respondent ids
+ * @param ipAddresses Distinct non-null IP addresses
+ */
+public record DistinctStats(
+        UUID surveyId,
+        LocalDateTime from,
+        LocalDateTime to,
+        long respondents,
+        long ipAddresses) {
+}
@@ -0,0 +1,42 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 8:42:51 pm
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one response import.
+ *
+ * @param surveyId          Survey the responses were imported into
+ * @param rowsRead          Records read from the file (header excluded)
+ * @param rowsImported      Records merged into survey_response_answer
+ * @param rowsRejected      Records skipped because they failed validation or the merge
+ * @param responsesImported survey_response rows created
+ * @param answersImported   survey_response_answer rows created
+ * @param elapsedMillis     Wall time of the whole import
+ * @param rowsPerSecond     rowsRead / elapsed seconds
+ * @param rejects           First rejected records with the reason (capped)
+ */
+public record ImportReport(
+        UUID surveyId,
+        long rowsRead,
+        long rowsImported,
+        long rowsRejected,
+        long responsesImported,
+        long answersImported,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<RowReject> rejects) {
+
+    /**
+     * @param line   1-based line number in the file
+     * @param reason Why the record was rejected
+     */
+    public record RowReject(long line, String reason) {
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 8:06:12 am
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.nopaper.work.survey.enums.PurgeScope;
+import com.nopaper.work.survey.enums.PurgeStatus;
+
+/**
+ * State of one response purge job.
+ *
+ * @param jobId            Job id
+ * @param scope            SURVEY or AGE
+ * @param surveyId         Survey being purged (SURVEY scope)
+ * @param cutoff           Responses created before this are purged (AGE scope)
+ * @param status           PENDING, RUNNING, COMPLETED or FAILED
+ * @param responsesDeleted survey_response rows deleted so far
+ * @param answersDeleted   survey_response_answer rows deleted so far
+ * @param chunks           Chunks committed so far
+ * @param error            Why the job failed (FAILED only)
+ * @param createdAt        When the job was requested
+ * @param completedAt      When the last chunk was deleted (COMPLETED only)
+ */
+public record PurgeJobStatus(
+        UUID jobId,
+        PurgeScope scope,
+        UUID surveyId,
+        LocalDateTime cutoff,
+        PurgeStatus status,
+        long responsesDeleted,
+        long answersDeleted,
+        long chunks,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt) {
+}
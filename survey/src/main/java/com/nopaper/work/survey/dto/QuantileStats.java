@@ -0,0 +1,41 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:12:40 am
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Approximate percentiles of a NUMERIC or SLIDER question's values over a
+ * period, from merged quantile sketches. Count, min and max are exact;
+ * values are null when nothing was answered.
+ *
+ * @param questionId Question id
+ * @param from       Start of the period (inclusive, hour aligned)
+ * @param to         End of the period (exclusive)
+ * @param count      Number of values
+ * @param min        Smallest value
+ * @param max        Largest value
+ * @param quantiles  Requested quantiles, in request order
+ */
+public record QuantileStats(
+        UUID questionId,
+        LocalDateTime from,
+        LocalDateTime to,
+        long count,
+        Double min,
+        Double max,
+        List<Quantile> quantiles) {
+
+    /**
+     * @param fraction Rank in [0, 1] (0.5 = median)
+     * @param value    Approximate value at that rank
+     */
+    public record Quantile(double fraction, Double value) {
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 2:59:48 am
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consensus ranking of a RANKING or ORDERING question's options, derived
+ * from the running rank aggregate.
+ *
+ * @param questionId  Question id
+ * @param responses   Number of rankings
+ * @param options     Options by descending Borda score
+ * @param preferences Pairwise preferences, index-aligned with options:
+ *                    [a][b] = rankings that placed options[a] above options[b]
+ */
+public record RankingStats(
+        UUID questionId,
+        long responses,
+        List<RankedOption> options,
+        long[][] preferences) {
+
+    /**
+     * @param optionId       Option id
+     * @param bordaScore     Borda count: n - 1 - rank points per ranking (rank 0 = top)
+     * @param meanRank       Mean 1-based rank over the rankings that included it; null if never ranked
+     * @param positionCounts Rankings that placed the option at each rank, top first
+     */
+    public record RankedOption(UUID optionId, long bordaScore, Double meanRank, long[] positionCounts) {
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:43:31 pm
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response body of the start API.
+ *
+ * @param responseId Id of the started response; pass it in ResponseSubmission
+ * @param startedAt  Start time
+ * @param deadline   When the time limit runs out, null if the survey is untimed
+ */
+public record ResponseSession(
+        UUID responseId,
+        LocalDateTime startedAt,
+        LocalDateTime deadline) {
+}
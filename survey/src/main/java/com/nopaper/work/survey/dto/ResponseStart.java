@@ -0,0 +1,17 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:42:08 pm
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+/**
+ * Request body of the start API: opens a response before its answers are
+ * submitted, so its time limit runs from the server's clock.
+ *
+ * @param respondentId Respondent identifier (user id, email, anonymous token)
+ */
+public record ResponseStart(
+        String respondentId) {
+}
@@ -0,0 +1,29 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:08:26 pm
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request body of the bulk submit API: a complete response in one call.
+ *
+ * @param responseId   Response opened by the start API; required for timed
+ *                     surveys, null to create the response on submit
+ * @param respondentId Respondent identifier (user id, email, anonymous token);
+ *                     taken from the started response when responseId is set
+ * @param startedAt    When the respondent started; defaults to submission time,
+ *                     ignored when responseId is set
+ * @param answers      All answers of the response
+ */
+public record ResponseSubmission(
+        UUID responseId,
+        String respondentId,
+        LocalDateTime startedAt,
+        List<AnswerSubmission> answers) {
+}
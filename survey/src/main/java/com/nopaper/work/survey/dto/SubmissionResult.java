@@ -0,0 +1,32 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:10:40 pm
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response body of the bulk submit API.
+ * Score fields are omitted (null) when the survey does not show results.
+ *
+ * @param responseId      Id of the stored response
+ * @param answerCount     Number of survey_response_answer rows written
+ * @param submittedAt     Submission time
+ * @param totalScore      Points earned
+ * @param maxScore        Maximum achievable points
+ * @param scorePercentage totalScore / maxScore * 100
+ * @param passed          Pass outcome, null if the survey has no pass score
+ */
+public record SubmissionResult(
+        UUID responseId,
+        int answerCount,
+        LocalDateTime submittedAt,
+        Double totalScore,
+        Double maxScore,
+        Double scorePercentage,
+        Boolean passed) {
+}
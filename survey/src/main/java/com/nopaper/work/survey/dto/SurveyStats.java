@@ -0,0 +1,51 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:24:03 pm
+ * @git
+ */
+package com.nopaper.work.survey.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answer distribution of a survey, read from the incremental aggregates.
+ * Averages are 0 when nothing was counted.
+ *
+ * @param surveyId      Survey id
+ * @param responseCount Submitted responses
+ * @param averageScore  Mean total score per response
+ * @param sections      Per-section results, in display order
+ * @param questions     Per-question results, in display order
+ */
+public record SurveyStats(
+        UUID surveyId,
+        long responseCount,
+        double averageScore,
+        List<SectionStats> sections,
+        List<QuestionStats> questions) {
+
+    /**
+     * @param sectionId    Section id
+     * @param averageScore Mean section score per response
+     */
+    public record SectionStats(UUID sectionId, double averageScore) {
+    }
+
+    /**
+     * @param questionId   Question id
+     * @param answerCount  Responses that answered the question
+     * @param averageScore Mean score per answer
+     * @param options      Selection count per option, in display order
+     */
+    public record QuestionStats(UUID questionId, long answerCount, double averageScore, List<OptionStats> options) {
+    }
+
+    /**
+     * @param optionId       Option id
+     * @param selectionCount Times the option was selected
+     */
+    public record OptionStats(UUID optionId, long selectionCount) {
+    }
+}
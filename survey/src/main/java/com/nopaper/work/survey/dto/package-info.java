@@ -0,0 +1,10 @@
+/**
+ * @package com.nopaper.work.survey.dto -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:02:18 pm
+ * @git 
+ */
+/**
+ * Request and response bodies of the REST API.
+ */
+package com.nopaper.work.survey.dto;
@@ -0,0 +1,227 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:11:47 am
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.ids.GeneratedUuidV7;
+import com.nopaper.work.survey.services.SurveyTreeChangeListener;
+
+/**
+ * STAGE 1: Domain Model - Question Entity (JPA)
+ *
+ *
+ * Purpose:
+ * A single question inside a survey section. The question type decides
+ * how the question is rendered and what shape its answer payload has.
+ *
+ * Database:
+ * - Table: question
+ * - Primary Key: question_id (UUID)
+ * - Relationships: Many-to-One with SurveySection, One-to-Many with QuestionOption
+ * - Indexes: section_id, question_type, (section_id, display_order)
+ */
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing a Question.
+ */
+@Entity
+@EntityListeners(SurveyTreeChangeListener.class)
+@Table(
+    name = "question",
+    indexes = {
+        @Index(name = "idx_question_section_id", columnList = "section_id"),
+        @Index(name = "idx_question_type", columnList = "question_type"),
+        @Index(name = "idx_question_display_order", columnList = "section_id, display_order")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"section", "options"})
+@EqualsAndHashCode(of = {"id"})
+public class Question implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    /**
+     * Unique identifier for the question (UUID).
+     */
+    @Id
+    @GeneratedUuidV7
+    @Column(name = "question_id", columnDefinition = "UUID")
+    private UUID id;
+
+    /**
+     * Section this question belongs to (owning side of SurveySection.questions).
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "section_id", nullable = false)
+    private SurveySection section;
+
+    // ========================================================================
+    // Question Content
+    // ========================================================================
+
+    /**
+     * The question text shown to respondents.
+     */
+    @Column(name = "question_text", nullable = false, columnDefinition = "TEXT")
+    private String questionText;
+
+    /**
+     * Optional help text shown below the question.
+     */
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    /**
+     * Type of the question (SINGLE_CHOICE, TEXT, MATRIX, ...).
+     */
+    @Column(name = "question_type", nullable = false, length = 30)
+    @Enumerated(EnumType.STRING)
+    private QuestionType questionType;
+
+    // ========================================================================
+    // Question Configuration
+    // ========================================================================
+
+    /**
+     * Position of the question within its section (ascending).
+     */
+    @Column(name = "display_order", nullable = false)
+    private Integer displayOrder;
+
+    /**
+     * Whether an answer is mandatory before the response can be submitted.
+     */
+    @Column(name = "is_required", nullable = false)
+    private Boolean required;
+
+    /**
+     * Disabled questions are kept for history but not shown or scored.
+     */
+    @Column(name = "is_disabled", nullable = false)
+    private Boolean disabled;
+
+    /**
+     * Time limit for answering this question (in seconds).
+     *
+     * Usage:
+     * - null: No per-question time limit
+     *
+     * Limits are enforced per response: an untimed survey is timed by the sum
+     * of its question limits only when every enabled question has one, and
+     * is answered untimed otherwise.
+     */
+    @Column(name = "time_limit_seconds")
+    private Integer timeLimitSeconds;
+
+    // ========================================================================
+    // Scoring Configuration
+    // ========================================================================
+
+    /**
+     * Scoring mechanism applied to this question.
+     */
+    @Column(name = "scoring_type", nullable = false, length = 30)
+    @Enumerated(EnumType.STRING)
+    private ScoringType scoringType;
+
+    /**
+     * Maximum points achievable for this question.
+     * For WEIGHTED_SCORE this is the question's weight.
+     */
+    @Column(name = "max_points")
+    private Double maxPoints;
+
+    // ========================================================================
+    // Media
+    // ========================================================================
+
+    @Column(name = "image_url", length = 2048)
+    private String imageUrl;
+
+    @Column(name = "video_url", length = 2048)
+    private String videoUrl;
+
+    // ========================================================================
+    // Audit Trail
+    // ========================================================================
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // ========================================================================
+    // Relationships
+    // ========================================================================
+
+    /**
+     * Predefined answer options, ordered by display_order.
+     * Empty for free-form types (TEXT, NUMERIC, DATE_TIME, ...).
+     */
+    @OneToMany(
+        mappedBy = "question",
+        cascade = CascadeType.ALL,
+        orphanRemoval = true,
+        fetch = FetchType.LAZY
+    )
+    @OrderBy("displayOrder ASC")
+    private List<QuestionOption> options;
+
+    // ========================================================================
+    // Business Logic Methods
+    // ========================================================================
+
+    /**
+     * Check if this question has its own time limit.
+     *
+     * @return true if timeLimitSeconds is set and greater than 0, false otherwise
+     */
+    public boolean hasTimeLimit() {
+        return timeLimitSeconds != null && timeLimitSeconds > 0;
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:18:03 am
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.nopaper.work.survey.ids.GeneratedUuidV7;
+import com.nopaper.work.survey.services.SurveyTreeChangeListener;
+
+/**
+ * STAGE 1: Domain Model - Question Option Entity (JPA)
+ *
+ *
+ * Purpose:
+ * A predefined answer choice of a question. For MATRIX questions the
+ * options are the rating columns; for RANKING/ORDERING they are the items
+ * being ranked.
+ *
+ * Database:
+ * - Table: question_option
+ * - Primary Key: option_id (UUID)
+ * - Relationships: Many-to-One with Question
+ * - Indexes: question_id, (question_id, display_order)
+ */
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing an answer option of a Question.
+ */
+@Entity
+@EntityListeners(SurveyTreeChangeListener.class)
+@Table(
+    name = "question_option",
+    indexes = {
+        @Index(name = "idx_option_question_id", columnList = "question_id"),
+        @Index(name = "idx_option_display_order", columnList = "question_id, display_order")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"question"})
+@EqualsAndHashCode(of = {"id"})
+public class QuestionOption implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    /**
+     * Unique identifier for the option (UUID).
+     */
+    @Id
+    @GeneratedUuidV7
+    @Column(name = "option_id", columnDefinition = "UUID")
+    private UUID id;
+
+    /**
+     * Question this option belongs to (owning side of Question.options).
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "question_id", nullable = false)
+    private Question question;
+
+    // ========================================================================
+    // Option Content
+    // ========================================================================
+
+    @Column(name = "option_text", nullable = false, columnDefinition = "TEXT")
+    private String optionText;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    /**
+     * Position of the option within its question (ascending).
+     */
+    @Column(name = "display_order", nullable = false)
+    private Integer displayOrder;
+
+    // ========================================================================
+    // Scoring Configuration
+    // ========================================================================
+
+    /**
+     * Points awarded when this option is selected (FIXED_SCORE / WEIGHTED_SCORE).
+     */
+    @Column(name = "points")
+    private Double points;
+
+    /**
+     * Numeric value carried by the option (e.g. 1-5 on a RATING scale),
+     * used by DYNAMIC_SCORE.
+     */
+    @Column(name = "numeric_value")
+    private Double numericValue;
+
+    // ========================================================================
+    // Media
+    // ========================================================================
+
+    @Column(name = "image_url", length = 2048)
+    private String imageUrl;
+
+    @Column(name = "image_alt_text", length = 500)
+    private String imageAltText;
+
+    @Column(name = "video_url", length = 2048)
+    private String videoUrl;
+
+    // ========================================================================
+    // Audit Trail
+    // ========================================================================
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -16,6 +16,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import com.nopaper.work.survey.enums.ScoringType;
 import com.nopaper.work.survey.enums.SurveyStatus;
+import com.nopaper.work.survey.ids.GeneratedUuidV7;
+import com.nopaper.work.survey.services.SurveyChangeListener;
 
 /**
  * STAGE 1: Domain Model - Survey Entity (JPA)
@@ -41,11 +43,10 @@ import com.nopaper.work.survey.enums.SurveyStatus;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
@@ -67,8 +68,10 @@ import lombok.ToString;
  * @Table - Specifies table name and indexes
  * @CreationTimestamp - Automatically set on insert
  * @UpdateTimestamp - Automatically updated on modify
+ * @EntityListeners - SurveyChangeListener invalidates cached definitions after commit
  */
 @Entity
+@EntityListeners(SurveyChangeListener.class)
 @Table(
     name = "survey",
     indexes = {
@@ -96,11 +99,11 @@ public class Survey implements Serializable {
      * 
      * Hibernate Annotation Usage:
      * @Id - Primary key
-     * @GeneratedValue(strategy = GenerationType.UUID) - Auto-generate UUID
+     * @GeneratedUuidV7 - Auto-generate time-ordered UUIDv7
      * @Column - Map to database column with NOT NULL constraint
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     @Column(name = "survey_id", columnDefinition = "UUID")
     private UUID id;
 
@@ -171,6 +174,18 @@ public class Survey implements Serializable {
     @Enumerated(EnumType.STRING)
     private ScoringType scoringType;
 
+    /**
+     * Custom formula computing the total score (FORMULA_BASED only).
+     * 
+     * Example:
+     * "S1 * 0.4 + S2 * 0.6" - weighted blend of section 1 and section 2 scores
+     * 
+     * Syntax is documented on ScoringFormula; it is validated on save and
+     * compiled once per survey version.
+     */
+    @Column(name = "scoring_formula", columnDefinition = "TEXT")
+    private String scoringFormula;
+
     /**
      * Indicates whether survey shows results/scores to respondents.
      * 
@@ -271,7 +286,9 @@ public class Survey implements Serializable {
      * 
      * Relationship:
      * - One Survey has Many SurveyResponse(s)
-     * - cascade = CascadeType.REMOVE: When survey is deleted, responses are also deleted
+     * - No cascade: responses are deleted in chunks by ResponsePurgeService
+     *   (purge the survey's responses before deleting the survey; loading
+     *   every response to cascade a remove does not scale)
      * - orphanRemoval = false: Responses can be deleted independently
      * - fetch = FetchType.LAZY: Responses loaded on-demand (not with survey)
      * 
@@ -281,7 +298,6 @@ public class Survey implements Serializable {
      */
     @OneToMany(
         mappedBy = "survey",
-        cascade = CascadeType.REMOVE,
         orphanRemoval = false,
         fetch = FetchType.LAZY
     )
@@ -0,0 +1,107 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 12:55:48 am
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * STAGE 1: Domain Model - Survey Answer Sketch Entity (JPA)
+ *
+ *
+ * Purpose:
+ * Serialized QuantileSketch of the values given to one NUMERIC or SLIDER
+ * question during one time bucket (hour). Percentiles over any period are
+ * answered by merging the period's buckets instead of sorting answer_value.
+ *
+ * Maintenance:
+ * - Written by SurveyStatsService on flush: each node's pending sketch is
+ *   merged into the bucket row under a row lock (SELECT ... FOR UPDATE)
+ *
+ * Database:
+ * - Table: survey_answer_sketch
+ * - Primary Key: sketch_id (UUID)
+ * - Unique: (question_id, bucket_start)
+ * - Indexes: survey_id
+ */
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing a per-bucket quantile sketch of a question's values.
+ */
+@Entity
+@Table(
+    name = "survey_answer_sketch",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_answer_sketch_question_bucket", columnNames = {"question_id", "bucket_start"})
+    },
+    indexes = {
+        @Index(name = "idx_answer_sketch_survey_id", columnList = "survey_id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"sketch"})
+@EqualsAndHashCode(of = {"id"})
+public class SurveyAnswerSketch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    @Id
+    @Column(name = "sketch_id", columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "survey_id", nullable = false, columnDefinition = "UUID")
+    private UUID surveyId;
+
+    @Column(name = "question_id", nullable = false, columnDefinition = "UUID")
+    private UUID questionId;
+
+    /**
+     * Start of the hour the values were flushed in.
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // ========================================================================
+    // Sketch
+    // ========================================================================
+
+    /**
+     * QuantileSketch.toBytes() of the bucket's values.
+     */
+    @Column(name = "sketch", nullable = false, columnDefinition = "BYTEA")
+    private byte[] sketch;
+
+    /**
+     * Number of values in the sketch (exact).
+     */
+    @Column(name = "value_count", nullable = false)
+    private long valueCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,105 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:47:36 pm
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * STAGE 1: Domain Model - Survey Answer Statistic Entity (JPA)
+ *
+ *
+ * Purpose:
+ * Running aggregate of submitted answers for one survey, section, question
+ * or option, so dashboards read O(questions) rows instead of grouping
+ * survey_response_answer.
+ *
+ * Maintenance:
+ * - Incremented in memory on every submitted response and flushed
+ *   periodically by SurveyStatsService with additive upserts
+ *   (answer_count = answer_count + delta); never rewritten from the entity
+ *
+ * Database:
+ * - Table: survey_answer_stat
+ * - Primary Key: item_id (UUID of the survey, section, question or option)
+ * - Indexes: survey_id
+ */
+import com.nopaper.work.survey.enums.StatItemType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing an aggregated answer statistic.
+ */
+@Entity
+@Table(
+    name = "survey_answer_stat",
+    indexes = {
+        @Index(name = "idx_answer_stat_survey_id", columnList = "survey_id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(of = {"itemId"})
+public class SurveyAnswerStat implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    /**
+     * Id of the aggregated survey, section, question or option.
+     */
+    @Id
+    @Column(name = "item_id", columnDefinition = "UUID")
+    private UUID itemId;
+
+    @Column(name = "survey_id", nullable = false, columnDefinition = "UUID")
+    private UUID surveyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_type", nullable = false, length = 10)
+    private StatItemType itemType;
+
+    // ========================================================================
+    // Aggregates
+    // ========================================================================
+
+    /**
+     * Responses (SURVEY, SECTION), answers (QUESTION) or selections (OPTION).
+     */
+    @Column(name = "answer_count", nullable = false)
+    private long answerCount;
+
+    /**
+     * Sum of scores earned; 0 for OPTION rows.
+     */
+    @Column(name = "score_sum", nullable = false)
+    private double scoreSum;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,95 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 10:02:17 am
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * STAGE 1: Domain Model - Survey Archive Entity (JPA)
+ *
+ *
+ * Purpose:
+ * Where the responses and answers of an ARCHIVED survey went. Written by
+ * SurveyArchiveService once the columnar archive file is complete and
+ * stored; the hot rows are then deleted by a purge job.
+ *
+ * Database:
+ * - Table: survey_archive
+ * - Primary Key: survey_id (UUID, one archive per survey)
+ */
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing an archived survey's response history.
+ */
+@Entity
+@Table(name = "survey_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(of = {"surveyId"})
+public class SurveyArchive implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    @Id
+    @Column(name = "survey_id", columnDefinition = "UUID")
+    private UUID surveyId;
+
+    // ========================================================================
+    // Archive File
+    // ========================================================================
+
+    /**
+     * Name of the file in the ArchiveStore.
+     */
+    @Column(name = "file_name", nullable = false, length = 200)
+    private String fileName;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "response_count", nullable = false)
+    private long responseCount;
+
+    @Column(name = "answer_count", nullable = false)
+    private long answerCount;
+
+    /**
+     * Purge job deleting the archived rows from the hot tables; null until queued.
+     */
+    @Column(name = "purge_job_id", columnDefinition = "UUID")
+    private UUID purgeJobId;
+
+    // ========================================================================
+    // Audit Trail
+    // ========================================================================
+
+    @CreationTimestamp
+    @Column(name = "archived_at", nullable = false, updatable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,103 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:55:02 am
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * STAGE 1: Domain Model - Survey Distinct Sketch Entity (JPA)
+ *
+ *
+ * Purpose:
+ * Serialized HyperLogLog of the respondent ids or IP addresses seen by one
+ * survey during one time bucket (day). Distinct counts over any period are
+ * answered by merging the period's buckets instead of
+ * COUNT(DISTINCT ...) over survey_responses.
+ *
+ * Maintenance:
+ * - Written by SurveyStatsService on flush: each node's pending sketch is
+ *   merged into the bucket row under a row lock (SELECT ... FOR UPDATE)
+ *
+ * Database:
+ * - Table: survey_distinct_sketch
+ * - Primary Key: sketch_id (UUID)
+ * - Unique: (survey_id, dimension, bucket_start)
+ */
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import com.nopaper.work.survey.enums.DistinctDimension;
+
+/**
+ * JPA Entity representing a per-bucket HyperLogLog of a survey dimension.
+ */
+@Entity
+@Table(
+    name = "survey_distinct_sketch",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_distinct_sketch_survey_dimension_bucket",
+                columnNames = {"survey_id", "dimension", "bucket_start"})
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"sketch"})
+@EqualsAndHashCode(of = {"id"})
+public class SurveyDistinctSketch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    @Id
+    @Column(name = "sketch_id", columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "survey_id", nullable = false, columnDefinition = "UUID")
+    private UUID surveyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 20)
+    private DistinctDimension dimension;
+
+    /**
+     * Start of the day the values were flushed in.
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // ========================================================================
+    // Sketch
+    // ========================================================================
+
+    /**
+     * HyperLogLog.toBytes() of the bucket's values.
+     */
+    @Column(name = "sketch", nullable = false, columnDefinition = "BYTEA")
+    private byte[] sketch;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
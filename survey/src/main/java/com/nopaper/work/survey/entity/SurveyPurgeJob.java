@@ -0,0 +1,152 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:12:48 am
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.nopaper.work.survey.enums.PurgeScope;
+import com.nopaper.work.survey.enums.PurgeStatus;
+import com.nopaper.work.survey.ids.GeneratedUuidV7;
+
+/**
+ * STAGE 1: Domain Model - Survey Purge Job Entity (JPA)
+ *
+ *
+ * Purpose:
+ * A request to delete responses and their answers, and its progress.
+ * ResponsePurgeService deletes in chunks of set-based SQL, one transaction
+ * per chunk, and adds each chunk's counts to the job in that same
+ * transaction: after a crash the counts match what was deleted and the
+ * job simply continues with the rows that are left.
+ *
+ * Selection:
+ * - SURVEY: survey_id = surveyId
+ * - AGE: created_at < cutoff
+ * - Both: created_at >= windowStart, so partitions before it are pruned
+ *
+ * Database:
+ * - Table: survey_purge_job
+ * - Primary Key: job_id (UUID)
+ * - Indexes: status
+ */
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing a response purge job.
+ */
+@Entity
+@Table(
+    name = "survey_purge_job",
+    indexes = {
+        @Index(name = "idx_purge_job_status", columnList = "status")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(of = {"id"})
+public class SurveyPurgeJob implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    @Id
+    @GeneratedUuidV7
+    @Column(name = "job_id", columnDefinition = "UUID")
+    private UUID id;
+
+    // ========================================================================
+    // Selection
+    // ========================================================================
+
+    @Column(name = "scope", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PurgeScope scope;
+
+    /**
+     * Survey whose responses are deleted (SURVEY scope only).
+     */
+    @Column(name = "survey_id", columnDefinition = "UUID")
+    private UUID surveyId;
+
+    /**
+     * Responses created before this are deleted (AGE scope only).
+     */
+    @Column(name = "cutoff")
+    private LocalDateTime cutoff;
+
+    /**
+     * No matching response is older than this (partition pruning bound).
+     */
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    // ========================================================================
+    // Progress
+    // ========================================================================
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PurgeStatus status;
+
+    @Column(name = "responses_deleted", nullable = false)
+    private long responsesDeleted;
+
+    @Column(name = "answers_deleted", nullable = false)
+    private long answersDeleted;
+
+    @Column(name = "chunks", nullable = false)
+    private long chunks;
+
+    /**
+     * Node running the job (RUNNING only).
+     */
+    @Column(name = "owner", length = 200)
+    private String owner;
+
+    /**
+     * Last sign of life of the owner; a stale RUNNING job is taken over.
+     */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    // ========================================================================
+    // Audit Trail
+    // ========================================================================
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
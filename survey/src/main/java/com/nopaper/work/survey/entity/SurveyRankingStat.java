@@ -0,0 +1,94 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 2:52:09 am
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * STAGE 1: Domain Model - Survey Ranking Statistic Entity (JPA)
+ *
+ *
+ * Purpose:
+ * Serialized RankAggregate of all answers to one RANKING or ORDERING
+ * question: the rank-position histogram and pairwise-preference matrix of
+ * its options. Borda scores, mean ranks and pairwise preferences are read
+ * from it in O(options^2) instead of parsing every answer_payload.
+ *
+ * Maintenance:
+ * - Written by SurveyStatsService on flush: each node's pending aggregate is
+ *   added to the row under a row lock (SELECT ... FOR UPDATE)
+ *
+ * Database:
+ * - Table: survey_ranking_stat
+ * - Primary Key: question_id (UUID)
+ * - Indexes: survey_id
+ */
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing the running rank aggregate of a question.
+ */
+@Entity
+@Table(
+    name = "survey_ranking_stat",
+    indexes = {
+        @Index(name = "idx_ranking_stat_survey_id", columnList = "survey_id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"aggregate"})
+@EqualsAndHashCode(of = {"questionId"})
+public class SurveyRankingStat implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    @Id
+    @Column(name = "question_id", columnDefinition = "UUID")
+    private UUID questionId;
+
+    @Column(name = "survey_id", nullable = false, columnDefinition = "UUID")
+    private UUID surveyId;
+
+    // ========================================================================
+    // Aggregate
+    // ========================================================================
+
+    /**
+     * RankAggregate.toBytes() of all flushed rankings.
+     */
+    @Column(name = "aggregate", nullable = false, columnDefinition = "BYTEA")
+    private byte[] aggregate;
+
+    /**
+     * Number of rankings in the aggregate.
+     */
+    @Column(name = "response_count", nullable = false)
+    private long responseCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,190 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 3:46:52 pm
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.nopaper.work.survey.enums.ResponseStatus;
+import com.nopaper.work.survey.ids.GeneratedUuidV7;
+
+/**
+ * STAGE 1: Domain Model - Survey Response Entity (JPA)
+ *
+ *
+ * Purpose:
+ * One respondent's attempt at a survey, with its scoring outcome.
+ *
+ * Database:
+ * - Table: survey_response
+ * - Primary Key: response_id (UUID); in the database (response_id, created_at)
+ * - Relationships: Many-to-One with Survey, One-to-Many with SurveyResponseAnswer
+ * - Indexes: survey_id, respondent_id, status, created_at
+ * - Partitioned: monthly ranges of created_at (schema.sql, ResponsePartitionService)
+ */
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing a respondent's Survey Response.
+ */
+@Entity
+@Table(
+    name = "survey_response",
+    indexes = {
+        @Index(name = "idx_response_survey_id", columnList = "survey_id"),
+        @Index(name = "idx_response_respondent_id", columnList = "respondent_id"),
+        @Index(name = "idx_response_status", columnList = "status"),
+        @Index(name = "idx_response_created_at", columnList = "created_at")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"survey", "answers"})
+@EqualsAndHashCode(of = {"id"})
+public class SurveyResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    /**
+     * Unique identifier for the response (UUID).
+     */
+    @Id
+    @GeneratedUuidV7
+    @Column(name = "response_id", columnDefinition = "UUID")
+    private UUID id;
+
+    /**
+     * Survey being answered (owning side of Survey.responses).
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "survey_id", nullable = false)
+    private Survey survey;
+
+    // ========================================================================
+    // Respondent
+    // ========================================================================
+
+    /**
+     * Identifier of the respondent (user id, email, or anonymous token).
+     */
+    @Column(name = "respondent_id", length = 500)
+    private String respondentId;
+
+    @Column(name = "ip_address", length = 50)
+    private String ipAddress;
+
+    @Column(name = "user_agent", columnDefinition = "TEXT")
+    private String userAgent;
+
+    // ========================================================================
+    // Status
+    // ========================================================================
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ResponseStatus status;
+
+    // ========================================================================
+    // Scoring Outcome
+    // ========================================================================
+
+    /**
+     * Points earned across all scored questions.
+     */
+    @Column(name = "total_score")
+    private Double totalScore;
+
+    /**
+     * Maximum achievable points for the survey.
+     */
+    @Column(name = "max_score")
+    private Double maxScore;
+
+    /**
+     * totalScore / maxScore * 100.
+     */
+    @Column(name = "score_percentage")
+    private Double scorePercentage;
+
+    /**
+     * Whether every section with a pass_score was passed.
+     *
+     * Usage:
+     * - null: Survey defines no pass score
+     */
+    @Column(name = "is_passed")
+    private Boolean passed;
+
+    // ========================================================================
+    // Timing
+    // ========================================================================
+
+    @Column(name = "time_spent_seconds")
+    private Integer timeSpentSeconds;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+
+    // ========================================================================
+    // Audit Trail
+    // ========================================================================
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // ========================================================================
+    // Relationships
+    // ========================================================================
+
+    /**
+     * Answers given in this response.
+     */
+    @OneToMany(
+        mappedBy = "response",
+        cascade = CascadeType.ALL,
+        orphanRemoval = true,
+        fetch = FetchType.LAZY
+    )
+    private List<SurveyResponseAnswer> answers;
+}
@@ -0,0 +1,165 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 3:55:21 pm
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import com.nopaper.work.survey.ids.GeneratedUuidV7;
+
+/**
+ * STAGE 1: Domain Model - Survey Response Answer Entity (JPA)
+ *
+ *
+ * Purpose:
+ * The answer to one question within a response. Choice questions that allow
+ * several selections store one row per selected option.
+ *
+ * Answer Storage:
+ * - answer_payload (JSONB): full answer, shape depends on QuestionType
+ * - answer_value (TEXT): flat value for simple types (text, number, date)
+ * - option_id: selected option for choice types
+ * - answer_data (BYTEA): bit-packed MATRIX answer (row -> column), see MatrixAnswerCodec
+ *
+ * Database:
+ * - Table: survey_response_answer
+ * - Primary Key: answer_id (UUID); in the database (answer_id, created_at)
+ * - Relationships: Many-to-One with SurveyResponse, Question, QuestionOption
+ * - Indexes: response_id, question_id
+ * - Partitioned: monthly ranges of created_at, same month as the owning
+ *   response (schema.sql, ResponsePartitionService)
+ */
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing an Answer within a Survey Response.
+ */
+@Entity
+@Table(
+    name = "survey_response_answer",
+    indexes = {
+        @Index(name = "idx_answer_response_id", columnList = "response_id"),
+        @Index(name = "idx_answer_question_id", columnList = "question_id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"response", "question", "option", "answerData"})
+@EqualsAndHashCode(of = {"id"})
+public class SurveyResponseAnswer implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    @Id
+    @GeneratedUuidV7
+    @Column(name = "answer_id", columnDefinition = "UUID")
+    private UUID id;
+
+    /**
+     * No foreign key constraint: survey_response is partitioned and has no
+     * unique key on response_id alone (see schema.sql).
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "response_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private SurveyResponse response;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "question_id", nullable = false)
+    private Question question;
+
+    /**
+     * Selected option (choice types only).
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "option_id")
+    private QuestionOption option;
+
+    // ========================================================================
+    // Answer Data
+    // ========================================================================
+
+    /**
+     * Full answer as JSON; shape depends on the question type.
+     *
+     * Example:
+     * - SINGLE_CHOICE: {"option":"<uuid>"}
+     * - NUMERIC: {"value":42.5}
+     * - RANKING: {"ranking":["<uuid>","<uuid>"]}
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "answer_payload", nullable = false, columnDefinition = "JSONB")
+    private String answerPayload;
+
+    /**
+     * Compact binary answer (MATRIX: MatrixAnswerCodec); answer_payload then
+     * only holds {"encoding":"packed"} unless the client sent its own payload.
+     */
+    @Column(name = "answer_data", columnDefinition = "BYTEA")
+    private byte[] answerData;
+
+    /**
+     * Flat answer value for simple types (text, number, ISO date-time).
+     */
+    @Column(name = "answer_value", columnDefinition = "TEXT")
+    private String answerValue;
+
+    // ========================================================================
+    // Scoring
+    // ========================================================================
+
+    @Column(name = "answer_score")
+    private Double answerScore;
+
+    @Column(name = "is_correct")
+    private Boolean correct;
+
+    // ========================================================================
+    // Timing and Audit Trail
+    // ========================================================================
+
+    @Column(name = "time_spent_seconds")
+    private Integer timeSpentSeconds;
+
+    @Column(name = "answered_at")
+    private LocalDateTime answeredAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,176 @@
+/**
+ * @package com.nopaper.work.survey.entity -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:05:12 am
+ * @git
+ */
+package com.nopaper.work.survey.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.ids.GeneratedUuidV7;
+import com.nopaper.work.survey.services.SurveyTreeChangeListener;
+
+/**
+ * STAGE 1: Domain Model - Survey Section Entity (JPA)
+ *
+ *
+ * Purpose:
+ * Groups questions of a survey into ordered sections (pages).
+ * A section may carry its own scoring configuration and pass mark.
+ *
+ * Database:
+ * - Table: survey_section
+ * - Primary Key: section_id (UUID)
+ * - Relationships: Many-to-One with Survey, One-to-Many with Question
+ * - Indexes: survey_id, (survey_id, display_order)
+ */
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * JPA Entity representing a section of a Survey.
+ */
+@Entity
+@EntityListeners(SurveyTreeChangeListener.class)
+@Table(
+    name = "survey_section",
+    indexes = {
+        @Index(name = "idx_section_survey_id", columnList = "survey_id"),
+        @Index(name = "idx_section_display_order", columnList = "survey_id, display_order")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"survey", "questions"})
+@EqualsAndHashCode(of = {"id"})
+public class SurveySection implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ========================================================================
+    // Primary Key and Identifiers
+    // ========================================================================
+
+    /**
+     * Unique identifier for the section (UUID).
+     */
+    @Id
+    @GeneratedUuidV7
+    @Column(name = "section_id", columnDefinition = "UUID")
+    private UUID id;
+
+    /**
+     * Survey this section belongs to (owning side of Survey.sections).
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "survey_id", nullable = false)
+    private Survey survey;
+
+    // ========================================================================
+    // Section Metadata
+    // ========================================================================
+
+    /**
+     * Title of the section.
+     */
+    @Column(name = "title", nullable = false, length = 500)
+    private String title;
+
+    /**
+     * Optional description shown above the section's questions.
+     */
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    /**
+     * Position of the section within the survey (ascending).
+     */
+    @Column(name = "display_order", nullable = false)
+    private Integer displayOrder;
+
+    // ========================================================================
+    // Scoring Configuration
+    // ========================================================================
+
+    /**
+     * Scoring mechanism applied to this section.
+     */
+    @Column(name = "scoring_type", nullable = false, length = 30)
+    @Enumerated(EnumType.STRING)
+    private ScoringType scoringType;
+
+    /**
+     * Maximum achievable score for the section.
+     *
+     * Usage:
+     * - null: Derived from the max points of the section's questions
+     */
+    @Column(name = "max_score")
+    private Double maxScore;
+
+    /**
+     * Minimum score required to pass the section.
+     *
+     * Usage:
+     * - null: Section has no pass mark
+     */
+    @Column(name = "pass_score")
+    private Double passScore;
+
+    // ========================================================================
+    // Audit Trail
+    // ========================================================================
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // ========================================================================
+    // Relationships
+    // ========================================================================
+
+    /**
+     * Questions within this section, ordered by display_order.
+     */
+    @OneToMany(
+        mappedBy = "section",
+        cascade = CascadeType.ALL,
+        orphanRemoval = true,
+        fetch = FetchType.LAZY
+    )
+    @OrderBy("displayOrder ASC")
+    private List<Question> questions;
+}
@@ -0,0 +1,48 @@
+/**
+ * @package com.nopaper.work.survey.enums -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:52:20 am
+ * @git
+ */
+package com.nopaper.work.survey.enums;
+
+/**
+ * STAGE 1: Domain Model - Distinct Dimension Enumeration
+ *
+ *
+ * Purpose:
+ * Identifies which value a survey_distinct_sketch row counts distinct
+ * occurrences of.
+ *
+ * Dimensions:
+ * - RESPONDENT: survey_responses.respondent_id (anonymous responses skipped)
+ * - IP_ADDRESS: survey_responses.ip_address
+ */
+
+/**
+ * Enumeration representing a distinct-count dimension of a survey.
+ */
+public enum DistinctDimension {
+    RESPONDENT("Respondent - Distinct respondent ids"),
+    IP_ADDRESS("IP Address - Distinct client IP addresses");
+
+    private final String description;
+
+    /**
+     * Constructor for DistinctDimension enum
+     *
+     * @param description Human-readable description of the dimension
+     */
+    DistinctDimension(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the description of the dimension
+     *
+     * @return Description string
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * @package com.nopaper.work.survey.enums -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:05:36 am
+ * @git
+ */
+package com.nopaper.work.survey.enums;
+
+/**
+ * STAGE 1: Domain Model - Purge Scope Enumeration
+ *
+ *
+ * Purpose:
+ * Selects which responses a survey_purge_job deletes.
+ *
+ * Scopes:
+ * - SURVEY: every response of one survey (and its answer statistics)
+ * - AGE: every response created before the job's cutoff, across surveys
+ */
+
+/**
+ * Enumeration representing the scope of a response purge.
+ */
+public enum PurgeScope {
+    SURVEY("Survey - All responses of one survey"),
+    AGE("Age - All responses created before a cutoff");
+
+    private final String description;
+
+    /**
+     * Constructor for PurgeScope enum
+     *
+     * @param description Human-readable description of the scope
+     */
+    PurgeScope(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the description of the scope
+     *
+     * @return Description string
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * @package com.nopaper.work.survey.enums -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:07:12 am
+ * @git
+ */
+package com.nopaper.work.survey.enums;
+
+/**
+ * STAGE 1: Domain Model - Purge Status Enumeration
+ *
+ *
+ * Purpose:
+ * Lifecycle of a survey_purge_job.
+ *
+ * Statuses:
+ * - PENDING: Requested, not yet picked up
+ * - RUNNING: Claimed by a node; taken over by another node when its
+ *   heartbeat goes stale (crash, shutdown)
+ * - COMPLETED: No matching responses left
+ * - FAILED: Stopped by an error; see the job's error column
+ */
+
+/**
+ * Enumeration representing the state of a response purge job.
+ */
+public enum PurgeStatus {
+    PENDING("Pending - Waiting to run"),
+    RUNNING("Running - Deleting in chunks"),
+    COMPLETED("Completed - All matching responses deleted"),
+    FAILED("Failed - Stopped by an error");
+
+    private final String description;
+
+    /**
+     * Constructor for PurgeStatus enum
+     *
+     * @param description Human-readable description of the status
+     */
+    PurgeStatus(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the description of the status
+     *
+     * @return Description string
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * @package com.nopaper.work.survey.enums -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 8:40:15 pm
+ * @git
+ */
+package com.nopaper.work.survey.enums;
+
+/**
+ * STAGE 1: Domain Model - Response File Format Enumeration
+ *
+ *
+ * Purpose:
+ * File formats of the response import and export endpoints.
+ *
+ * Import layout (one answer per record, one record per line):
+ * - CSV: Header line naming the columns response_key, respondent_id,
+ *   question_id, option_ids, value, submitted_at (any order; option_ids are
+ *   separated by '|'). Fields may be quoted; quoted fields cannot span lines.
+ * - NDJSON: One JSON object per line with the same fields in camelCase
+ *   (responseKey, respondentId, questionId, optionIds, value, submittedAt);
+ *   optionIds is a JSON array.
+ *
+ * Export layout (one response per record):
+ * - Response columns followed by one column per question, Q1..Qn in display
+ *   order (the numbering used by scoring formulas)
+ * - CSV: header line plus one line per response
+ * - NDJSON: one JSON object per response keyed by the same column names
+ */
+
+/**
+ * Enumeration representing the format of a response import or export file.
+ */
+public enum ResponseFileFormat {
+    CSV("CSV - Comma-separated values with a header line"),
+    NDJSON("NDJSON - Newline-delimited JSON objects");
+
+    private final String description;
+
+    /**
+     * Constructor for ResponseFileFormat enum
+     *
+     * @param description Human-readable description of the format
+     */
+    ResponseFileFormat(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the description of the format
+     *
+     * @return Description string
+     */
+    public String getDescription() {
+        return description;
+    }
+}
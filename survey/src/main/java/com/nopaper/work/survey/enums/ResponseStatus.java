@@ -0,0 +1,71 @@
+/**
+ * @package com.nopaper.work.survey.enums -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 3:40:18 pm
+ * @git
+ */
+package com.nopaper.work.survey.enums;
+
+/**
+ * STAGE 1: Domain Model - Response Status Enumeration
+ *
+ *
+ * Purpose:
+ * Represents the lifecycle status of a respondent's survey response.
+ *
+ * States:
+ * - STARTED: Response session opened, no answers yet
+ * - IN_PROGRESS: At least one answer saved, not yet submitted
+ * - SUBMITTED: Respondent submitted the response; answers are final and scored
+ * - TIMED_OUT: Time limit elapsed; answers were locked and submitted automatically
+ * - ABANDONED: Session expired without submission
+ */
+
+/**
+ * Enumeration representing the status of a survey response.
+ */
+public enum ResponseStatus {
+    STARTED("Started - Response session opened"),
+    IN_PROGRESS("In Progress - Answers are being saved"),
+    SUBMITTED("Submitted - Response submitted by respondent"),
+    TIMED_OUT("Timed Out - Time limit elapsed, response locked"),
+    ABANDONED("Abandoned - Session expired without submission");
+
+    private final String description;
+
+    /**
+     * Constructor for ResponseStatus enum
+     *
+     * @param description Human-readable description of the status
+     */
+    ResponseStatus(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the description of the status
+     *
+     * @return Description string
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Check if answers can still be changed in this status
+     *
+     * @return true if the response is open (STARTED or IN_PROGRESS)
+     */
+    public boolean isOpen() {
+        return this == STARTED || this == IN_PROGRESS;
+    }
+
+    /**
+     * Check if this status is final and the response has been scored
+     *
+     * @return true if SUBMITTED or TIMED_OUT
+     */
+    public boolean isFinal() {
+        return this == SUBMITTED || this == TIMED_OUT;
+    }
+}
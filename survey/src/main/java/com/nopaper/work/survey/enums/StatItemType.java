@@ -0,0 +1,52 @@
+/**
+ * @package com.nopaper.work.survey.enums -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:44:12 pm
+ * @git
+ */
+package com.nopaper.work.survey.enums;
+
+/**
+ * STAGE 1: Domain Model - Statistic Item Type Enumeration
+ *
+ *
+ * Purpose:
+ * Identifies what a survey_answer_stat row aggregates, and so what its
+ * answer_count and score_sum mean.
+ *
+ * Types:
+ * - SURVEY: Responses submitted / sum of total scores
+ * - SECTION: Responses submitted / sum of section scores
+ * - QUESTION: Responses that answered the question / sum of question scores
+ * - OPTION: Times the option was selected (score_sum unused)
+ */
+
+/**
+ * Enumeration representing the level of an aggregated answer statistic.
+ */
+public enum StatItemType {
+    SURVEY("Survey - Whole-survey totals"),
+    SECTION("Section - Per-section totals"),
+    QUESTION("Question - Per-question totals"),
+    OPTION("Option - Per-option selection counts");
+
+    private final String description;
+
+    /**
+     * Constructor for StatItemType enum
+     *
+     * @param description Human-readable description of the item type
+     */
+    StatItemType(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get the description of the item type
+     *
+     * @return Description string
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 10:36:02 am
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a survey has no cold archive (not ARCHIVED, or not archived yet).
+ * Mapped to HTTP 404 by Spring MVC.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ArchiveNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final UUID surveyId;
+
+    public ArchiveNotFoundException(UUID surveyId) {
+        super("Survey archive not found: " + surveyId);
+        this.surveyId = surveyId;
+    }
+
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+}
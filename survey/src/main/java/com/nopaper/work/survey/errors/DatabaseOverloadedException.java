@@ -0,0 +1,37 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 6:38:52 pm
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import java.sql.SQLTransientConnectionException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter.Priority;
+
+/**
+ * Thrown by the DataSource when the adaptive concurrency limit sheds a
+ * request instead of letting it queue for a connection.
+ * A SQLException, as DataSource.getConnection may only throw those; Spring
+ * and Hibernate wrap it, and Spring MVC finds it in the cause chain and
+ * maps it to HTTP 503.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DatabaseOverloadedException extends SQLTransientConnectionException {
+    private static final long serialVersionUID = 1L;
+
+    private final Priority priority;
+
+    public DatabaseOverloadedException(Priority priority, int limit) {
+        super("Database busy, shedding " + priority + " work (concurrency limit " + limit + ")");
+        this.priority = priority;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+}
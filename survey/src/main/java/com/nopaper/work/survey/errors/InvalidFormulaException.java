@@ -0,0 +1,39 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 6:31:09 pm
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a FORMULA_BASED scoring formula cannot be compiled.
+ * Mapped to HTTP 400 by Spring MVC.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFormulaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String formula;
+    private final int position;
+
+    public InvalidFormulaException(String message, String formula, int position) {
+        super(message);
+        this.formula = formula;
+        this.position = position;
+    }
+
+    public String getFormula() {
+        return formula;
+    }
+
+    /**
+     * @return 0-based character position of the error in the formula
+     */
+    public int getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:13:02 pm
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when submitted answers do not match the survey definition
+ * (unknown question or option, missing required answer, ...).
+ * Mapped to HTTP 400 by Spring MVC.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSubmissionException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidSubmissionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 8:07:40 am
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a purge job id does not match any job.
+ * Mapped to HTTP 404 by Spring MVC.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class PurgeJobNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final UUID jobId;
+
+    public PurgeJobNotFoundException(UUID jobId) {
+        super("Purge job not found: " + jobId);
+        this.jobId = jobId;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 12:52:10 am
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a question id does not match a question of the survey
+ * (of the required type, where one is required).
+ * Mapped to HTTP 404 by Spring MVC.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class QuestionNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final UUID surveyId;
+    private final UUID questionId;
+
+    public QuestionNotFoundException(UUID surveyId, UUID questionId, String message) {
+        super(message + ": " + questionId + " (survey " + surveyId + ")");
+        this.surveyId = surveyId;
+        this.questionId = questionId;
+    }
+
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+
+    public UUID getQuestionId() {
+        return questionId;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:45:02 pm
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when answers are submitted for a response that is no longer open:
+ * already submitted, or locked after its time limit ran out.
+ * Mapped to HTTP 409 by Spring MVC.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ResponseLockedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final UUID responseId;
+
+    public ResponseLockedException(UUID responseId) {
+        super("Response is no longer open: " + responseId);
+        this.responseId = responseId;
+    }
+
+    public UUID getResponseId() {
+        return responseId;
+    }
+}
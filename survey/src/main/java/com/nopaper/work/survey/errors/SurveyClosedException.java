@@ -0,0 +1,33 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:15:37 pm
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a response is submitted to a survey that is not accepting
+ * responses (not ACTIVE, or past expires_at).
+ * Mapped to HTTP 409 by Spring MVC.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SurveyClosedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final UUID surveyId;
+
+    public SurveyClosedException(UUID surveyId) {
+        super("Survey is not accepting responses: " + surveyId);
+        this.surveyId = surveyId;
+    }
+
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * @package com.nopaper.work.survey.errors -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:57:19 am
+ * @git
+ */
+package com.nopaper.work.survey.errors;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a survey id does not match any survey.
+ * Mapped to HTTP 404 by Spring MVC.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SurveyNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final UUID surveyId;
+
+    public SurveyNotFoundException(UUID surveyId) {
+        super("Survey not found: " + surveyId);
+        this.surveyId = surveyId;
+    }
+
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+}
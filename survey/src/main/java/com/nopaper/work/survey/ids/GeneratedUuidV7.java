@@ -0,0 +1,27 @@
+/**
+ * @package com.nopaper.work.survey.ids -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 5:09:02 am
+ * @git
+ */
+package com.nopaper.work.survey.ids;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generate the annotated UUID id with {@link UuidV7} on insert. Replaces
+ * {@code @GeneratedValue(strategy = GenerationType.UUID)}, which produces
+ * random v4 ids.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface GeneratedUuidV7 {
+}
@@ -0,0 +1,31 @@
+/**
+ * @package com.nopaper.work.survey.ids -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 5:11:38 am
+ * @git
+ */
+package com.nopaper.work.survey.ids;
+
+import java.util.EnumSet;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * Hibernate id generator behind {@link GeneratedUuidV7}.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return UuidV7.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * @package com.nopaper.work.survey.ids -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 5:02:47 am
+ * @git 
+ */
+/**
+ * Time-ordered UUIDv7 identifiers, used for every entity and for the rows
+ * written directly through JDBC.
+ */
+package com.nopaper.work.survey.ids;
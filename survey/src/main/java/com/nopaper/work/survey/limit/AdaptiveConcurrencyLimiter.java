@@ -0,0 +1,303 @@
+/**
+ * @package com.nopaper.work.survey.limit -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 6:05:31 pm
+ * @git
+ */
+package com.nopaper.work.survey.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to latency, in the style of the gradient
+ * limiters used for TCP congestion control and service load shedding.
+ *
+ * Every admitted unit of work reports how long it took (for the database:
+ * how long a connection was held). Two moving averages are kept:
+ * - short: the last ~SHORT_WINDOW samples, the current latency
+ * - long: the last ~LONG_WINDOW samples, the latency the system has when
+ *   it is not overloaded
+ * On each sample, while the limit is actually being used:
+ * - gradient = tolerance * long / short, clamped to [0.5, 1]
+ * - target = limit * gradient + sqrt(limit)
+ * - limit moves SMOOTHING of the way to the target, within [min, max]
+ * Latency within the tolerance lets the limit grow by about sqrt(limit);
+ * rising latency (queueing in the database) shrinks it. Latency that stays
+ * higher becomes the new long-term average after some LONG_WINDOW samples.
+ * A sample counts as at most OUTLIER_RATIO times the long-term average, so
+ * one unusually long unit cannot swing the short average on its own; only
+ * a run of slow units shrinks the limit. A unit that failed
+ * because the resource itself gave up (a pool timeout) cuts the limit by
+ * DROP_RATIO.
+ *
+ * Admission by priority:
+ * - SUBMIT: admitted below the limit; otherwise waits up to the given time,
+ *   in arrival order, ahead of all other traffic
+ * - NORMAL: admitted below the limit when no SUBMIT is waiting
+ * - REPORTING: admitted below reportingShare of the limit when no SUBMIT
+ *   is waiting
+ * Work that is not admitted is rejected at once, not queued: callers shed
+ * it (HTTP 503) instead of piling up behind a saturated database.
+ *
+ * Thread-safe. Waiting uses a java.util.concurrent lock, so virtual threads
+ * release their carrier while they wait.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Traffic classes, highest priority first.
+     */
+    public enum Priority {
+        SUBMIT, NORMAL, REPORTING
+    }
+
+    static final int SHORT_WINDOW = 10;
+    static final int LONG_WINDOW = 600;
+    static final double SMOOTHING = 0.2;
+    static final double DROP_RATIO = 0.9;
+    static final double OUTLIER_RATIO = 4;
+
+    private static final ThreadLocal<Priority> PRIORITY = new ThreadLocal<>();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double reportingShare;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    /** Guarded by lock. */
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * @param minLimit       Lowest limit; the limiter never shrinks below it
+     * @param maxLimit       Highest and initial limit (e.g. the pool size)
+     * @param tolerance      Latency increase over the long-term average accepted
+     *                       before the limit shrinks (1.5 = 50% slower)
+     * @param reportingShare Share of the limit REPORTING work may use
+     */
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, double tolerance, double reportingShare) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance < 1 || reportingShare <= 0 || reportingShare > 1) {
+            throw new IllegalArgumentException(
+                    "Need 1 <= minLimit <= maxLimit, tolerance >= 1 and 0 < reportingShare <= 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.reportingShare = reportingShare;
+        this.limit = maxLimit;
+    }
+
+    // ========================================================================
+    // Priority of the current thread
+    // ========================================================================
+
+    /**
+     * @return true if a priority was set for the current thread, false for
+     *         background work that did not classify itself
+     */
+    public static boolean hasPriority() {
+        return PRIORITY.get() != null;
+    }
+
+    /**
+     * @return Priority set for the current thread, NORMAL if none
+     */
+    public static Priority currentPriority() {
+        Priority priority = PRIORITY.get();
+        return priority != null ? priority : Priority.NORMAL;
+    }
+
+    /**
+     * Set the priority of the work the current thread does next.
+     *
+     * @return The previous priority, or null, for restorePriority
+     */
+    public static Priority setPriority(Priority priority) {
+        Priority previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        return previous;
+    }
+
+    /**
+     * @param previous Value returned by setPriority
+     */
+    public static void restorePriority(Priority previous) {
+        if (previous != null) {
+            PRIORITY.set(previous);
+        } else {
+            PRIORITY.remove();
+        }
+    }
+
+    // ========================================================================
+    // Admission
+    // ========================================================================
+
+    /**
+     * Admit one unit of work. Every successful acquire must be followed by
+     * exactly one release, cancel or drop.
+     *
+     * @param priority Traffic class of the work
+     * @param maxWait  Longest wait for a SUBMIT; ignored for other classes
+     * @param unit     Unit of maxWait
+     * @return true if admitted, false if the work should be shed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean acquire(Priority priority, long maxWait, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            if (priority == Priority.SUBMIT) {
+                long remaining = unit.toNanos(maxWait);
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    waiting++;
+                    try {
+                        remaining = slotFreed.awaitNanos(remaining);
+                    } finally {
+                        waiting--;
+                    }
+                }
+            } else {
+                double allowed = priority == Priority.REPORTING ? limit * reportingShare : limit;
+                if (waiting > 0 || inFlight >= Math.max(1, (int) allowed)) {
+                    return false;
+                }
+            }
+            inFlight++;
+            if (waiting > 0 && inFlight < (int) limit) {
+                slotFreed.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release admitted work that completed and adapt the limit to its latency.
+     *
+     * @param latencyNanos How long the work took
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            sample(latencyNanos);
+            inFlight--;
+            if (waiting > 0) {
+                slotFreed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release admitted work without sampling it, leaving the limit as it
+     * is: the work did not run, or its duration says nothing about load.
+     */
+    public void cancel() {
+        lock.lock();
+        try {
+            inFlight--;
+            if (waiting > 0) {
+                slotFreed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release admitted work that failed because the resource gave up on it
+     * (e.g. timed out waiting for a pooled connection), cutting the limit.
+     */
+    public void drop() {
+        lock.lock();
+        try {
+            limit = Math.max(minLimit, limit * DROP_RATIO);
+            inFlight--;
+            if (waiting > 0) {
+                slotFreed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarded by lock.
+     */
+    private void sample(long latencyNanos) {
+        double rtt = Math.max(1, latencyNanos);
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        rtt = Math.min(rtt, OUTLIER_RATIO * longRtt);
+        shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt += (rtt - longRtt) / LONG_WINDOW;
+        if (longRtt > 2 * shortRtt) {
+            // Latency dropped well below the baseline (e.g. a slow phase
+            // ended): let the baseline follow faster.
+            longRtt = (longRtt + shortRtt) / 2;
+        }
+        if (inFlight < limit / 2) {
+            // Too little load to tell anything about capacity.
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit + (target - limit) * SMOOTHING));
+    }
+
+    // ========================================================================
+    // Monitoring
+    // ========================================================================
+
+    /**
+     * @return Current limit, truncated
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Admitted work not yet released
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return SUBMIT work waiting for a slot
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * @package com.nopaper.work.survey.limit -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 6:02:48 pm
+ * @git 
+ */
+/**
+ * Adaptive admission control in front of the database: how much work is
+ * let through is learned from observed latency, and lower-priority traffic
+ * is shed first.
+ */
+package com.nopaper.work.survey.limit;
@@ -0,0 +1,581 @@
+/**
+ * @package com.nopaper.work.survey.model -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:26:55 am
+ * @git
+ */
+package com.nopaper.work.survey.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.entity.QuestionOption;
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.entity.SurveySection;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.enums.SurveyStatus;
+import com.nopaper.work.survey.scoring.ScoringFormula;
+
+/**
+ * STAGE 2: Read Model - Compiled Survey Definition
+ *
+ *
+ * Purpose:
+ * Immutable snapshot of a Survey and its whole definition tree
+ * (Survey -> SurveySection -> Question -> QuestionOption), built once from
+ * the entity graph and then served without touching JPA again.
+ *
+ * Layout:
+ * - Sections, questions and options are flattened into arrays and addressed
+ *   by ordinal (their position in display order across the whole survey).
+ * - Questions of a section are contiguous: [firstQuestion, firstQuestion + questionCount)
+ * - Options of a question are contiguous: [firstOption, firstOption + optionCount)
+ * - Values needed by scoring are additionally kept in primitive arrays
+ *   (points, numeric values, max points) so hot loops never unbox.
+ *
+ * Missing numeric configuration is encoded as Double.NaN (e.g. a section
+ * without pass_score), missing integer limits as 0.
+ *
+ * FORMULA_BASED surveys carry their formula compiled to a closure tree, so
+ * it is parsed once per survey version rather than once per submission.
+ *
+ * Versioning:
+ * - version() is Survey.updatedAt at compile time; a snapshot is only
+ *   valid while the survey row still carries the same updated_at.
+ */
+public final class CompiledSurvey {
+
+    /**
+     * Section definition, addressed by section ordinal.
+     */
+    public record SectionDef(
+            UUID id,
+            int ordinal,
+            String title,
+            String description,
+            ScoringType scoringType,
+            double maxScore,
+            double passScore,
+            int firstQuestion,
+            int questionCount) {
+    }
+
+    /**
+     * Question definition, addressed by question ordinal.
+     */
+    public record QuestionDef(
+            UUID id,
+            int ordinal,
+            int section,
+            String questionText,
+            String description,
+            QuestionType questionType,
+            ScoringType scoringType,
+            boolean required,
+            boolean disabled,
+            int timeLimitSeconds,
+            double maxPoints,
+            String imageUrl,
+            String videoUrl,
+            int firstOption,
+            int optionCount) {
+    }
+
+    /**
+     * Option definition, addressed by option ordinal.
+     */
+    public record OptionDef(
+            UUID id,
+            int ordinal,
+            int question,
+            String optionText,
+            String description,
+            double points,
+            double numericValue,
+            String imageUrl,
+            String imageAltText,
+            String videoUrl) {
+    }
+
+    // ========================================================================
+    // Survey Metadata
+    // ========================================================================
+
+    private final UUID id;
+    private final LocalDateTime version;
+    private final String title;
+    private final String description;
+    private final String instructions;
+    private final SurveyStatus status;
+    private final ScoringType scoringType;
+    private final String scoringFormulaSource;
+    private final ScoringFormula scoringFormula;
+    private final boolean showResults;
+    private final int timeLimitMinutes;
+    private final LocalDateTime expiresAt;
+
+    // ========================================================================
+    // Flattened Definition Tree
+    // ========================================================================
+
+    private final SectionDef[] sections;
+    private final QuestionDef[] questions;
+    private final OptionDef[] options;
+
+    private final Map<UUID, Integer> questionOrdinals;
+    private final Map<UUID, Integer> optionOrdinals;
+
+    // ========================================================================
+    // Primitive Hot-Path Arrays
+    // ========================================================================
+
+    private final QuestionType[] questionTypes;
+    private final ScoringType[] questionScoringTypes;
+    private final int[] questionSection;
+    private final int[] questionFirstOption;
+    private final double[] questionMaxPoints;
+    private final double[] optionPoints;
+    private final double[] optionNumericValues;
+    private final int[] optionQuestion;
+
+    CompiledSurvey(UUID id, LocalDateTime version, String title, String description, String instructions,
+                   SurveyStatus status, ScoringType scoringType, String scoringFormula,
+                   boolean showResults, int timeLimitMinutes,
+                   LocalDateTime expiresAt, SectionDef[] sections, QuestionDef[] questions, OptionDef[] options) {
+        this.id = id;
+        this.version = version;
+        this.title = title;
+        this.description = description;
+        this.instructions = instructions;
+        this.status = status;
+        this.scoringType = scoringType;
+        this.scoringFormulaSource = scoringFormula;
+        this.showResults = showResults;
+        this.timeLimitMinutes = timeLimitMinutes;
+        this.expiresAt = expiresAt;
+
+        this.sections = sections;
+        this.questions = questions;
+        this.options = options;
+
+        int questionCount = questions.length;
+        int optionCount = options.length;
+
+        this.questionTypes = new QuestionType[questionCount];
+        this.questionScoringTypes = new ScoringType[questionCount];
+        this.questionSection = new int[questionCount];
+        this.questionFirstOption = new int[questionCount + 1];
+        this.questionMaxPoints = new double[questionCount];
+        Map<UUID, Integer> qOrdinals = new HashMap<>(questionCount * 2);
+        for (int q = 0; q < questionCount; q++) {
+            QuestionDef def = questions[q];
+            questionTypes[q] = def.questionType();
+            questionScoringTypes[q] = def.scoringType();
+            questionSection[q] = def.section();
+            questionFirstOption[q] = def.firstOption();
+            questionMaxPoints[q] = def.maxPoints();
+            qOrdinals.put(def.id(), q);
+        }
+        questionFirstOption[questionCount] = optionCount;
+
+        this.optionPoints = new double[optionCount];
+        this.optionNumericValues = new double[optionCount];
+        this.optionQuestion = new int[optionCount];
+        Map<UUID, Integer> oOrdinals = new HashMap<>(optionCount * 2);
+        for (int o = 0; o < optionCount; o++) {
+            OptionDef def = options[o];
+            optionPoints[o] = def.points();
+            optionNumericValues[o] = def.numericValue();
+            optionQuestion[o] = def.question();
+            oOrdinals.put(def.id(), o);
+        }
+
+        this.questionOrdinals = Collections.unmodifiableMap(qOrdinals);
+        this.optionOrdinals = Collections.unmodifiableMap(oOrdinals);
+
+        this.scoringFormula = scoringType == ScoringType.FORMULA_BASED && scoringFormula != null && !scoringFormula.isBlank()
+                ? ScoringFormula.compile(scoringFormula, questionCount, sections.length)
+                : null;
+    }
+
+    // ========================================================================
+    // Compilation
+    // ========================================================================
+
+    /**
+     * Compile a survey definition from a fully initialised entity graph.
+     *
+     * Must be called while the graph is reachable (inside the loading
+     * transaction, or on a graph assembled without lazy proxies). The
+     * resulting snapshot keeps no reference to any entity.
+     *
+     * @param survey Survey with sections, questions and options available
+     * @return Immutable compiled snapshot
+     * @throws com.nopaper.work.survey.errors.InvalidFormulaException if the
+     *         survey is FORMULA_BASED and its formula does not compile
+     */
+    public static CompiledSurvey compile(Survey survey) {
+        Objects.requireNonNull(survey, "survey");
+
+        List<SectionDef> sectionDefs = new ArrayList<>();
+        List<QuestionDef> questionDefs = new ArrayList<>();
+        List<OptionDef> optionDefs = new ArrayList<>();
+
+        for (SurveySection section : nullSafe(survey.getSections())) {
+            int sectionOrdinal = sectionDefs.size();
+            int firstQuestion = questionDefs.size();
+
+            for (Question question : nullSafe(section.getQuestions())) {
+                int questionOrdinal = questionDefs.size();
+                int firstOption = optionDefs.size();
+
+                for (QuestionOption option : nullSafe(question.getOptions())) {
+                    optionDefs.add(new OptionDef(
+                            option.getId(),
+                            optionDefs.size(),
+                            questionOrdinal,
+                            option.getOptionText(),
+                            option.getDescription(),
+                            orZero(option.getPoints()),
+                            orNaN(option.getNumericValue()),
+                            option.getImageUrl(),
+                            option.getImageAltText(),
+                            option.getVideoUrl()));
+                }
+
+                questionDefs.add(new QuestionDef(
+                        question.getId(),
+                        questionOrdinal,
+                        sectionOrdinal,
+                        question.getQuestionText(),
+                        question.getDescription(),
+                        question.getQuestionType(),
+                        question.getScoringType() != null ? question.getScoringType() : ScoringType.NO_SCORING,
+                        Boolean.TRUE.equals(question.getRequired()),
+                        Boolean.TRUE.equals(question.getDisabled()),
+                        question.hasTimeLimit() ? question.getTimeLimitSeconds() : 0,
+                        orZero(question.getMaxPoints()),
+                        question.getImageUrl(),
+                        question.getVideoUrl(),
+                        firstOption,
+                        optionDefs.size() - firstOption));
+            }
+
+            sectionDefs.add(new SectionDef(
+                    section.getId(),
+                    sectionOrdinal,
+                    section.getTitle(),
+                    section.getDescription(),
+                    section.getScoringType() != null ? section.getScoringType() : ScoringType.NO_SCORING,
+                    orNaN(section.getMaxScore()),
+                    orNaN(section.getPassScore()),
+                    firstQuestion,
+                    questionDefs.size() - firstQuestion));
+        }
+
+        return new CompiledSurvey(
+                survey.getId(),
+                survey.getUpdatedAt(),
+                survey.getTitle(),
+                survey.getDescription(),
+                survey.getInstructions(),
+                survey.getStatus(),
+                survey.getScoringType() != null ? survey.getScoringType() : ScoringType.NO_SCORING,
+                survey.getScoringFormula(),
+                Boolean.TRUE.equals(survey.getShowResults()),
+                survey.hasTimeLimit() ? survey.getTimeLimitMinutes() : 0,
+                survey.getExpiresAt(),
+                sectionDefs.toArray(new SectionDef[0]),
+                questionDefs.toArray(new QuestionDef[0]),
+                optionDefs.toArray(new OptionDef[0]));
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list != null ? list : List.of();
+    }
+
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private static double orNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    // ========================================================================
+    // Survey Accessors
+    // ========================================================================
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Version of this snapshot (Survey.updatedAt at compile time).
+     */
+    public LocalDateTime getVersion() {
+        return version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getInstructions() {
+        return instructions;
+    }
+
+    public SurveyStatus getStatus() {
+        return status;
+    }
+
+    public ScoringType getScoringType() {
+        return scoringType;
+    }
+
+    /**
+     * @return Formula text as stored on the survey (may be null)
+     */
+    public String getScoringFormulaSource() {
+        return scoringFormulaSource;
+    }
+
+    /**
+     * @return Compiled formula, or null unless the survey is FORMULA_BASED with a formula
+     */
+    public ScoringFormula getScoringFormula() {
+        return scoringFormula;
+    }
+
+    public boolean isShowResults() {
+        return showResults;
+    }
+
+    /**
+     * @return Time limit in minutes, 0 when the survey is untimed
+     */
+    public int getTimeLimitMinutes() {
+        return timeLimitMinutes;
+    }
+
+    /**
+     * Time a respondent has for one response: the survey's time limit or,
+     * for an untimed survey whose every enabled question has a time limit,
+     * the sum of the question limits.
+     *
+     * Limits are enforced per response only, so when just some enabled
+     * questions have a limit (see {@link #hasPartialQuestionTimeLimits()})
+     * the response is untimed and the question limits are ignored.
+     *
+     * @return Seconds, 0 when responses are untimed
+     */
+    public int responseTimeLimitSeconds() {
+        if (timeLimitMinutes > 0) {
+            return timeLimitMinutes * 60;
+        }
+        int total = 0;
+        for (QuestionDef question : questions) {
+            if (question.disabled()) {
+                continue;
+            }
+            if (question.timeLimitSeconds() <= 0) {
+                return 0;
+            }
+            total += question.timeLimitSeconds();
+        }
+        return total;
+    }
+
+    /**
+     * @return true if the survey is untimed and mixes enabled questions with
+     *         and without a time limit, leaving the question limits unenforced
+     */
+    public boolean hasPartialQuestionTimeLimits() {
+        if (timeLimitMinutes > 0) {
+            return false;
+        }
+        boolean timed = false;
+        boolean untimed = false;
+        for (QuestionDef question : questions) {
+            if (!question.disabled()) {
+                timed |= question.timeLimitSeconds() > 0;
+                untimed |= question.timeLimitSeconds() <= 0;
+            }
+        }
+        return timed && untimed;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Check if this survey is currently accepting responses.
+     * Same rules as Survey.isAcceptingResponses().
+     *
+     * @return true if status is ACTIVE and expiresAt (if set) has not passed
+     */
+    public boolean isAcceptingResponses() {
+        if (status == null || !status.acceptsResponses()) {
+            return false;
+        }
+        return expiresAt == null || !LocalDateTime.now().isAfter(expiresAt);
+    }
+
+    /**
+     * Check if this snapshot was compiled from the given survey version.
+     *
+     * @param updatedAt Survey.updatedAt to compare with
+     * @return true if the versions are equal
+     */
+    public boolean isVersion(LocalDateTime updatedAt) {
+        return Objects.equals(version, updatedAt);
+    }
+
+    /**
+     * Check if this snapshot is older than the given survey version.
+     *
+     * @param updatedAt Survey.updatedAt to compare with
+     * @return true if updatedAt is strictly newer than this snapshot
+     */
+    public boolean isOlderThan(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return false;
+        }
+        return version == null || version.isBefore(updatedAt);
+    }
+
+    // ========================================================================
+    // Tree Accessors
+    // ========================================================================
+
+    public int sectionCount() {
+        return sections.length;
+    }
+
+    public int questionCount() {
+        return questions.length;
+    }
+
+    public int optionCount() {
+        return options.length;
+    }
+
+    public SectionDef section(int ordinal) {
+        return sections[ordinal];
+    }
+
+    public QuestionDef question(int ordinal) {
+        return questions[ordinal];
+    }
+
+    public OptionDef option(int ordinal) {
+        return options[ordinal];
+    }
+
+    public List<SectionDef> sections() {
+        return Collections.unmodifiableList(Arrays.asList(sections));
+    }
+
+    public List<QuestionDef> questions() {
+        return Collections.unmodifiableList(Arrays.asList(questions));
+    }
+
+    public List<OptionDef> options() {
+        return Collections.unmodifiableList(Arrays.asList(options));
+    }
+
+    /**
+     * @param questionId Question UUID
+     * @return Question ordinal, or -1 if the question is not part of this survey
+     */
+    public int questionOrdinal(UUID questionId) {
+        Integer ordinal = questionOrdinals.get(questionId);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * @param optionId Option UUID
+     * @return Option ordinal, or -1 if the option is not part of this survey
+     */
+    public int optionOrdinal(UUID optionId) {
+        Integer ordinal = optionOrdinals.get(optionId);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    // ========================================================================
+    // Primitive Hot-Path Accessors
+    // ========================================================================
+
+    public QuestionType questionType(int question) {
+        return questionTypes[question];
+    }
+
+    public ScoringType questionScoringType(int question) {
+        return questionScoringTypes[question];
+    }
+
+    public int questionSection(int question) {
+        return questionSection[question];
+    }
+
+    public double questionMaxPoints(int question) {
+        return questionMaxPoints[question];
+    }
+
+    public int firstOption(int question) {
+        return questionFirstOption[question];
+    }
+
+    /**
+     * @return Exclusive end of the question's option range
+     */
+    public int endOption(int question) {
+        return questionFirstOption[question + 1];
+    }
+
+    public int firstQuestion(int section) {
+        return sections[section].firstQuestion();
+    }
+
+    /**
+     * @return Exclusive end of the section's question range
+     */
+    public int endQuestion(int section) {
+        SectionDef def = sections[section];
+        return def.firstQuestion() + def.questionCount();
+    }
+
+    public double optionPoints(int option) {
+        return optionPoints[option];
+    }
+
+    public double optionNumericValue(int option) {
+        return optionNumericValues[option];
+    }
+
+    public int optionQuestion(int option) {
+        return optionQuestion[option];
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSurvey[id=" + id + ", version=" + version
+                + ", sections=" + sections.length
+                + ", questions=" + questions.length
+                + ", options=" + options.length + "]";
+    }
+}
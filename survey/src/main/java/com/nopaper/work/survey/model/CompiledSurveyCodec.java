@@ -0,0 +1,285 @@
+/**
+ * @package com.nopaper.work.survey.model -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 12:20:37 pm
+ * @git
+ */
+package com.nopaper.work.survey.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.enums.SurveyStatus;
+import com.nopaper.work.survey.model.CompiledSurvey.OptionDef;
+import com.nopaper.work.survey.model.CompiledSurvey.QuestionDef;
+import com.nopaper.work.survey.model.CompiledSurvey.SectionDef;
+
+/**
+ * Compact binary encoding of a {@link CompiledSurvey}, used for the Redis
+ * (L2) definition cache instead of JDK serialization of the entity graph.
+ *
+ * Format:
+ * - 1 byte format version, then survey header, sections, questions, options
+ * - Integers and lengths as unsigned LEB128 varints
+ * - Strings as varint (byte length + 1) followed by UTF-8 bytes; 0 means null
+ * - UUIDs as two longs, doubles as 8 bytes (NaN is preserved)
+ * - Enums by ordinal: bump FORMAT_VERSION whenever an enum used here is
+ *   reordered, so old cache entries are rejected instead of misread
+ * - Ordinals and ranges are implied by position and recomputed on decode
+ * - The scoring formula is stored as text and recompiled on decode
+ */
+public final class CompiledSurveyCodec {
+
+    /**
+     * Current format version; decode() rejects any other value.
+     */
+    public static final byte FORMAT_VERSION = 2;
+
+    private static final QuestionType[] QUESTION_TYPES = QuestionType.values();
+    private static final ScoringType[] SCORING_TYPES = ScoringType.values();
+    private static final SurveyStatus[] SURVEY_STATUSES = SurveyStatus.values();
+
+    private CompiledSurveyCodec() {
+    }
+
+    // ========================================================================
+    // Encoding
+    // ========================================================================
+
+    /**
+     * @param survey Compiled survey
+     * @return Binary representation
+     */
+    public static byte[] encode(CompiledSurvey survey) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + survey.questionCount() * 96 + survey.optionCount() * 48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+
+            writeUuid(out, survey.getId());
+            writeDateTime(out, survey.getVersion());
+            writeString(out, survey.getTitle());
+            writeString(out, survey.getDescription());
+            writeString(out, survey.getInstructions());
+            writeVarInt(out, survey.getStatus() != null ? survey.getStatus().ordinal() + 1 : 0);
+            writeVarInt(out, survey.getScoringType().ordinal());
+            writeString(out, survey.getScoringFormulaSource());
+            out.writeBoolean(survey.isShowResults());
+            writeVarInt(out, survey.getTimeLimitMinutes());
+            writeDateTime(out, survey.getExpiresAt());
+
+            writeVarInt(out, survey.sectionCount());
+            for (int s = 0; s < survey.sectionCount(); s++) {
+                SectionDef section = survey.section(s);
+                writeUuid(out, section.id());
+                writeString(out, section.title());
+                writeString(out, section.description());
+                writeVarInt(out, section.scoringType().ordinal());
+                out.writeDouble(section.maxScore());
+                out.writeDouble(section.passScore());
+                writeVarInt(out, section.questionCount());
+            }
+
+            writeVarInt(out, survey.questionCount());
+            for (int q = 0; q < survey.questionCount(); q++) {
+                QuestionDef question = survey.question(q);
+                writeUuid(out, question.id());
+                writeString(out, question.questionText());
+                writeString(out, question.description());
+                writeVarInt(out, question.questionType().ordinal());
+                writeVarInt(out, question.scoringType().ordinal());
+                out.writeByte((question.required() ? 1 : 0) | (question.disabled() ? 2 : 0));
+                writeVarInt(out, question.timeLimitSeconds());
+                out.writeDouble(question.maxPoints());
+                writeString(out, question.imageUrl());
+                writeString(out, question.videoUrl());
+                writeVarInt(out, question.optionCount());
+            }
+
+            writeVarInt(out, survey.optionCount());
+            for (int o = 0; o < survey.optionCount(); o++) {
+                OptionDef option = survey.option(o);
+                writeUuid(out, option.id());
+                writeString(out, option.optionText());
+                writeString(out, option.description());
+                out.writeDouble(option.points());
+                out.writeDouble(option.numericValue());
+                writeString(out, option.imageUrl());
+                writeString(out, option.imageAltText());
+                writeString(out, option.videoUrl());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // ========================================================================
+    // Decoding
+    // ========================================================================
+
+    /**
+     * @param data Binary representation produced by encode()
+     * @return Compiled survey
+     * @throws IllegalArgumentException if the data has another format version or is corrupt
+     */
+    public static CompiledSurvey decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte format = in.readByte();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported compiled survey format: " + format);
+            }
+
+            UUID id = readUuid(in);
+            LocalDateTime version = readDateTime(in);
+            String title = readString(in);
+            String description = readString(in);
+            String instructions = readString(in);
+            int statusCode = readVarInt(in);
+            SurveyStatus status = statusCode == 0 ? null : SURVEY_STATUSES[statusCode - 1];
+            ScoringType scoringType = SCORING_TYPES[readVarInt(in)];
+            String scoringFormula = readString(in);
+            boolean showResults = in.readBoolean();
+            int timeLimitMinutes = readVarInt(in);
+            LocalDateTime expiresAt = readDateTime(in);
+
+            SectionDef[] sections = new SectionDef[readVarInt(in)];
+            int firstQuestion = 0;
+            for (int s = 0; s < sections.length; s++) {
+                UUID sectionId = readUuid(in);
+                String sectionTitle = readString(in);
+                String sectionDescription = readString(in);
+                ScoringType sectionScoring = SCORING_TYPES[readVarInt(in)];
+                double maxScore = in.readDouble();
+                double passScore = in.readDouble();
+                int questionCount = readVarInt(in);
+                sections[s] = new SectionDef(sectionId, s, sectionTitle, sectionDescription, sectionScoring,
+                        maxScore, passScore, firstQuestion, questionCount);
+                firstQuestion += questionCount;
+            }
+
+            QuestionDef[] questions = new QuestionDef[readVarInt(in)];
+            if (questions.length != firstQuestion) {
+                throw new IllegalArgumentException("Question count mismatch: " + questions.length + " != " + firstQuestion);
+            }
+            int section = 0;
+            int firstOption = 0;
+            for (int q = 0; q < questions.length; q++) {
+                while (q >= sections[section].firstQuestion() + sections[section].questionCount()) {
+                    section++;
+                }
+                UUID questionId = readUuid(in);
+                String questionText = readString(in);
+                String questionDescription = readString(in);
+                QuestionType questionType = QUESTION_TYPES[readVarInt(in)];
+                ScoringType questionScoring = SCORING_TYPES[readVarInt(in)];
+                int flags = in.readByte();
+                int timeLimitSeconds = readVarInt(in);
+                double maxPoints = in.readDouble();
+                String imageUrl = readString(in);
+                String videoUrl = readString(in);
+                int optionCount = readVarInt(in);
+                questions[q] = new QuestionDef(questionId, q, section, questionText, questionDescription,
+                        questionType, questionScoring, (flags & 1) != 0, (flags & 2) != 0, timeLimitSeconds,
+                        maxPoints, imageUrl, videoUrl, firstOption, optionCount);
+                firstOption += optionCount;
+            }
+
+            OptionDef[] options = new OptionDef[readVarInt(in)];
+            if (options.length != firstOption) {
+                throw new IllegalArgumentException("Option count mismatch: " + options.length + " != " + firstOption);
+            }
+            int question = 0;
+            for (int o = 0; o < options.length; o++) {
+                while (o >= questions[question].firstOption() + questions[question].optionCount()) {
+                    question++;
+                }
+                options[o] = new OptionDef(readUuid(in), o, question, readString(in), readString(in),
+                        in.readDouble(), in.readDouble(), readString(in), readString(in), readString(in));
+            }
+
+            return new CompiledSurvey(id, version, title, description, instructions, status, scoringType,
+                    scoringFormula, showResults, timeLimitMinutes, expiresAt, sections, questions, options);
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt compiled survey data", e);
+        }
+    }
+
+    // ========================================================================
+    // Primitive Helpers
+    // ========================================================================
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length - 1];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(out, value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(in), ZoneOffset.UTC);
+    }
+}
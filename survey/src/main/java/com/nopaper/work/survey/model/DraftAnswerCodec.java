@@ -0,0 +1,150 @@
+/**
+ * @package com.nopaper.work.survey.model -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 3:12:26 pm
+ * @git
+ */
+package com.nopaper.work.survey.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.nopaper.work.survey.dto.AnswerSubmission;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Compact binary encoding of one autosaved draft answer, stored as a Redis
+ * hash field value (the field itself is the question id, so it is not
+ * repeated here).
+ *
+ * Format:
+ * - 1 byte format version
+ * - Option count as unsigned LEB128 varint, then each option id as two longs
+ * - value and payload (JSON text) as varint (byte length + 1) followed by
+ *   UTF-8 bytes; 0 means null
+ * - timeSpentSeconds as varint (value + 1); 0 means null
+ * A single-choice answer takes 21 bytes, against about 100 for the same
+ * answer as JSON.
+ */
+public final class DraftAnswerCodec {
+
+    /**
+     * Current format version; decode() rejects any other value.
+     */
+    public static final byte FORMAT_VERSION = 1;
+
+    private DraftAnswerCodec() {
+    }
+
+    /**
+     * @param answer     Draft answer; its question id is not encoded
+     * @param jsonMapper Writes the raw payload, if any
+     * @return Binary representation
+     */
+    public static byte[] encode(AnswerSubmission answer, JsonMapper jsonMapper) {
+        List<UUID> optionIds = answer.optionIds() != null ? answer.optionIds() : List.of();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + optionIds.size() * 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeVarInt(out, optionIds.size());
+            for (UUID optionId : optionIds) {
+                out.writeLong(optionId.getMostSignificantBits());
+                out.writeLong(optionId.getLeastSignificantBits());
+            }
+            writeString(out, answer.value());
+            writeString(out, answer.payload() != null ? jsonMapper.writeValueAsString(answer.payload()) : null);
+            writeVarInt(out, answer.timeSpentSeconds() != null ? Math.max(0, answer.timeSpentSeconds()) + 1 : 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param questionId Question the draft answers (the hash field)
+     * @param data       Binary representation produced by encode()
+     * @param jsonMapper Reads the raw payload, if any
+     * @return Draft answer
+     * @throws IllegalArgumentException if the data has another format version or is corrupt
+     */
+    public static AnswerSubmission decode(UUID questionId, byte[] data, JsonMapper jsonMapper) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte format = in.readByte();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported draft answer format: " + format);
+            }
+            int optionCount = readVarInt(in);
+            if (optionCount > data.length / 16) {
+                throw new IllegalArgumentException("Corrupt draft answer: " + optionCount + " options");
+            }
+            List<UUID> optionIds = new ArrayList<>(optionCount);
+            for (int i = 0; i < optionCount; i++) {
+                optionIds.add(new UUID(in.readLong(), in.readLong()));
+            }
+            String value = readString(in);
+            String payload = readString(in);
+            int timeSpent = readVarInt(in);
+            return new AnswerSubmission(questionId, optionIds, value,
+                    payload != null ? jsonMapper.readTree(payload) : null, timeSpent > 0 ? timeSpent - 1 : null);
+        } catch (IOException | JacksonException e) {
+            throw new IllegalArgumentException("Corrupt draft answer", e);
+        }
+    }
+
+    // ========================================================================
+    // Primitives
+    // ========================================================================
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > in.available()) {
+            throw new IOException("String length " + (length - 1) + " past end of data");
+        }
+        byte[] utf8 = new byte[length - 1];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
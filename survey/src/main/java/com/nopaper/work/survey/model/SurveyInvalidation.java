@@ -0,0 +1,68 @@
+/**
+ * @package com.nopaper.work.survey.model -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 2:10:33 pm
+ * @git
+ */
+package com.nopaper.work.survey.model;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Invalidation message broadcast when a survey definition changes.
+ *
+ * Carries the new Survey.updatedAt so receivers can drop only snapshots
+ * older than it; a message that arrives late (after a newer one) is
+ * therefore harmless. A deleted survey is announced with
+ * {@link #DELETED} as its version, which no snapshot can ever reach.
+ *
+ * Wire format: 16 bytes UUID, 8 bytes epoch second (UTC), 4 bytes nanos.
+ *
+ * @param surveyId  Survey id
+ * @param updatedAt Survey.updatedAt after the change
+ */
+public record SurveyInvalidation(UUID surveyId, LocalDateTime updatedAt) {
+
+    /**
+     * Version used to announce a deleted survey.
+     */
+    public static final LocalDateTime DELETED = LocalDateTime.MAX;
+
+    private static final int WIRE_SIZE = 16 + 8 + 4;
+
+    public SurveyInvalidation {
+        Objects.requireNonNull(surveyId, "surveyId");
+        Objects.requireNonNull(updatedAt, "updatedAt");
+    }
+
+    /**
+     * @return Binary wire representation
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(WIRE_SIZE)
+                .putLong(surveyId.getMostSignificantBits())
+                .putLong(surveyId.getLeastSignificantBits())
+                .putLong(updatedAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(updatedAt.getNano())
+                .array();
+    }
+
+    /**
+     * @param data Binary wire representation
+     * @return Decoded message
+     * @throws IllegalArgumentException if data has the wrong size
+     */
+    public static SurveyInvalidation fromBytes(byte[] data) {
+        if (data == null || data.length != WIRE_SIZE) {
+            throw new IllegalArgumentException("Invalid survey invalidation message");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        UUID surveyId = new UUID(buffer.getLong(), buffer.getLong());
+        long epochSecond = buffer.getLong();
+        return new SurveyInvalidation(surveyId, LocalDateTime.ofEpochSecond(epochSecond, buffer.getInt(), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * @package com.nopaper.work.survey.model -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:24:31 am
+ * @git 
+ */
+/**
+ * Immutable read models built from the JPA entity graph for the hot
+ * (respondent-facing) paths. Nothing in this package holds a reference to
+ * a Hibernate session or proxy.
+ */
+package com.nopaper.work.survey.model;
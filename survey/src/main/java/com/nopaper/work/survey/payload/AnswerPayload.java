@@ -0,0 +1,148 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:01:36 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reusable, primitive holder of one decoded answer payload.
+ *
+ * Kinds:
+ * - OPTIONS: option ordinals of a CompiledSurvey, in payload order (one for
+ *   choice rows, a permutation for RANKING / ORDERING, one column per row
+ *   for legacy MATRIX payloads); ids unknown to the survey decode as -1
+ * - NUMBER: a double
+ * - DATE_TIME: epoch milliseconds (UTC) plus the original text
+ * - TEXT: a string
+ * - PACKED: the answer lives in answer_data (bit-packed MATRIX)
+ * - NONE: nothing decoded
+ *
+ * A holder is reset() and refilled for each answer; the option buffer only
+ * ever grows. Not thread-safe.
+ */
+public final class AnswerPayload {
+
+    public enum Kind {
+        NONE, OPTIONS, NUMBER, DATE_TIME, TEXT, PACKED
+    }
+
+    private Kind kind = Kind.NONE;
+    private int[] options = new int[8];
+    private int optionCount;
+    private double number;
+    private long epochMillis;
+    private String text;
+
+    public AnswerPayload reset() {
+        kind = Kind.NONE;
+        optionCount = 0;
+        number = Double.NaN;
+        epochMillis = 0L;
+        text = null;
+        return this;
+    }
+
+    // ========================================================================
+    // Filling
+    // ========================================================================
+
+    /**
+     * Append an option ordinal (-1 = unknown option).
+     */
+    public AnswerPayload addOption(int option) {
+        if (optionCount == options.length) {
+            options = Arrays.copyOf(options, options.length * 2);
+        }
+        options[optionCount++] = option;
+        kind = Kind.OPTIONS;
+        return this;
+    }
+
+    public AnswerPayload setNumber(double number) {
+        this.number = number;
+        this.kind = Kind.NUMBER;
+        return this;
+    }
+
+    /**
+     * @param epochMillis Instant in epoch milliseconds (UTC)
+     * @param text        Date-time as given, may be null
+     */
+    public AnswerPayload setDateTime(long epochMillis, String text) {
+        this.epochMillis = epochMillis;
+        this.text = text;
+        this.kind = Kind.DATE_TIME;
+        return this;
+    }
+
+    public AnswerPayload setText(String text) {
+        this.text = text;
+        this.kind = Kind.TEXT;
+        return this;
+    }
+
+    public AnswerPayload setPacked() {
+        this.kind = Kind.PACKED;
+        return this;
+    }
+
+    // ========================================================================
+    // Reading
+    // ========================================================================
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public int optionCount() {
+        return optionCount;
+    }
+
+    /**
+     * @param index Position in payload order
+     * @return Option ordinal, -1 if the id is unknown to the survey
+     */
+    public int option(int index) {
+        return options[index];
+    }
+
+    /**
+     * @return Backing array of the options; valid up to optionCount()
+     */
+    public int[] options() {
+        return options;
+    }
+
+    public double number() {
+        return number;
+    }
+
+    public long epochMillis() {
+        return epochMillis;
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return true if both hold the same answer (date-times compare by instant)
+     */
+    public boolean sameAnswer(AnswerPayload other) {
+        if (kind != other.kind) {
+            return false;
+        }
+        return switch (kind) {
+            case NONE, PACKED -> true;
+            case OPTIONS -> Arrays.equals(options, 0, optionCount, other.options, 0, other.optionCount);
+            case NUMBER -> Double.compare(number, other.number) == 0;
+            case DATE_TIME -> epochMillis == other.epochMillis;
+            case TEXT -> Objects.equals(text, other.text);
+        };
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:24:52 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * QuestionType-dispatched answer_payload codec.
+ *
+ * Writing appends the payload shape of the question type straight into a
+ * per-thread StringBuilder; reading walks the JSON with the streaming token
+ * API into an AnswerPayload, so neither direction builds a JsonNode tree.
+ *
+ * Shapes:
+ * - Choice types:       {"option": "<id>"} (one row per option)
+ * - RANKING / ORDERING: {"ranking": ["<id>", ...]}
+ * - MATRIX:             {"encoding": "packed"}, legacy {"matrix": ["<id>", ...]}
+ * - NUMERIC / SLIDER:   {"value": 42.5}
+ * - DATE_TIME:          {"value": "<as given>", "epochMillis": ...}
+ * - Other types:        {"value": "..."}
+ */
+@Component
+public class AnswerPayloadCodec {
+
+    private static final int BUILDER_RETAIN_LIMIT = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUILDERS = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final ThreadLocal<AnswerPayload> HOLDERS = ThreadLocal.withInitial(AnswerPayload::new);
+
+    private final JsonMapper jsonMapper;
+
+    public AnswerPayloadCodec(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * @return This thread's reusable holder, reset
+     */
+    public AnswerPayload holder() {
+        return HOLDERS.get().reset();
+    }
+
+    /**
+     * @param type     Question type
+     * @param survey   Survey the option ordinals refer to
+     * @param payload  Answer to write
+     * @return answer_payload JSON
+     */
+    public String write(QuestionType type, CompiledSurvey survey, AnswerPayload payload) {
+        StringBuilder out = BUILDERS.get();
+        out.setLength(0);
+        codecFor(type).write(survey, payload, out);
+        String json = out.toString();
+        if (out.capacity() > BUILDER_RETAIN_LIMIT) {
+            BUILDERS.remove();
+        }
+        return json;
+    }
+
+    /**
+     * Decode an answer_payload into a holder (reset first).
+     *
+     * @param type    Question type
+     * @param survey  Survey to resolve option ids against
+     * @param json    answer_payload JSON
+     * @param payload Holder to fill
+     * @return false if the JSON is malformed or not an object (the holder is then reset)
+     */
+    public boolean read(QuestionType type, CompiledSurvey survey, String json, AnswerPayload payload) {
+        payload.reset();
+        if (json == null) {
+            return false;
+        }
+        try (JsonParser parser = jsonMapper.createParser(json)) {
+            return read(codecFor(type), survey, parser, payload);
+        } catch (JacksonException e) {
+            payload.reset();
+            return false;
+        }
+    }
+
+    /**
+     * Decode a client-supplied payload into a holder (reset first).
+     *
+     * @param type    Question type
+     * @param survey  Survey to resolve option ids against
+     * @param json    Payload as parsed from the request
+     * @param payload Holder to fill
+     * @return false if the payload is not an object (the holder is then reset)
+     */
+    public boolean read(QuestionType type, CompiledSurvey survey, JsonNode json, AnswerPayload payload) {
+        payload.reset();
+        if (json == null || !json.isObject()) {
+            return false;
+        }
+        try (JsonParser parser = jsonMapper.treeAsTokens(json)) {
+            return read(codecFor(type), survey, parser, payload);
+        } catch (JacksonException e) {
+            payload.reset();
+            return false;
+        }
+    }
+
+    private static boolean read(PayloadCodec codec, CompiledSurvey survey, JsonParser parser,
+                                AnswerPayload payload) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (!codec.readProperty(survey, name, parser, payload)) {
+                parser.skipChildren();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param text ISO-8601 instant, offset date-time, local date-time or date
+     * @return Epoch milliseconds (UTC), Long.MIN_VALUE if not a date
+     */
+    public static long parseEpochMillis(String text) {
+        return DateTimePayloadCodec.parseEpochMillis(text);
+    }
+
+    private static PayloadCodec codecFor(QuestionType type) {
+        if (type == null) {
+            return TextPayloadCodec.INSTANCE;
+        }
+        return switch (type) {
+            case RANKING, ORDERING -> RankingPayloadCodec.INSTANCE;
+            case MATRIX -> MatrixPayloadCodec.INSTANCE;
+            case NUMERIC, SLIDER -> NumberPayloadCodec.INSTANCE;
+            case DATE_TIME -> DateTimePayloadCodec.INSTANCE;
+            case TEXT, SCORE -> TextPayloadCodec.INSTANCE;
+            default -> OptionPayloadCodec.INSTANCE;
+        };
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:18:40 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+
+/**
+ * DATE_TIME: {"value": "<as given>", "epochMillis": 1760659200000}.
+ *
+ * The epoch (UTC; local date-times are taken as UTC) is written next to the
+ * original text so readers get a long without re-parsing; values that are
+ * not ISO-8601 dates or date-times are kept as text only.
+ */
+final class DateTimePayloadCodec implements PayloadCodec {
+
+    static final DateTimePayloadCodec INSTANCE = new DateTimePayloadCodec();
+
+    private DateTimePayloadCodec() {
+    }
+
+    @Override
+    public void write(CompiledSurvey survey, AnswerPayload payload, StringBuilder out) {
+        if (payload.kind() != AnswerPayload.Kind.DATE_TIME) {
+            TextPayloadCodec.INSTANCE.write(survey, payload, out);
+            return;
+        }
+        out.append('{');
+        if (payload.text() != null) {
+            JsonText.string(out.append("\"value\":"), payload.text()).append(',');
+        }
+        out.append("\"epochMillis\":").append(payload.epochMillis()).append('}');
+    }
+
+    @Override
+    public boolean readProperty(CompiledSurvey survey, String name, JsonParser parser, AnswerPayload payload) {
+        if ("epochMillis".equals(name)) {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                payload.setDateTime(parser.getLongValue(), payload.text());
+            }
+            return true;
+        }
+        if ("value".equals(name)) {
+            String text = parser.getValueAsString();
+            if (payload.kind() == AnswerPayload.Kind.DATE_TIME) {
+                payload.setDateTime(payload.epochMillis(), text);
+            } else if (text != null) {
+                long epochMillis = parseEpochMillis(text);
+                if (epochMillis != Long.MIN_VALUE) {
+                    payload.setDateTime(epochMillis, text);
+                } else {
+                    payload.setText(text);
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param text ISO-8601 instant, offset date-time, local date-time or date
+     * @return Epoch milliseconds (UTC), Long.MIN_VALUE if not a date
+     */
+    static long parseEpochMillis(String text) {
+        String value = text.trim();
+        try {
+            if (value.length() <= 10) {
+                return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            }
+            if (value.endsWith("Z")) {
+                return Instant.parse(value).toEpochMilli();
+            }
+            int time = value.indexOf('T');
+            if (time > 0 && (value.indexOf('+', time) > 0 || value.indexOf('-', time) > 0)) {
+                return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+            }
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+}
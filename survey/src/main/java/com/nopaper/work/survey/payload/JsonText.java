@@ -0,0 +1,98 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:07:02 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import java.util.UUID;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+
+/**
+ * JSON fragments shared by the payload codecs.
+ */
+final class JsonText {
+
+    private JsonText() {
+    }
+
+    /**
+     * Append a quoted, escaped JSON string.
+     */
+    static StringBuilder string(StringBuilder out, CharSequence value) {
+        out.append('"');
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Append a JSON number; NaN and infinities, which JSON cannot hold, become null.
+     */
+    static StringBuilder number(StringBuilder out, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return out.append("null");
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return out.append((long) value);
+        }
+        return out.append(value);
+    }
+
+    /**
+     * Append an option's id as a JSON string.
+     */
+    static StringBuilder option(StringBuilder out, CompiledSurvey survey, int option) {
+        return out.append('"').append(survey.option(option).id()).append('"');
+    }
+
+    /**
+     * @param parser Positioned on a string token holding an option id
+     * @return Option ordinal, -1 if the token is not a known option id
+     */
+    static int readOption(CompiledSurvey survey, JsonParser parser) {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return -1;
+        }
+        try {
+            return survey.optionOrdinal(UUID.fromString(parser.getString()));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param parser Positioned on a START_ARRAY of option ids
+     */
+    static void readOptions(CompiledSurvey survey, JsonParser parser, AnswerPayload payload) {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY;
+                token = parser.nextToken()) {
+            payload.addOption(readOption(survey, parser));
+        }
+    }
+}
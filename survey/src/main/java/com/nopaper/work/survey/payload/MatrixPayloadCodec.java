@@ -0,0 +1,56 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:14:31 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JsonParser;
+
+/**
+ * MATRIX (one row). Cells are bit-packed into answer_data
+ * (MatrixAnswerCodec), so the payload written is only {"encoding": "packed"};
+ * legacy rows hold the columns per row as {"matrix": ["<id>", ...]}, which
+ * is also what write() produces for an OPTIONS holder (the JSON view).
+ */
+final class MatrixPayloadCodec implements PayloadCodec {
+
+    static final MatrixPayloadCodec INSTANCE = new MatrixPayloadCodec();
+
+    private MatrixPayloadCodec() {
+    }
+
+    @Override
+    public void write(CompiledSurvey survey, AnswerPayload payload, StringBuilder out) {
+        if (payload.kind() != AnswerPayload.Kind.OPTIONS) {
+            out.append("{\"encoding\":\"packed\"}");
+            return;
+        }
+        out.append("{\"matrix\":[");
+        for (int i = 0; i < payload.optionCount(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            JsonText.option(out, survey, payload.option(i));
+        }
+        out.append("]}");
+    }
+
+    @Override
+    public boolean readProperty(CompiledSurvey survey, String name, JsonParser parser, AnswerPayload payload) {
+        if ("matrix".equals(name)) {
+            JsonText.readOptions(survey, parser, payload);
+            return true;
+        }
+        if ("encoding".equals(name)) {
+            if ("packed".equals(parser.getValueAsString())) {
+                payload.setPacked();
+            }
+            return true;
+        }
+        return false;
+    }
+}
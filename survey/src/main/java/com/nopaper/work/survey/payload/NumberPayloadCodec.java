@@ -0,0 +1,53 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:16:07 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+
+/**
+ * NUMERIC / SLIDER: {"value": 42.5}, read straight into a double.
+ */
+final class NumberPayloadCodec implements PayloadCodec {
+
+    static final NumberPayloadCodec INSTANCE = new NumberPayloadCodec();
+
+    private NumberPayloadCodec() {
+    }
+
+    @Override
+    public void write(CompiledSurvey survey, AnswerPayload payload, StringBuilder out) {
+        if (payload.kind() != AnswerPayload.Kind.NUMBER) {
+            TextPayloadCodec.INSTANCE.write(survey, payload, out);
+            return;
+        }
+        JsonText.number(out.append("{\"value\":"), payload.number()).append('}');
+    }
+
+    @Override
+    public boolean readProperty(CompiledSurvey survey, String name, JsonParser parser, AnswerPayload payload) {
+        if (!"value".equals(name)) {
+            return false;
+        }
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            payload.setNumber(parser.getDoubleValue());
+        } else if (token == JsonToken.VALUE_STRING) {
+            // Older rows and client payloads may carry the number as a string.
+            try {
+                payload.setNumber(Double.parseDouble(parser.getString().trim()));
+            } catch (NumberFormatException e) {
+                payload.setText(parser.getString());
+            }
+        } else {
+            parser.skipChildren();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:10:44 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JsonParser;
+
+/**
+ * Choice types (one row per selected option): {"option": "<id>"}.
+ * A choice question answered with a flat value falls back to the text shape.
+ */
+final class OptionPayloadCodec implements PayloadCodec {
+
+    static final OptionPayloadCodec INSTANCE = new OptionPayloadCodec();
+
+    private OptionPayloadCodec() {
+    }
+
+    @Override
+    public void write(CompiledSurvey survey, AnswerPayload payload, StringBuilder out) {
+        if (payload.kind() != AnswerPayload.Kind.OPTIONS || payload.optionCount() != 1) {
+            TextPayloadCodec.INSTANCE.write(survey, payload, out);
+            return;
+        }
+        JsonText.option(out.append("{\"option\":"), survey, payload.option(0)).append('}');
+    }
+
+    @Override
+    public boolean readProperty(CompiledSurvey survey, String name, JsonParser parser, AnswerPayload payload) {
+        if ("option".equals(name)) {
+            payload.addOption(JsonText.readOption(survey, parser));
+            return true;
+        }
+        return TextPayloadCodec.INSTANCE.readProperty(survey, name, parser, payload);
+    }
+}
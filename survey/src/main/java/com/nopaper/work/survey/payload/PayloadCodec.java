@@ -0,0 +1,30 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:05:19 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JsonParser;
+
+/**
+ * Reader and writer of the answer_payload shape of one QuestionType family.
+ */
+interface PayloadCodec {
+
+    /**
+     * Append the payload as a JSON object.
+     */
+    void write(CompiledSurvey survey, AnswerPayload payload, StringBuilder out);
+
+    /**
+     * Decode the value of one top-level property.
+     *
+     * @param parser Positioned on the property's value token
+     * @return false if the property is not part of this shape (the caller skips it)
+     */
+    boolean readProperty(CompiledSurvey survey, String name, JsonParser parser, AnswerPayload payload);
+}
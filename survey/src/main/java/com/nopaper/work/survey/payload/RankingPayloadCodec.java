@@ -0,0 +1,44 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:12:58 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JsonParser;
+
+/**
+ * RANKING / ORDERING (one row, the permutation in ranked order):
+ * {"ranking": ["<id>", ...]}.
+ */
+final class RankingPayloadCodec implements PayloadCodec {
+
+    static final RankingPayloadCodec INSTANCE = new RankingPayloadCodec();
+
+    private RankingPayloadCodec() {
+    }
+
+    @Override
+    public void write(CompiledSurvey survey, AnswerPayload payload, StringBuilder out) {
+        out.append("{\"ranking\":[");
+        for (int i = 0; i < payload.optionCount(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            JsonText.option(out, survey, payload.option(i));
+        }
+        out.append("]}");
+    }
+
+    @Override
+    public boolean readProperty(CompiledSurvey survey, String name, JsonParser parser, AnswerPayload payload) {
+        if ("ranking".equals(name)) {
+            JsonText.readOptions(survey, parser, payload);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 4:20:15 am
+ * @git
+ */
+package com.nopaper.work.survey.payload;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.core.JsonParser;
+
+/**
+ * Value types without a richer shape (TEXT, SCORE): {"value": "..."}.
+ */
+final class TextPayloadCodec implements PayloadCodec {
+
+    static final TextPayloadCodec INSTANCE = new TextPayloadCodec();
+
+    private TextPayloadCodec() {
+    }
+
+    @Override
+    public void write(CompiledSurvey survey, AnswerPayload payload, StringBuilder out) {
+        out.append("{\"value\":");
+        switch (payload.kind()) {
+            case NUMBER -> JsonText.number(out, payload.number());
+            case TEXT, DATE_TIME -> {
+                if (payload.text() != null) {
+                    JsonText.string(out, payload.text());
+                } else {
+                    out.append("null");
+                }
+            }
+            default -> out.append("null");
+        }
+        out.append('}');
+    }
+
+    @Override
+    public boolean readProperty(CompiledSurvey survey, String name, JsonParser parser, AnswerPayload payload) {
+        if (!"value".equals(name)) {
+            return false;
+        }
+        String text = parser.getValueAsString();
+        if (text != null) {
+            payload.setText(text);
+        } else {
+            parser.skipChildren();
+        }
+        return true;
+    }
+}
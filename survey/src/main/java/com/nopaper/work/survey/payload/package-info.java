@@ -0,0 +1,13 @@
+/**
+ * @package com.nopaper.work.survey.payload -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 3:58:12 am
+ * @git 
+ */
+/**
+ * Typed readers and writers of survey_response_answer.answer_payload, one
+ * per QuestionType family, working on a reusable primitive
+ * {@link com.nopaper.work.survey.payload.AnswerPayload} instead of JSON
+ * trees.
+ */
+package com.nopaper.work.survey.payload;
@@ -0,0 +1,70 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:31:05 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.util.OptionalDouble;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Load signals read from PostgreSQL, used to slow down background writers.
+ */
+@Repository
+public class DatabaseLoadReader {
+
+    /**
+     * Seconds the slowest streaming replica is behind in replaying WAL.
+     * replay_lag is NULL for an idle, caught-up replica and hidden from
+     * roles without pg_monitor; both read as 0.
+     */
+    private static final String MAX_REPLICA_LAG =
+            "SELECT coalesce(max(extract(epoch FROM replay_lag)), 0) FROM pg_stat_replication";
+
+    /**
+     * Seconds a standby is behind in replaying WAL, measured on the standby
+     * itself: the age of the last replayed transaction, or 0 when it has
+     * replayed everything it received (an idle primary sends nothing, which
+     * would otherwise read as growing lag) or is not a standby at all (a
+     * plain database standing in for a replica).
+     *
+     * Having replayed everything received only means caught up while the
+     * WAL receiver is streaming: a standby cut off from the primary receives
+     * nothing and would read as 0 too. Without a streaming receiver the lag
+     * is NULL (unknown). Reading pg_stat_wal_receiver needs pg_monitor.
+     */
+    private static final String REPLAY_LAG = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseLoadReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return Replay lag of the slowest replica in seconds, 0 without replicas
+     */
+    public double maxReplicaLagSeconds() {
+        Double lag = jdbcTemplate.queryForObject(MAX_REPLICA_LAG, Double.class);
+        return lag != null ? lag : 0.0;
+    }
+
+    /**
+     * @param replica Read replica, queried directly
+     * @return How far the replica is behind the primary in seconds, empty
+     *         if it is a standby that is not streaming from the primary
+     */
+    public OptionalDouble replayLagSeconds(DataSource replica) {
+        Double lag = new JdbcTemplate(replica).queryForObject(REPLAY_LAG, Double.class);
+        return lag != null ? OptionalDouble.of(lag) : OptionalDouble.empty();
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 10:21:50 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.archive.ArchiveColumn;
+import com.nopaper.work.survey.archive.ArchiveColumn.Table;
+
+/**
+ * Forward-only cursors over every column of a survey's responses and of
+ * their answers, for archiving. Columns come in ArchiveColumn order, so
+ * column i + 1 of the ResultSet is ArchiveColumn.columns(table).get(i).
+ *
+ * As with ResponseExportReader, call inside a transaction so pgJDBC
+ * streams with the fetch size. Rows are ordered by response; answers are
+ * bounded like ResponsePurgeWriter bounds them, so archiving covers every
+ * row a survey purge deletes.
+ */
+@Repository
+public class ResponseArchiveReader {
+
+    private static final String SELECT_RESPONSES =
+            "SELECT " + columns(Table.RESPONSES, "r") + " FROM survey_response r"
+                    + " WHERE r.survey_id = ? AND r.created_at >= ? AND r.created_at < ?"
+                    + " ORDER BY r.response_id";
+
+    private static final String SELECT_ANSWERS =
+            "SELECT " + columns(Table.ANSWERS, "a") + " FROM survey_response_answer a"
+                    + " JOIN survey_response r ON r.response_id = a.response_id"
+                    + " AND r.survey_id = ? AND r.created_at >= ? AND r.created_at < ?"
+                    + " WHERE a.created_at >= ? AND a.created_at < ?"
+                    + " ORDER BY a.response_id, a.answered_at";
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResponseArchiveReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stream every response of a survey created in [from, to).
+     */
+    public void forEachResponse(UUID surveyId, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_RESPONSES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(ResponseExportReader.FETCH_SIZE);
+            ps.setObject(1, surveyId);
+            ps.setObject(2, from);
+            ps.setObject(3, to);
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Stream every answer of the responses of a survey created in [from, to).
+     * Answers get one extra day, like ResponsePurgeWriter.
+     */
+    public void forEachAnswer(UUID surveyId, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_ANSWERS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(ResponseExportReader.FETCH_SIZE);
+            ps.setObject(1, surveyId);
+            ps.setObject(2, from);
+            ps.setObject(3, to);
+            ps.setObject(4, from);
+            ps.setObject(5, to.plusDays(1));
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Take the archiving lock of a survey for the current transaction.
+     *
+     * @return false if another node holds it
+     */
+    public boolean tryLock(UUID surveyId) {
+        long key = surveyId.getMostSignificantBits() ^ surveyId.getLeastSignificantBits();
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class, key));
+    }
+
+    private static String columns(Table table, String alias) {
+        return ArchiveColumn.columns(table).stream()
+                .map(column -> column == ArchiveColumn.ANSWER_PAYLOAD
+                        ? alias + "." + column.columnName() + "::text"
+                        : alias + "." + column.columnName())
+                .collect(Collectors.joining(", "));
+    }
+}
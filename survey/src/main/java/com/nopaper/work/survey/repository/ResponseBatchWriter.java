@@ -0,0 +1,346 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:24:55 pm
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.enums.ResponseStatus;
+import com.nopaper.work.survey.ids.UuidV7;
+
+/**
+ * JDBC writer for survey_response and survey_response_answer rows.
+ *
+ * Used by the submit path instead of persisting entities:
+ * - IDs are assigned by the caller before the insert, so nothing waits for
+ *   a database-generated key and every answer row can go in one batch.
+ * - Answer rows are sent as a single JDBC batch sized to the answer count;
+ *   with reWriteBatchedInserts=true on the JDBC URL, pgJDBC rewrites the
+ *   batch into multi-row INSERT ... VALUES (...), (...) statements.
+ *
+ * Timed responses are inserted STARTED when the respondent begins
+ * (ResponseSubmissionService.start) and later completed or timed out by
+ * UPDATE; those statements bound created_at around the UUIDv7 time of the
+ * response id so only one or two partitions are visited.
+ *
+ * Runs inside the caller's (JPA) transaction.
+ */
+@Repository
+public class ResponseBatchWriter {
+
+    private static final String INSERT_RESPONSE =
+            "INSERT INTO survey_response (response_id, survey_id, respondent_id, status, ip_address, user_agent,"
+                    + " total_score, max_score, score_percentage, is_passed, time_spent_seconds,"
+                    + " started_at, submitted_at, created_at, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ANSWER =
+            "INSERT INTO survey_response_answer (answer_id, response_id, question_id, option_id, answer_payload,"
+                    + " answer_data, answer_value, answer_score, is_correct, time_spent_seconds, answered_at,"
+                    + " created_at, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?::jsonb, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_RESPONSE =
+            "SELECT response_id, survey_id, respondent_id, status, started_at, created_at FROM survey_response"
+                    + " WHERE response_id = ? AND created_at >= ? AND created_at < ?";
+
+    private static final String COMPLETE_RESPONSE =
+            "UPDATE survey_response SET status = ?, total_score = ?, max_score = ?, score_percentage = ?,"
+                    + " is_passed = ?, time_spent_seconds = ?, submitted_at = ?, updated_at = ?"
+                    + " WHERE response_id = ? AND created_at = ? AND status IN ('STARTED', 'IN_PROGRESS')";
+
+    private static final String TIME_OUT =
+            "UPDATE survey_response SET status = 'TIMED_OUT', submitted_at = ?, updated_at = ?,"
+                    + " time_spent_seconds ="
+                    + " GREATEST(0, EXTRACT(EPOCH FROM (CAST(? AS timestamp) - started_at)))::integer"
+                    + " WHERE response_id = ANY(?) AND created_at >= ? AND created_at < ?"
+                    + " AND status IN ('STARTED', 'IN_PROGRESS')"
+                    + " RETURNING response_id";
+
+    private static final String SCORE_TIMED_OUT =
+            "UPDATE survey_response SET total_score = ?, max_score = ?, score_percentage = ?, is_passed = ?,"
+                    + " updated_at = ? WHERE response_id = ? AND created_at = ? AND status = 'TIMED_OUT'";
+
+    private static final String MARK_IN_PROGRESS =
+            "UPDATE survey_response SET status = 'IN_PROGRESS', updated_at = ?"
+                    + " WHERE response_id = ? AND created_at = ? AND status IN ('STARTED', 'IN_PROGRESS')";
+
+    private static final String DELETE_ANSWERS =
+            "DELETE FROM survey_response_answer WHERE response_id = ? AND created_at = ?";
+
+    private static final String DELETE_QUESTION_ANSWERS =
+            "DELETE FROM survey_response_answer WHERE response_id = ? AND created_at = ? AND question_id = ANY(?)";
+
+    /**
+     * A response's created_at lies within this much of its id's UUIDv7 time
+     * (ids are generated just before the insert; the margin absorbs clock
+     * differences between nodes, as in responseWindowEnd).
+     */
+    private static final long CREATED_AT_MARGIN_MILLIS = 86_400_000L;
+
+    /**
+     * Values of one survey_response row.
+     */
+    public record ResponseRow(
+            UUID responseId,
+            UUID surveyId,
+            String respondentId,
+            ResponseStatus status,
+            String ipAddress,
+            String userAgent,
+            Double totalScore,
+            Double maxScore,
+            Double scorePercentage,
+            Boolean passed,
+            Integer timeSpentSeconds,
+            LocalDateTime startedAt,
+            LocalDateTime submittedAt) {
+    }
+
+    /**
+     * Values of one survey_response_answer row.
+     */
+    public record AnswerRow(
+            UUID answerId,
+            UUID questionId,
+            UUID optionId,
+            String payload,
+            byte[] data,
+            String value,
+            Double score,
+            Boolean correct,
+            Integer timeSpentSeconds,
+            LocalDateTime answeredAt) {
+    }
+
+    /**
+     * A stored response as needed to complete it.
+     */
+    public record StoredResponse(
+            UUID responseId,
+            UUID surveyId,
+            String respondentId,
+            ResponseStatus status,
+            LocalDateTime startedAt,
+            LocalDateTime createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResponseBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert one survey_response row.
+     *
+     * @param row Response values
+     * @return created_at written; pass it to insertAnswers() so the answers
+     *         land in the response's partition
+     */
+    public LocalDateTime insertResponse(ResponseRow row) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(INSERT_RESPONSE, ps -> {
+            ps.setObject(1, row.responseId());
+            ps.setObject(2, row.surveyId());
+            ps.setString(3, row.respondentId());
+            ps.setString(4, row.status().name());
+            ps.setString(5, row.ipAddress());
+            ps.setString(6, row.userAgent());
+            ps.setObject(7, row.totalScore(), Types.DOUBLE);
+            ps.setObject(8, row.maxScore(), Types.DOUBLE);
+            ps.setObject(9, row.scorePercentage(), Types.DOUBLE);
+            ps.setObject(10, row.passed(), Types.BOOLEAN);
+            ps.setObject(11, row.timeSpentSeconds(), Types.INTEGER);
+            ps.setObject(12, row.startedAt());
+            ps.setObject(13, row.submittedAt());
+            ps.setObject(14, now);
+            ps.setObject(15, now);
+        });
+        return now;
+    }
+
+    /**
+     * Find a response by id.
+     *
+     * @param responseId Response id; only UUIDv7 ids (as generated here) can match
+     * @return The response, or empty if there is none
+     */
+    public Optional<StoredResponse> findResponse(UUID responseId) {
+        if (responseId.version() != 7) {
+            return Optional.empty();
+        }
+        long millis = UuidV7.epochMillis(responseId);
+        return jdbcTemplate.query(SELECT_RESPONSE, (rs, rowNum) -> new StoredResponse(
+                        rs.getObject(1, UUID.class),
+                        rs.getObject(2, UUID.class),
+                        rs.getString(3),
+                        ResponseStatus.valueOf(rs.getString(4)),
+                        rs.getObject(5, LocalDateTime.class),
+                        rs.getObject(6, LocalDateTime.class)),
+                responseId, localTime(millis - CREATED_AT_MARGIN_MILLIS), localTime(millis + CREATED_AT_MARGIN_MILLIS))
+                .stream().findFirst();
+    }
+
+    /**
+     * Complete a STARTED or IN_PROGRESS response with its final status and scores.
+     *
+     * @param row       Response values; ip address, user agent and started_at are kept as stored
+     * @param createdAt The response's created_at (from findResponse)
+     * @return false if the response is no longer open (submitted or timed out meanwhile)
+     */
+    public boolean completeResponse(ResponseRow row, LocalDateTime createdAt) {
+        return jdbcTemplate.update(COMPLETE_RESPONSE, ps -> {
+            ps.setString(1, row.status().name());
+            ps.setObject(2, row.totalScore(), Types.DOUBLE);
+            ps.setObject(3, row.maxScore(), Types.DOUBLE);
+            ps.setObject(4, row.scorePercentage(), Types.DOUBLE);
+            ps.setObject(5, row.passed(), Types.BOOLEAN);
+            ps.setObject(6, row.timeSpentSeconds(), Types.INTEGER);
+            ps.setObject(7, row.submittedAt());
+            ps.setObject(8, LocalDateTime.now());
+            ps.setObject(9, row.responseId());
+            ps.setObject(10, createdAt);
+        }) > 0;
+    }
+
+    /**
+     * Store the scores of a TIMED_OUT response whose draft answers were
+     * submitted on its behalf.
+     *
+     * @param row       Response values; only the score fields are written
+     * @param createdAt The response's created_at (from findResponse)
+     * @return false if the response is not TIMED_OUT
+     */
+    public boolean scoreTimedOut(ResponseRow row, LocalDateTime createdAt) {
+        return jdbcTemplate.update(SCORE_TIMED_OUT, ps -> {
+            ps.setObject(1, row.totalScore(), Types.DOUBLE);
+            ps.setObject(2, row.maxScore(), Types.DOUBLE);
+            ps.setObject(3, row.scorePercentage(), Types.DOUBLE);
+            ps.setObject(4, row.passed(), Types.BOOLEAN);
+            ps.setObject(5, LocalDateTime.now());
+            ps.setObject(6, row.responseId());
+            ps.setObject(7, createdAt);
+        }) > 0;
+    }
+
+    /**
+     * Mark an open response IN_PROGRESS once some of its answers are stored.
+     *
+     * @return false if the response is no longer open
+     */
+    public boolean markInProgress(UUID responseId, LocalDateTime createdAt) {
+        return jdbcTemplate.update(MARK_IN_PROGRESS, LocalDateTime.now(), responseId, createdAt) > 0;
+    }
+
+    /**
+     * Delete stored answer rows of a response.
+     *
+     * @param responseId  Owning response
+     * @param createdAt   Owning response's created_at
+     * @param questionIds Only the answers of these questions, or null for all
+     * @return Number of rows deleted
+     */
+    public int deleteAnswers(UUID responseId, LocalDateTime createdAt, Collection<UUID> questionIds) {
+        if (questionIds == null) {
+            return jdbcTemplate.update(DELETE_ANSWERS, responseId, createdAt);
+        }
+        if (questionIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(DELETE_QUESTION_ANSWERS);
+            ps.setObject(1, responseId);
+            ps.setObject(2, createdAt);
+            ps.setArray(3, connection.createArrayOf("uuid", questionIds.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Move the still-open responses among the given ones to TIMED_OUT.
+     *
+     * @param responseIds UUIDv7 response ids
+     * @param now         Lock time, written to submitted_at and updated_at
+     * @return Ids of the responses that were open and are now TIMED_OUT
+     */
+    public List<UUID> timeOut(Collection<UUID> responseIds, LocalDateTime now) {
+        if (responseIds.isEmpty()) {
+            return List.of();
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (UUID responseId : responseIds) {
+            long millis = UuidV7.epochMillis(responseId);
+            min = Math.min(min, millis);
+            max = Math.max(max, millis);
+        }
+        long from = min - CREATED_AT_MARGIN_MILLIS;
+        long to = max + CREATED_AT_MARGIN_MILLIS;
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(TIME_OUT);
+            Array ids = connection.createArrayOf("uuid", responseIds.toArray());
+            ps.setObject(1, now);
+            ps.setObject(2, now);
+            ps.setObject(3, now);
+            ps.setArray(4, ids);
+            ps.setObject(5, localTime(from));
+            ps.setObject(6, localTime(to));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    /**
+     * Insert all answer rows of a response in one batch.
+     *
+     * @param responseId Owning response
+     * @param createdAt  Owning response's created_at (partition key of both tables)
+     * @param rows       Answer rows
+     * @return Number of rows inserted
+     */
+    public int insertAnswers(UUID responseId, LocalDateTime createdAt, List<AnswerRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ANSWER, rows, rows.size(),
+                (ps, row) -> bindAnswer(ps, responseId, row, createdAt));
+        return rows.size();
+    }
+
+    private static LocalDateTime localTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static void bindAnswer(PreparedStatement ps, UUID responseId, AnswerRow row, LocalDateTime createdAt)
+            throws SQLException {
+        ps.setObject(1, row.answerId());
+        ps.setObject(2, responseId);
+        ps.setObject(3, row.questionId());
+        ps.setObject(4, row.optionId(), Types.OTHER);
+        ps.setString(5, row.payload());
+        ps.setBytes(6, row.data());
+        ps.setString(7, row.value());
+        ps.setObject(8, row.score(), Types.DOUBLE);
+        ps.setObject(9, row.correct(), Types.BOOLEAN);
+        ps.setObject(10, row.timeSpentSeconds(), Types.INTEGER);
+        ps.setObject(11, row.answeredAt() != null ? row.answeredAt() : createdAt);
+        ps.setObject(12, createdAt);
+        ps.setObject(13, createdAt);
+    }
+}
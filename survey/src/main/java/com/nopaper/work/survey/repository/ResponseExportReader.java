@@ -0,0 +1,81 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 9:47:18 pm
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Forward-only cursor over all answers of a survey's responses, for export.
+ *
+ * Rows come one per answer (or one with null answer columns for a response
+ * without answers), ordered by response, so a consumer can flatten each
+ * response as soon as the next one starts. pgJDBC only streams with a
+ * fetch size when autocommit is off: call inside a transaction, otherwise
+ * the driver materialises the whole result.
+ *
+ * Both tables are partitioned by created_at and a response's answers share
+ * its created_at: the created_at window is applied to each side so the
+ * planner skips partitions outside it, and the join includes created_at.
+ *
+ * Columns: response_id, respondent_id, status, started_at, submitted_at,
+ * total_score, max_score, score_percentage, is_passed, question_id,
+ * option_id, answer_value, answer_payload (text), answer_data
+ */
+@Repository
+public class ResponseExportReader {
+
+    /**
+     * Rows fetched per round trip.
+     */
+    static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_ANSWERS =
+            "SELECT r.response_id, r.respondent_id, r.status, r.started_at, r.submitted_at,"
+                    + " r.total_score, r.max_score, r.score_percentage, r.is_passed,"
+                    + " a.question_id, a.option_id, a.answer_value, a.answer_payload::text AS answer_payload,"
+                    + " a.answer_data"
+                    + " FROM survey_response r"
+                    + " LEFT JOIN survey_response_answer a ON a.response_id = r.response_id"
+                    + " AND a.created_at = r.created_at AND a.created_at >= ? AND a.created_at < ?"
+                    + " WHERE r.survey_id = ? AND r.created_at >= ? AND r.created_at < ?"
+                    + " ORDER BY r.response_id, a.answered_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResponseExportReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stream every answer row of a survey to the handler.
+     *
+     * @param surveyId Survey id
+     * @param from     Lower created_at bound (inclusive)
+     * @param to       Upper created_at bound (exclusive)
+     * @param handler  Called once per row; must not keep the ResultSet
+     */
+    public void forEachAnswer(UUID surveyId, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_ANSWERS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, from);
+            ps.setObject(2, to);
+            ps.setObject(3, surveyId);
+            ps.setObject(4, from);
+            ps.setObject(5, to);
+            return ps;
+        }, handler);
+    }
+}
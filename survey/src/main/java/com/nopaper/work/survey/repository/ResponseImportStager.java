@@ -0,0 +1,346 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 8:51:37 pm
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Bulk loader for imported responses, built on PostgreSQL COPY.
+ *
+ * Flow (all on the caller's transaction connection):
+ * 1. open(): create the temp table response_import_stage (ON COMMIT DROP)
+ *    and start COPY ... FROM STDIN in text format
+ * 2. Stage.add(...): append validated rows to the COPY stream; rows are
+ *    buffered and flushed in 64 KB chunks
+ * 3. Stage.finish(): end COPY
+ * 4. merge(...): set-based INSERT ... SELECT into survey_response and
+ *    survey_response_answer. Rows whose question or option no longer exists
+ *    are left out and reported by rejectedLines(...) instead of failing the
+ *    whole statement on a foreign key violation.
+ * 5. forEachMergedRow(...) / score(...): stream the merged rows back by
+ *    response so the caller can score them, and write the scores.
+ *
+ * Staged rows are already validated against the compiled survey, so the
+ * COPY itself only fails on I/O errors.
+ */
+@Repository
+public class ResponseImportStager {
+
+    private static final String CREATE_STAGE =
+            "CREATE TEMP TABLE response_import_stage ("
+                    + " line_no bigint NOT NULL, response_id uuid NOT NULL, respondent_id text,"
+                    + " answer_id uuid NOT NULL, question_id uuid NOT NULL, option_id uuid,"
+                    + " answer_payload text, answer_data bytea, answer_value text, submitted_at timestamp"
+                    + ") ON COMMIT DROP";
+
+    private static final String COPY_STAGE =
+            "COPY response_import_stage (line_no, response_id, respondent_id, answer_id, question_id, option_id,"
+                    + " answer_payload, answer_data, answer_value, submitted_at) FROM STDIN";
+
+    private static final String QUESTION_EXISTS =
+            "EXISTS (SELECT 1 FROM question q WHERE q.question_id = s.question_id)"
+                    + " AND (s.option_id IS NULL"
+                    + " OR EXISTS (SELECT 1 FROM question_option o WHERE o.option_id = s.option_id))";
+
+    /** Stage rows that can still be merged (question and option exist). */
+    private static final String MERGEABLE =
+            " FROM response_import_stage s WHERE " + QUESTION_EXISTS;
+
+    private static final String MERGE_RESPONSES =
+            "INSERT INTO survey_response (response_id, survey_id, respondent_id, status,"
+                    + " started_at, submitted_at, created_at, updated_at)"
+                    + " SELECT s.response_id, ?, min(s.respondent_id), 'SUBMITTED',"
+                    + " coalesce(min(s.submitted_at), now()), coalesce(max(s.submitted_at), now()), now(), now()"
+                    + MERGEABLE
+                    + " GROUP BY s.response_id";
+
+    private static final String MERGE_ANSWERS =
+            "INSERT INTO survey_response_answer (answer_id, response_id, question_id, option_id, answer_payload,"
+                    + " answer_data, answer_value, answered_at, created_at, updated_at)"
+                    + " SELECT s.answer_id, s.response_id, s.question_id, s.option_id, s.answer_payload::jsonb,"
+                    + " s.answer_data, s.answer_value, coalesce(s.submitted_at, now()), now(), now()"
+                    + MERGEABLE;
+
+    private static final String REJECTED_LINES =
+            "SELECT DISTINCT s.line_no FROM response_import_stage s"
+                    + " WHERE NOT (" + QUESTION_EXISTS + ") ORDER BY s.line_no";
+
+    /** Merged rows grouped by response, for scoring. */
+    private static final String MERGED_ROWS =
+            "SELECT s.line_no, s.response_id, s.respondent_id, s.answer_id, s.question_id, s.option_id,"
+                    + " s.answer_payload, s.answer_data, s.answer_value, s.submitted_at"
+                    + MERGEABLE
+                    + " ORDER BY s.response_id, s.line_no";
+
+    /** Merged responses were created in this transaction, so created_at is its start time. */
+    private static final String SCORE_RESPONSE =
+            "UPDATE survey_response SET total_score = ?, max_score = ?, score_percentage = ?, is_passed = ?"
+                    + " WHERE response_id = ? AND created_at = LOCALTIMESTAMP";
+
+    private static final int FLUSH_BYTES = 64 * 1024;
+
+    private static final int MERGED_FETCH_SIZE = 1000;
+
+    /**
+     * Values of one staged survey_response_answer row.
+     */
+    public record StageRow(
+            long lineNo,
+            UUID responseId,
+            String respondentId,
+            UUID answerId,
+            UUID questionId,
+            UUID optionId,
+            String payload,
+            byte[] data,
+            String value,
+            LocalDateTime submittedAt) {
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResponseImportStager(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Create the staging table and start streaming into it.
+     * Must run inside a transaction; the table is dropped on commit.
+     *
+     * @return Open stage; finish() or cancel() it before merging
+     */
+    public Stage open() {
+        jdbcTemplate.execute(CREATE_STAGE);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return new Stage(connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGE));
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not start COPY into response_import_stage", e);
+        }
+    }
+
+    /**
+     * Move staged rows into the response tables.
+     *
+     * @param surveyId Survey the responses belong to
+     * @return Responses and answers created
+     */
+    public MergeResult merge(UUID surveyId) {
+        int responses = jdbcTemplate.update(MERGE_RESPONSES, surveyId);
+        int answers = jdbcTemplate.update(MERGE_ANSWERS);
+        return new MergeResult(responses, answers);
+    }
+
+    /**
+     * @return Lines of staged rows left out by merge(), in line order
+     */
+    public List<RejectedLine> rejectedLines() {
+        return jdbcTemplate.query(REJECTED_LINES, (rs, rowNum) -> new RejectedLine(rs.getLong("line_no"),
+                "Question or option no longer exists"));
+    }
+
+    /**
+     * Stream the merged rows, the rows of one response next to each other in
+     * line order. Runs on a cursor, so the rows are never all in memory.
+     *
+     * @param action Called once per row
+     */
+    public void forEachMergedRow(Consumer<StageRow> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MERGED_ROWS);
+            statement.setFetchSize(MERGED_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(new StageRow(
+                rs.getLong(1),
+                rs.getObject(2, UUID.class),
+                rs.getString(3),
+                rs.getObject(4, UUID.class),
+                rs.getObject(5, UUID.class),
+                rs.getObject(6, UUID.class),
+                rs.getString(7),
+                rs.getBytes(8),
+                rs.getString(9),
+                rs.getObject(10, LocalDateTime.class))));
+    }
+
+    /**
+     * Write the scores of merged responses.
+     *
+     * @param scores Scores of responses created by merge() in this transaction
+     */
+    public void score(List<ResponseScore> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SCORE_RESPONSE, scores, scores.size(), (ps, score) -> {
+            ps.setObject(1, score.totalScore(), Types.DOUBLE);
+            ps.setObject(2, score.maxScore(), Types.DOUBLE);
+            ps.setObject(3, score.scorePercentage(), Types.DOUBLE);
+            ps.setObject(4, score.passed(), Types.BOOLEAN);
+            ps.setObject(5, score.responseId());
+        });
+    }
+
+    /**
+     * Score columns of one imported response.
+     */
+    public record ResponseScore(
+            UUID responseId,
+            Double totalScore,
+            Double maxScore,
+            Double scorePercentage,
+            Boolean passed) {
+    }
+
+    /**
+     * @param lineNo Line of the input file
+     * @param reason Why its rows were not merged
+     */
+    public record RejectedLine(long lineNo, String reason) {
+    }
+
+    /**
+     * @param responses survey_response rows created
+     * @param answers   survey_response_answer rows created
+     */
+    public record MergeResult(long responses, long answers) {
+    }
+
+    // ========================================================================
+    // COPY Stream
+    // ========================================================================
+
+    /**
+     * An open COPY into response_import_stage, writing PostgreSQL text format
+     * (tab-separated, \N for null, backslash escapes). Not thread-safe.
+     */
+    public static final class Stage implements AutoCloseable {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+        private long rows;
+
+        private Stage(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        /**
+         * Append one row to the COPY stream.
+         */
+        public void add(StageRow row) {
+            buffer.append(row.lineNo()).append('\t');
+            field(row.responseId()).append('\t');
+            field(row.respondentId()).append('\t');
+            field(row.answerId()).append('\t');
+            field(row.questionId()).append('\t');
+            field(row.optionId()).append('\t');
+            field(row.payload()).append('\t');
+            bytes(row.data()).append('\t');
+            field(row.value()).append('\t');
+            field(row.submittedAt() != null ? Timestamp.valueOf(row.submittedAt()).toString() : null).append('\n');
+            rows++;
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        /**
+         * Flush buffered rows and end the COPY.
+         *
+         * @return Rows staged
+         */
+        public long finish() {
+            flush();
+            try {
+                copyIn.endCopy();
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("COPY into response_import_stage failed", e);
+            }
+            return rows;
+        }
+
+        /**
+         * Abort the COPY if it is still running.
+         */
+        @Override
+        public void close() {
+            if (copyIn.isActive()) {
+                try {
+                    copyIn.cancelCopy();
+                } catch (SQLException ignored) {
+                    // The transaction is rolled back by the caller anyway.
+                }
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.setLength(0);
+            try {
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("COPY into response_import_stage failed", e);
+            }
+        }
+
+        /**
+         * bytea in hex format; the backslash is escaped for the text format.
+         */
+        private StringBuilder bytes(byte[] value) {
+            if (value == null) {
+                return buffer.append("\\N");
+            }
+            buffer.append("\\\\x");
+            for (byte b : value) {
+                buffer.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return buffer;
+        }
+
+        private StringBuilder field(Object value) {
+            if (value == null) {
+                return buffer.append("\\N");
+            }
+            String text = value.toString();
+            for (int i = 0, n = text.length(); i < n; i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> buffer.append("\\\\");
+                    case '\t' -> buffer.append("\\t");
+                    case '\n' -> buffer.append("\\n");
+                    case '\r' -> buffer.append("\\r");
+                    default -> buffer.append(c);
+                }
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 6:02:19 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * DDL for the monthly range partitions of survey_response and
+ * survey_response_answer (see schema.sql).
+ *
+ * A month's partition of table t is named t_pYYYYMM and covers
+ * [first day of the month, first day of the next month) of created_at.
+ * Partitions with other names (created by hand) are ignored.
+ */
+@Repository
+public class ResponsePartitionAdmin {
+
+    /**
+     * Partitioned tables, parent first: a response's answers live in the
+     * same month as the response.
+     */
+    public static final List<String> TABLES = List.of("survey_response", "survey_response_answer");
+
+    private static final Set<String> ALLOWED_TABLES = Set.copyOf(TABLES);
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+
+    private static final String IS_PARTITIONED =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid"
+                    + " WHERE c.relname = ? AND c.relnamespace = to_regnamespace(current_schema()))";
+
+    private static final String SELECT_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i"
+                    + " JOIN pg_class c ON c.oid = i.inhrelid"
+                    + " JOIN pg_class p ON p.oid = i.inhparent"
+                    + " WHERE p.relname = ? AND p.relnamespace = to_regnamespace(current_schema())"
+                    + " ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResponsePartitionAdmin(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return true if the table exists and is range-partitioned
+     */
+    public boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class, checked(table)));
+    }
+
+    /**
+     * @return Months that have a partition, ascending
+     */
+    public List<YearMonth> partitions(String table) {
+        String prefix = checked(table) + "_p";
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class, table)) {
+            if (name.startsWith(prefix)) {
+                try {
+                    months.add(YearMonth.parse(name.substring(prefix.length()), SUFFIX));
+                } catch (DateTimeParseException e) {
+                    // Not one of ours.
+                }
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Create a month's partition unless it exists.
+     */
+    public void createPartition(String table, YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month)
+                + " PARTITION OF " + checked(table)
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    /**
+     * Detach a month's partition from its table and drop it, with all its rows.
+     * DETACH ... CONCURRENTLY (PostgreSQL 14+) does not block queries on the
+     * table; it cannot run inside a transaction.
+     */
+    public void dropPartition(String table, YearMonth month) {
+        String partition = partitionName(table, month);
+        jdbcTemplate.execute("ALTER TABLE " + checked(table) + " DETACH PARTITION " + partition + " CONCURRENTLY");
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    /**
+     * @return Name of a month's partition of the table
+     */
+    public static String partitionName(String table, YearMonth month) {
+        return checked(table) + "_p" + month.format(SUFFIX);
+    }
+
+    /**
+     * Table names are concatenated into DDL: only the known tables pass.
+     */
+    private static String checked(String table) {
+        if (!ALLOWED_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Not a partitioned response table: " + table);
+        }
+        return table;
+    }
+}
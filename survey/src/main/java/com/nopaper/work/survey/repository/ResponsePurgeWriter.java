@@ -0,0 +1,164 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:26:52 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.enums.PurgeScope;
+
+/**
+ * Set-based SQL of response purges (survey_purge_job, survey_response,
+ * survey_response_answer). Nothing here loads an entity.
+ *
+ * A chunk picks up to n responses, then deletes their answers and the
+ * responses with data-modifying CTEs in one statement. Both tables are
+ * bounded by created_at so only partitions in the job's window are
+ * visited. Answers are joined on response_id and given one extra day over
+ * the response window: rows written before answers shared their response's
+ * created_at may be slightly younger than the response.
+ */
+@Repository
+public class ResponsePurgeWriter {
+
+    private static final String CLAIM =
+            "UPDATE survey_purge_job SET status = 'RUNNING', owner = ?, heartbeat_at = now()"
+                    + " WHERE job_id = (SELECT job_id FROM survey_purge_job"
+                    + " WHERE status = 'PENDING'"
+                    + " OR (status = 'RUNNING' AND heartbeat_at < now() - make_interval(secs => ?))"
+                    + " ORDER BY created_at LIMIT 1 FOR UPDATE SKIP LOCKED)"
+                    + " RETURNING job_id, scope, survey_id, cutoff, window_start";
+
+    private static final String DELETE_CHUNK =
+            "WITH chunk AS (SELECT response_id FROM survey_response"
+                    + " WHERE %s created_at >= ? AND created_at < ? %s LIMIT ?),"
+                    + " answers AS (DELETE FROM survey_response_answer a USING chunk c"
+                    + " WHERE a.response_id = c.response_id AND a.created_at >= ? AND a.created_at < ? RETURNING 1),"
+                    + " responses AS (DELETE FROM survey_response r USING chunk c"
+                    + " WHERE r.response_id = c.response_id AND r.created_at >= ? AND r.created_at < ? RETURNING 1)"
+                    + " SELECT (SELECT count(*) FROM responses), (SELECT count(*) FROM answers)";
+
+    private static final String DELETE_SURVEY_CHUNK = DELETE_CHUNK.formatted("survey_id = ? AND", "");
+
+    private static final String DELETE_AGE_CHUNK = DELETE_CHUNK.formatted("", "ORDER BY created_at");
+
+    private static final String RECORD_CHUNK =
+            "UPDATE survey_purge_job SET responses_deleted = responses_deleted + ?,"
+                    + " answers_deleted = answers_deleted + ?, chunks = chunks + 1, heartbeat_at = now()"
+                    + " WHERE job_id = ? AND owner = ? AND status = 'RUNNING'";
+
+    private static final String COMPLETE =
+            "UPDATE survey_purge_job SET status = 'COMPLETED', owner = NULL, completed_at = now()"
+                    + " WHERE job_id = ? AND owner = ? AND status = 'RUNNING'";
+
+    private static final String FAIL =
+            "UPDATE survey_purge_job SET status = 'FAILED', owner = NULL, error = ?"
+                    + " WHERE job_id = ? AND owner = ? AND status = 'RUNNING'";
+
+    private static final List<String> SURVEY_STAT_TABLES =
+            List.of("survey_answer_stat", "survey_answer_sketch", "survey_ranking_stat", "survey_distinct_sketch");
+
+    private static final String OLDEST_RESPONSE = "SELECT min(created_at) FROM survey_response";
+
+    /**
+     * Job as claimed: what to delete.
+     */
+    public record PurgeTarget(
+            UUID jobId,
+            PurgeScope scope,
+            UUID surveyId,
+            LocalDateTime cutoff,
+            LocalDateTime windowStart) {
+    }
+
+    /**
+     * Rows deleted by one chunk.
+     */
+    public record ChunkResult(long responses, long answers) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResponsePurgeWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claim the oldest pending job, or a running one whose owner stopped
+     * sending heartbeats. Safe to call from several nodes at once.
+     *
+     * @param owner          Node claiming the job
+     * @param staleAfterSecs Heartbeat age after which a running job is taken over
+     * @return Claimed job, empty if there is nothing to do
+     */
+    public Optional<PurgeTarget> claim(String owner, long staleAfterSecs) {
+        List<PurgeTarget> claimed = jdbcTemplate.query(CLAIM, (rs, rowNum) -> new PurgeTarget(
+                rs.getObject("job_id", UUID.class),
+                PurgeScope.valueOf(rs.getString("scope")),
+                rs.getObject("survey_id", UUID.class),
+                rs.getObject("cutoff", LocalDateTime.class),
+                rs.getObject("window_start", LocalDateTime.class)), owner, staleAfterSecs);
+        return claimed.stream().findFirst();
+    }
+
+    /**
+     * Delete up to chunkSize responses of the job and their answers.
+     *
+     * @param target    Claimed job
+     * @param windowEnd Exclusive created_at bound (AGE: the cutoff)
+     * @param chunkSize Maximum responses to delete
+     * @return Rows deleted; no responses means the job is done
+     */
+    public ChunkResult deleteChunk(PurgeTarget target, LocalDateTime windowEnd, int chunkSize) {
+        LocalDateTime from = target.windowStart();
+        LocalDateTime answersTo = windowEnd.plusDays(1);
+        if (target.scope() == PurgeScope.SURVEY) {
+            return jdbcTemplate.queryForObject(DELETE_SURVEY_CHUNK, (rs, rowNum) -> new ChunkResult(rs.getLong(1),
+                    rs.getLong(2)), target.surveyId(), from, windowEnd, chunkSize, from, answersTo, from, windowEnd);
+        }
+        return jdbcTemplate.queryForObject(DELETE_AGE_CHUNK, (rs, rowNum) -> new ChunkResult(rs.getLong(1),
+                rs.getLong(2)), from, windowEnd, chunkSize, from, answersTo, from, windowEnd);
+    }
+
+    /**
+     * Add a chunk's counts to the job and refresh its heartbeat.
+     *
+     * @return false if the job is no longer owned by this node (the caller must roll back)
+     */
+    public boolean recordChunk(UUID jobId, String owner, ChunkResult chunk) {
+        return jdbcTemplate.update(RECORD_CHUNK, chunk.responses(), chunk.answers(), jobId, owner) == 1;
+    }
+
+    /**
+     * Delete the answer statistics of a survey (survey_answer_stat and the sketch tables).
+     */
+    public void deleteSurveyStats(UUID surveyId) {
+        for (String table : SURVEY_STAT_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE survey_id = ?", surveyId);
+        }
+    }
+
+    public void complete(UUID jobId, String owner) {
+        jdbcTemplate.update(COMPLETE, jobId, owner);
+    }
+
+    public void fail(UUID jobId, String owner, String error) {
+        jdbcTemplate.update(FAIL, error, jobId, owner);
+    }
+
+    /**
+     * @return created_at of the oldest response, empty if there are none
+     */
+    public Optional<LocalDateTime> oldestResponse() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(OLDEST_RESPONSE, LocalDateTime.class));
+    }
+}
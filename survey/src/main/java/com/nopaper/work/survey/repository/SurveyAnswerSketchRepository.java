@@ -0,0 +1,38 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 12:59:31 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.entity.SurveyAnswerSketch;
+
+/**
+ * Spring Data repository for {@link SurveyAnswerSketch}.
+ * Reads only; sketches are merged in by {@link SurveyAnswerSketchWriter}.
+ */
+@Repository
+public interface SurveyAnswerSketchRepository extends JpaRepository<SurveyAnswerSketch, UUID> {
+
+    /**
+     * @param questionId Question id
+     * @param from       Inclusive lower bound of bucket_start
+     * @param to         Exclusive upper bound of bucket_start
+     * @return Buckets of the question in [from, to)
+     */
+    @Query("SELECT s FROM SurveyAnswerSketch s WHERE s.questionId = :questionId"
+            + " AND s.bucketStart >= :from AND s.bucketStart < :to")
+    List<SurveyAnswerSketch> findBuckets(@Param("questionId") UUID questionId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+}
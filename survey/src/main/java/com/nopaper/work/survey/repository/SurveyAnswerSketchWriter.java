@@ -0,0 +1,74 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:03:17 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.ids.UuidV7;
+import com.nopaper.work.survey.stats.QuantileSketch;
+
+/**
+ * JDBC writer merging pending quantile sketches into survey_answer_sketch.
+ *
+ * Per (question, bucket): insert the sketch if the row does not exist yet;
+ * otherwise lock the row, merge the stored sketch with the pending one and
+ * write it back. Concurrent flushes from several nodes serialize on the row
+ * lock, so no values are lost. Must run inside a transaction.
+ */
+@Repository
+public class SurveyAnswerSketchWriter {
+
+    private static final String INSERT =
+            "INSERT INTO survey_answer_sketch (sketch_id, survey_id, question_id, bucket_start, sketch, value_count,"
+                    + " updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (question_id, bucket_start) DO NOTHING";
+
+    private static final String SELECT_FOR_UPDATE =
+            "SELECT sketch FROM survey_answer_sketch WHERE question_id = ? AND bucket_start = ? FOR UPDATE";
+
+    private static final String UPDATE =
+            "UPDATE survey_answer_sketch SET sketch = ?, value_count = ?, updated_at = ?"
+                    + " WHERE question_id = ? AND bucket_start = ?";
+
+    /**
+     * Pending sketch of one question.
+     */
+    public record SketchDelta(UUID surveyId, UUID questionId, QuantileSketch sketch) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SurveyAnswerSketchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Merge pending sketches into their bucket rows.
+     *
+     * @param bucketStart Bucket the values belong to
+     * @param deltas      Pending sketches, at most one per question
+     */
+    public void merge(LocalDateTime bucketStart, List<SketchDelta> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        for (SketchDelta delta : deltas) {
+            int inserted = jdbcTemplate.update(INSERT, UuidV7.next(), delta.surveyId(), delta.questionId(),
+                    bucketStart, delta.sketch().toBytes(), delta.sketch().count(), now);
+            if (inserted == 1) {
+                continue;
+            }
+            byte[] stored = jdbcTemplate.queryForObject(SELECT_FOR_UPDATE, byte[].class, delta.questionId(), bucketStart);
+            QuantileSketch merged = QuantileSketch.fromBytes(stored);
+            merged.merge(delta.sketch());
+            jdbcTemplate.update(UPDATE, merged.toBytes(), merged.count(), now, delta.questionId(), bucketStart);
+        }
+    }
+}
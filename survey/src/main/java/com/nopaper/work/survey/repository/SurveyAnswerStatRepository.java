@@ -0,0 +1,25 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:50:09 pm
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.entity.SurveyAnswerStat;
+
+/**
+ * Spring Data repository for {@link SurveyAnswerStat}.
+ * Reads only; increments go through {@link SurveyAnswerStatWriter}.
+ */
+@Repository
+public interface SurveyAnswerStatRepository extends JpaRepository<SurveyAnswerStat, UUID> {
+
+    List<SurveyAnswerStat> findBySurveyId(UUID surveyId);
+}
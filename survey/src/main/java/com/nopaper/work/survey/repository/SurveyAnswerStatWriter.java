@@ -0,0 +1,68 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:52:44 pm
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.enums.StatItemType;
+
+/**
+ * JDBC writer applying counter deltas to survey_answer_stat.
+ *
+ * Each delta is an additive upsert, so concurrent flushes from several
+ * nodes compose without reading the current value first.
+ */
+@Repository
+public class SurveyAnswerStatWriter {
+
+    private static final String UPSERT =
+            "INSERT INTO survey_answer_stat (item_id, survey_id, item_type, answer_count, score_sum, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (item_id) DO UPDATE SET"
+                    + " answer_count = survey_answer_stat.answer_count + EXCLUDED.answer_count,"
+                    + " score_sum = survey_answer_stat.score_sum + EXCLUDED.score_sum,"
+                    + " updated_at = EXCLUDED.updated_at";
+
+    /**
+     * Increment of one survey_answer_stat row.
+     */
+    public record StatDelta(UUID itemId, UUID surveyId, StatItemType itemType, long count, double scoreSum) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SurveyAnswerStatWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Apply all deltas in one batch.
+     *
+     * @param deltas Increments with distinct item ids (pgJDBC may rewrite the
+     *               batch into one multi-row upsert, which cannot touch a row twice);
+     *               rows are created on first use
+     */
+    public void apply(List<StatDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(UPSERT, deltas, deltas.size(), (ps, delta) -> {
+            ps.setObject(1, delta.itemId());
+            ps.setObject(2, delta.surveyId());
+            ps.setString(3, delta.itemType().name());
+            ps.setLong(4, delta.count());
+            ps.setDouble(5, delta.scoreSum());
+            ps.setObject(6, now);
+        });
+    }
+}
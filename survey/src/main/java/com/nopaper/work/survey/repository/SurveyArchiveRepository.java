@@ -0,0 +1,27 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 10:06:44 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.entity.SurveyArchive;
+
+/**
+ * Spring Data repository for {@link SurveyArchive}.
+ */
+@Repository
+public interface SurveyArchiveRepository extends JpaRepository<SurveyArchive, UUID> {
+
+    /**
+     * @return Archives whose hot rows have not been queued for purging yet
+     */
+    List<SurveyArchive> findByPurgeJobIdIsNull();
+}
@@ -0,0 +1,38 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:58:44 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.entity.SurveyDistinctSketch;
+
+/**
+ * Spring Data repository for {@link SurveyDistinctSketch}.
+ * Reads only; sketches are merged in by {@link SurveyDistinctSketchWriter}.
+ */
+@Repository
+public interface SurveyDistinctSketchRepository extends JpaRepository<SurveyDistinctSketch, UUID> {
+
+    /**
+     * @param surveyId Survey id
+     * @param from     Inclusive lower bound of bucket_start
+     * @param to       Exclusive upper bound of bucket_start
+     * @return Buckets of all dimensions of the survey in [from, to)
+     */
+    @Query("SELECT s FROM SurveyDistinctSketch s WHERE s.surveyId = :surveyId"
+            + " AND s.bucketStart >= :from AND s.bucketStart < :to")
+    List<SurveyDistinctSketch> findBuckets(@Param("surveyId") UUID surveyId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,78 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 2:01:19 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.enums.DistinctDimension;
+import com.nopaper.work.survey.ids.UuidV7;
+import com.nopaper.work.survey.stats.HyperLogLog;
+
+/**
+ * JDBC writer merging pending HyperLogLogs into survey_distinct_sketch.
+ *
+ * Same protocol as SurveyAnswerSketchWriter: insert the sketch if the
+ * (survey, dimension, bucket) row does not exist yet; otherwise lock the
+ * row, take the register-wise maximum with the pending sketch and write it
+ * back. Must run inside a transaction.
+ */
+@Repository
+public class SurveyDistinctSketchWriter {
+
+    private static final String INSERT =
+            "INSERT INTO survey_distinct_sketch (sketch_id, survey_id, dimension, bucket_start, sketch, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (survey_id, dimension, bucket_start) DO NOTHING";
+
+    private static final String SELECT_FOR_UPDATE =
+            "SELECT sketch FROM survey_distinct_sketch WHERE survey_id = ? AND dimension = ? AND bucket_start = ?"
+                    + " FOR UPDATE";
+
+    private static final String UPDATE =
+            "UPDATE survey_distinct_sketch SET sketch = ?, updated_at = ?"
+                    + " WHERE survey_id = ? AND dimension = ? AND bucket_start = ?";
+
+    /**
+     * Pending sketch of one survey dimension.
+     */
+    public record DistinctDelta(UUID surveyId, DistinctDimension dimension, HyperLogLog sketch) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SurveyDistinctSketchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Merge pending sketches into their bucket rows.
+     *
+     * @param bucketStart Bucket the values belong to
+     * @param deltas      Pending sketches, at most one per survey and dimension
+     */
+    public void merge(LocalDateTime bucketStart, List<DistinctDelta> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        for (DistinctDelta delta : deltas) {
+            String dimension = delta.dimension().name();
+            int inserted = jdbcTemplate.update(INSERT, UuidV7.next(), delta.surveyId(), dimension,
+                    bucketStart, delta.sketch().toBytes(), now);
+            if (inserted == 1) {
+                continue;
+            }
+            byte[] stored = jdbcTemplate.queryForObject(SELECT_FOR_UPDATE, byte[].class, delta.surveyId(), dimension,
+                    bucketStart);
+            HyperLogLog merged = HyperLogLog.fromBytes(stored);
+            merged.merge(delta.sketch());
+            jdbcTemplate.update(UPDATE, merged.toBytes(), now, delta.surveyId(), dimension, bucketStart);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 12:12:38 pm
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based status transitions of survey to EXPIRED.
+ *
+ * Only ACTIVE and PAUSED surveys expire; updated_at is bumped so cached
+ * definitions of the old version are invalidated. Scans walk
+ * idx_survey_expires_at in (expires_at, survey_id) order with keyset
+ * pagination, so each batch is one short index range scan regardless of
+ * how many expired surveys lie before it.
+ */
+@Repository
+public class SurveyExpiryWriter {
+
+    private static final String EXPIRING_STATUSES = "('ACTIVE', 'PAUSED')";
+
+    private static final String EXPIRE_PAGE =
+            "WITH page AS (SELECT survey_id, expires_at FROM survey"
+                    + " WHERE expires_at <= ? AND expires_at >= ? AND (expires_at, survey_id) > (?, ?)"
+                    + " ORDER BY expires_at, survey_id LIMIT ?),"
+                    + " flipped AS (UPDATE survey s SET status = 'EXPIRED', updated_at = ? FROM page p"
+                    + " WHERE s.survey_id = p.survey_id AND s.status IN " + EXPIRING_STATUSES
+                    + " RETURNING s.survey_id)"
+                    + " SELECT p.survey_id, p.expires_at, f.survey_id IS NOT NULL AS flipped"
+                    + " FROM page p LEFT JOIN flipped f ON f.survey_id = p.survey_id"
+                    + " ORDER BY p.expires_at, p.survey_id";
+
+    private static final String EXPIRE_IDS =
+            "UPDATE survey SET status = 'EXPIRED', updated_at = ?"
+                    + " WHERE survey_id = ANY (?) AND expires_at <= ? AND status IN " + EXPIRING_STATUSES
+                    + " RETURNING survey_id";
+
+    private static final String SELECT_EXPIRING =
+            "SELECT survey_id, expires_at FROM survey"
+                    + " WHERE expires_at > ? AND expires_at <= ? AND (expires_at, survey_id) > (?, ?)"
+                    + " AND status IN " + EXPIRING_STATUSES
+                    + " ORDER BY expires_at, survey_id LIMIT ?";
+
+    /**
+     * Start of every scan: before any expires_at.
+     */
+    public static final LocalDateTime SCAN_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    /**
+     * A survey visited by a scan.
+     *
+     * @param surveyId  Survey id
+     * @param expiresAt Its expiry (the keyset cursor)
+     * @param flipped   Whether this statement moved it to EXPIRED
+     */
+    public record ExpiryRow(UUID surveyId, LocalDateTime expiresAt, boolean flipped) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SurveyExpiryWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Expire one page of surveys due by now.
+     *
+     * @param now    Expiry time and new updated_at
+     * @param from   Lower expires_at bound of the whole scan (inclusive)
+     * @param after  Last row of the previous page, null for the first page
+     * @param limit  Page size
+     * @return Visited rows in keyset order; fewer than limit means the scan is done
+     */
+    public List<ExpiryRow> expirePage(LocalDateTime now, LocalDateTime from, ExpiryRow after, int limit) {
+        return jdbcTemplate.query(EXPIRE_PAGE, (rs, rowNum) -> new ExpiryRow(
+                rs.getObject("survey_id", UUID.class),
+                rs.getObject("expires_at", LocalDateTime.class),
+                rs.getBoolean("flipped")),
+                now, from, after != null ? after.expiresAt() : SCAN_START, after != null ? after.surveyId() : MIN_ID,
+                limit, now);
+    }
+
+    /**
+     * Expire the given surveys if they are still due (their expiry may have
+     * been extended since they were scheduled).
+     *
+     * @return Ids moved to EXPIRED
+     */
+    public List<UUID> expire(Collection<UUID> surveyIds, LocalDateTime now) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPIRE_IDS);
+            Array ids = connection.createArrayOf("uuid", surveyIds.toArray());
+            ps.setObject(1, now);
+            ps.setArray(2, ids);
+            ps.setObject(3, now);
+            return ps;
+        }, (rs, rowNum) -> rs.getObject("survey_id", UUID.class));
+    }
+
+    /**
+     * One page of surveys expiring in (from, to].
+     *
+     * @param after Last row of the previous page, null for the first page
+     */
+    public List<ExpiryRow> findExpiring(LocalDateTime from, LocalDateTime to, ExpiryRow after, int limit) {
+        return jdbcTemplate.query(SELECT_EXPIRING, (rs, rowNum) -> new ExpiryRow(
+                rs.getObject("survey_id", UUID.class),
+                rs.getObject("expires_at", LocalDateTime.class),
+                false),
+                from, to, after != null ? after.expiresAt() : SCAN_START, after != null ? after.surveyId() : MIN_ID,
+                limit);
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:18:30 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.entity.SurveyPurgeJob;
+import com.nopaper.work.survey.enums.PurgeScope;
+import com.nopaper.work.survey.enums.PurgeStatus;
+
+/**
+ * Spring Data repository for {@link SurveyPurgeJob}. Claiming and progress
+ * updates go through ResponsePurgeWriter.
+ */
+@Repository
+public interface SurveyPurgeJobRepository extends JpaRepository<SurveyPurgeJob, UUID> {
+
+    /**
+     * @return true if a job of the scope is in one of the statuses
+     */
+    boolean existsByScopeAndStatusIn(PurgeScope scope, Collection<PurgeStatus> statuses);
+}
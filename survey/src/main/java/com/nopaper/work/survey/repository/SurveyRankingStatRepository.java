@@ -0,0 +1,22 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 2:54:30 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.entity.SurveyRankingStat;
+
+/**
+ * Spring Data repository for {@link SurveyRankingStat}, keyed by question id.
+ * Reads only; aggregates are added by {@link SurveyRankingStatWriter}.
+ */
+@Repository
+public interface SurveyRankingStatRepository extends JpaRepository<SurveyRankingStat, UUID> {
+}
@@ -0,0 +1,69 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 2:56:12 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.stats.RankAggregate;
+
+/**
+ * JDBC writer adding pending rank aggregates to survey_ranking_stat.
+ *
+ * Same protocol as SurveyAnswerSketchWriter: insert the aggregate if the
+ * question has no row yet; otherwise lock the row, add the pending matrices
+ * to the stored ones and write the sum back. Must run inside a transaction.
+ */
+@Repository
+public class SurveyRankingStatWriter {
+
+    private static final String INSERT =
+            "INSERT INTO survey_ranking_stat (question_id, survey_id, aggregate, response_count, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (question_id) DO NOTHING";
+
+    private static final String SELECT_FOR_UPDATE =
+            "SELECT aggregate FROM survey_ranking_stat WHERE question_id = ? FOR UPDATE";
+
+    private static final String UPDATE =
+            "UPDATE survey_ranking_stat SET aggregate = ?, response_count = ?, updated_at = ? WHERE question_id = ?";
+
+    /**
+     * Pending rankings of one question.
+     */
+    public record RankingDelta(UUID surveyId, UUID questionId, RankAggregate ranking) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SurveyRankingStatWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add pending aggregates to their question rows.
+     *
+     * @param deltas Pending aggregates, at most one per question
+     */
+    public void add(List<RankingDelta> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        for (RankingDelta delta : deltas) {
+            int inserted = jdbcTemplate.update(INSERT, delta.questionId(), delta.surveyId(),
+                    delta.ranking().toBytes(), delta.ranking().responses(), now);
+            if (inserted == 1) {
+                continue;
+            }
+            byte[] stored = jdbcTemplate.queryForObject(SELECT_FOR_UPDATE, byte[].class, delta.questionId());
+            RankAggregate sum = RankAggregate.fromBytes(stored).plus(delta.ranking());
+            jdbcTemplate.update(UPDATE, sum.toBytes(), sum.responses(), now, delta.questionId());
+        }
+    }
+}
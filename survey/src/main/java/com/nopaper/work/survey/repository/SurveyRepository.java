@@ -0,0 +1,40 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:53:40 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.enums.SurveyStatus;
+
+/**
+ * Spring Data repository for {@link Survey}.
+ */
+@Repository
+public interface SurveyRepository extends JpaRepository<Survey, UUID> {
+
+    /**
+     * @return Creation time of the survey, the earliest possible created_at of its responses
+     */
+    @Query("SELECT s.createdAt FROM Survey s WHERE s.id = :surveyId")
+    Optional<LocalDateTime> findCreatedAt(@Param("surveyId") UUID surveyId);
+
+    /**
+     * @return Ids of surveys in the status that have no SurveyArchive yet
+     */
+    @Query("SELECT s.id FROM Survey s WHERE s.status = :status"
+            + " AND NOT EXISTS (SELECT 1 FROM SurveyArchive a WHERE a.surveyId = s.id)")
+    List<UUID> findUnarchivedIds(@Param("status") SurveyStatus status);
+}
@@ -0,0 +1,73 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 19-Oct-2026 10:14:27 am
+ * @git
+ */
+package com.nopaper.work.survey.repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bumps survey.updated_at for changes made below the survey row.
+ *
+ * Compiled definitions are versioned by Survey.updatedAt, which
+ * @UpdateTimestamp only moves when the survey row itself changes. An edit
+ * of a section, question or option is given a new version here, after it
+ * commits (SurveyTreeChangeListener). The new version is always later than
+ * the stored one, even if this node's clock is behind the one that wrote it.
+ */
+@Repository
+public class SurveyVersionWriter {
+
+    private static final String TOUCH =
+            "UPDATE survey SET updated_at = GREATEST(?, updated_at + INTERVAL '1 microsecond')"
+                    + " WHERE survey_id = ANY (?)"
+                    + " OR survey_id IN (SELECT survey_id FROM survey_section WHERE section_id = ANY (?))"
+                    + " OR survey_id IN (SELECT s.survey_id FROM question q"
+                    + " JOIN survey_section s ON s.section_id = q.section_id WHERE q.question_id = ANY (?))"
+                    + " RETURNING survey_id, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SurveyVersionWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Give the surveys owning the given rows a new version. Runs in its own
+     * transaction, so it commits even when called after another one has.
+     *
+     * @param surveyIds   Surveys whose sections changed
+     * @param sectionIds  Sections whose questions changed
+     * @param questionIds Questions whose options changed
+     * @param now         New updated_at, unless the stored one is not before it
+     * @return New updated_at by survey id; rows deleted meanwhile are absent
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<UUID, LocalDateTime> touch(Collection<UUID> surveyIds, Collection<UUID> sectionIds,
+                                          Collection<UUID> questionIds, LocalDateTime now) {
+        Map<UUID, LocalDateTime> versions = new LinkedHashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(TOUCH);
+            ps.setObject(1, now);
+            ps.setArray(2, connection.createArrayOf("uuid", surveyIds.toArray()));
+            ps.setArray(3, connection.createArrayOf("uuid", sectionIds.toArray()));
+            ps.setArray(4, connection.createArrayOf("uuid", questionIds.toArray()));
+            return ps;
+        }, rs -> {
+            versions.put(rs.getObject("survey_id", UUID.class), rs.getObject("updated_at", LocalDateTime.class));
+        });
+        return versions;
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * @package com.nopaper.work.survey.repository -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:52:08 am
+ * @git 
+ */
+/**
+ * 
+ */
+package com.nopaper.work.survey.repository;
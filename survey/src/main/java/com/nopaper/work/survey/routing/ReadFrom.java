@@ -0,0 +1,32 @@
+/**
+ * @package com.nopaper.work.survey.routing -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:56:18 pm
+ * @git
+ */
+package com.nopaper.work.survey.routing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Routes the database reads of a service method (or of every method of a
+ * class) to a given target, overriding the transaction's read-only flag:
+ * - REPLICA: reads go to the replica even outside a read-only transaction,
+ *   for reporting that tolerates a few seconds of lag
+ * - PRIMARY: reads stay on the primary even in a read-only transaction,
+ *   for data that must be current
+ * Inside a read-write transaction everything goes to the primary, so a
+ * REPLICA method that writes must do so in a transaction. The replica is
+ * also skipped while it lags or after the request wrote (ReplicaRouting).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface ReadFrom {
+
+    ReadTarget value();
+}
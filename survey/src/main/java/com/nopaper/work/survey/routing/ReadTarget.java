@@ -0,0 +1,17 @@
+/**
+ * @package com.nopaper.work.survey.routing -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:54:36 pm
+ * @git
+ */
+package com.nopaper.work.survey.routing;
+
+/**
+ * Database a read is sent to.
+ */
+public enum ReadTarget {
+    /** Read-write primary; always current. */
+    PRIMARY,
+    /** Read replica; may lag the primary by up to app.survey.replica-max-lag. */
+    REPLICA
+}
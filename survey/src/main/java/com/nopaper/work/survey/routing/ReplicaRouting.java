@@ -0,0 +1,102 @@
+/**
+ * @package com.nopaper.work.survey.routing -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 8:01:47 pm
+ * @git
+ */
+package com.nopaper.work.survey.routing;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-thread routing state read by ReplicaRoutingDataSource when a
+ * connection is fetched.
+ *
+ * A connection goes to the replica when no read-write transaction is
+ * active, the current request has not written yet, and either:
+ * - the thread's target (set by @ReadFrom) is REPLICA
+ * - it has no target and a service method's @Transactional(readOnly = true)
+ *   is running. Spring Data repository methods are read-only transactions
+ *   by default; those alone do not count, so a plain findById (e.g. of a
+ *   purge job just created) stays on the primary
+ * Everything else goes to the primary.
+ *
+ * Read-your-writes: once a request has used the primary outside a
+ * read-only transaction (a submit, a start), the rest of it reads from
+ * the primary too. A respondent's own response is only read inside such
+ * read-write transactions, so it always comes from the primary. Threads
+ * outside a request (scheduled jobs) are not tracked.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<ReadTarget> TARGET = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WROTE = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Set the read target of the current thread.
+     *
+     * @return The previous target, or null, for restoreTarget
+     */
+    public static ReadTarget setTarget(ReadTarget target) {
+        ReadTarget previous = TARGET.get();
+        TARGET.set(target);
+        return previous;
+    }
+
+    /**
+     * @param previous Value returned by setTarget
+     */
+    public static void restoreTarget(ReadTarget previous) {
+        if (previous != null) {
+            TARGET.set(previous);
+        } else {
+            TARGET.remove();
+        }
+    }
+
+    /**
+     * Start tracking writes for read-your-writes (one request).
+     */
+    public static void beginRequest() {
+        WROTE.set(Boolean.FALSE);
+    }
+
+    /**
+     * Stop tracking writes.
+     */
+    public static void endRequest() {
+        WROTE.remove();
+    }
+
+    /**
+     * Decide where the connection fetched now should come from, noting a
+     * write if it goes to the primary for one.
+     */
+    public static ReadTarget route() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        ReadTarget target = TARGET.get();
+        if (TransactionSynchronizationManager.isActualTransactionActive() && !readOnly) {
+            target = ReadTarget.PRIMARY;
+        } else if (target == null) {
+            target = readOnly && !repositoryDefault() ? ReadTarget.REPLICA : ReadTarget.PRIMARY;
+        }
+        if (target == ReadTarget.PRIMARY && !readOnly && WROTE.get() != null) {
+            WROTE.set(Boolean.TRUE);
+        }
+        return target == ReadTarget.REPLICA && !Boolean.TRUE.equals(WROTE.get())
+                ? ReadTarget.REPLICA
+                : ReadTarget.PRIMARY;
+    }
+
+    /**
+     * Whether the current transaction is the default one of a Spring Data
+     * repository method (named after the repository implementation class).
+     */
+    private static boolean repositoryDefault() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith("org.springframework.data.");
+    }
+}
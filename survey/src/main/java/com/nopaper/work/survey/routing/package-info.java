@@ -0,0 +1,11 @@
+/**
+ * @package com.nopaper.work.survey.routing -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:52:10 pm
+ * @git 
+ */
+/**
+ * Read/write routing between the PostgreSQL primary and a read replica:
+ * which reads may use the replica, and when they must not.
+ */
+package com.nopaper.work.survey.routing;
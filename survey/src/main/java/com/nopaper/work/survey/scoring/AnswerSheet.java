@@ -0,0 +1,156 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:08:44 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, primitive holder of one response's answers, addressed by the
+ * question and option ordinals of a CompiledSurvey.
+ *
+ * Layout:
+ * - Selected option ordinals of all questions share one int[] buffer; each
+ *   question owns a contiguous run [firstSelection, firstSelection + count).
+ *   For RANKING/ORDERING the run is the submitted order; for MATRIX it is
+ *   the selected column per row, in row order.
+ * - Numeric answers (NUMERIC, SLIDER, ...) live in a double[] (NaN = none).
+ *
+ * A sheet is reset() and refilled for each response; buffers only ever grow,
+ * so steady-state scoring allocates nothing. Not thread-safe.
+ */
+public final class AnswerSheet {
+
+    private static final int NONE = -1;
+
+    private int questionCount;
+    private boolean[] answered = new boolean[0];
+    private int[] firstSelection = new int[0];
+    private int[] selectionCount = new int[0];
+    private double[] numericValues = new double[0];
+
+    private int[] selections = new int[64];
+    private int size;
+    private int current = NONE;
+
+    /**
+     * Clear the sheet for a survey with the given number of questions.
+     *
+     * @param questionCount CompiledSurvey.questionCount()
+     */
+    public void reset(int questionCount) {
+        if (answered.length < questionCount) {
+            answered = new boolean[questionCount];
+            firstSelection = new int[questionCount];
+            selectionCount = new int[questionCount];
+            numericValues = new double[questionCount];
+        }
+        this.questionCount = questionCount;
+        Arrays.fill(answered, 0, questionCount, false);
+        Arrays.fill(selectionCount, 0, questionCount, 0);
+        Arrays.fill(numericValues, 0, questionCount, Double.NaN);
+        size = 0;
+        current = NONE;
+    }
+
+    /**
+     * Mark a question answered without a selection or numeric value (e.g. TEXT).
+     *
+     * @param question Question ordinal
+     */
+    public void markAnswered(int question) {
+        answered[question] = true;
+    }
+
+    /**
+     * Append a selected option to a question's selections.
+     *
+     * @param question Question ordinal
+     * @param option   Option ordinal
+     */
+    public void addSelection(int question, int option) {
+        if (question != current) {
+            if (!answered[question] || selectionCount[question] == 0) {
+                answered[question] = true;
+                firstSelection[question] = size;
+                selectionCount[question] = 0;
+            } else {
+                // Question revisited after another one: move its run to the tail.
+                int count = selectionCount[question];
+                ensureCapacity(size + count + 1);
+                System.arraycopy(selections, firstSelection[question], selections, size, count);
+                firstSelection[question] = size;
+                size += count;
+            }
+            current = question;
+        }
+        ensureCapacity(size + 1);
+        selections[size++] = option;
+        selectionCount[question]++;
+    }
+
+    /**
+     * Replace a question's selections with the given option ordinals.
+     *
+     * @param question Question ordinal
+     * @param options  Option ordinals, in answer order
+     * @param length   Number of ordinals to take from options
+     */
+    public void setSelections(int question, int[] options, int length) {
+        ensureCapacity(size + length);
+        answered[question] = true;
+        firstSelection[question] = size;
+        selectionCount[question] = length;
+        System.arraycopy(options, 0, selections, size, length);
+        size += length;
+        current = question;
+    }
+
+    /**
+     * Set the numeric answer of a question.
+     *
+     * @param question Question ordinal
+     * @param value    Numeric value
+     */
+    public void setNumericValue(int question, double value) {
+        answered[question] = true;
+        numericValues[question] = value;
+    }
+
+    public int questionCount() {
+        return questionCount;
+    }
+
+    public boolean isAnswered(int question) {
+        return answered[question];
+    }
+
+    public int selectionCount(int question) {
+        return selectionCount[question];
+    }
+
+    /**
+     * @param question Question ordinal
+     * @param index    0-based index within the question's selections
+     * @return Option ordinal
+     */
+    public int selection(int question, int index) {
+        return selections[firstSelection[question] + index];
+    }
+
+    /**
+     * @return Numeric answer, or NaN if none was given
+     */
+    public double numericValue(int question) {
+        return numericValues[question];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > selections.length) {
+            selections = Arrays.copyOf(selections, Math.max(capacity, selections.length * 2));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:52:27 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * DYNAMIC_SCORE: the answer's value is the score.
+ *
+ * Rules:
+ * - Option types (RATING, LIKERT_SCALE, ...): the selected options'
+ *   numeric_value
+ * - Free numeric types (NUMERIC, SLIDER): the entered value
+ * - Max: question max_points if set, otherwise the best option numeric_value;
+ *   the score is capped at max_points
+ */
+@Component
+public class DynamicScoreEngine implements ScoringEngine {
+
+    @Override
+    public ScoringType getScoringType() {
+        return ScoringType.DYNAMIC_SCORE;
+    }
+
+    @Override
+    public double score(CompiledSurvey survey, int question, AnswerSheet answers) {
+        double value;
+        if (answers.selectionCount(question) > 0) {
+            value = ScoringSupport.selectedNumericValue(survey, question, answers);
+        } else {
+            value = answers.numericValue(question);
+            if (Double.isNaN(value)) {
+                return 0.0;
+            }
+        }
+        return ScoringSupport.cap(value, survey.questionMaxPoints(question));
+    }
+
+    @Override
+    public double maxScore(CompiledSurvey survey, int question) {
+        double maxPoints = survey.questionMaxPoints(question);
+        return maxPoints > 0.0 ? maxPoints : ScoringSupport.derivedMaxNumericValue(survey, question);
+    }
+}
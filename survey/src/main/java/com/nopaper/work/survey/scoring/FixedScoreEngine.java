@@ -0,0 +1,43 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:41:37 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * FIXED_SCORE: each selected option earns its predefined points.
+ *
+ * Rules:
+ * - Choice types: sum of the selected options' points
+ * - RANKING/ORDERING: an option's points are earned when it is placed at
+ *   its display position
+ * - Max: question max_points if set, otherwise derived from the options;
+ *   the score is capped at max_points
+ */
+@Component
+public class FixedScoreEngine implements ScoringEngine {
+
+    @Override
+    public ScoringType getScoringType() {
+        return ScoringType.FIXED_SCORE;
+    }
+
+    @Override
+    public double score(CompiledSurvey survey, int question, AnswerSheet answers) {
+        return ScoringSupport.cap(ScoringSupport.earnedPoints(survey, question, answers),
+                survey.questionMaxPoints(question));
+    }
+
+    @Override
+    public double maxScore(CompiledSurvey survey, int question) {
+        double maxPoints = survey.questionMaxPoints(question);
+        return maxPoints > 0.0 ? maxPoints : ScoringSupport.derivedMaxPoints(survey, question);
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:57:51 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.enums.ScoringType;
+
+/**
+ * FORMULA_BASED: questions are scored by their option points, exactly like
+ * FIXED_SCORE; these per-question scores are the inputs of the survey's
+ * custom formula.
+ */
+@Component
+public class FormulaBasedScoreEngine extends FixedScoreEngine {
+
+    @Override
+    public ScoringType getScoringType() {
+        return ScoringType.FORMULA_BASED;
+    }
+}
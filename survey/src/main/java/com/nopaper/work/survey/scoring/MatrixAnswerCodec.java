@@ -0,0 +1,285 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 3:24:51 am
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * Bit-packed binary encoding of MATRIX answers (survey_response_answer.answer_data).
+ *
+ * A MATRIX answer is the selected column per row, in row order. Each
+ * column is stored as its position in the column list written with the
+ * answer, in ceil(log2(columns)) bits: a 10-row answer over 5 columns
+ * takes 90 bytes instead of ~400 bytes of {"matrix": ["<uuid>", ...]} JSON.
+ *
+ * Format (big-endian):
+ * - version (1) = 2, bits per cell (1), row count (2), column count (2)
+ * - column option ids (16 each), in the question's option order when written
+ * - cells, packed most significant bit first
+ *
+ * Cells are mapped back through the stored column ids, so an answer stays
+ * readable however the question's options are reordered, added or
+ * removed: decodeOptionIds always returns what was answered, and
+ * decodeInto maps it onto the current options while they all still exist.
+ *
+ * Version 1 answers stored a fingerprint (hash of the column ids, 4 bytes)
+ * in place of the column list; they are still read while the fingerprint
+ * matches the question's current columns.
+ */
+public final class MatrixAnswerCodec {
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte FINGERPRINT_VERSION = 1;
+    private static final int HEADER_BYTES = 6;
+    private static final int FINGERPRINT_HEADER_BYTES = 8;
+    private static final int COLUMN_ID_BYTES = 16;
+    private static final int MAX_ROWS = 0xFFFF;
+    private static final int MAX_COLUMNS = 0xFFFF;
+
+    private MatrixAnswerCodec() {
+    }
+
+    // ========================================================================
+    // Encoding
+    // ========================================================================
+
+    /**
+     * @param survey   Compiled survey
+     * @param question MATRIX question ordinal
+     * @param sheet    Sheet holding the question's selections (row order)
+     * @return Encoded answer
+     */
+    public static byte[] encode(CompiledSurvey survey, int question, AnswerSheet sheet) {
+        int rows = sheet.selectionCount(question);
+        int[] options = new int[rows];
+        for (int r = 0; r < rows; r++) {
+            options[r] = sheet.selection(question, r);
+        }
+        return encode(survey, question, options, rows);
+    }
+
+    /**
+     * @param survey   Compiled survey
+     * @param question MATRIX question ordinal
+     * @param options  Option ordinals of the selected columns, in row order
+     * @param rows     Number of rows to take from options
+     * @return Encoded answer
+     * @throws IllegalArgumentException if an option does not belong to the question
+     */
+    public static byte[] encode(CompiledSurvey survey, int question, int[] options, int rows) {
+        int first = survey.firstOption(question);
+        int columns = survey.endOption(question) - first;
+        if (rows > MAX_ROWS || columns > MAX_COLUMNS) {
+            throw new IllegalArgumentException("Too many matrix rows or columns: " + rows + " x " + columns);
+        }
+        int bits = bitsPerCell(columns);
+        int cells = HEADER_BYTES + columns * COLUMN_ID_BYTES;
+        byte[] data = new byte[cells + (rows * bits + 7) / 8];
+        data[0] = FORMAT_VERSION;
+        data[1] = (byte) bits;
+        data[2] = (byte) (rows >>> 8);
+        data[3] = (byte) rows;
+        data[4] = (byte) (columns >>> 8);
+        data[5] = (byte) columns;
+        for (int c = 0; c < columns; c++) {
+            UUID id = survey.option(first + c).id();
+            writeLong(data, HEADER_BYTES + c * COLUMN_ID_BYTES, id.getMostSignificantBits());
+            writeLong(data, HEADER_BYTES + c * COLUMN_ID_BYTES + 8, id.getLeastSignificantBits());
+        }
+        for (int r = 0; r < rows; r++) {
+            int column = options[r] - first;
+            if (column < 0 || column >= columns) {
+                throw new IllegalArgumentException("Option " + options[r] + " is not a column of question " + question);
+            }
+            writeBits(data, cells, r * bits, bits, column);
+        }
+        return data;
+    }
+
+    // ========================================================================
+    // Decoding
+    // ========================================================================
+
+    /**
+     * Add an encoded answer's selections to a sheet, without building any
+     * intermediate objects beyond the column mapping.
+     *
+     * @param survey   Compiled survey
+     * @param question MATRIX question ordinal
+     * @param data     Encoded answer
+     * @param sheet    Sheet to add the selections to
+     * @return false if the answer is corrupt, or selects a column the
+     *         question no longer has (nothing added)
+     */
+    public static boolean decodeInto(CompiledSurvey survey, int question, byte[] data, AnswerSheet sheet) {
+        UUID[] columnIds = columnIds(survey, question, data);
+        if (columnIds == null) {
+            return false;
+        }
+        int[] ordinals = new int[columnIds.length];
+        for (int c = 0; c < columnIds.length; c++) {
+            int option = survey.optionOrdinal(columnIds[c]);
+            ordinals[c] = option >= 0 && survey.optionQuestion(option) == question ? option : -1;
+        }
+        int bits = data[1];
+        int cells = cellOffset(data);
+        int rows = rows(data);
+        for (int r = 0; r < rows; r++) {
+            if (ordinals[readBits(data, cells, r * bits, bits)] < 0) {
+                return false;
+            }
+        }
+        for (int r = 0; r < rows; r++) {
+            sheet.addSelection(question, ordinals[readBits(data, cells, r * bits, bits)]);
+        }
+        return true;
+    }
+
+    /**
+     * @param survey   Compiled survey
+     * @param question MATRIX question ordinal
+     * @param data     Encoded answer
+     * @return Selected column option ids in row order, including columns
+     *         since removed; null if the answer is corrupt, or is a version 1
+     *         answer written for other columns
+     */
+    public static List<UUID> decodeOptionIds(CompiledSurvey survey, int question, byte[] data) {
+        UUID[] columnIds = columnIds(survey, question, data);
+        if (columnIds == null) {
+            return null;
+        }
+        int bits = data[1];
+        int cells = cellOffset(data);
+        int rows = rows(data);
+        List<UUID> optionIds = new ArrayList<>(rows);
+        for (int r = 0; r < rows; r++) {
+            optionIds.add(columnIds[readBits(data, cells, r * bits, bits)]);
+        }
+        return optionIds;
+    }
+
+    /**
+     * @return Number of rows in an encoded answer
+     */
+    public static int rows(byte[] data) {
+        return ((data[2] & 0xFF) << 8) | (data[3] & 0xFF);
+    }
+
+    // ========================================================================
+    // Layout
+    // ========================================================================
+
+    /**
+     * @return Column option ids the answer was written against, or null if
+     *         it is corrupt or a version 1 answer for other columns
+     */
+    private static UUID[] columnIds(CompiledSurvey survey, int question, byte[] data) {
+        if (data.length >= HEADER_BYTES && data[0] == FORMAT_VERSION) {
+            int columns = ((data[4] & 0xFF) << 8) | (data[5] & 0xFF);
+            int bits = bitsPerCell(columns);
+            int cells = HEADER_BYTES + columns * COLUMN_ID_BYTES;
+            if (columns == 0 || data[1] != bits || data.length != cells + (rows(data) * bits + 7) / 8
+                    || maxCell(data, cells, bits) >= columns) {
+                return null;
+            }
+            UUID[] ids = new UUID[columns];
+            for (int c = 0; c < columns; c++) {
+                int offset = HEADER_BYTES + c * COLUMN_ID_BYTES;
+                ids[c] = new UUID(readLong(data, offset), readLong(data, offset + 8));
+            }
+            return ids;
+        }
+        if (matchesFingerprint(survey, question, data)) {
+            int first = survey.firstOption(question);
+            UUID[] ids = new UUID[survey.endOption(question) - first];
+            for (int c = 0; c < ids.length; c++) {
+                ids[c] = survey.option(first + c).id();
+            }
+            return ids;
+        }
+        return null;
+    }
+
+    private static boolean matchesFingerprint(CompiledSurvey survey, int question, byte[] data) {
+        if (data.length < FINGERPRINT_HEADER_BYTES || data[0] != FINGERPRINT_VERSION) {
+            return false;
+        }
+        int columns = survey.endOption(question) - survey.firstOption(question);
+        int bits = bitsPerCell(columns);
+        return data[1] == bits
+                && data.length == FINGERPRINT_HEADER_BYTES + (rows(data) * bits + 7) / 8
+                && readInt(data, 4) == fingerprint(survey, question)
+                && maxCell(data, FINGERPRINT_HEADER_BYTES, bits) < columns;
+    }
+
+    private static int cellOffset(byte[] data) {
+        return data[0] == FORMAT_VERSION
+                ? HEADER_BYTES + (((data[4] & 0xFF) << 8) | (data[5] & 0xFF)) * COLUMN_ID_BYTES
+                : FINGERPRINT_HEADER_BYTES;
+    }
+
+    private static int maxCell(byte[] data, int cells, int bits) {
+        int max = 0;
+        for (int r = 0, rows = rows(data); r < rows; r++) {
+            max = Math.max(max, readBits(data, cells, r * bits, bits));
+        }
+        return max;
+    }
+
+    private static int bitsPerCell(int columns) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(columns - 1));
+    }
+
+    private static int fingerprint(CompiledSurvey survey, int question) {
+        int hash = 1;
+        for (int o = survey.firstOption(question); o < survey.endOption(question); o++) {
+            hash = 31 * hash + survey.option(o).id().hashCode();
+        }
+        return hash;
+    }
+
+    private static void writeBits(byte[] data, int cells, int offset, int bits, int value) {
+        for (int i = 0; i < bits; i++) {
+            if ((value >>> (bits - 1 - i) & 1) != 0) {
+                int bit = offset + i;
+                data[cells + bit / 8] |= (byte) (0x80 >>> (bit % 8));
+            }
+        }
+    }
+
+    private static int readBits(byte[] data, int cells, int offset, int bits) {
+        int value = 0;
+        for (int i = 0; i < bits; i++) {
+            int bit = offset + i;
+            value = (value << 1) | ((data[cells + bit / 8] >>> (7 - bit % 8)) & 1);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] data, int offset, long value) {
+        for (int i = 0; i < 8; i++) {
+            data[offset + i] = (byte) (value >>> (56 - 8 * i));
+        }
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:38:02 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * NO_SCORING: informational questions contribute nothing.
+ */
+@Component
+public class NoScoringEngine implements ScoringEngine {
+
+    @Override
+    public ScoringType getScoringType() {
+        return ScoringType.NO_SCORING;
+    }
+
+    @Override
+    public double score(CompiledSurvey survey, int question, AnswerSheet answers) {
+        return 0.0;
+    }
+
+    @Override
+    public double maxScore(CompiledSurvey survey, int question) {
+        return 0.0;
+    }
+}
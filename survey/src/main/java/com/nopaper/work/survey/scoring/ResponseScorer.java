@@ -0,0 +1,103 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 5:03:16 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.model.CompiledSurvey.SectionDef;
+
+/**
+ * Scores a whole response by dispatching every question to the
+ * {@link ScoringEngine} of its ScoringType.
+ *
+ * Aggregation:
+ * - Disabled questions are skipped, unanswered questions score 0
+ * - Section max: section max_score if set, otherwise the sum of question maxima
+ * - Survey total/max: sum over sections
+ * - Passed: every section with a pass_score reached it (null if none has one)
+ * - FORMULA_BASED surveys with a formula: total = formula result, max =
+ *   formula result with every question and section at its maximum, passed =
+ *   total reaches the share of max the section pass marks require
+ * - A survey with NO_SCORING yields an all-zero card
+ *
+ * Engines are looked up by enum ordinal in an array, so dispatch is a load
+ * and a virtual call per question.
+ */
+@Component
+public class ResponseScorer {
+
+    private final ScoringEngine[] engines = new ScoringEngine[ScoringType.values().length];
+
+    public ResponseScorer(List<ScoringEngine> scoringEngines) {
+        for (ScoringEngine engine : scoringEngines) {
+            engines[engine.getScoringType().ordinal()] = engine;
+        }
+        for (ScoringType type : ScoringType.values()) {
+            if (engines[type.ordinal()] == null) {
+                throw new IllegalStateException("No ScoringEngine registered for " + type);
+            }
+        }
+    }
+
+    /**
+     * @param type Scoring type
+     * @return Engine implementing it
+     */
+    public ScoringEngine engine(ScoringType type) {
+        return engines[type.ordinal()];
+    }
+
+    /**
+     * Score a response into the given card.
+     *
+     * @param survey  Compiled survey
+     * @param answers Answers of the response
+     * @param card    Reusable result holder, reset by this call
+     */
+    public void score(CompiledSurvey survey, AnswerSheet answers, ScoreCard card) {
+        card.reset(survey.questionCount(), survey.sectionCount());
+        if (survey.getScoringType() == ScoringType.NO_SCORING) {
+            return;
+        }
+
+        double total = 0.0;
+        double max = 0.0;
+        for (int s = 0, sections = survey.sectionCount(); s < sections; s++) {
+            double sectionScore = 0.0;
+            double sectionMax = 0.0;
+            for (int q = survey.firstQuestion(s), end = survey.endQuestion(s); q < end; q++) {
+                if (survey.question(q).disabled()) {
+                    continue;
+                }
+                ScoringEngine engine = engines[survey.questionScoringType(q).ordinal()];
+                double questionMax = engine.maxScore(survey, q);
+                double questionScore = answers.isAnswered(q) ? engine.score(survey, q, answers) : 0.0;
+                card.setQuestion(q, questionScore, questionMax);
+                sectionScore += questionScore;
+                sectionMax += questionMax;
+            }
+            SectionDef section = survey.section(s);
+            if (!Double.isNaN(section.maxScore())) {
+                sectionMax = section.maxScore();
+            }
+            card.setSection(s, sectionScore, sectionMax, section.passScore());
+            total += sectionScore;
+            max += sectionMax;
+        }
+        card.setTotals(total, max);
+
+        ScoringFormula formula = survey.getScoringFormula();
+        if (formula != null) {
+            double score = formula.evaluate(card);
+            card.setFormulaTotals(score, card.evaluateAtMaximum(formula));
+        }
+    }
+}
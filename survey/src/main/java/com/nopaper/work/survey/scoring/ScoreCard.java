@@ -0,0 +1,165 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:19:30 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Reusable result of scoring one response: per-question and per-section
+ * scores plus the totals written to survey_response
+ * (total_score, max_score, score_percentage, is_passed).
+ *
+ * Like {@link AnswerSheet}, buffers only grow and are reused across
+ * responses. Not thread-safe.
+ */
+public final class ScoreCard {
+
+    private static final int PASS_UNDEFINED = -1;
+    private static final int FAILED = 0;
+    private static final int PASSED = 1;
+
+    private int questionCount;
+    private int sectionCount;
+    private double[] questionScores = new double[0];
+    private double[] questionMaxScores = new double[0];
+    private double[] sectionScores = new double[0];
+    private double[] sectionMaxScores = new double[0];
+
+    private double totalScore;
+    private double maxScore;
+    private double scorePercentage;
+    private int passState;
+    private double passMarks;
+    private double passMarkMaxima;
+
+    /** While set, every score reads as its maximum (evaluateAtMaximum). */
+    private boolean atMaximum;
+
+    /**
+     * Clear the card for a survey of the given shape.
+     */
+    public void reset(int questionCount, int sectionCount) {
+        if (questionScores.length < questionCount) {
+            questionScores = new double[questionCount];
+            questionMaxScores = new double[questionCount];
+        }
+        if (sectionScores.length < sectionCount) {
+            sectionScores = new double[sectionCount];
+            sectionMaxScores = new double[sectionCount];
+        }
+        this.questionCount = questionCount;
+        this.sectionCount = sectionCount;
+        Arrays.fill(questionScores, 0, questionCount, 0.0);
+        Arrays.fill(questionMaxScores, 0, questionCount, 0.0);
+        Arrays.fill(sectionScores, 0, sectionCount, 0.0);
+        Arrays.fill(sectionMaxScores, 0, sectionCount, 0.0);
+        totalScore = 0.0;
+        maxScore = 0.0;
+        scorePercentage = 0.0;
+        passState = PASS_UNDEFINED;
+        passMarks = 0.0;
+        passMarkMaxima = 0.0;
+    }
+
+    void setQuestion(int question, double score, double max) {
+        questionScores[question] = score;
+        questionMaxScores[question] = max;
+    }
+
+    /**
+     * Record a section result and fold it into the pass/fail outcome.
+     *
+     * @param passScore Section pass mark, NaN if the section has none
+     */
+    void setSection(int section, double score, double max, double passScore) {
+        sectionScores[section] = score;
+        sectionMaxScores[section] = max;
+        if (!Double.isNaN(passScore)) {
+            passState = (passState != FAILED && score >= passScore) ? PASSED : FAILED;
+            passMarks += passScore;
+            passMarkMaxima += max;
+        }
+    }
+
+    /**
+     * Set the survey totals and derive the percentage.
+     */
+    void setTotals(double total, double max) {
+        this.totalScore = total;
+        this.maxScore = max;
+        this.scorePercentage = max > 0.0 ? total / max * 100.0 : 0.0;
+    }
+
+    /**
+     * Set the totals computed by a scoring formula. Passing then means
+     * reaching the share of the formula's maximum that the section pass
+     * marks require of their sections' maxima (null if no section has one).
+     */
+    void setFormulaTotals(double total, double max) {
+        setTotals(total, max);
+        if (passState != PASS_UNDEFINED) {
+            double required = passMarkMaxima > 0.0 ? passMarks / passMarkMaxima : 0.0;
+            passState = total >= required * max ? PASSED : FAILED;
+        }
+    }
+
+    /**
+     * Evaluate a formula as if every question and section scored its
+     * maximum: the best result a respondent can reach.
+     */
+    double evaluateAtMaximum(ScoringFormula formula) {
+        atMaximum = true;
+        try {
+            return formula.evaluate(this);
+        } finally {
+            atMaximum = false;
+        }
+    }
+
+    public int questionCount() {
+        return questionCount;
+    }
+
+    public int sectionCount() {
+        return sectionCount;
+    }
+
+    public double questionScore(int question) {
+        return atMaximum ? questionMaxScores[question] : questionScores[question];
+    }
+
+    public double questionMaxScore(int question) {
+        return questionMaxScores[question];
+    }
+
+    public double sectionScore(int section) {
+        return atMaximum ? sectionMaxScores[section] : sectionScores[section];
+    }
+
+    public double sectionMaxScore(int section) {
+        return sectionMaxScores[section];
+    }
+
+    public double getTotalScore() {
+        return atMaximum ? maxScore : totalScore;
+    }
+
+    public double getMaxScore() {
+        return maxScore;
+    }
+
+    public double getScorePercentage() {
+        return scorePercentage;
+    }
+
+    /**
+     * @return true/false if any section defines a pass score, null otherwise
+     */
+    public Boolean getPassed() {
+        return passState == PASS_UNDEFINED ? null : Boolean.valueOf(passState == PASSED);
+    }
+}
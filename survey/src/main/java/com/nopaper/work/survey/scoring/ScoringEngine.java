@@ -0,0 +1,42 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:27:15 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * Scoring strategy for one {@link ScoringType}.
+ *
+ * Implementations are stateless Spring beans, called once per scored
+ * question on every submission. They must read only primitive data
+ * (CompiledSurvey arrays, AnswerSheet buffers) and must not allocate.
+ */
+public interface ScoringEngine {
+
+    /**
+     * @return The scoring type this engine implements
+     */
+    ScoringType getScoringType();
+
+    /**
+     * Score one answered question.
+     *
+     * @param survey   Compiled survey
+     * @param question Question ordinal
+     * @param answers  Answers of the response being scored
+     * @return Points earned
+     */
+    double score(CompiledSurvey survey, int question, AnswerSheet answers);
+
+    /**
+     * @param survey   Compiled survey
+     * @param question Question ordinal
+     * @return Maximum points achievable for the question
+     */
+    double maxScore(CompiledSurvey survey, int question);
+}
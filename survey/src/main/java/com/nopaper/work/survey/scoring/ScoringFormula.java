@@ -0,0 +1,447 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 6:02:45 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.nopaper.work.survey.errors.InvalidFormulaException;
+
+/**
+ * Compiled FORMULA_BASED scoring formula.
+ *
+ * The formula is parsed once, when the survey definition is compiled, into
+ * a tree of closures; evaluating it is a walk over that tree reading
+ * primitive slots of a {@link ScoreCard}. Constant sub-expressions are
+ * folded at compile time.
+ *
+ * Language (case-insensitive):
+ * - Numbers: 1, 2.5, 1e3
+ * - Variables (1-based positions in display order):
+ *   Q3 = score of question 3, QMAX3 = its max score,
+ *   S2 = score of section 2,  SMAX2 = its max score,
+ *   TOTAL = sum of section scores, MAX = sum of section maxima
+ * - Operators: + - * / % ^, unary -, comparisons < <= > >= == != (yield 1 or 0)
+ * - Functions: min(a, b, ...), max(a, b, ...), abs(a), round(a), round(a, digits),
+ *   clamp(x, lo, hi), if(condition, then, else)
+ * - Division or modulo by zero yields 0
+ *
+ * Example:
+ * - "S1 * 0.4 + S2 * 0.6"
+ * - "if(S1 >= 10, TOTAL, TOTAL / 2)"
+ *
+ * The result becomes the response's total_score. Its max_score is the
+ * formula evaluated with every question and section at its maximum, so a
+ * perfect respondent scores 100% (for formulas that grow with the scores).
+ */
+public final class ScoringFormula {
+
+    /**
+     * Compiled expression node.
+     */
+    @FunctionalInterface
+    interface Node {
+        double eval(ScoreCard card);
+    }
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final String source;
+    private final Node root;
+
+    private ScoringFormula(String source, Node root) {
+        this.source = source;
+        this.root = root;
+    }
+
+    /**
+     * Compile a formula for a survey of the given shape.
+     *
+     * @param source        Formula text
+     * @param questionCount Number of questions (bounds Qn / QMAXn)
+     * @param sectionCount  Number of sections (bounds Sn / SMAXn)
+     * @return Compiled formula
+     * @throws InvalidFormulaException if the formula cannot be parsed or
+     *         references a question or section that does not exist
+     */
+    public static ScoringFormula compile(String source, int questionCount, int sectionCount) {
+        if (source == null || source.isBlank()) {
+            throw new InvalidFormulaException("Scoring formula is empty", source, 0);
+        }
+        Parser parser = new Parser(source, questionCount, sectionCount);
+        return new ScoringFormula(source, parser.parse());
+    }
+
+    /**
+     * Check the syntax of a formula without knowing the survey's shape.
+     *
+     * @param source Formula text
+     * @throws InvalidFormulaException if the formula cannot be parsed
+     */
+    public static void validate(String source) {
+        compile(source, UNBOUNDED, UNBOUNDED);
+    }
+
+    /**
+     * Evaluate the formula over a filled score card.
+     *
+     * @param card Score card with question and section scores set
+     * @return Formula result
+     */
+    public double evaluate(ScoreCard card) {
+        return root.eval(card);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoringFormula[" + source + "]";
+    }
+
+    // ========================================================================
+    // Recursive-Descent Parser
+    // ========================================================================
+
+    private static final class Parser {
+
+        private final String source;
+        private final int questionCount;
+        private final int sectionCount;
+        private int pos;
+
+        Parser(String source, int questionCount, int sectionCount) {
+            this.source = source;
+            this.questionCount = questionCount;
+            this.sectionCount = sectionCount;
+        }
+
+        Node parse() {
+            Node node = comparison();
+            skipWhitespace();
+            if (pos < source.length()) {
+                throw error("Unexpected '" + source.charAt(pos) + "'");
+            }
+            return node;
+        }
+
+        // comparison := additive (op additive)?
+        private Node comparison() {
+            Node left = additive();
+            skipWhitespace();
+            if (match("<=")) {
+                Node right = additive();
+                return fold(c -> left.eval(c) <= right.eval(c) ? 1.0 : 0.0, left, right);
+            }
+            if (match(">=")) {
+                Node right = additive();
+                return fold(c -> left.eval(c) >= right.eval(c) ? 1.0 : 0.0, left, right);
+            }
+            if (match("==")) {
+                Node right = additive();
+                return fold(c -> left.eval(c) == right.eval(c) ? 1.0 : 0.0, left, right);
+            }
+            if (match("!=")) {
+                Node right = additive();
+                return fold(c -> left.eval(c) != right.eval(c) ? 1.0 : 0.0, left, right);
+            }
+            if (match("<")) {
+                Node right = additive();
+                return fold(c -> left.eval(c) < right.eval(c) ? 1.0 : 0.0, left, right);
+            }
+            if (match(">")) {
+                Node right = additive();
+                return fold(c -> left.eval(c) > right.eval(c) ? 1.0 : 0.0, left, right);
+            }
+            return left;
+        }
+
+        // additive := term (('+' | '-') term)*
+        private Node additive() {
+            Node node = term();
+            while (true) {
+                skipWhitespace();
+                Node left = node;
+                if (match("+")) {
+                    Node right = term();
+                    node = fold(c -> left.eval(c) + right.eval(c), left, right);
+                } else if (match("-")) {
+                    Node right = term();
+                    node = fold(c -> left.eval(c) - right.eval(c), left, right);
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        // term := unary (('*' | '/' | '%') unary)*
+        private Node term() {
+            Node node = unary();
+            while (true) {
+                skipWhitespace();
+                Node left = node;
+                if (match("*")) {
+                    Node right = unary();
+                    node = fold(c -> left.eval(c) * right.eval(c), left, right);
+                } else if (match("/")) {
+                    Node right = unary();
+                    node = fold(c -> {
+                        double divisor = right.eval(c);
+                        return divisor == 0.0 ? 0.0 : left.eval(c) / divisor;
+                    }, left, right);
+                } else if (match("%")) {
+                    Node right = unary();
+                    node = fold(c -> {
+                        double divisor = right.eval(c);
+                        return divisor == 0.0 ? 0.0 : left.eval(c) % divisor;
+                    }, left, right);
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        // unary := '-' unary | power
+        private Node unary() {
+            skipWhitespace();
+            if (match("-")) {
+                Node operand = unary();
+                return fold(c -> -operand.eval(c), operand);
+            }
+            if (match("+")) {
+                return unary();
+            }
+            return power();
+        }
+
+        // power := primary ('^' unary)?
+        private Node power() {
+            Node base = primary();
+            skipWhitespace();
+            if (match("^")) {
+                Node exponent = unary();
+                return fold(c -> Math.pow(base.eval(c), exponent.eval(c)), base, exponent);
+            }
+            return base;
+        }
+
+        // primary := number | identifier | identifier '(' args ')' | '(' comparison ')'
+        private Node primary() {
+            skipWhitespace();
+            if (pos >= source.length()) {
+                throw error("Unexpected end of formula");
+            }
+            char ch = source.charAt(pos);
+            if (match("(")) {
+                Node node = comparison();
+                expect(")");
+                return node;
+            }
+            if (Character.isDigit(ch) || ch == '.') {
+                return number();
+            }
+            if (Character.isLetter(ch)) {
+                int start = pos;
+                String name = identifier();
+                skipWhitespace();
+                if (match("(")) {
+                    return function(name, start);
+                }
+                return variable(name, start);
+            }
+            throw error("Unexpected '" + ch + "'");
+        }
+
+        private Node number() {
+            int start = pos;
+            while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+                pos++;
+            }
+            if (pos < source.length() && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+                pos++;
+                if (pos < source.length() && (source.charAt(pos) == '+' || source.charAt(pos) == '-')) {
+                    pos++;
+                }
+                while (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                    pos++;
+                }
+            }
+            try {
+                double value = Double.parseDouble(source.substring(start, pos));
+                return constant(value);
+            } catch (NumberFormatException e) {
+                pos = start;
+                throw error("Invalid number");
+            }
+        }
+
+        private String identifier() {
+            int start = pos;
+            while (pos < source.length() && Character.isLetterOrDigit(source.charAt(pos))) {
+                pos++;
+            }
+            return source.substring(start, pos).toUpperCase(Locale.ROOT);
+        }
+
+        private Node variable(String name, int start) {
+            switch (name) {
+                case "TOTAL":
+                    return ScoreCard::getTotalScore;
+                case "MAX":
+                    return ScoreCard::getMaxScore;
+                default:
+                    break;
+            }
+            if (name.startsWith("QMAX")) {
+                int q = index(name, 4, questionCount, start);
+                return c -> c.questionMaxScore(q);
+            }
+            if (name.startsWith("SMAX")) {
+                int s = index(name, 4, sectionCount, start);
+                return c -> c.sectionMaxScore(s);
+            }
+            if (name.startsWith("Q")) {
+                int q = index(name, 1, questionCount, start);
+                return c -> c.questionScore(q);
+            }
+            if (name.startsWith("S")) {
+                int s = index(name, 1, sectionCount, start);
+                return c -> c.sectionScore(s);
+            }
+            pos = start;
+            throw error("Unknown variable '" + name + "'");
+        }
+
+        private int index(String name, int prefix, int bound, int start) {
+            String digits = name.substring(prefix);
+            int position;
+            try {
+                position = Integer.parseInt(digits);
+            } catch (NumberFormatException e) {
+                pos = start;
+                throw error("Unknown variable '" + name + "'");
+            }
+            if (position < 1 || position > bound) {
+                pos = start;
+                throw error("'" + name + "' is out of range (1.." + bound + ")");
+            }
+            return position - 1;
+        }
+
+        private Node function(String name, int start) {
+            List<Node> args = new ArrayList<>();
+            skipWhitespace();
+            if (!match(")")) {
+                do {
+                    args.add(comparison());
+                    skipWhitespace();
+                } while (match(","));
+                expect(")");
+            }
+            Node[] a = args.toArray(new Node[0]);
+            switch (name) {
+                case "MIN":
+                    requireArgs(name, a, 1, UNBOUNDED, start);
+                    return fold(c -> {
+                        double result = a[0].eval(c);
+                        for (int i = 1; i < a.length; i++) {
+                            result = Math.min(result, a[i].eval(c));
+                        }
+                        return result;
+                    }, a);
+                case "MAX":
+                    requireArgs(name, a, 1, UNBOUNDED, start);
+                    return fold(c -> {
+                        double result = a[0].eval(c);
+                        for (int i = 1; i < a.length; i++) {
+                            result = Math.max(result, a[i].eval(c));
+                        }
+                        return result;
+                    }, a);
+                case "ABS":
+                    requireArgs(name, a, 1, 1, start);
+                    return fold(c -> Math.abs(a[0].eval(c)), a);
+                case "ROUND":
+                    requireArgs(name, a, 1, 2, start);
+                    if (a.length == 1) {
+                        return fold(c -> Math.rint(a[0].eval(c)), a);
+                    }
+                    return fold(c -> {
+                        double scale = Math.pow(10.0, Math.rint(a[1].eval(c)));
+                        return Math.rint(a[0].eval(c) * scale) / scale;
+                    }, a);
+                case "CLAMP":
+                    requireArgs(name, a, 3, 3, start);
+                    return fold(c -> Math.min(Math.max(a[0].eval(c), a[1].eval(c)), a[2].eval(c)), a);
+                case "IF":
+                    requireArgs(name, a, 3, 3, start);
+                    return fold(c -> a[0].eval(c) != 0.0 ? a[1].eval(c) : a[2].eval(c), a);
+                default:
+                    pos = start;
+                    throw error("Unknown function '" + name.toLowerCase(Locale.ROOT) + "'");
+            }
+        }
+
+        private void requireArgs(String name, Node[] args, int min, int max, int start) {
+            if (args.length < min || args.length > max) {
+                pos = start;
+                throw error("Wrong number of arguments for " + name.toLowerCase(Locale.ROOT) + "()");
+            }
+        }
+
+        /**
+         * Replace a node whose operands are all constants by its value.
+         */
+        private static Node fold(Node node, Node... operands) {
+            for (Node operand : operands) {
+                if (!(operand instanceof Constant)) {
+                    return node;
+                }
+            }
+            return constant(node.eval(null));
+        }
+
+        private static Node constant(double value) {
+            return new Constant(value);
+        }
+
+        private void skipWhitespace() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private boolean match(String token) {
+            if (source.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            skipWhitespace();
+            if (!match(token)) {
+                throw error("Expected '" + token + "'");
+            }
+        }
+
+        private InvalidFormulaException error(String message) {
+            return new InvalidFormulaException(message + " at position " + (pos + 1), source, pos);
+        }
+    }
+
+    private record Constant(double value) implements Node {
+        @Override
+        public double eval(ScoreCard card) {
+            return value;
+        }
+    }
+}
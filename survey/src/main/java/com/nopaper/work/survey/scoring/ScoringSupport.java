@@ -0,0 +1,110 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:31:48 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * Primitive helpers shared by the scoring engines.
+ */
+final class ScoringSupport {
+
+    private ScoringSupport() {
+    }
+
+    /**
+     * @return true for types whose selections are an ordering of all options
+     */
+    static boolean isOrdering(QuestionType type) {
+        return type == QuestionType.RANKING || type == QuestionType.ORDERING;
+    }
+
+    /**
+     * @return true for types where the selected options' values add up
+     */
+    static boolean isAdditive(QuestionType type) {
+        return type.allowsMultipleSelections() || type == QuestionType.MATRIX;
+    }
+
+    /**
+     * Raw option points earned. For RANKING/ORDERING an option earns its
+     * points only when placed at its display position (the reference order).
+     */
+    static double earnedPoints(CompiledSurvey survey, int question, AnswerSheet answers) {
+        int count = answers.selectionCount(question);
+        int firstOption = survey.firstOption(question);
+        boolean ordering = isOrdering(survey.questionType(question));
+        double points = 0.0;
+        for (int i = 0; i < count; i++) {
+            int option = answers.selection(question, i);
+            if (!ordering || option - firstOption == i) {
+                points += survey.optionPoints(option);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Best achievable raw option points derived from the options alone.
+     */
+    static double derivedMaxPoints(CompiledSurvey survey, int question) {
+        QuestionType type = survey.questionType(question);
+        boolean additive = isAdditive(type) || isOrdering(type);
+        double max = 0.0;
+        for (int o = survey.firstOption(question), end = survey.endOption(question); o < end; o++) {
+            double points = survey.optionPoints(o);
+            if (additive) {
+                max += Math.max(points, 0.0);
+            } else {
+                max = Math.max(max, points);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Sum of the numeric values of the selected options (NaN values count as 0).
+     */
+    static double selectedNumericValue(CompiledSurvey survey, int question, AnswerSheet answers) {
+        double value = 0.0;
+        for (int i = 0, count = answers.selectionCount(question); i < count; i++) {
+            double numeric = survey.optionNumericValue(answers.selection(question, i));
+            if (!Double.isNaN(numeric)) {
+                value += numeric;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Best achievable numeric value derived from the options alone.
+     */
+    static double derivedMaxNumericValue(CompiledSurvey survey, int question) {
+        boolean additive = isAdditive(survey.questionType(question));
+        double max = 0.0;
+        for (int o = survey.firstOption(question), end = survey.endOption(question); o < end; o++) {
+            double numeric = survey.optionNumericValue(o);
+            if (Double.isNaN(numeric)) {
+                continue;
+            }
+            if (additive) {
+                max += Math.max(numeric, 0.0);
+            } else {
+                max = Math.max(max, numeric);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Cap a score at max when a positive max is configured.
+     */
+    static double cap(double score, double max) {
+        return max > 0.0 && score > max ? max : score;
+    }
+}
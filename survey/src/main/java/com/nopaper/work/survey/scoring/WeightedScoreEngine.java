@@ -0,0 +1,50 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:46:10 pm
+ * @git
+ */
+package com.nopaper.work.survey.scoring;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * WEIGHTED_SCORE: the fraction of option points earned, scaled by the
+ * question's weight (max_points, default 1).
+ *
+ * Example:
+ * - Options worth 0/2/4, respondent picks 2, weight 10 -> 2 / 4 * 10 = 5
+ */
+@Component
+public class WeightedScoreEngine implements ScoringEngine {
+
+    private static final double DEFAULT_WEIGHT = 1.0;
+
+    @Override
+    public ScoringType getScoringType() {
+        return ScoringType.WEIGHTED_SCORE;
+    }
+
+    @Override
+    public double score(CompiledSurvey survey, int question, AnswerSheet answers) {
+        double rawMax = ScoringSupport.derivedMaxPoints(survey, question);
+        if (rawMax <= 0.0) {
+            return 0.0;
+        }
+        double fraction = ScoringSupport.earnedPoints(survey, question, answers) / rawMax;
+        return weight(survey, question) * Math.min(Math.max(fraction, 0.0), 1.0);
+    }
+
+    @Override
+    public double maxScore(CompiledSurvey survey, int question) {
+        return weight(survey, question);
+    }
+
+    private static double weight(CompiledSurvey survey, int question) {
+        double maxPoints = survey.questionMaxPoints(question);
+        return maxPoints > 0.0 ? maxPoints : DEFAULT_WEIGHT;
+    }
+}
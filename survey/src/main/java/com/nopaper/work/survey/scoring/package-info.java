@@ -0,0 +1,12 @@
+/**
+ * @package com.nopaper.work.survey.scoring -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 4:05:09 pm
+ * @git 
+ */
+/**
+ * Scoring SPI: one {@link com.nopaper.work.survey.scoring.ScoringEngine} per
+ * {@link com.nopaper.work.survey.enums.ScoringType}, working over the
+ * primitive arrays of a {@link com.nopaper.work.survey.model.CompiledSurvey}.
+ */
+package com.nopaper.work.survey.scoring;
@@ -0,0 +1,165 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 8:32:06 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.nopaper.work.survey.dto.AnswerSubmission;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.errors.InvalidSubmissionException;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.payload.AnswerPayload;
+import com.nopaper.work.survey.payload.AnswerPayloadCodec;
+
+/**
+ * Answer validation shared by the submit and import paths, so both write
+ * identical survey_response_answer rows. Payload shapes are written by
+ * AnswerPayloadCodec.
+ */
+final class AnswerSupport {
+
+    private AnswerSupport() {
+    }
+
+    /**
+     * @return Ordinal of an enabled question of the survey
+     * @throws InvalidSubmissionException if the question is unknown or disabled
+     */
+    static int resolveQuestion(CompiledSurvey survey, UUID questionId) {
+        int question = questionId != null ? survey.questionOrdinal(questionId) : -1;
+        if (question < 0) {
+            throw new InvalidSubmissionException("Unknown question: " + questionId);
+        }
+        if (survey.question(question).disabled()) {
+            throw new InvalidSubmissionException("Question is disabled: " + questionId);
+        }
+        return question;
+    }
+
+    /**
+     * @return Ordinal of an option belonging to the given question
+     * @throws InvalidSubmissionException if the option is unknown or belongs to another question
+     */
+    static int resolveOption(CompiledSurvey survey, int question, UUID optionId) {
+        int option = optionId != null ? survey.optionOrdinal(optionId) : -1;
+        if (option < 0 || survey.optionQuestion(option) != question) {
+            throw new InvalidSubmissionException("Option " + optionId + " does not belong to question "
+                    + survey.question(question).id());
+        }
+        return option;
+    }
+
+    /**
+     * @throws InvalidSubmissionException if several options are given for a single-choice question
+     */
+    static void checkSelectionCount(CompiledSurvey survey, int question, int count) {
+        QuestionType type = survey.questionType(question);
+        if (count > 1 && !type.allowsMultipleSelections() && !isOptionList(type)) {
+            throw new InvalidSubmissionException("Question accepts a single option: " + survey.question(question).id());
+        }
+    }
+
+    /**
+     * @throws InvalidSubmissionException if a question is answered more than once
+     */
+    static void checkDistinctQuestions(Collection<AnswerSubmission> answers) {
+        Set<UUID> seen = new HashSet<>();
+        for (AnswerSubmission answer : answers) {
+            if (answer.questionId() != null && !seen.add(answer.questionId())) {
+                throw new InvalidSubmissionException("Question answered more than once: " + answer.questionId());
+            }
+        }
+    }
+
+    /**
+     * A MATRIX answer lists the chosen column of each row, so a column may
+     * repeat; any other answer names each option at most once.
+     *
+     * @throws InvalidSubmissionException if an option is given more than once
+     */
+    static void checkDistinctOptions(CompiledSurvey survey, int question, List<UUID> optionIds) {
+        if (optionIds.size() < 2 || survey.questionType(question) == QuestionType.MATRIX) {
+            return;
+        }
+        Set<UUID> seen = new HashSet<>();
+        for (UUID optionId : optionIds) {
+            if (!seen.add(optionId)) {
+                throw new InvalidSubmissionException("Option " + optionId + " given more than once for question "
+                        + survey.question(question).id());
+            }
+        }
+    }
+
+    /**
+     * Whether an answer, checked when it was autosaved, still matches the
+     * survey: its question and options may have been removed or disabled
+     * since, or the question's type changed.
+     */
+    static boolean fits(CompiledSurvey survey, AnswerSubmission answer) {
+        try {
+            int question = resolveQuestion(survey, answer.questionId());
+            List<UUID> optionIds = answer.optionIds() != null ? answer.optionIds() : List.of();
+            if (!optionIds.isEmpty()) {
+                checkSelectionCount(survey, question, optionIds.size());
+                checkDistinctOptions(survey, question, optionIds);
+                for (UUID optionId : optionIds) {
+                    resolveOption(survey, question, optionId);
+                }
+            } else if (answer.value() != null && isNumeric(survey.questionType(question))) {
+                parseNumber(survey, question, answer.value());
+            }
+            return true;
+        } catch (InvalidSubmissionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Parsed numeric answer
+     * @throws InvalidSubmissionException if the value is not a number
+     */
+    static double parseNumber(CompiledSurvey survey, int question, String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidSubmissionException("Question " + survey.question(question).id()
+                    + " expects a number: " + value);
+        }
+    }
+
+    /**
+     * @return true for types stored as one row listing all selected options
+     */
+    static boolean isOptionList(QuestionType type) {
+        return type == QuestionType.RANKING || type == QuestionType.ORDERING || type == QuestionType.MATRIX;
+    }
+
+    /**
+     * @return true for types whose value is scored as a number
+     */
+    static boolean isNumeric(QuestionType type) {
+        return type == QuestionType.NUMERIC || type == QuestionType.SLIDER;
+    }
+
+    /**
+     * Fill a holder with a flat value: DATE_TIME values that parse as
+     * ISO-8601 keep their epoch, anything else is text.
+     */
+    static AnswerPayload value(AnswerPayload payload, QuestionType type, String value) {
+        if (value != null && type == QuestionType.DATE_TIME) {
+            long epochMillis = AnswerPayloadCodec.parseEpochMillis(value);
+            if (epochMillis != Long.MIN_VALUE) {
+                return payload.setDateTime(epochMillis, value);
+            }
+        }
+        return payload.setText(value);
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 10:12:35 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Storage of cold archive files.
+ *
+ * Implementations:
+ * - LocalArchiveStore: a directory (app.survey.archive-store=local, default)
+ *
+ * Files are written locally first, then handed over with put; readers ask
+ * for a local path they can memory-map. A remote (object) store would
+ * upload on put and download to a local cache on open.
+ */
+public interface ArchiveStore {
+
+    /**
+     * @return Local path to write a new file to before put; same file system
+     *         as the store where possible, so put can move it atomically
+     */
+    Path staging(String name) throws IOException;
+
+    /**
+     * Store a complete file under the name, replacing any previous one.
+     * The staged file is consumed.
+     */
+    void put(String name, Path file) throws IOException;
+
+    /**
+     * @return Local, readable path of a stored file
+     * @throws java.nio.file.NoSuchFileException if there is no such file
+     */
+    Path open(String name) throws IOException;
+
+    /**
+     * @return Size of a stored file in bytes
+     */
+    long size(String name) throws IOException;
+}
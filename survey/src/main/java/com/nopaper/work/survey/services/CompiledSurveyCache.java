@@ -0,0 +1,225 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:02:44 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * In-process (L1) cache of compiled survey definitions.
+ *
+ * Entries are keyed by Survey.id and carry the Survey.updatedAt they were
+ * compiled from, so a lookup for a specific version never returns a stale
+ * snapshot, and a stale snapshot can never replace a newer one.
+ *
+ * Invalidation:
+ * - invalidate(id, updatedAt) raises the survey's minimum acceptable version
+ *   (it never moves backwards) and drops any older snapshot.
+ * - Snapshots older than the minimum version are treated as misses and are
+ *   never stored, so a late or reordered invalidation message, or a slow
+ *   loader that read an old row, cannot resurrect an old definition.
+ *
+ * Loads run outside the map's locks: a miss installs a placeholder future
+ * for its survey with putIfAbsent, loads (Redis, then the database), and
+ * stores the result with a version-checked compute. Concurrent misses for
+ * the same survey wait on the placeholder; other surveys are never blocked,
+ * and a waiting virtual thread parks instead of pinning its carrier.
+ */
+@Component
+public class CompiledSurveyCache {
+
+    private final ConcurrentMap<UUID, CompiledSurvey> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, LocalDateTime> minimumVersions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, CompletableFuture<CompiledSurvey>> loads = new ConcurrentHashMap<>();
+
+    /**
+     * @param surveyId Survey id
+     * @return Cached snapshot, or null if none is cached
+     */
+    public CompiledSurvey getIfPresent(UUID surveyId) {
+        CompiledSurvey cached = entries.get(surveyId);
+        return cached != null && !cached.isOlderThan(minimumVersions.get(surveyId)) ? cached : null;
+    }
+
+    /**
+     * @param surveyId Survey id
+     * @return Oldest Survey.updatedAt still acceptable for this survey, or null if never invalidated
+     */
+    public LocalDateTime minimumVersion(UUID surveyId) {
+        return minimumVersions.get(surveyId);
+    }
+
+    /**
+     * Get the cached snapshot, compiling it on a miss.
+     * Concurrent misses for the same survey share a single load.
+     *
+     * The loader should honour {@link #minimumVersion(UUID)}; a snapshot
+     * it returns that is older than the minimum version is handed back to
+     * the caller but not cached.
+     *
+     * @param surveyId Survey id
+     * @param loader   Compiles the snapshot on a miss
+     * @return Cached or freshly compiled snapshot
+     */
+    public CompiledSurvey get(UUID surveyId, Function<UUID, CompiledSurvey> loader) {
+        return get(surveyId, null, loader);
+    }
+
+    /**
+     * Get the snapshot for an exact survey version, recompiling if the cached
+     * snapshot is older than the requested version.
+     *
+     * @param surveyId  Survey id
+     * @param updatedAt Survey.updatedAt the caller knows about
+     * @param loader    Compiles the snapshot when the cached one is missing or stale
+     * @return Snapshot at least as new as updatedAt
+     */
+    public CompiledSurvey get(UUID surveyId, LocalDateTime updatedAt, Function<UUID, CompiledSurvey> loader) {
+        while (true) {
+            CompiledSurvey cached = entries.get(surveyId);
+            if (cached != null && isCurrent(cached, updatedAt)) {
+                return cached;
+            }
+            CompletableFuture<CompiledSurvey> load = new CompletableFuture<>();
+            CompletableFuture<CompiledSurvey> running = loads.putIfAbsent(surveyId, load);
+            if (running == null) {
+                return load(surveyId, updatedAt, loader, load);
+            }
+            CompiledSurvey shared = await(running);
+            if (isCurrent(shared, updatedAt)) {
+                return shared;
+            }
+            // The shared load predates the version asked for: load again.
+        }
+    }
+
+    private CompiledSurvey load(UUID surveyId, LocalDateTime updatedAt, Function<UUID, CompiledSurvey> loader,
+                                CompletableFuture<CompiledSurvey> load) {
+        try {
+            // A load may have completed between the cache check and the putIfAbsent.
+            CompiledSurvey cached = entries.get(surveyId);
+            CompiledSurvey result = cached != null && isCurrent(cached, updatedAt)
+                    ? cached
+                    : store(surveyId, loader.apply(surveyId));
+            load.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(surveyId, load);
+        }
+    }
+
+    /**
+     * Cache a loaded snapshot unless it is below the minimum version or a
+     * snapshot at least as new is cached. compute is serialised with
+     * invalidate() on the same key, so the version check cannot race it.
+     *
+     * @return The cached snapshot if newer, otherwise the loaded one
+     */
+    private CompiledSurvey store(UUID surveyId, CompiledSurvey loaded) {
+        CompiledSurvey stored = entries.compute(surveyId, (id, current) -> {
+            if (!isCurrent(loaded, null)) {
+                return current;
+            }
+            return current != null && !current.isOlderThan(loaded.getVersion()) ? current : loaded;
+        });
+        return stored != null && isCurrent(stored, loaded.getVersion()) ? stored : loaded;
+    }
+
+    /**
+     * Wait for another caller's load, rethrowing its failure.
+     */
+    private static CompiledSurvey await(CompletableFuture<CompiledSurvey> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Raise the minimum acceptable version of a survey and drop older snapshots.
+     * Out-of-order calls are harmless: the minimum version only moves forward.
+     *
+     * @param surveyId  Survey id
+     * @param updatedAt Survey.updatedAt after the change
+     * @return true if a stale snapshot was removed
+     */
+    public boolean invalidate(UUID surveyId, LocalDateTime updatedAt) {
+        minimumVersions.merge(surveyId, updatedAt, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+        // Serialised with store() on the same key: a load that read an older
+        // row is dropped either here or by store's own version check.
+        boolean[] removed = new boolean[1];
+        entries.computeIfPresent(surveyId, (id, current) -> {
+            removed[0] = current.isOlderThan(minimumVersions.get(id));
+            return removed[0] ? null : current;
+        });
+        return removed[0];
+    }
+
+    private boolean isCurrent(CompiledSurvey compiled, LocalDateTime updatedAt) {
+        return !compiled.isOlderThan(updatedAt) && !compiled.isOlderThan(minimumVersions.get(compiled.getId()));
+    }
+
+    /**
+     * Store a snapshot unless a newer one is already cached.
+     *
+     * @param compiled Snapshot to store
+     * @return The snapshot that ends up cached (null if the snapshot is older
+     *         than the minimum version and nothing newer is cached)
+     */
+    public CompiledSurvey put(CompiledSurvey compiled) {
+        Objects.requireNonNull(compiled, "compiled");
+        if (!isCurrent(compiled, null)) {
+            return getIfPresent(compiled.getId());
+        }
+        return entries.merge(compiled.getId(), compiled, (current, candidate) ->
+                current.isOlderThan(candidate.getVersion()) ? candidate : current);
+    }
+
+    /**
+     * Remove the snapshot of a survey regardless of its version.
+     *
+     * @param surveyId Survey id
+     */
+    public void evict(UUID surveyId) {
+        entries.remove(surveyId);
+    }
+
+    /**
+     * @return Number of cached snapshots
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove every cached snapshot.
+     */
+    public void clear() {
+        entries.clear();
+        minimumVersions.clear();
+    }
+}
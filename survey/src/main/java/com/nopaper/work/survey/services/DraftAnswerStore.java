@@ -0,0 +1,234 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 3:31:50 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.dto.AnswerSubmission;
+import com.nopaper.work.survey.model.DraftAnswerCodec;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Redis store of autosaved draft answers of started responses.
+ *
+ * Storage:
+ * - Key: survey:draft:{responseId}, a hash with one field per answered
+ *   question (question id), valued by DraftAnswerCodec; an autosave only
+ *   overwrites the fields of the questions it carries
+ * - Field "survey" of the same hash: 16-byte id of the survey the draft was
+ *   saved for, set by the first autosave; autosaves naming another survey
+ *   are refused, and readers drop drafts of another survey than the response's
+ * - TTL: app.survey.session-timeout minutes, renewed by every autosave
+ * - survey:drafts:dirty: sorted set of responses with unflushed changes
+ *   (16-byte response id, scored by last autosave in epoch milliseconds),
+ *   read by the idle-draft flusher (ResponseDraftService)
+ * An autosave is two round trips: a script checking the survey and writing
+ * the hash (HGET, HSET, PEXPIRE), then ZADD.
+ *
+ * Redis failures are not hidden: an autosave that could not be stored
+ * fails, so the browser retries it.
+ */
+@Slf4j
+@Component
+public class DraftAnswerStore {
+
+    static final String KEY_PREFIX = "survey:draft:";
+    static final String DIRTY_KEY = "survey:drafts:dirty";
+    static final String SURVEY_FIELD = "survey";
+
+    /**
+     * Writes the answers (ARGV[4..], field and value pairs) unless the draft
+     * belongs to another survey than ARGV[2]; ARGV[1] is the survey field,
+     * ARGV[3] the TTL in milliseconds. Returns 0 if refused.
+     */
+    private static final RedisScript<Long> SAVE = new DefaultRedisScript<>(
+            "local owner = redis.call('hget', KEYS[1], ARGV[1]) "
+                    + "if owner and owner ~= ARGV[2] then return 0 end "
+                    + "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) "
+                    + "for i = 4, #ARGV, 2 do "
+                    + "redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) "
+                    + "end "
+                    + "redis.call('pexpire', KEYS[1], ARGV[3]) "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * Removes flushed responses from the dirty set unless they were autosaved
+     * again since they were read: ARGV holds (member, score) pairs.
+     */
+    private static final RedisScript<Long> REMOVE_UNCHANGED = new DefaultRedisScript<>(
+            "local removed = 0 "
+                    + "for i = 1, #ARGV, 2 do "
+                    + "local score = redis.call('zscore', KEYS[1], ARGV[i]) "
+                    + "if score and tonumber(score) == tonumber(ARGV[i + 1]) then "
+                    + "removed = removed + redis.call('zrem', KEYS[1], ARGV[i]) "
+                    + "end "
+                    + "end "
+                    + "return removed",
+            Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final Duration ttl;
+
+    public DraftAnswerStore(RedisTemplate<String, byte[]> binaryRedisTemplate, JsonMapper jsonMapper,
+                            SurveyProperties properties) {
+        this.redisTemplate = binaryRedisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.ttl = Duration.ofMinutes(properties.getSessionTimeout());
+    }
+
+    /**
+     * Store draft answers, replacing earlier drafts of the same questions.
+     *
+     * @param surveyId   Survey the answers were checked against
+     * @param responseId Started response
+     * @param answers    Draft answers; the last one wins for a repeated question
+     * @return false if the response's draft belongs to another survey
+     */
+    public boolean save(UUID surveyId, UUID responseId, Collection<AnswerSubmission> answers) {
+        if (answers.isEmpty()) {
+            return true;
+        }
+        List<byte[]> args = new ArrayList<>(3 + answers.size() * 2);
+        args.add(SURVEY_FIELD.getBytes(StandardCharsets.US_ASCII));
+        args.add(bytes(surveyId));
+        args.add(Long.toString(ttl.toMillis()).getBytes(StandardCharsets.US_ASCII));
+        for (AnswerSubmission answer : answers) {
+            args.add(answer.questionId().toString().getBytes(StandardCharsets.US_ASCII));
+            args.add(DraftAnswerCodec.encode(answer, jsonMapper));
+        }
+        Long saved = redisTemplate.execute(SAVE, List.of(KEY_PREFIX + responseId), args.toArray());
+        if (saved == null || saved == 0) {
+            return false;
+        }
+        redisTemplate.opsForZSet().add(DIRTY_KEY, bytes(responseId), System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * @return Draft of a response, without answers if it has none (or they expired)
+     */
+    public Draft load(UUID responseId) {
+        Map<String, byte[]> fields = redisTemplate.<String, byte[]>opsForHash().entries(KEY_PREFIX + responseId);
+        UUID surveyId = null;
+        List<AnswerSubmission> answers = new ArrayList<>(fields.size());
+        for (Map.Entry<String, byte[]> field : fields.entrySet()) {
+            if (SURVEY_FIELD.equals(field.getKey())) {
+                surveyId = field.getValue().length == 16 ? uuid(field.getValue()) : null;
+                continue;
+            }
+            try {
+                answers.add(DraftAnswerCodec.decode(UUID.fromString(field.getKey()), field.getValue(), jsonMapper));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping unreadable draft answer {} of response {}: {}", field.getKey(), responseId,
+                        e.getMessage());
+            }
+        }
+        return new Draft(surveyId, answers);
+    }
+
+    /**
+     * Responses whose last autosave is older than the given time and that
+     * were not flushed since.
+     *
+     * @return Response id to last autosave time (epoch milliseconds), oldest first
+     */
+    public Map<UUID, Long> idle(long savedBeforeMillis, int limit) {
+        Set<TypedTuple<byte[]>> page = redisTemplate.opsForZSet().rangeByScoreWithScores(DIRTY_KEY,
+                Double.NEGATIVE_INFINITY, savedBeforeMillis, 0, limit);
+        Map<UUID, Long> idle = new LinkedHashMap<>();
+        if (page != null) {
+            for (TypedTuple<byte[]> entry : page) {
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    idle.put(uuid(entry.getValue()), entry.getScore().longValue());
+                }
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * Mark flushed responses clean, except those autosaved again meanwhile.
+     *
+     * @param flushed Response id to the autosave time that was flushed (from idle)
+     */
+    public void flushed(Map<UUID, Long> flushed) {
+        if (flushed.isEmpty()) {
+            return;
+        }
+        Object[] args = new Object[flushed.size() * 2];
+        int i = 0;
+        for (Map.Entry<UUID, Long> entry : flushed.entrySet()) {
+            args[i++] = bytes(entry.getKey());
+            args[i++] = Long.toString(entry.getValue()).getBytes(StandardCharsets.US_ASCII);
+        }
+        redisTemplate.execute(REMOVE_UNCHANGED, List.of(DIRTY_KEY), args);
+    }
+
+    /**
+     * Drop the drafts of a submitted or timed out response.
+     */
+    public void discard(UUID responseId) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, byte[]> redis = (RedisOperations<String, byte[]>) operations;
+                redis.delete(KEY_PREFIX + responseId);
+                redis.opsForZSet().remove(DIRTY_KEY, bytes(responseId));
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Draft answers of a response.
+     *
+     * @param surveyId Survey they were saved for, null if written before it was stored
+     * @param answers  Answers, one per question
+     */
+    public record Draft(UUID surveyId, List<AnswerSubmission> answers) {
+
+        /**
+         * @return The answers if the draft was saved for the given survey, else none
+         */
+        public List<AnswerSubmission> answersFor(UUID surveyId) {
+            return this.surveyId == null || this.surveyId.equals(surveyId) ? answers : List.of();
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 10:16:09 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+
+/**
+ * {@link ArchiveStore} on a local (or mounted shared) directory,
+ * app.survey.archive-directory. Files are staged in the same directory
+ * under a .tmp name and renamed into place atomically.
+ */
+@Component
+@ConditionalOnProperty(name = "app.survey.archive-store", havingValue = "local", matchIfMissing = true)
+public class LocalArchiveStore implements ArchiveStore {
+
+    private static final String STAGING_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    public LocalArchiveStore(SurveyProperties properties) {
+        this.directory = Paths.get(properties.getArchiveDirectory()).toAbsolutePath();
+    }
+
+    @Override
+    public Path staging(String name) throws IOException {
+        Files.createDirectories(directory);
+        Path staged = resolve(name + STAGING_SUFFIX);
+        Files.deleteIfExists(staged);
+        return staged;
+    }
+
+    @Override
+    public void put(String name, Path file) throws IOException {
+        Files.move(file, resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public Path open(String name) throws IOException {
+        Path file = resolve(name);
+        if (!Files.isReadable(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+        return file;
+    }
+
+    @Override
+    public long size(String name) throws IOException {
+        return Files.size(resolve(name));
+    }
+
+    /**
+     * Names come from survey ids; anything leaving the directory is refused.
+     */
+    private Path resolve(String name) {
+        Path file = directory.resolve(name).normalize();
+        if (!file.getParent().equals(directory)) {
+            throw new IllegalArgumentException("Invalid archive file name: " + name);
+        }
+        return file;
+    }
+}
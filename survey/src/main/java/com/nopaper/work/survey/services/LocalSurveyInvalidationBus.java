@@ -0,0 +1,40 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 2:21:04 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.model.SurveyInvalidation;
+
+/**
+ * In-process stand-in for {@link RedisSurveyInvalidationBus}.
+ * Delivers synchronously on the publishing thread; intended for tests and
+ * single-node deployments.
+ */
+@Component
+@ConditionalOnProperty(name = "app.survey.invalidation-bus", havingValue = "local")
+public class LocalSurveyInvalidationBus implements SurveyInvalidationBus {
+
+    private final List<Consumer<SurveyInvalidation>> handlers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(SurveyInvalidation invalidation) {
+        for (Consumer<SurveyInvalidation> handler : handlers) {
+            handler.accept(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<SurveyInvalidation> handler) {
+        handlers.add(handler);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:40:17 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.repository.DatabaseLoadReader;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Paces background deletes so they yield to live traffic.
+ *
+ * Before each chunk the caller waits until:
+ * - no streaming replica lags more than app.survey.purge-max-replica-lag
+ *   (big deletes generate WAL that replicas must replay)
+ * - the Hikari pool is below app.survey.purge-max-pool-usage and no thread
+ *   is waiting for a connection
+ * The wait backs off exponentially up to MAX_BACKOFF_MILLIS per check.
+ * A signal that cannot be read (no Hikari pool, no pg_monitor role) does
+ * not hold the purge back.
+ */
+@Slf4j
+@Component
+public class PurgeThrottle {
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final DataSource dataSource;
+    private final DatabaseLoadReader loadReader;
+    private final SurveyProperties properties;
+
+    public PurgeThrottle(DataSource dataSource, DatabaseLoadReader loadReader, SurveyProperties properties) {
+        this.dataSource = dataSource;
+        this.loadReader = loadReader;
+        this.properties = properties;
+    }
+
+    /**
+     * Block until the database has room for the next chunk, then pause for
+     * app.survey.purge-chunk-pause.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitCapacity() throws InterruptedException {
+        long backoff = Math.max(100, properties.getPurgeChunkPause());
+        while (overloaded()) {
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+        if (properties.getPurgeChunkPause() > 0) {
+            Thread.sleep(properties.getPurgeChunkPause());
+        }
+    }
+
+    boolean overloaded() {
+        HikariPoolMXBean pool = pool();
+        if (pool != null && pool.getTotalConnections() > 0 && (pool.getThreadsAwaitingConnection() > 0
+                || pool.getActiveConnections() >= properties.getPurgeMaxPoolUsage() * pool.getTotalConnections())) {
+            log.debug("Purge waiting for the connection pool: {} active of {}, {} waiting",
+                    pool.getActiveConnections(), pool.getTotalConnections(), pool.getThreadsAwaitingConnection());
+            return true;
+        }
+        try {
+            double lag = loadReader.maxReplicaLagSeconds();
+            if (lag > properties.getPurgeMaxReplicaLag()) {
+                log.debug("Purge waiting for replicas: {} s behind", lag);
+                return true;
+            }
+        } catch (DataAccessException e) {
+            log.debug("Replica lag unavailable: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private HikariPoolMXBean pool() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
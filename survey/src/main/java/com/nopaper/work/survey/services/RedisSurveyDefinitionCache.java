@@ -0,0 +1,214 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 12:58:40 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.errors.SurveyNotFoundException;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.model.CompiledSurveyCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis-backed (L2) cache of compiled survey definitions, shared by all nodes.
+ *
+ * Storage:
+ * - Key: survey:def:{surveyId}
+ * - Value: CompiledSurveyCodec binary encoding (not JDK serialization)
+ * - TTL: app.survey.cache-ttl seconds, plus up to 10% jitter so entries
+ *   written together do not expire together
+ *
+ * Stampede protection:
+ * - On a miss, a node must win SET survey:def:lock:{surveyId} NX PX before
+ *   loading from the database; the lock is released with a compare-and-delete
+ *   script so a slow loader cannot release someone else's lock.
+ * - Losers poll the value key until the winner has written it, and only load
+ *   themselves if the wait exceeds LOCK_WAIT (e.g. the winner died).
+ * - A survey the winner cannot find is stored as a one-byte NOT_FOUND marker
+ *   for NOT_FOUND_TTL: losers, and lookups of the same unknown id, fail with
+ *   SurveyNotFoundException at once instead of polling or querying again.
+ *   Creating a survey announces it, which evicts the marker.
+ *
+ * Redis failures never fail a request: they are logged and the definition is
+ * loaded from the database, or left to expire from Redis.
+ */
+@Slf4j
+@Component
+public class RedisSurveyDefinitionCache {
+
+    static final String KEY_PREFIX = "survey:def:";
+    static final String LOCK_PREFIX = "survey:def:lock:";
+
+    private static final Duration LOCK_TTL = Duration.ofSeconds(10);
+    private static final Duration LOCK_WAIT = Duration.ofSeconds(5);
+    private static final long POLL_INTERVAL_MILLIS = 25;
+    private static final Duration NOT_FOUND_TTL = Duration.ofSeconds(5);
+
+    /**
+     * Value of a survey that does not exist; never a CompiledSurveyCodec
+     * format version.
+     */
+    private static final byte[] NOT_FOUND = {0};
+
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final Duration ttl;
+
+    public RedisSurveyDefinitionCache(RedisTemplate<String, byte[]> binaryRedisTemplate, SurveyProperties properties) {
+        this.redisTemplate = binaryRedisTemplate;
+        this.ttl = Duration.ofSeconds(properties.getCacheTtl());
+    }
+
+    /**
+     * Get a compiled survey from Redis, loading it at most once across the
+     * cluster on a miss.
+     *
+     * @param surveyId Survey id
+     * @param loader   Loads the definition from the database
+     * @return Compiled survey
+     * @throws SurveyNotFoundException if the survey does not exist
+     */
+    public CompiledSurvey get(UUID surveyId, Function<UUID, CompiledSurvey> loader) {
+        String key = KEY_PREFIX + surveyId;
+        try {
+            CompiledSurvey cached = read(surveyId, key);
+            if (cached != null) {
+                return cached;
+            }
+
+            String lockKey = LOCK_PREFIX + surveyId;
+            byte[] token = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, LOCK_TTL))) {
+                try {
+                    // Another node may have finished loading between our miss and our lock.
+                    cached = read(surveyId, key);
+                    return cached != null ? cached : loadAndStore(key, surveyId, loader);
+                } finally {
+                    redisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+                }
+            }
+
+            cached = awaitLoad(surveyId, key);
+            if (cached != null) {
+                return cached;
+            }
+            log.warn("Timed out waiting for survey {} to be loaded by another node, loading locally", surveyId);
+            return loadAndStore(key, surveyId, loader);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable for survey definition {}, loading from database: {}", surveyId, e.getMessage());
+            return loader.apply(surveyId);
+        }
+    }
+
+    /**
+     * Store a compiled survey, replacing any cached copy.
+     *
+     * @param survey Compiled survey
+     */
+    public void put(CompiledSurvey survey) {
+        store(KEY_PREFIX + survey.getId(), survey);
+    }
+
+    /**
+     * Remove the cached definition of a survey.
+     *
+     * @param surveyId Survey id
+     */
+    public void evict(UUID surveyId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + surveyId);
+        } catch (DataAccessException e) {
+            // Readers still fall back to the database for versions announced since.
+            log.warn("Could not evict survey definition {} from Redis: {}", surveyId, e.getMessage());
+        }
+    }
+
+    private CompiledSurvey loadAndStore(String key, UUID surveyId, Function<UUID, CompiledSurvey> loader) {
+        CompiledSurvey loaded;
+        try {
+            loaded = loader.apply(surveyId);
+        } catch (SurveyNotFoundException e) {
+            try {
+                redisTemplate.opsForValue().set(key, NOT_FOUND, NOT_FOUND_TTL);
+            } catch (DataAccessException redisError) {
+                log.warn("Could not cache missing survey {} in Redis: {}", surveyId, redisError.getMessage());
+            }
+            throw e;
+        }
+        store(key, loaded);
+        return loaded;
+    }
+
+    private void store(String key, CompiledSurvey survey) {
+        try {
+            redisTemplate.opsForValue().set(key, CompiledSurveyCodec.encode(survey), jitteredTtl());
+        } catch (DataAccessException e) {
+            // The next miss loads it again.
+            log.warn("Could not cache survey definition {} in Redis: {}", survey.getId(), e.getMessage());
+        }
+    }
+
+    private CompiledSurvey awaitLoad(UUID surveyId, String key) {
+        long deadline = System.nanoTime() + LOCK_WAIT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            CompiledSurvey cached = read(surveyId, key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Cached survey, null on a miss
+     * @throws SurveyNotFoundException if the survey is cached as missing
+     */
+    private CompiledSurvey read(UUID surveyId, String key) {
+        byte[] data = redisTemplate.opsForValue().get(key);
+        if (data == null) {
+            return null;
+        }
+        if (Arrays.equals(data, NOT_FOUND)) {
+            throw new SurveyNotFoundException(surveyId);
+        }
+        try {
+            return CompiledSurveyCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            // Written by an older format version: treat as a miss and overwrite.
+            log.debug("Discarding undecodable survey definition {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private Duration jitteredTtl() {
+        long seconds = ttl.toSeconds();
+        return Duration.ofSeconds(seconds + ThreadLocalRandom.current().nextLong(seconds / 10 + 1));
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 2:27:45 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.model.SurveyInvalidation;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Survey invalidation bus over Redis pub/sub.
+ *
+ * Channel: survey:def:invalidate
+ * Payload: SurveyInvalidation binary wire format (28 bytes)
+ *
+ * Pub/sub is fire-and-forget: a node that is disconnected while a message is
+ * sent misses it, and relies on the L1 entry being replaced when it next
+ * reads a newer version. Delivery order is not relied on, since
+ * CompiledSurveyCache only ever moves a survey's version forward.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.survey.invalidation-bus", havingValue = "redis", matchIfMissing = true)
+public class RedisSurveyInvalidationBus implements SurveyInvalidationBus {
+
+    static final ChannelTopic CHANNEL = new ChannelTopic("survey:def:invalidate");
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public RedisSurveyInvalidationBus(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                                      RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = binaryRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @Override
+    public void publish(SurveyInvalidation invalidation) {
+        redisTemplate.convertAndSend(CHANNEL.getTopic(), invalidation.toBytes());
+    }
+
+    @Override
+    public void subscribe(Consumer<SurveyInvalidation> handler) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                handler.accept(SurveyInvalidation.fromBytes(message.getBody()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed survey invalidation message: {}", e.getMessage());
+            }
+        }, CHANNEL);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 8:36:22 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.sql.SQLException;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.config.ReplicaRoutingDataSource;
+import com.nopaper.work.survey.repository.DatabaseLoadReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the read replica's replay lag every
+ * app.survey.replica-lag-check-interval seconds and hands it to the
+ * routing DataSource, which stops reading from the replica while it is
+ * more than app.survey.replica-max-lag behind, unreachable, not streaming
+ * WAL from the primary, or not measured recently. Only active when a replica is configured.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource routing;
+    private final DatabaseLoadReader loadReader;
+
+    public ReplicaLagMonitor(DataSource dataSource, DatabaseLoadReader loadReader) throws SQLException {
+        this.routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        this.loadReader = loadReader;
+    }
+
+    @Scheduled(fixedDelayString = "${app.survey.replica-lag-check-interval:5}", timeUnit = TimeUnit.SECONDS)
+    public void check() {
+        try {
+            OptionalDouble lag = loadReader.replayLagSeconds(routing.getReplica());
+            if (lag.isPresent()) {
+                routing.replicaLag(Math.round(lag.getAsDouble() * 1000));
+            } else {
+                log.debug("Replica is not streaming from the primary");
+                routing.replicaUnavailable();
+            }
+        } catch (DataAccessException e) {
+            log.debug("Replica lag unavailable: {}", e.getMessage());
+            routing.replicaUnavailable();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:58:46 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.repository.ResponseBatchWriter;
+import com.nopaper.work.survey.timer.HashedTimerWheel;
+import com.nopaper.work.survey.timer.HashedTimerWheel.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Locks timed responses whose time limit has run out.
+ *
+ * Every started response of a timed survey (ResponseSubmissionService.start)
+ * is tracked until it is submitted:
+ * - In memory, on a timer wheel with one-second ticks, on the node that
+ *   started it; no database polling, however many responses are open
+ * - In Redis, as a member of the sorted set survey:response-deadlines
+ *   (16-byte response id, scored by lock time in epoch milliseconds)
+ * The lock time is the deadline plus app.survey.time-limit-grace, so a
+ * submit sent just before the deadline still gets in.
+ *
+ * When timers fire, their responses are moved to TIMED_OUT in batches of
+ * BATCH_SIZE with one UPDATE each (ResponseBatchWriter.timeOut), and removed
+ * from Redis; their autosaved drafts are then submitted on the respondent's
+ * behalf (ResponseDraftService.autoSubmit). A submit that arrives later is
+ * rejected (ResponseLockedException).
+ *
+ * Recovery:
+ * - On startup every deadline in Redis is scheduled on the wheel, so a
+ *   restarted node resumes its own (and, harmlessly, other nodes') timers
+ * - Every app.survey.time-limit-sweep-interval, deadlines overdue by more
+ *   than a minute are locked from Redis directly: they belong to a node
+ *   that stopped, or their batch failed
+ * The UPDATE only touches open responses, so a response locked by several
+ * nodes, or submitted meanwhile, is handled once.
+ */
+@Slf4j
+@Service
+public class ResponseDeadlineService {
+
+    static final String DEADLINES_KEY = "survey:response-deadlines";
+
+    static final int BATCH_SIZE = 500;
+
+    private static final long TICK_MILLIS = 1000;
+
+    /**
+     * 4096 one-second buckets: longer time limits take extra rounds.
+     */
+    private static final int WHEEL_SIZE = 4096;
+
+    /**
+     * Deadlines this far past are no longer expected to fire on any live node.
+     */
+    private static final long ORPHAN_DELAY_MILLIS = 60_000;
+
+    private final ResponseBatchWriter batchWriter;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ObjectProvider<ResponseDraftService> draftService;
+    private final SurveyProperties properties;
+
+    private final HashedTimerWheel<UUID> wheel = new HashedTimerWheel<>(TICK_MILLIS, WHEEL_SIZE,
+            System.currentTimeMillis());
+    private final Map<UUID, Timer<UUID>> timers = new ConcurrentHashMap<>();
+
+    public ResponseDeadlineService(ResponseBatchWriter batchWriter,
+                                   RedisTemplate<String, byte[]> binaryRedisTemplate,
+                                   ObjectProvider<ResponseDraftService> draftService,
+                                   SurveyProperties properties) {
+        this.batchWriter = batchWriter;
+        this.redisTemplate = binaryRedisTemplate;
+        this.draftService = draftService;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        recover();
+        wheel.start("response-deadlines", this::lockDue);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        wheel.stop();
+    }
+
+    /**
+     * Lock time of a response: its deadline plus the grace period.
+     */
+    public LocalDateTime lockTime(LocalDateTime deadline) {
+        return deadline.plusSeconds(properties.getTimeLimitGrace());
+    }
+
+    /**
+     * Track a started response until it is submitted or locked.
+     *
+     * @param responseId Started response
+     * @param deadline   When its time limit runs out
+     */
+    public void track(UUID responseId, LocalDateTime deadline) {
+        long lockAt = lockTime(deadline).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try {
+            redisTemplate.opsForZSet().add(DEADLINES_KEY, bytes(responseId), lockAt);
+        } catch (DataAccessException e) {
+            // Still locked by this node's timer, only not recoverable.
+            log.warn("Could not store deadline of response {} in Redis: {}", responseId, e.getMessage());
+        }
+        schedule(responseId, lockAt);
+    }
+
+    /**
+     * Stop tracking a submitted response.
+     */
+    public void release(UUID responseId) {
+        Timer<UUID> timer = timers.remove(responseId);
+        if (timer != null) {
+            timer.cancel();
+        }
+        try {
+            redisTemplate.opsForZSet().remove(DEADLINES_KEY, bytes(responseId));
+        } catch (DataAccessException e) {
+            // The orphan sweep finds the response submitted and drops the entry.
+            log.warn("Could not remove deadline of response {} from Redis: {}", responseId, e.getMessage());
+        }
+    }
+
+    /**
+     * Lock responses whose deadline passed while no node was tracking them.
+     */
+    @Scheduled(fixedDelayString = "${app.survey.time-limit-sweep-interval:60}", timeUnit = TimeUnit.SECONDS)
+    public void sweepOrphans() {
+        double cutoff = System.currentTimeMillis() - ORPHAN_DELAY_MILLIS;
+        long locked = 0;
+        Set<byte[]> page;
+        do {
+            try {
+                page = redisTemplate.opsForZSet().rangeByScore(DEADLINES_KEY, Double.NEGATIVE_INFINITY, cutoff, 0,
+                        BATCH_SIZE);
+            } catch (DataAccessException e) {
+                log.warn("Could not read response deadlines from Redis: {}", e.getMessage());
+                return;
+            }
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            List<UUID> batch = new ArrayList<>(page.size());
+            for (byte[] member : page) {
+                batch.add(uuid(member));
+            }
+            List<UUID> timedOut = lock(batch);
+            if (timedOut == null) {
+                return;
+            }
+            draftService.getObject().autoSubmit(timedOut);
+            if (!forget(batch)) {
+                return;
+            }
+            locked += timedOut.size();
+        } while (page.size() == BATCH_SIZE);
+
+        if (locked > 0) {
+            log.info("Locked {} timed out responses left by stopped nodes", locked);
+        }
+    }
+
+    /**
+     * Schedule every deadline kept in Redis; overdue ones fire on the first tick.
+     */
+    private void recover() {
+        int recovered = 0;
+        ScanOptions options = ScanOptions.scanOptions().count(BATCH_SIZE).build();
+        try (Cursor<TypedTuple<byte[]>> cursor = redisTemplate.opsForZSet().scan(DEADLINES_KEY, options)) {
+            while (cursor.hasNext()) {
+                TypedTuple<byte[]> entry = cursor.next();
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    schedule(uuid(entry.getValue()), entry.getScore().longValue());
+                    recovered++;
+                }
+            }
+        } catch (DataAccessException e) {
+            // Overdue responses are then left to the orphan sweep.
+            log.warn("Could not recover response deadlines from Redis: {}", e.getMessage());
+        }
+        if (recovered > 0) {
+            log.info("Recovered {} response deadlines from Redis", recovered);
+        }
+    }
+
+    private void schedule(UUID responseId, long lockAt) {
+        timers.compute(responseId, (id, current) -> {
+            if (current != null) {
+                current.cancel();
+            }
+            return wheel.schedule(id, lockAt);
+        });
+    }
+
+    /**
+     * Runs on the wheel thread with every response whose timer fired in one tick.
+     */
+    private void lockDue(List<UUID> due) {
+        for (UUID responseId : due) {
+            timers.computeIfPresent(responseId, (id, timer) -> timer.isExpired() ? null : timer);
+        }
+        int locked = 0;
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<UUID> batch = due.subList(from, Math.min(due.size(), from + BATCH_SIZE));
+            List<UUID> timedOut = lock(batch);
+            if (timedOut != null) {
+                locked += timedOut.size();
+                draftService.getObject().autoSubmit(timedOut);
+                forget(batch);
+            }
+        }
+        if (locked > 0) {
+            log.info("Locked {} timed out responses", locked);
+        }
+    }
+
+    /**
+     * Time out the responses of a batch that are still open.
+     *
+     * @return Responses locked, null if the update failed (the batch stays
+     *         in Redis for the orphan sweep)
+     */
+    private List<UUID> lock(List<UUID> batch) {
+        try {
+            return batchWriter.timeOut(batch, LocalDateTime.now());
+        } catch (DataAccessException e) {
+            log.warn("Could not lock {} timed out responses, retrying from Redis: {}", batch.size(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Drop a handled batch from Redis.
+     *
+     * @return false if Redis failed; the orphan sweep then finds the responses closed
+     */
+    private boolean forget(List<UUID> batch) {
+        try {
+            redisTemplate.opsForZSet().remove(DEADLINES_KEY, batch.stream().map(ResponseDeadlineService::bytes)
+                    .toArray());
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not remove {} response deadlines from Redis: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
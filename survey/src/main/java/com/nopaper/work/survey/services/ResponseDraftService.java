@@ -0,0 +1,230 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 3:58:14 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.dto.AnswerSubmission;
+import com.nopaper.work.survey.errors.InvalidSubmissionException;
+import com.nopaper.work.survey.errors.ResponseLockedException;
+import com.nopaper.work.survey.errors.SurveyClosedException;
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter;
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter.Priority;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.services.DraftAnswerStore.Draft;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Autosave of draft answers, written behind to PostgreSQL.
+ *
+ * An autosave is stored in Redis (DraftAnswerStore) after it is checked
+ * against the compiled survey and the response, which must exist for the
+ * survey, be STARTED or IN_PROGRESS and within its deadline (one primary-key
+ * read; nothing is written to the database). Drafts reach
+ * survey_response_answer:
+ * - On submit, merged into the response (ResponseSubmissionService.submit)
+ * - When the response times out, submitted on the respondent's behalf
+ *   (autoSubmit, called by ResponseDeadlineService)
+ * - When no autosave arrived for app.survey.draft-idle-after seconds, by the
+ *   flusher running every app.survey.draft-flush-interval: idle drafts are
+ *   written TRANSACTION_SIZE to a transaction, however many autosaves they
+ *   absorbed, and the responses become IN_PROGRESS; if a transaction fails,
+ *   its drafts are retried one by one and those still failing stay dirty
+ * Every node runs the flusher; flushing a draft twice writes the same rows.
+ * Flushes and timed-out submits are SUBMIT traffic for the database
+ * concurrency limit (LimitedDataSource), like the respondents' own submits.
+ */
+@Slf4j
+@Service
+public class ResponseDraftService {
+
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Drafts written per transaction by the flusher.
+     */
+    static final int TRANSACTION_SIZE = 50;
+
+    private final SurveyDefinitionService definitionService;
+    private final ResponseSubmissionService submissionService;
+    private final DraftAnswerStore store;
+    private final SurveyProperties properties;
+
+    public ResponseDraftService(SurveyDefinitionService definitionService,
+                                ResponseSubmissionService submissionService,
+                                DraftAnswerStore store,
+                                SurveyProperties properties) {
+        this.definitionService = definitionService;
+        this.submissionService = submissionService;
+        this.store = store;
+        this.properties = properties;
+    }
+
+    /**
+     * Autosave draft answers of a started response.
+     *
+     * @param surveyId   Survey being answered
+     * @param responseId Response returned by the start API
+     * @param answers    Answers changed since the last autosave
+     * @throws SurveyClosedException      if the survey is not accepting responses
+     * @throws InvalidSubmissionException if an answer does not match the survey,
+     *                                    or the response is unknown or was started for another survey
+     * @throws ResponseLockedException    if the response was submitted or is out of time
+     */
+    public void save(UUID surveyId, UUID responseId, List<AnswerSubmission> answers) {
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        if (!survey.isAcceptingResponses()) {
+            throw new SurveyClosedException(surveyId);
+        }
+        AnswerSupport.checkDistinctQuestions(answers);
+        for (AnswerSubmission answer : answers) {
+            int question = AnswerSupport.resolveQuestion(survey, answer.questionId());
+            if (answer.optionIds() != null) {
+                AnswerSupport.checkSelectionCount(survey, question, answer.optionIds().size());
+                AnswerSupport.checkDistinctOptions(survey, question, answer.optionIds());
+                for (UUID optionId : answer.optionIds()) {
+                    AnswerSupport.resolveOption(survey, question, optionId);
+                }
+            }
+        }
+        submissionService.openResponse(surveyId, responseId, survey.responseTimeLimitSeconds());
+        if (!store.save(surveyId, responseId, answers)) {
+            throw new InvalidSubmissionException("Unknown response: " + responseId);
+        }
+    }
+
+    /**
+     * Write the drafts of responses no longer being autosaved.
+     */
+    @Scheduled(fixedDelayString = "${app.survey.draft-flush-interval:60}", timeUnit = TimeUnit.SECONDS)
+    public void flushIdle() {
+        Priority previous = AdaptiveConcurrencyLimiter.setPriority(Priority.SUBMIT);
+        try {
+            flushIdleDrafts();
+        } finally {
+            AdaptiveConcurrencyLimiter.restorePriority(previous);
+        }
+    }
+
+    private void flushIdleDrafts() {
+        long savedBefore = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(properties.getDraftIdleAfter());
+        int flushed = 0;
+        Map<UUID, Long> page;
+        Map<UUID, Long> written;
+        do {
+            try {
+                page = store.idle(savedBefore, BATCH_SIZE);
+                written = new LinkedHashMap<>(page);
+                Map<UUID, Draft> drafts = new LinkedHashMap<>();
+                for (UUID responseId : page.keySet()) {
+                    drafts.put(responseId, store.load(responseId));
+                    if (drafts.size() == TRANSACTION_SIZE) {
+                        flushed += write(drafts, written);
+                        drafts.clear();
+                    }
+                }
+                flushed += write(drafts, written);
+                store.flushed(written);
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Could not flush idle drafts, retrying next run: {}", e.getMessage());
+                return;
+            }
+            // Drafts left dirty head the next page again: stop until the next run.
+        } while (page.size() == BATCH_SIZE && written.size() == page.size());
+
+        if (flushed > 0) {
+            log.info("Flushed drafts of {} idle responses", flushed);
+        }
+    }
+
+    /**
+     * Write drafts in one transaction or, if that fails, each alone, so one
+     * draft the database refuses cannot hold back the others. Drafts that
+     * still fail are dropped from written: they stay dirty for the next run.
+     *
+     * @return Responses written
+     * @throws DataAccessException  if none of the drafts could be written
+     * @throws TransactionException if none of the drafts could be written
+     */
+    private int write(Map<UUID, Draft> drafts, Map<UUID, Long> written) {
+        if (drafts.isEmpty()) {
+            return 0;
+        }
+        try {
+            return submissionService.saveDrafts(drafts);
+        } catch (DataAccessException | TransactionException e) {
+            if (drafts.size() == 1) {
+                throw e;
+            }
+            log.warn("Could not flush {} drafts together, writing them one by one: {}", drafts.size(),
+                    e.getMessage());
+        }
+        int saved = 0;
+        int failed = 0;
+        RuntimeException failure = null;
+        for (Map.Entry<UUID, Draft> draft : drafts.entrySet()) {
+            try {
+                saved += submissionService.saveDrafts(Map.of(draft.getKey(), draft.getValue()));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Could not flush draft of response {}, retrying next run: {}", draft.getKey(),
+                        e.getMessage());
+                written.remove(draft.getKey());
+                failed++;
+                failure = e;
+            }
+        }
+        if (failed == drafts.size()) {
+            throw failure;
+        }
+        return saved;
+    }
+
+    /**
+     * Submit the drafts of responses that were just locked by their time
+     * limit, and drop them from Redis.
+     *
+     * @param timedOut Responses moved to TIMED_OUT
+     */
+    public void autoSubmit(List<UUID> timedOut) {
+        Priority previous = AdaptiveConcurrencyLimiter.setPriority(Priority.SUBMIT);
+        try {
+            submitDrafts(timedOut);
+        } finally {
+            AdaptiveConcurrencyLimiter.restorePriority(previous);
+        }
+    }
+
+    private void submitDrafts(List<UUID> timedOut) {
+        int submitted = 0;
+        for (UUID responseId : timedOut) {
+            try {
+                Draft draft = store.load(responseId);
+                if (!draft.answers().isEmpty() && submissionService.submitTimedOut(responseId, draft)) {
+                    submitted++;
+                }
+                store.discard(responseId);
+            } catch (DataAccessException | TransactionException e) {
+                // The draft expires with the session.
+                log.warn("Could not submit draft of timed out response {}: {}", responseId, e.getMessage());
+            }
+        }
+        if (submitted > 0) {
+            log.info("Submitted drafts of {} timed out responses", submitted);
+        }
+    }
+}
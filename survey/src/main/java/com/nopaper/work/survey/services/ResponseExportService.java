@@ -0,0 +1,339 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:02:55 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ResponseFileFormat;
+import com.nopaper.work.survey.errors.SurveyNotFoundException;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.payload.AnswerPayload;
+import com.nopaper.work.survey.payload.AnswerPayloadCodec;
+import com.nopaper.work.survey.repository.ResponseExportReader;
+import com.nopaper.work.survey.repository.SurveyRepository;
+import com.nopaper.work.survey.scoring.MatrixAnswerCodec;
+
+/**
+ * Streams all responses of a survey as CSV or NDJSON, one record per
+ * response with answers flattened into one column per question.
+ *
+ * Memory stays constant regardless of survey size:
+ * - Rows come from a forward-only, fetch-size-bounded cursor
+ *   (ResponseExportReader) ordered by response
+ * - Only the current response is held, in reusable per-question buffers,
+ *   and written out as soon as the next response starts
+ * - Output goes through a fixed-size buffer straight to the caller's stream
+ * - Only partitions from the survey's creation month on are scanned
+ *
+ * Answer cells:
+ * - Choice answers: option text; several options joined with '|'
+ * - RANKING / ORDERING / MATRIX: option texts in submitted order, joined with '|'
+ *   (MATRIX decoded from answer_data, a removed column exported as its id;
+ *   list payloads stream-parsed by AnswerPayloadCodec into a reused holder)
+ * - Other types: answer_value
+ */
+@Service
+public class ResponseExportService {
+
+    private static final String[] RESPONSE_COLUMNS = {"response_id", "respondent_id", "status", "started_at",
+            "submitted_at", "total_score", "max_score", "score_percentage", "is_passed"};
+
+    /**
+     * First response column written as a bare JSON literal (scores, is_passed).
+     */
+    private static final int FIRST_LITERAL_COLUMN = 5;
+
+    private static final char MULTI_VALUE_SEPARATOR = '|';
+
+    private final SurveyDefinitionService definitionService;
+    private final SurveyRepository surveyRepository;
+    private final ResponseExportReader reader;
+    private final AnswerPayloadCodec payloadCodec;
+
+    public ResponseExportService(SurveyDefinitionService definitionService,
+                                 SurveyRepository surveyRepository,
+                                 ResponseExportReader reader,
+                                 AnswerPayloadCodec payloadCodec) {
+        this.definitionService = definitionService;
+        this.surveyRepository = surveyRepository;
+        this.reader = reader;
+        this.payloadCodec = payloadCodec;
+    }
+
+    /**
+     * Write every response of a survey to the stream.
+     *
+     * @param surveyId Survey id
+     * @param format   Output format
+     * @param out      Destination; flushed, not closed
+     * @return Number of responses written
+     */
+    @Transactional(readOnly = true)
+    public long export(UUID surveyId, ResponseFileFormat format, OutputStream out) {
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        LocalDateTime createdAt = surveyRepository.findCreatedAt(surveyId)
+                .orElseThrow(() -> new SurveyNotFoundException(surveyId));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        Flattener flattener = new Flattener(survey, format, writer);
+        try {
+            flattener.writeHeader();
+            reader.forEachAnswer(surveyId, ResponsePartitionService.responseWindowStart(createdAt),
+                    ResponsePartitionService.responseWindowEnd(), flattener);
+            flattener.finish();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return flattener.responses;
+    }
+
+    // ========================================================================
+    // Flattening
+    // ========================================================================
+
+    /**
+     * Folds consecutive answer rows of one response into a single record.
+     */
+    private final class Flattener implements RowCallbackHandler {
+
+        private final CompiledSurvey survey;
+        private final ResponseFileFormat format;
+        private final Writer writer;
+        private final String[] columnNames;
+        private final CharSequence[] values;
+        private final StringBuilder[] cells;
+        private final AnswerPayload answer = new AnswerPayload();
+
+        private UUID current;
+        private long responses;
+
+        Flattener(CompiledSurvey survey, ResponseFileFormat format, Writer writer) {
+            this.survey = survey;
+            this.format = format;
+            this.writer = writer;
+            int questions = survey.questionCount();
+            this.columnNames = new String[RESPONSE_COLUMNS.length + questions];
+            System.arraycopy(RESPONSE_COLUMNS, 0, columnNames, 0, RESPONSE_COLUMNS.length);
+            for (int q = 0; q < questions; q++) {
+                columnNames[RESPONSE_COLUMNS.length + q] = "Q" + (q + 1);
+            }
+            this.values = new CharSequence[columnNames.length];
+            this.cells = new StringBuilder[questions];
+            for (int q = 0; q < questions; q++) {
+                cells[q] = new StringBuilder();
+            }
+        }
+
+        void writeHeader() throws IOException {
+            if (format == ResponseFileFormat.CSV) {
+                writeRecord(columnNames);
+            }
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID responseId = rs.getObject("response_id", UUID.class);
+            if (!responseId.equals(current)) {
+                emit();
+                start(responseId, rs);
+            }
+            UUID questionId = rs.getObject("question_id", UUID.class);
+            int question = questionId != null ? survey.questionOrdinal(questionId) : -1;
+            if (question >= 0) {
+                appendAnswer(question, rs.getObject("option_id", UUID.class), rs.getString("answer_value"),
+                        rs.getString("answer_payload"), rs.getBytes("answer_data"));
+            }
+        }
+
+        void finish() throws IOException {
+            emitChecked();
+        }
+
+        private void start(UUID responseId, ResultSet rs) throws SQLException {
+            current = responseId;
+            values[0] = responseId.toString();
+            values[1] = rs.getString("respondent_id");
+            values[2] = rs.getString("status");
+            values[3] = timestamp(rs.getTimestamp("started_at"));
+            values[4] = timestamp(rs.getTimestamp("submitted_at"));
+            values[5] = number(rs, "total_score");
+            values[6] = number(rs, "max_score");
+            values[7] = number(rs, "score_percentage");
+            boolean passed = rs.getBoolean("is_passed");
+            values[8] = rs.wasNull() ? null : Boolean.toString(passed);
+            for (int q = 0; q < cells.length; q++) {
+                cells[q].setLength(0);
+                values[RESPONSE_COLUMNS.length + q] = null;
+            }
+        }
+
+        private void appendAnswer(int question, UUID optionId, String value, String payload, byte[] data) {
+            StringBuilder cell = cells[question];
+            if (optionId != null) {
+                appendValue(cell, optionText(optionId));
+            } else if (data != null && survey.questionType(question) == QuestionType.MATRIX) {
+                // Null only for a corrupt or old-format answer whose columns changed since.
+                List<UUID> columns = MatrixAnswerCodec.decodeOptionIds(survey, question, data);
+                if (columns != null) {
+                    for (UUID column : columns) {
+                        appendValue(cell, optionText(column));
+                    }
+                }
+            } else if (value != null) {
+                appendValue(cell, value);
+            } else if (payload != null && AnswerSupport.isOptionList(survey.questionType(question))
+                    && payloadCodec.read(survey.questionType(question), survey, payload, answer)) {
+                for (int i = 0; i < answer.optionCount(); i++) {
+                    int option = answer.option(i);
+                    if (option >= 0) {
+                        appendValue(cell, survey.option(option).optionText());
+                    }
+                }
+            }
+            values[RESPONSE_COLUMNS.length + question] = cell;
+        }
+
+        private String optionText(UUID optionId) {
+            int option = survey.optionOrdinal(optionId);
+            return option >= 0 ? survey.option(option).optionText() : optionId.toString();
+        }
+
+        private void emit() {
+            try {
+                emitChecked();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void emitChecked() throws IOException {
+            if (current == null) {
+                return;
+            }
+            if (format == ResponseFileFormat.CSV) {
+                writeRecord(values);
+            } else {
+                writeJson();
+            }
+            responses++;
+            current = null;
+        }
+
+        // ====================================================================
+        // Output
+        // ====================================================================
+
+        private void writeRecord(CharSequence[] record) throws IOException {
+            for (int i = 0; i < record.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvField(record[i]);
+            }
+            writer.write('\n');
+        }
+
+        private void writeCsvField(CharSequence value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0, n = value.length(); i < n && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.append(value);
+                return;
+            }
+            writer.write('"');
+            for (int i = 0, n = value.length(); i < n; i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+
+        private void writeJson() throws IOException {
+            writer.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeJsonString(columnNames[i]);
+                writer.write(':');
+                CharSequence value = values[i];
+                if (value == null) {
+                    writer.write("null");
+                } else if (i >= FIRST_LITERAL_COLUMN && i < RESPONSE_COLUMNS.length) {
+                    writer.append(value);
+                } else {
+                    writeJsonString(value);
+                }
+            }
+            writer.write("}\n");
+        }
+
+        private void writeJsonString(CharSequence value) throws IOException {
+            writer.write('"');
+            for (int i = 0, n = value.length(); i < n; i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    case '\t' -> writer.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                    }
+                }
+            }
+            writer.write('"');
+        }
+    }
+
+    private static void appendValue(StringBuilder cell, String value) {
+        if (!cell.isEmpty()) {
+            cell.append(MULTI_VALUE_SEPARATOR);
+        }
+        cell.append(value);
+    }
+
+    private static String timestamp(Timestamp value) {
+        return value != null ? value.toLocalDateTime().toString() : null;
+    }
+
+    private static String number(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() || !Double.isFinite(value) ? null : Double.toString(value);
+    }
+}
@@ -0,0 +1,581 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 9:06:44 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nopaper.work.survey.dto.ImportReport.RowReject;
+import com.nopaper.work.survey.dto.ImportReport;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ResponseFileFormat;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.enums.SurveyStatus;
+import com.nopaper.work.survey.errors.InvalidSubmissionException;
+import com.nopaper.work.survey.errors.SurveyClosedException;
+import com.nopaper.work.survey.ids.UuidV7;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.payload.AnswerPayload;
+import com.nopaper.work.survey.payload.AnswerPayloadCodec;
+import com.nopaper.work.survey.repository.ResponseImportStager.MergeResult;
+import com.nopaper.work.survey.repository.ResponseImportStager.RejectedLine;
+import com.nopaper.work.survey.repository.ResponseImportStager.ResponseScore;
+import com.nopaper.work.survey.repository.ResponseImportStager.Stage;
+import com.nopaper.work.survey.repository.ResponseImportStager.StageRow;
+import com.nopaper.work.survey.repository.ResponseImportStager;
+import com.nopaper.work.survey.scoring.AnswerSheet;
+import com.nopaper.work.survey.scoring.MatrixAnswerCodec;
+import com.nopaper.work.survey.scoring.ScoreCard;
+import com.nopaper.work.survey.stats.ResponseTally;
+import com.nopaper.work.survey.stats.SurveyCounters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Mass import of paper-collected responses.
+ *
+ * The file is read record by record and never held in memory. A record is
+ * a line (JSON Lines), or a CSV row whose quoted fields may span lines
+ * (RFC 4180); rejects report the record's first line.
+ * 1. Each record is parsed and validated against the compiled survey
+ *    (same rules and answer_payload shapes as the submit path, via
+ *    AnswerSupport and AnswerPayloadCodec). Invalid records are rejected individually.
+ * 2. Valid records are streamed through COPY into a temp staging table.
+ * 3. Staged rows are merged into survey_response / survey_response_answer
+ *    with set-based SQL, in the same transaction.
+ * 4. The merged rows are read back grouped by response and scored like a
+ *    submission (total_score, max_score, score_percentage, is_passed;
+ *    answer_score and is_correct stay null). Each response is counted in
+ *    the survey's statistics once the import commits.
+ *
+ * Records are grouped into responses by response_key; every distinct key
+ * becomes one SUBMITTED response. Required questions are not enforced
+ * (paper forms are often partial).
+ * A response answers each question once: a record repeating the question of
+ * an earlier accepted record with the same key is rejected. Only a bit per
+ * question is kept per key, so memory grows with responses, not records.
+ *
+ * Metrics (Actuator):
+ * - survey.import: import latency
+ * - survey.import.rows{outcome=imported|rejected}: records processed
+ */
+@Slf4j
+@Service
+public class ResponseImportService {
+
+    /**
+     * Maximum rejects listed in the report; all are counted.
+     */
+    static final int MAX_REPORTED_REJECTS = 1000;
+
+    /**
+     * Imported responses whose scores are written per batch.
+     */
+    private static final int SCORE_BATCH_SIZE = 1000;
+
+    private static final String[] CSV_COLUMNS =
+            {"response_key", "respondent_id", "question_id", "option_ids", "value", "submitted_at"};
+
+    private final SurveyDefinitionService definitionService;
+    private final ResponseImportStager stager;
+    private final ResponseScoringService scoringService;
+    private final SurveyStatsService statsService;
+    private final AnswerPayloadCodec payloadCodec;
+    private final JsonMapper jsonMapper;
+    private final Timer importTimer;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResponseImportService(SurveyDefinitionService definitionService,
+                                 ResponseImportStager stager,
+                                 ResponseScoringService scoringService,
+                                 SurveyStatsService statsService,
+                                 AnswerPayloadCodec payloadCodec,
+                                 JsonMapper jsonMapper,
+                                 MeterRegistry meterRegistry,
+                                 TransactionTemplate transactionTemplate) {
+        this.definitionService = definitionService;
+        this.stager = stager;
+        this.scoringService = scoringService;
+        this.statsService = statsService;
+        this.payloadCodec = payloadCodec;
+        this.jsonMapper = jsonMapper;
+        this.importTimer = Timer.builder("survey.import")
+                .description("Time to import one response file")
+                .register(meterRegistry);
+        this.importedRows = Counter.builder("survey.import.rows")
+                .description("Imported response records")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("survey.import.rows")
+                .description("Imported response records")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Import a response file into a survey.
+     *
+     * @param surveyId Target survey
+     * @param format   File format
+     * @param input    File content (UTF-8); not closed
+     * @return Import statistics and rejected records
+     * @throws InvalidSubmissionException if the CSV header lacks a required column
+     * @throws SurveyClosedException      if the survey is ARCHIVED (its responses move to cold storage)
+     */
+    public ImportReport importResponses(UUID surveyId, ResponseFileFormat format, InputStream input) {
+        long startNanos = System.nanoTime();
+        // Resolved before the transaction: a definition load never waits on an open connection.
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        if (survey.getStatus() == SurveyStatus.ARCHIVED) {
+            throw new SurveyClosedException(surveyId);
+        }
+        return transactionTemplate.execute(status -> importInto(survey, format, input, startNanos));
+    }
+
+    /**
+     * Stage and merge the file; runs in the import's transaction.
+     */
+    private ImportReport importInto(CompiledSurvey survey, ResponseFileFormat format, InputStream input,
+                                    long startNanos) {
+        UUID surveyId = survey.getId();
+        ImportRun run = new ImportRun(survey, payloadCodec);
+
+        try (Stage stage = stager.open()) {
+            RecordReader records = new RecordReader(
+                    new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024),
+                    format == ResponseFileFormat.CSV);
+            int[] columns = format == ResponseFileFormat.CSV ? readCsvHeader(records) : null;
+            List<StageRow> rows = new ArrayList<>();
+            String line;
+            while ((line = records.next()) != null) {
+                long lineNo = records.recordLineNo();
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.rowsRead++;
+                try {
+                    ImportRecord record = format == ResponseFileFormat.CSV ? parseCsv(line, columns) : parseJson(line);
+                    rows.clear();
+                    run.collect(lineNo, record, rows);
+                    for (StageRow row : rows) {
+                        stage.add(row);
+                    }
+                } catch (InvalidSubmissionException | IllegalArgumentException | DateTimeParseException
+                         | JacksonException e) {
+                    run.reject(lineNo, e.getMessage());
+                }
+            }
+            stage.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        MergeResult merged = stager.merge(surveyId);
+        for (RejectedLine line : stager.rejectedLines()) {
+            run.reject(line.lineNo(), line.reason());
+        }
+        MergedScoring scoring = new MergedScoring(survey);
+        stager.forEachMergedRow(scoring);
+        scoring.finish();
+        statsService.recordAll(scoring.tallied);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        importTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        importedRows.increment(run.rowsRead - run.rejected);
+        rejectedRows.increment(run.rejected);
+
+        double rowsPerSecond = elapsedNanos > 0 ? run.rowsRead * 1e9 / elapsedNanos : 0.0;
+        log.info("Imported {} of {} records into survey {} ({} responses, {} answers) at {} rows/s",
+                run.rowsRead - run.rejected, run.rowsRead, surveyId, merged.responses(), merged.answers(),
+                Math.round(rowsPerSecond));
+        return new ImportReport(surveyId, run.rowsRead, run.rowsRead - run.rejected, run.rejected,
+                merged.responses(), merged.answers(), elapsedNanos / 1_000_000, rowsPerSecond, run.rejects);
+    }
+
+    // ========================================================================
+    // Validation and Staging
+    // ========================================================================
+
+    /**
+     * One parsed record: a single answer of one response.
+     */
+    record ImportRecord(
+            String responseKey,
+            String respondentId,
+            UUID questionId,
+            List<UUID> optionIds,
+            String value,
+            LocalDateTime submittedAt) {
+    }
+
+    /**
+     * State of one import: responses by key and rejected records.
+     */
+    static final class ImportRun {
+
+        private final CompiledSurvey survey;
+        private final AnswerPayloadCodec payloadCodec;
+        private final Map<String, KeyedResponse> responses = new HashMap<>();
+        private final List<RowReject> rejects = new ArrayList<>();
+        private long rowsRead;
+        private long rejected;
+
+        ImportRun(CompiledSurvey survey, AnswerPayloadCodec payloadCodec) {
+            this.survey = survey;
+            this.payloadCodec = payloadCodec;
+        }
+
+        /**
+         * Validate a record and turn it into staged answer rows.
+         *
+         * @throws InvalidSubmissionException if the record does not fit the
+         *         survey or repeats a question of an earlier record of its response
+         */
+        void collect(long lineNo, ImportRecord record, List<StageRow> rows) {
+            if (record.responseKey() == null || record.responseKey().isBlank()) {
+                throw new InvalidSubmissionException("Missing response_key");
+            }
+            int question = AnswerSupport.resolveQuestion(survey, record.questionId());
+            QuestionType type = survey.questionType(question);
+            KeyedResponse response = responses.computeIfAbsent(record.responseKey(), key -> new KeyedResponse());
+            if (response.questions.get(question)) {
+                throw new InvalidSubmissionException("Question answered more than once: " + record.questionId());
+            }
+            UUID responseId = response.id;
+            List<UUID> optionIds = record.optionIds();
+
+            if (!optionIds.isEmpty()) {
+                AnswerSupport.checkSelectionCount(survey, question, optionIds.size());
+                AnswerSupport.checkDistinctOptions(survey, question, optionIds);
+                int[] options = new int[optionIds.size()];
+                for (int i = 0; i < options.length; i++) {
+                    options[i] = AnswerSupport.resolveOption(survey, question, optionIds.get(i));
+                }
+                if (type == QuestionType.MATRIX) {
+                    rows.add(row(lineNo, responseId, record, null, payload(type, payloadCodec.holder().setPacked()),
+                            MatrixAnswerCodec.encode(survey, question, options, options.length), null));
+                } else if (AnswerSupport.isOptionList(type)) {
+                    AnswerPayload ranking = payloadCodec.holder();
+                    for (int option : options) {
+                        ranking.addOption(option);
+                    }
+                    rows.add(row(lineNo, responseId, record, null, payload(type, ranking), null, null));
+                } else {
+                    for (int i = 0; i < options.length; i++) {
+                        rows.add(row(lineNo, responseId, record, optionIds.get(i),
+                                payload(type, payloadCodec.holder().addOption(options[i])), null, null));
+                    }
+                }
+                response.questions.set(question);
+                return;
+            }
+
+            String value = record.value();
+            if (value == null) {
+                throw new InvalidSubmissionException("Record has neither option_ids nor value");
+            }
+            AnswerPayload generated = payloadCodec.holder();
+            if (AnswerSupport.isNumeric(type)) {
+                generated.setNumber(AnswerSupport.parseNumber(survey, question, value));
+            } else {
+                AnswerSupport.value(generated, type, value);
+            }
+            rows.add(row(lineNo, responseId, record, null, payload(type, generated), null, value));
+            response.questions.set(question);
+        }
+
+        void reject(long lineNo, String reason) {
+            rejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(new RowReject(lineNo, reason));
+            }
+        }
+
+        private String payload(QuestionType type, AnswerPayload payload) {
+            return payloadCodec.write(type, survey, payload);
+        }
+
+        private StageRow row(long lineNo, UUID responseId, ImportRecord record, UUID optionId,
+                             String payload, byte[] data, String value) {
+            return new StageRow(lineNo, responseId, record.respondentId(), UuidV7.next(), record.questionId(),
+                    optionId, payload, data, value, record.submittedAt());
+        }
+    }
+
+    /**
+     * A response_key's response: its id and the ordinals of the questions
+     * its accepted records answer (one bit per question of the survey).
+     */
+    private static final class KeyedResponse {
+
+        private final UUID id = UuidV7.next();
+        private final BitSet questions = new BitSet();
+    }
+
+    /**
+     * Scores the merged responses from their rows, grouped by response, and
+     * tallies them on counters of their own for SurveyStatsService. One
+     * answer sheet is filled at a time; scores are written in batches.
+     */
+    private final class MergedScoring implements Consumer<StageRow> {
+
+        private final CompiledSurvey survey;
+        private final boolean scored;
+        private final SurveyCounters tallied;
+        private final AnswerSheet sheet = scoringService.answerSheet();
+        private final List<ResponseScore> scores = new ArrayList<>(SCORE_BATCH_SIZE);
+        private UUID responseId;
+        private String respondentId;
+
+        MergedScoring(CompiledSurvey survey) {
+            this.survey = survey;
+            this.scored = survey.getScoringType() != ScoringType.NO_SCORING;
+            this.tallied = new SurveyCounters(survey);
+        }
+
+        @Override
+        public void accept(StageRow row) {
+            if (!row.responseId().equals(responseId)) {
+                finishResponse();
+                responseId = row.responseId();
+                respondentId = null;
+                sheet.reset(survey.questionCount());
+            }
+            // As merged: the smallest respondent_id of the response's records.
+            String respondent = row.respondentId();
+            if (respondent != null && (respondentId == null || respondent.compareTo(respondentId) < 0)) {
+                respondentId = respondent;
+            }
+            scoringService.addAnswer(survey, row.questionId(), row.optionId(), row.payload(), row.data(), row.value(),
+                    sheet);
+        }
+
+        void finish() {
+            finishResponse();
+            stager.score(scores);
+            scores.clear();
+        }
+
+        private void finishResponse() {
+            if (responseId == null) {
+                return;
+            }
+            ScoreCard card = scoringService.score(survey, sheet);
+            tallied.add(ResponseTally.of(survey, sheet, card));
+            tallied.addVisitor(respondentId, null);
+            if (scored) {
+                scores.add(new ResponseScore(responseId, card.getTotalScore(), card.getMaxScore(),
+                        card.getScorePercentage(), card.getPassed()));
+                if (scores.size() >= SCORE_BATCH_SIZE) {
+                    stager.score(scores);
+                    scores.clear();
+                }
+            }
+            responseId = null;
+        }
+    }
+
+    // ========================================================================
+    // Parsing
+    // ========================================================================
+
+    /**
+     * @return Index of each CSV_COLUMNS entry in the file, -1 if absent
+     */
+    static int[] readCsvHeader(RecordReader records) throws IOException {
+        String header = records.next();
+        if (header == null) {
+            throw new InvalidSubmissionException("Empty import file");
+        }
+        List<String> names = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        int[] columns = new int[CSV_COLUMNS.length];
+        for (int c = 0; c < CSV_COLUMNS.length; c++) {
+            columns[c] = names.indexOf(CSV_COLUMNS[c]);
+        }
+        if (columns[0] < 0 || columns[2] < 0) {
+            throw new InvalidSubmissionException("CSV header must contain response_key and question_id");
+        }
+        return columns;
+    }
+
+    static ImportRecord parseCsv(String line, int[] columns) {
+        List<String> fields = splitCsv(line);
+        String options = column(fields, columns[3]);
+        List<UUID> optionIds = new ArrayList<>();
+        if (options != null) {
+            for (String id : options.split("\\|")) {
+                if (!id.isBlank()) {
+                    optionIds.add(UUID.fromString(id.trim()));
+                }
+            }
+        }
+        String questionId = column(fields, columns[2]);
+        String submittedAt = column(fields, columns[5]);
+        return new ImportRecord(column(fields, columns[0]), column(fields, columns[1]),
+                questionId != null ? UUID.fromString(questionId.trim()) : null, optionIds,
+                column(fields, columns[4]), submittedAt != null ? LocalDateTime.parse(submittedAt.trim()) : null);
+    }
+
+    private ImportRecord parseJson(String line) {
+        JsonNode node = jsonMapper.readTree(line);
+        if (!node.isObject()) {
+            throw new InvalidSubmissionException("Record is not a JSON object");
+        }
+        List<UUID> optionIds = new ArrayList<>();
+        JsonNode options = node.get("optionIds");
+        if (options != null && options.isArray()) {
+            for (JsonNode id : options) {
+                optionIds.add(UUID.fromString(id.asString()));
+            }
+        }
+        String questionId = text(node, "questionId");
+        String submittedAt = text(node, "submittedAt");
+        return new ImportRecord(text(node, "responseKey"), text(node, "respondentId"),
+                questionId != null ? UUID.fromString(questionId) : null, optionIds, text(node, "value"),
+                submittedAt != null ? LocalDateTime.parse(submittedAt) : null);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asString();
+    }
+
+    private static String column(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads the file record by record: a record is one line, except that a
+     * CSV record goes on over line breaks inside a quoted field (RFC 4180).
+     * A record left open after MAX_RECORD_CHARS is cut off there, so a stray
+     * quote cannot pull the rest of the file into memory; it is then
+     * rejected as an unterminated quoted field.
+     */
+    static final class RecordReader {
+
+        static final int MAX_RECORD_CHARS = 1024 * 1024;
+
+        private final BufferedReader reader;
+        private final boolean csv;
+        private long lineNo;
+        private long recordLineNo;
+
+        RecordReader(BufferedReader reader, boolean csv) {
+            this.reader = reader;
+            this.csv = csv;
+        }
+
+        /**
+         * @return Next record, line breaks inside it as '\n'; null at the end of the file
+         */
+        String next() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            recordLineNo = ++lineNo;
+            boolean open = csv && hasOddQuotes(line);
+            if (!open) {
+                return line;
+            }
+            StringBuilder record = new StringBuilder(line);
+            while (open && record.length() < MAX_RECORD_CHARS && (line = reader.readLine()) != null) {
+                lineNo++;
+                record.append('\n').append(line);
+                open = hasOddQuotes(line) != open;
+            }
+            return record.toString();
+        }
+
+        /**
+         * @return Line number (1-based) of the first line of the last record
+         */
+        long recordLineNo() {
+            return recordLineNo;
+        }
+
+        /**
+         * An odd number of quotes toggles the quoted state: "" inside a
+         * quoted field counts twice.
+         */
+        private static boolean hasOddQuotes(String line) {
+            boolean odd = false;
+            for (int i = 0, n = line.length(); i < n; i++) {
+                if (line.charAt(i) == '"') {
+                    odd = !odd;
+                }
+            }
+            return odd;
+        }
+    }
+
+    /**
+     * Split one CSV record (RFC 4180 quoting, "" for a literal quote).
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0, n = line.length(); i < n; i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < n && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidSubmissionException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
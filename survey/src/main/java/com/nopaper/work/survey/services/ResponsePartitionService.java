@@ -0,0 +1,160 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 6:21:44 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.repository.ResponsePartitionAdmin;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the monthly created_at partitions of survey_response and
+ * survey_response_answer in place (see schema.sql).
+ *
+ * On startup and then every app.survey.partition-maintenance-interval:
+ * - Creates the partitions of the current month and of the next
+ *   app.survey.partition-months-ahead months, so inserts never find a
+ *   missing range (there is no default partition)
+ * - With app.survey.partition-retention-months > 0, detaches and drops the
+ *   partitions of months older than that, answers before responses
+ *
+ * Tables that exist but are not partitioned (created before schema.sql)
+ * are skipped with a warning. Every DDL statement is idempotent, so
+ * several nodes may run this concurrently; a statement that loses a race
+ * is logged and retried on the next run.
+ *
+ * Readers of these tables should bound created_at (responseWindowStart / End)
+ * so the planner only visits the partitions that can hold the rows.
+ */
+@Slf4j
+@Service
+public class ResponsePartitionService {
+
+    private final ResponsePartitionAdmin admin;
+    private final SurveyProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ResponsePartitionService(ResponsePartitionAdmin admin, SurveyProperties properties) {
+        this.admin = admin;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void createOnStartup() {
+        maintain();
+    }
+
+    /**
+     * Create upcoming partitions and drop expired ones.
+     */
+    @Scheduled(fixedDelayString = "${app.survey.partition-maintenance-interval:86400}",
+            initialDelayString = "${app.survey.partition-maintenance-interval:86400}", timeUnit = TimeUnit.SECONDS)
+    public void maintain() {
+        // A lock, not synchronized: DDL waits on the database, which would
+        // pin the carrier of a virtual thread (Java 21).
+        lock.lock();
+        try {
+            maintainPartitions();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        int ahead = properties.getPartitionMonthsAhead();
+        List<String> tables = new ArrayList<>();
+        for (String table : ResponsePartitionAdmin.TABLES) {
+            try {
+                if (!admin.isPartitioned(table)) {
+                    log.warn("Table {} is not partitioned, skipping partition maintenance", table);
+                    continue;
+                }
+                for (YearMonth month : missing(admin.partitions(table), current, ahead)) {
+                    admin.createPartition(table, month);
+                    log.info("Created partition {}", ResponsePartitionAdmin.partitionName(table, month));
+                }
+                tables.add(table);
+            } catch (DataAccessException e) {
+                log.warn("Could not create partitions of {}, retrying next run: {}", table, e.getMessage());
+            }
+        }
+
+        int retention = properties.getPartitionRetentionMonths();
+        if (retention <= 0 || tables.size() < ResponsePartitionAdmin.TABLES.size()) {
+            // Dropping only one side would orphan answers or responses.
+            return;
+        }
+        // Answers first: a response partition is only dropped after its answers are gone.
+        for (String table : tables.reversed()) {
+            try {
+                for (YearMonth month : expired(admin.partitions(table), current, retention)) {
+                    admin.dropPartition(table, month);
+                    log.info("Dropped partition {}", ResponsePartitionAdmin.partitionName(table, month));
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not drop expired partitions of {}, retrying next run: {}", table, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lower bound of created_at for the responses of a survey: a response
+     * cannot be older than its survey, so partitions of earlier months are
+     * pruned.
+     *
+     * @param surveyCreatedAt Survey.createdAt
+     * @return Start of the survey's first month
+     */
+    public static LocalDateTime responseWindowStart(LocalDateTime surveyCreatedAt) {
+        return YearMonth.from(surveyCreatedAt).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * Exclusive upper bound of created_at for rows visible now, leaving a
+     * day of room for clock differences between nodes.
+     */
+    public static LocalDateTime responseWindowEnd() {
+        return LocalDateTime.now().plusDays(1);
+    }
+
+    /**
+     * @return Months from current to current + ahead that have no partition
+     */
+    static List<YearMonth> missing(Collection<YearMonth> existing, YearMonth current, int ahead) {
+        List<YearMonth> missing = new ArrayList<>();
+        for (int i = 0; i <= Math.max(0, ahead); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                missing.add(month);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * @return Months older than the retention window, oldest first
+     */
+    static List<YearMonth> expired(Collection<YearMonth> existing, YearMonth current, int retention) {
+        YearMonth oldestKept = current.minusMonths(retention);
+        return existing.stream().filter(month -> month.isBefore(oldestKept)).sorted().toList();
+    }
+}
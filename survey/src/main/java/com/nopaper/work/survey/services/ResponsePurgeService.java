@@ -0,0 +1,256 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 7:52:36 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.dto.PurgeJobStatus;
+import com.nopaper.work.survey.entity.SurveyPurgeJob;
+import com.nopaper.work.survey.enums.PurgeScope;
+import com.nopaper.work.survey.enums.PurgeStatus;
+import com.nopaper.work.survey.errors.PurgeJobNotFoundException;
+import com.nopaper.work.survey.errors.SurveyNotFoundException;
+import com.nopaper.work.survey.repository.ResponsePurgeWriter;
+import com.nopaper.work.survey.repository.ResponsePurgeWriter.ChunkResult;
+import com.nopaper.work.survey.repository.ResponsePurgeWriter.PurgeTarget;
+import com.nopaper.work.survey.repository.SurveyPurgeJobRepository;
+import com.nopaper.work.survey.repository.SurveyRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes responses and their answers, for a whole survey or by age,
+ * without ever loading them.
+ *
+ * Requests only record a PENDING SurveyPurgeJob. Every
+ * app.survey.purge-poll-interval a node claims one job and runs it on its
+ * own background thread (not the shared scheduler thread):
+ * - Wait for PurgeThrottle (replica lag, connection pool pressure)
+ * - Delete up to app.survey.purge-chunk-size responses and their answers
+ *   with one set-based statement, and add the counts to the job, in one
+ *   transaction
+ * - Repeat until a chunk deletes nothing; a SURVEY job then also clears
+ *   the survey's answer statistics
+ *
+ * Jobs are resumable: each chunk commits with its progress, so a job
+ * interrupted by a crash or shutdown is simply picked up again, once its
+ * heartbeat is older than app.survey.purge-stale-after, and continues with
+ * the rows that are left. A node that lost a job to another one rolls back
+ * its chunk and stops.
+ *
+ * With app.survey.response-retention-days > 0, an AGE job for responses
+ * older than that is queued daily.
+ */
+@Slf4j
+@Service
+public class ResponsePurgeService {
+
+    private final SurveyPurgeJobRepository jobRepository;
+    private final SurveyRepository surveyRepository;
+    private final ResponsePurgeWriter writer;
+    private final PurgeThrottle throttle;
+    private final TransactionTemplate transactionTemplate;
+    private final SurveyProperties properties;
+
+    private final String owner = nodeName() + "/" + UUID.randomUUID();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            runnable -> Thread.ofPlatform().name("response-purge").daemon().unstarted(runnable));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    public ResponsePurgeService(SurveyPurgeJobRepository jobRepository,
+                                SurveyRepository surveyRepository,
+                                ResponsePurgeWriter writer,
+                                PurgeThrottle throttle,
+                                TransactionTemplate transactionTemplate,
+                                SurveyProperties properties) {
+        this.jobRepository = jobRepository;
+        this.surveyRepository = surveyRepository;
+        this.writer = writer;
+        this.throttle = throttle;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    // ========================================================================
+    // Requests
+    // ========================================================================
+
+    /**
+     * Queue the deletion of every response of a survey.
+     *
+     * @throws SurveyNotFoundException if the survey does not exist
+     */
+    public PurgeJobStatus purgeSurvey(UUID surveyId) {
+        LocalDateTime createdAt = surveyRepository.findCreatedAt(surveyId)
+                .orElseThrow(() -> new SurveyNotFoundException(surveyId));
+        return toStatus(jobRepository.save(SurveyPurgeJob.builder()
+                .scope(PurgeScope.SURVEY)
+                .surveyId(surveyId)
+                .windowStart(ResponsePartitionService.responseWindowStart(createdAt))
+                .status(PurgeStatus.PENDING)
+                .build()));
+    }
+
+    /**
+     * Queue the deletion of every response created before the cutoff.
+     */
+    public PurgeJobStatus purgeOlderThan(LocalDateTime cutoff) {
+        LocalDateTime windowStart = writer.oldestResponse()
+                .map(ResponsePartitionService::responseWindowStart)
+                .filter(start -> start.isBefore(cutoff))
+                .orElse(cutoff);
+        return toStatus(jobRepository.save(SurveyPurgeJob.builder()
+                .scope(PurgeScope.AGE)
+                .cutoff(cutoff)
+                .windowStart(windowStart)
+                .status(PurgeStatus.PENDING)
+                .build()));
+    }
+
+    /**
+     * @throws PurgeJobNotFoundException if the job does not exist
+     */
+    public PurgeJobStatus getJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .map(ResponsePurgeService::toStatus)
+                .orElseThrow(() -> new PurgeJobNotFoundException(jobId));
+    }
+
+    /**
+     * Queue the daily age-based purge, unless one is still queued or running.
+     */
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.DAYS)
+    public void enqueueRetentionPurge() {
+        int days = properties.getResponseRetentionDays();
+        if (days <= 0 || jobRepository.existsByScopeAndStatusIn(PurgeScope.AGE,
+                EnumSet.of(PurgeStatus.PENDING, PurgeStatus.RUNNING))) {
+            return;
+        }
+        PurgeJobStatus job = purgeOlderThan(LocalDateTime.now().minusDays(days));
+        log.info("Queued retention purge {} of responses older than {} days", job.jobId(), days);
+    }
+
+    // ========================================================================
+    // Worker
+    // ========================================================================
+
+    /**
+     * Start the worker unless it is already busy; it drains every claimable job.
+     */
+    @Scheduled(fixedDelayString = "${app.survey.purge-poll-interval:60}", timeUnit = TimeUnit.SECONDS)
+    public void poll() {
+        if (stopping || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                try {
+                    drain();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    private void drain() {
+        while (!stopping) {
+            Optional<PurgeTarget> claimed = writer.claim(owner, properties.getPurgeStaleAfter());
+            if (claimed.isEmpty()) {
+                return;
+            }
+            run(claimed.get());
+        }
+    }
+
+    private void run(PurgeTarget target) {
+        log.info("Running purge {} ({})", target.jobId(), target.scope());
+        LocalDateTime windowEnd = target.scope() == PurgeScope.AGE
+                ? target.cutoff()
+                : ResponsePartitionService.responseWindowEnd();
+        try {
+            while (!stopping) {
+                throttle.awaitCapacity();
+                Boolean more = transactionTemplate.execute(status -> {
+                    ChunkResult chunk = writer.deleteChunk(target, windowEnd, properties.getPurgeChunkSize());
+                    if (!writer.recordChunk(target.jobId(), owner, chunk)) {
+                        status.setRollbackOnly();
+                        log.warn("Purge {} was taken over by another node, rolling back", target.jobId());
+                        return null;
+                    }
+                    return chunk.responses() > 0;
+                });
+                if (more == null) {
+                    return;
+                }
+                if (!more) {
+                    if (target.scope() == PurgeScope.SURVEY) {
+                        writer.deleteSurveyStats(target.surveyId());
+                    }
+                    writer.complete(target.jobId(), owner);
+                    log.info("Completed purge {}", target.jobId());
+                    return;
+                }
+            }
+            // Stopping: the job stays RUNNING and is resumed once its heartbeat is stale.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            if (stopping) {
+                // Interrupted mid-statement by shutdown: the chunk rolled back, resume later.
+                log.info("Purge {} interrupted by shutdown", target.jobId());
+                return;
+            }
+            log.error("Purge {} failed", target.jobId(), e);
+            writer.fail(target.jobId(), owner, e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        worker.shutdownNow();
+        worker.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // ========================================================================
+    // Helpers
+    // ========================================================================
+
+    private static PurgeJobStatus toStatus(SurveyPurgeJob job) {
+        return new PurgeJobStatus(job.getId(), job.getScope(), job.getSurveyId(), job.getCutoff(), job.getStatus(),
+                job.getResponsesDeleted(), job.getAnswersDeleted(), job.getChunks(), job.getError(),
+                job.getCreatedAt(), job.getCompletedAt());
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 5:14:40 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.nopaper.work.survey.entity.SurveyResponse;
+import com.nopaper.work.survey.entity.SurveyResponseAnswer;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.payload.AnswerPayload;
+import com.nopaper.work.survey.payload.AnswerPayloadCodec;
+import com.nopaper.work.survey.scoring.AnswerSheet;
+import com.nopaper.work.survey.scoring.MatrixAnswerCodec;
+import com.nopaper.work.survey.scoring.ResponseScorer;
+import com.nopaper.work.survey.scoring.ScoreCard;
+
+/**
+ * Scores submitted responses and fills the score columns of survey_response
+ * (total_score, max_score, score_percentage, is_passed).
+ *
+ * The AnswerSheet and ScoreCard are per-thread and reused, so scoring a
+ * response allocates only what reading its answer rows already allocates.
+ * Bit-packed MATRIX answers are decoded straight into the sheet, and
+ * RANKING / ORDERING payloads are stream-parsed by AnswerPayloadCodec.
+ */
+@Service
+public class ResponseScoringService {
+
+    private static final ThreadLocal<AnswerSheet> ANSWER_SHEETS = ThreadLocal.withInitial(AnswerSheet::new);
+    private static final ThreadLocal<ScoreCard> SCORE_CARDS = ThreadLocal.withInitial(ScoreCard::new);
+
+    private final SurveyDefinitionService definitionService;
+    private final ResponseScorer scorer;
+    private final AnswerPayloadCodec payloadCodec;
+
+    public ResponseScoringService(SurveyDefinitionService definitionService, ResponseScorer scorer,
+                                  AnswerPayloadCodec payloadCodec) {
+        this.definitionService = definitionService;
+        this.scorer = scorer;
+        this.payloadCodec = payloadCodec;
+    }
+
+    /**
+     * Score a response from its answer rows and write the result onto it.
+     *
+     * @param response Response with answers attached
+     * @return The per-thread score card (valid until the next call on this thread)
+     */
+    public ScoreCard score(SurveyResponse response) {
+        CompiledSurvey survey = definitionService.getCompiledSurvey(response.getSurvey().getId());
+        AnswerSheet sheet = ANSWER_SHEETS.get();
+        fill(survey, response.getAnswers(), sheet);
+        return score(survey, sheet, response);
+    }
+
+    /**
+     * Score a response from an already filled answer sheet.
+     *
+     * @param survey   Compiled survey
+     * @param sheet    Answers of the response
+     * @param response Response to write the score columns onto
+     * @return The per-thread score card (valid until the next call on this thread)
+     */
+    public ScoreCard score(CompiledSurvey survey, AnswerSheet sheet, SurveyResponse response) {
+        ScoreCard card = score(survey, sheet);
+        apply(card, response);
+        return card;
+    }
+
+    /**
+     * Score an already filled answer sheet.
+     *
+     * @param survey Compiled survey
+     * @param sheet  Answers of the response
+     * @return The per-thread score card (valid until the next call on this thread)
+     */
+    public ScoreCard score(CompiledSurvey survey, AnswerSheet sheet) {
+        ScoreCard card = SCORE_CARDS.get();
+        scorer.score(survey, sheet, card);
+        return card;
+    }
+
+    /**
+     * @return This thread's reusable answer sheet
+     */
+    public AnswerSheet answerSheet() {
+        return ANSWER_SHEETS.get();
+    }
+
+    /**
+     * Copy the totals of a score card to the response's score columns.
+     */
+    public static void apply(ScoreCard card, SurveyResponse response) {
+        response.setTotalScore(card.getTotalScore());
+        response.setMaxScore(card.getMaxScore());
+        response.setScorePercentage(card.getScorePercentage());
+        response.setPassed(card.getPassed());
+    }
+
+    private void fill(CompiledSurvey survey, List<SurveyResponseAnswer> answers, AnswerSheet sheet) {
+        sheet.reset(survey.questionCount());
+        if (answers == null) {
+            return;
+        }
+        for (SurveyResponseAnswer answer : answers) {
+            UUID optionId = answer.getOption() != null ? answer.getOption().getId() : null;
+            addAnswer(survey, answer.getQuestion().getId(), optionId, answer.getAnswerPayload(),
+                    answer.getAnswerData(), answer.getAnswerValue(), sheet);
+        }
+    }
+
+    /**
+     * Add one stored survey_response_answer row to an answer sheet. Rows of
+     * questions or options no longer in the survey are skipped.
+     *
+     * @param survey     Compiled survey
+     * @param questionId question_id of the row
+     * @param optionId   option_id of the row, may be null
+     * @param payload    answer_payload of the row, may be null
+     * @param data       answer_data of the row, may be null
+     * @param value      answer_value of the row, may be null
+     * @param sheet      Sheet to add to, reset for the survey
+     */
+    public void addAnswer(CompiledSurvey survey, UUID questionId, UUID optionId, String payload, byte[] data,
+                          String value, AnswerSheet sheet) {
+        int question = survey.questionOrdinal(questionId);
+        if (question < 0) {
+            return;
+        }
+        if (optionId != null) {
+            int option = survey.optionOrdinal(optionId);
+            if (option >= 0 && survey.optionQuestion(option) == question) {
+                sheet.addSelection(question, option);
+            }
+        } else if (data != null && survey.questionType(question) == QuestionType.MATRIX) {
+            if (!MatrixAnswerCodec.decodeInto(survey, question, data, sheet)) {
+                sheet.markAnswered(question);
+            }
+        } else if (AnswerSupport.isOptionList(survey.questionType(question)) && payload != null) {
+            fillOptions(survey, question, payload, sheet);
+        } else if (isNumeric(survey.questionType(question)) && value != null) {
+            try {
+                sheet.setNumericValue(question, Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                sheet.markAnswered(question);
+            }
+        } else {
+            sheet.markAnswered(question);
+        }
+    }
+
+    /**
+     * RANKING / ORDERING and legacy MATRIX rows keep their options in
+     * answer_payload; ids no longer belonging to the question are dropped.
+     */
+    private void fillOptions(CompiledSurvey survey, int question, String json, AnswerSheet sheet) {
+        AnswerPayload payload = payloadCodec.holder();
+        payloadCodec.read(survey.questionType(question), survey, json, payload);
+        for (int i = 0; i < payload.optionCount(); i++) {
+            int option = payload.option(i);
+            if (option >= 0 && survey.optionQuestion(option) == question) {
+                sheet.addSelection(question, option);
+            }
+        }
+        sheet.markAnswered(question);
+    }
+
+    private static boolean isNumeric(QuestionType type) {
+        return type == QuestionType.NUMERIC || type == QuestionType.SLIDER;
+    }
+}
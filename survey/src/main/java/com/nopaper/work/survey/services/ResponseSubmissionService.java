@@ -0,0 +1,618 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 7:41:19 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nopaper.work.survey.dto.AnswerSubmission;
+import com.nopaper.work.survey.dto.ResponseSession;
+import com.nopaper.work.survey.dto.ResponseStart;
+import com.nopaper.work.survey.dto.ResponseSubmission;
+import com.nopaper.work.survey.dto.SubmissionResult;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ResponseStatus;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.errors.InvalidSubmissionException;
+import com.nopaper.work.survey.errors.ResponseLockedException;
+import com.nopaper.work.survey.errors.SurveyClosedException;
+import com.nopaper.work.survey.ids.UuidV7;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.payload.AnswerPayload;
+import com.nopaper.work.survey.payload.AnswerPayloadCodec;
+import com.nopaper.work.survey.repository.ResponseBatchWriter.AnswerRow;
+import com.nopaper.work.survey.repository.ResponseBatchWriter.ResponseRow;
+import com.nopaper.work.survey.repository.ResponseBatchWriter.StoredResponse;
+import com.nopaper.work.survey.repository.ResponseBatchWriter;
+import com.nopaper.work.survey.scoring.AnswerSheet;
+import com.nopaper.work.survey.scoring.MatrixAnswerCodec;
+import com.nopaper.work.survey.scoring.ScoreCard;
+import com.nopaper.work.survey.services.DraftAnswerStore.Draft;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * Accepts a complete response in one call: validates it against the
+ * compiled survey, scores it, and writes the survey_response row plus all
+ * survey_response_answer rows in one transaction.
+ *
+ * Answer rows:
+ * - Choice types: one row per selected option (option_id set)
+ * - RANKING / ORDERING: one row, options listed in answer_payload
+ * - MATRIX: one row, columns bit-packed into answer_data (MatrixAnswerCodec)
+ * - Value types: one row with answer_value
+ * - answer_payload is always written by AnswerPayloadCodec; a client payload
+ *   is decoded with the question type's codec first and rejected if it
+ *   holds no answer of that type or contradicts option_ids / value
+ * - answer_score / is_correct are set on the first row of each scored question
+ *
+ * The compiled survey is resolved, and the answers validated and scored,
+ * before the transaction opens (TransactionTemplate around the writes only):
+ * a definition cache miss never waits for its load while holding the
+ * connection of an open transaction.
+ *
+ * After commit the response is added to the incremental answer statistics
+ * (SurveyStatsService).
+ *
+ * Timed surveys (CompiledSurvey.responseTimeLimitSeconds() > 0) are answered
+ * in two steps: start inserts a STARTED response and has
+ * ResponseDeadlineService lock it when its time runs out; submit then
+ * completes that response, and is rejected once it is locked or past its
+ * deadline plus the grace period. Untimed surveys may use either flow.
+ *
+ * Answers autosaved for a started response (DraftAnswerStore) are merged
+ * into its submit, answers in the submit winning per question, and written
+ * with it in the same batch.
+ */
+@Slf4j
+@Service
+public class ResponseSubmissionService {
+
+    private final SurveyDefinitionService definitionService;
+    private final ResponseScoringService scoringService;
+    private final ResponseBatchWriter batchWriter;
+    private final SurveyStatsService statsService;
+    private final ResponseDeadlineService deadlineService;
+    private final DraftAnswerStore draftStore;
+    private final AnswerPayloadCodec payloadCodec;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResponseSubmissionService(SurveyDefinitionService definitionService,
+                                     ResponseScoringService scoringService,
+                                     ResponseBatchWriter batchWriter,
+                                     SurveyStatsService statsService,
+                                     ResponseDeadlineService deadlineService,
+                                     DraftAnswerStore draftStore,
+                                     AnswerPayloadCodec payloadCodec,
+                                     TransactionTemplate transactionTemplate) {
+        this.definitionService = definitionService;
+        this.scoringService = scoringService;
+        this.batchWriter = batchWriter;
+        this.statsService = statsService;
+        this.deadlineService = deadlineService;
+        this.draftStore = draftStore;
+        this.payloadCodec = payloadCodec;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Start a response; its time limit, if any, runs from now. The visitor
+     * is counted in the survey's distinct respondents and IP addresses.
+     *
+     * @param surveyId  Survey being answered
+     * @param start     Respondent, may be null
+     * @param ipAddress Client IP address
+     * @param userAgent Client user agent
+     * @return Response id to submit to, and its deadline
+     * @throws SurveyClosedException if the survey is not accepting responses
+     */
+    public ResponseSession start(UUID surveyId, ResponseStart start, String ipAddress, String userAgent) {
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        if (!survey.isAcceptingResponses()) {
+            throw new SurveyClosedException(surveyId);
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        UUID responseId = newId();
+        String respondentId = start != null ? start.respondentId() : null;
+        int timeLimit = survey.responseTimeLimitSeconds();
+        LocalDateTime deadline = timeLimit > 0 ? startedAt.plusSeconds(timeLimit) : null;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            batchWriter.insertResponse(new ResponseRow(responseId, surveyId, respondentId,
+                    ResponseStatus.STARTED, ipAddress, userAgent, null, null, null, null, null, startedAt, null));
+            statsService.recordVisitor(survey, respondentId, ipAddress);
+            if (deadline != null) {
+                afterCommit(() -> deadlineService.track(responseId, deadline));
+            }
+        });
+        return new ResponseSession(responseId, startedAt, deadline);
+    }
+
+    /**
+     * Validate, score and store a complete response. A started response's
+     * autosaved draft fills in the questions the submission leaves out,
+     * unless Redis cannot be read: the submit then goes through without it.
+     *
+     * @param surveyId   Survey being answered
+     * @param submission Respondent and answers
+     * @param ipAddress  Client IP address
+     * @param userAgent  Client user agent
+     * @return Stored response id and, if the survey shows results, its score
+     * @throws SurveyClosedException       if the survey is not accepting responses
+     * @throws InvalidSubmissionException  if the answers do not match the survey, or
+     *                                     a timed survey's response was not started
+     * @throws ResponseLockedException     if the started response is already
+     *                                     submitted or out of time
+     */
+    public SubmissionResult submit(UUID surveyId, ResponseSubmission submission, String ipAddress, String userAgent) {
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        if (!survey.isAcceptingResponses()) {
+            throw new SurveyClosedException(surveyId);
+        }
+        int timeLimit = survey.responseTimeLimitSeconds();
+        StoredResponse started = submission.responseId() != null
+                ? openResponse(surveyId, submission.responseId(), timeLimit)
+                : null;
+        if (started == null && timeLimit > 0) {
+            throw new InvalidSubmissionException("Survey is timed, start the response first: " + surveyId);
+        }
+
+        List<AnswerSubmission> answers = submission.answers() != null ? submission.answers() : List.of();
+        // Before merging, which would silently keep the last of repeated answers.
+        AnswerSupport.checkDistinctQuestions(answers);
+        Draft draft = started != null ? loadDraft(started.responseId()) : null;
+        if (draft != null) {
+            answers = merge(currentDrafts(survey, started.responseId(), draft), answers);
+        }
+        // Without the draft, rows it flushed earlier are kept, except for the questions answered now.
+        Collection<UUID> replaced = started != null && draft == null
+                ? answers.stream().map(AnswerSubmission::questionId).toList()
+                : null;
+        AnswerSheet sheet = scoringService.answerSheet();
+        int[] firstRow = new int[survey.questionCount()];
+        List<AnswerRow> rows = collectAll(survey, answers, sheet, firstRow);
+        checkRequired(survey, sheet);
+        ScoreCard card = scoreRows(survey, sheet, firstRow, rows);
+        boolean scored = survey.getScoringType() != ScoringType.NO_SCORING;
+
+        LocalDateTime submittedAt = LocalDateTime.now();
+        LocalDateTime startedAt = started != null ? started.startedAt()
+                : submission.startedAt() != null ? submission.startedAt() : submittedAt;
+        UUID responseId = started != null ? started.responseId() : newId();
+        String respondentId = started != null ? started.respondentId() : submission.respondentId();
+        Double totalScore = scored ? card.getTotalScore() : null;
+        Double maxScore = scored ? card.getMaxScore() : null;
+        Double percentage = scored ? card.getScorePercentage() : null;
+        Boolean passed = scored ? card.getPassed() : null;
+
+        ResponseRow response = new ResponseRow(responseId, surveyId, respondentId, ResponseStatus.SUBMITTED,
+                ipAddress, userAgent, totalScore, maxScore, percentage, passed,
+                (int) Math.max(0, Duration.between(startedAt, submittedAt).toSeconds()), startedAt, submittedAt);
+        int written = transactionTemplate.execute(status -> {
+            LocalDateTime createdAt;
+            if (started != null) {
+                // Guarded by status: loses against a concurrent submit or time-out.
+                if (!batchWriter.completeResponse(response, started.createdAt())) {
+                    throw new ResponseLockedException(responseId);
+                }
+                createdAt = started.createdAt();
+                // Drop drafts flushed while idle (the merged draft supersedes them). The
+                // UPDATE above waited for any flush still holding the row, so its rows are visible.
+                batchWriter.deleteAnswers(responseId, createdAt, replaced);
+                afterCommit(() -> {
+                    if (timeLimit > 0) {
+                        deadlineService.release(responseId);
+                    }
+                    discardDraft(responseId);
+                });
+            } else {
+                createdAt = batchWriter.insertResponse(response);
+            }
+            int inserted = batchWriter.insertAnswers(responseId, createdAt, rows);
+            statsService.record(survey, sheet, card, respondentId, ipAddress);
+            return inserted;
+        });
+
+        boolean visible = survey.isShowResults();
+        return new SubmissionResult(responseId, written, submittedAt,
+                visible ? totalScore : null, visible ? maxScore : null, visible ? percentage : null,
+                visible ? passed : null);
+    }
+
+    /**
+     * Store the draft answers of idle open responses as answer rows, in one
+     * transaction, and mark the responses IN_PROGRESS. Earlier rows of the
+     * same questions are replaced; nothing is scored.
+     *
+     * @param drafts Response id to its drafts
+     * @return Responses whose drafts were stored; drafts of closed or
+     *         unknown responses, or that no longer match the survey, are skipped
+     */
+    public int saveDrafts(Map<UUID, Draft> drafts) {
+        List<DraftRows> pending = new ArrayList<>(drafts.size());
+        for (Map.Entry<UUID, Draft> draft : drafts.entrySet()) {
+            if (draft.getValue().answers().isEmpty()) {
+                continue;
+            }
+            StoredResponse response = batchWriter.findResponse(draft.getKey()).orElse(null);
+            if (response == null || !response.status().isOpen()) {
+                continue;
+            }
+            CompiledSurvey survey = definitionService.getCompiledSurvey(response.surveyId());
+            List<AnswerSubmission> answers = currentDrafts(survey, response.responseId(), draft.getValue());
+            if (answers.isEmpty()) {
+                continue;
+            }
+            try {
+                pending.add(new DraftRows(response, answers.stream().map(AnswerSubmission::questionId).toList(),
+                        collectAll(survey, answers, scoringService.answerSheet(), new int[survey.questionCount()])));
+            } catch (InvalidSubmissionException e) {
+                log.warn("Skipping draft of response {}: {}", response.responseId(), e.getMessage());
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        return transactionTemplate.execute(status -> {
+            int saved = 0;
+            for (DraftRows draft : pending) {
+                StoredResponse response = draft.response();
+                // Locks the row first: a concurrent submit either waits for this flush or wins and is skipped.
+                if (!batchWriter.markInProgress(response.responseId(), response.createdAt())) {
+                    continue;
+                }
+                batchWriter.deleteAnswers(response.responseId(), response.createdAt(), draft.questionIds());
+                batchWriter.insertAnswers(response.responseId(), response.createdAt(), draft.rows());
+                saved++;
+            }
+            return saved;
+        });
+    }
+
+    /**
+     * Submit the draft answers of a response locked by its time limit:
+     * answers are stored and scored as on submit, without the required
+     * question check, and the response stays TIMED_OUT. Like a submitted
+     * response it is tallied in the survey's stats, so they agree with the
+     * stored answers; a response timed out without drafts is not.
+     *
+     * @param responseId TIMED_OUT response
+     * @param draft      Its drafts
+     * @return false if the response is not TIMED_OUT or none of the drafts
+     *         match the survey any more
+     */
+    public boolean submitTimedOut(UUID responseId, Draft draft) {
+        StoredResponse response = batchWriter.findResponse(responseId).orElse(null);
+        if (response == null || response.status() != ResponseStatus.TIMED_OUT) {
+            return false;
+        }
+        CompiledSurvey survey = definitionService.getCompiledSurvey(response.surveyId());
+        List<AnswerSubmission> drafts = currentDrafts(survey, responseId, draft);
+        if (drafts.isEmpty()) {
+            return false;
+        }
+        AnswerSheet sheet = scoringService.answerSheet();
+        int[] firstRow = new int[survey.questionCount()];
+        List<AnswerRow> rows;
+        try {
+            rows = collectAll(survey, drafts, sheet, firstRow);
+        } catch (InvalidSubmissionException e) {
+            log.warn("Could not submit draft of timed out response {}: {}", responseId, e.getMessage());
+            return false;
+        }
+        ScoreCard card = scoreRows(survey, sheet, firstRow, rows);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (survey.getScoringType() != ScoringType.NO_SCORING) {
+                batchWriter.scoreTimedOut(new ResponseRow(responseId, response.surveyId(), response.respondentId(),
+                        ResponseStatus.TIMED_OUT, null, null, card.getTotalScore(), card.getMaxScore(),
+                        card.getScorePercentage(), card.getPassed(), null, response.startedAt(), null),
+                        response.createdAt());
+            }
+            batchWriter.deleteAnswers(responseId, response.createdAt(), null);
+            batchWriter.insertAnswers(responseId, response.createdAt(), rows);
+            statsService.record(survey, sheet, card, response.respondentId(), null);
+        });
+        return true;
+    }
+
+    /**
+     * Rows built from one response's drafts, written by saveDrafts.
+     */
+    private record DraftRows(StoredResponse response, List<UUID> questionIds, List<AnswerRow> rows) {
+    }
+
+    /**
+     * Load a started response that may still be answered.
+     *
+     * @throws InvalidSubmissionException if there is no such response of the survey
+     * @throws ResponseLockedException    if it is no longer open or past its deadline
+     */
+    StoredResponse openResponse(UUID surveyId, UUID responseId, int timeLimit) {
+        StoredResponse response = batchWriter.findResponse(responseId)
+                .filter(found -> found.surveyId().equals(surveyId))
+                .orElseThrow(() -> new InvalidSubmissionException("Unknown response: " + responseId));
+        if (!response.status().isOpen()) {
+            throw new ResponseLockedException(responseId);
+        }
+        // The timer may fire up to a tick late: enforce the deadline here too.
+        if (timeLimit > 0 && LocalDateTime.now().isAfter(
+                deadlineService.lockTime(response.startedAt().plusSeconds(timeLimit)))) {
+            throw new ResponseLockedException(responseId);
+        }
+        return response;
+    }
+
+    /**
+     * @return The response's autosaved draft, or null if Redis cannot be
+     *         read: the submit then goes through with the answers it carries
+     */
+    private Draft loadDraft(UUID responseId) {
+        try {
+            return draftStore.load(responseId);
+        } catch (DataAccessException e) {
+            log.warn("Could not load draft of response {}, submitting without it: {}", responseId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void discardDraft(UUID responseId) {
+        try {
+            draftStore.discard(responseId);
+        } catch (DataAccessException e) {
+            // Expires with the session.
+            log.warn("Could not discard draft of response {}: {}", responseId, e.getMessage());
+        }
+    }
+
+    /**
+     * Draft answers that still match the response's survey. Drafts saved for
+     * another survey are dropped, as are answers made stale by edits of the
+     * survey since they were autosaved: only the respondent's own answers
+     * can fail a submit.
+     */
+    private static List<AnswerSubmission> currentDrafts(CompiledSurvey survey, UUID responseId, Draft draft) {
+        if (draft.surveyId() != null && !draft.surveyId().equals(survey.getId())) {
+            log.warn("Ignoring draft of response {} saved for survey {}", responseId, draft.surveyId());
+        }
+        List<AnswerSubmission> current = new ArrayList<>();
+        for (AnswerSubmission answer : draft.answersFor(survey.getId())) {
+            if (AnswerSupport.fits(survey, answer)) {
+                current.add(answer);
+            } else {
+                log.debug("Skipping stale draft answer {} of response {}", answer.questionId(), responseId);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * One answer per question: later answers replace earlier ones.
+     */
+    private static List<AnswerSubmission> merge(List<AnswerSubmission> drafts, List<AnswerSubmission> answers) {
+        if (drafts.isEmpty()) {
+            return answers;
+        }
+        Map<UUID, AnswerSubmission> merged = new LinkedHashMap<>();
+        for (AnswerSubmission draft : drafts) {
+            merged.put(draft.questionId(), draft);
+        }
+        for (AnswerSubmission answer : answers) {
+            merged.put(answer.questionId(), answer);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // ========================================================================
+    // Validation and Row Building
+    // ========================================================================
+
+    /**
+     * Record every answer on the sheet and build its rows.
+     *
+     * @param firstRow Filled with the index of each question's first row, -1 if unanswered
+     * @throws InvalidSubmissionException if an answer does not match the survey, or
+     *                                    a question or option is given more than once
+     */
+    private List<AnswerRow> collectAll(CompiledSurvey survey, List<AnswerSubmission> answers, AnswerSheet sheet,
+                                       int[] firstRow) {
+        AnswerSupport.checkDistinctQuestions(answers);
+        sheet.reset(survey.questionCount());
+        List<AnswerRow> rows = new ArrayList<>(answers.size() * 2);
+        Arrays.fill(firstRow, -1);
+        for (AnswerSubmission answer : answers) {
+            int question = AnswerSupport.resolveQuestion(survey, answer.questionId());
+            int first = rows.size();
+            collect(survey, question, answer, sheet, rows);
+            if (rows.size() > first) {
+                firstRow[question] = first;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Score the sheet and set answer_score / is_correct on the first row of
+     * each answered question, unless the survey is unscored.
+     */
+    private ScoreCard scoreRows(CompiledSurvey survey, AnswerSheet sheet, int[] firstRow, List<AnswerRow> rows) {
+        ScoreCard card = scoringService.score(survey, sheet);
+        if (survey.getScoringType() == ScoringType.NO_SCORING) {
+            return card;
+        }
+        for (int q = 0; q < firstRow.length; q++) {
+            int row = firstRow[q];
+            if (row >= 0) {
+                double max = card.questionMaxScore(q);
+                AnswerRow first = rows.get(row);
+                rows.set(row, new AnswerRow(first.answerId(), first.questionId(), first.optionId(), first.payload(),
+                        first.data(), first.value(), card.questionScore(q),
+                        max > 0.0 ? card.questionScore(q) >= max : null, first.timeSpentSeconds(), first.answeredAt()));
+            }
+        }
+        return card;
+    }
+
+    private void collect(CompiledSurvey survey, int question, AnswerSubmission answer,
+                         AnswerSheet sheet, List<AnswerRow> rows) {
+        QuestionType type = survey.questionType(question);
+        UUID questionId = answer.questionId();
+        List<UUID> optionIds = answer.optionIds() != null ? answer.optionIds() : List.of();
+        LocalDateTime answeredAt = LocalDateTime.now();
+
+        if (!optionIds.isEmpty()) {
+            AnswerSupport.checkSelectionCount(survey, question, optionIds.size());
+            AnswerSupport.checkDistinctOptions(survey, question, optionIds);
+            int first = sheet.selectionCount(question);
+            for (UUID optionId : optionIds) {
+                sheet.addSelection(question, AnswerSupport.resolveOption(survey, question, optionId));
+            }
+            if (answer.payload() != null) {
+                checkPayloadOptions(survey, question, answer.payload(), sheet, first);
+            }
+            if (type == QuestionType.MATRIX) {
+                rows.add(new AnswerRow(newId(), questionId, null,
+                        payloadCodec.write(type, survey, payloadCodec.holder().setPacked()),
+                        MatrixAnswerCodec.encode(survey, question, sheet),
+                        null, null, null, answer.timeSpentSeconds(), answeredAt));
+            } else if (AnswerSupport.isOptionList(type)) {
+                AnswerPayload ranking = payloadCodec.holder();
+                for (int i = first; i < sheet.selectionCount(question); i++) {
+                    ranking.addOption(sheet.selection(question, i));
+                }
+                rows.add(new AnswerRow(newId(), questionId, null, payloadCodec.write(type, survey, ranking), null,
+                        null, null, null, answer.timeSpentSeconds(), answeredAt));
+            } else {
+                for (int i = 0; i < optionIds.size(); i++) {
+                    AnswerPayload choice = payloadCodec.holder().addOption(sheet.selection(question, first + i));
+                    rows.add(new AnswerRow(newId(), questionId, optionIds.get(i),
+                            payloadCodec.write(type, survey, choice),
+                            null, null, null, null, answer.timeSpentSeconds(), answeredAt));
+                }
+            }
+            return;
+        }
+
+        String value = answer.value();
+        AnswerPayload given = answer.payload() != null ? clientPayload(survey, question, answer.payload()) : null;
+        AnswerPayload stored = payloadCodec.holder();
+        if (value != null && AnswerSupport.isNumeric(type)) {
+            double number = AnswerSupport.parseNumber(survey, question, value);
+            sheet.setNumericValue(question, number);
+            stored.setNumber(number);
+        } else if (value != null) {
+            sheet.markAnswered(question);
+            AnswerSupport.value(stored, type, value);
+        } else if (given != null) {
+            if (!isValue(type, given)) {
+                throw new InvalidSubmissionException("Answer payload does not fit question " + questionId);
+            }
+            stored = given;
+            if (given.kind() == AnswerPayload.Kind.NUMBER) {
+                sheet.setNumericValue(question, given.number());
+                value = Double.toString(given.number());
+            } else {
+                sheet.markAnswered(question);
+            }
+        } else {
+            return;
+        }
+        if (given != null && !given.sameAnswer(stored)) {
+            throw new InvalidSubmissionException("Answer payload does not match the value of question " + questionId);
+        }
+        rows.add(new AnswerRow(newId(), questionId, null, payloadCodec.write(type, survey, stored), null, value,
+                null, null, answer.timeSpentSeconds(), answeredAt));
+    }
+
+    /**
+     * Decode a client-supplied payload with the codec of the question's
+     * type; only what the codec reads is kept, and stored re-encoded.
+     *
+     * @return A new holder (the per-thread one may be in use)
+     * @throws InvalidSubmissionException if the payload is not a JSON object or holds no answer
+     */
+    private AnswerPayload clientPayload(CompiledSurvey survey, int question, JsonNode json) {
+        AnswerPayload payload = new AnswerPayload();
+        if (!payloadCodec.read(survey.questionType(question), survey, json, payload)
+                || payload.kind() == AnswerPayload.Kind.NONE) {
+            throw new InvalidSubmissionException("Answer payload does not fit question "
+                    + survey.question(question).id());
+        }
+        return payload;
+    }
+
+    /**
+     * A payload sent along with option_ids must name the selected options,
+     * in order; a MATRIX answer may also say it is packed.
+     */
+    private void checkPayloadOptions(CompiledSurvey survey, int question, JsonNode json, AnswerSheet sheet,
+                                     int first) {
+        AnswerPayload given = clientPayload(survey, question, json);
+        if (survey.questionType(question) == QuestionType.MATRIX && given.kind() == AnswerPayload.Kind.PACKED) {
+            return;
+        }
+        AnswerPayload selected = new AnswerPayload();
+        for (int i = first; i < sheet.selectionCount(question); i++) {
+            selected.addOption(sheet.selection(question, i));
+        }
+        if (!given.sameAnswer(selected)) {
+            throw new InvalidSubmissionException("Answer payload does not match the options of question "
+                    + survey.question(question).id());
+        }
+    }
+
+    /**
+     * Payload-only answers carry a value: a number for NUMERIC / SLIDER,
+     * otherwise text or a date-time. Options go in option_ids.
+     */
+    private static boolean isValue(QuestionType type, AnswerPayload payload) {
+        return switch (payload.kind()) {
+            case NUMBER -> true;
+            case TEXT, DATE_TIME -> !AnswerSupport.isNumeric(type);
+            default -> false;
+        };
+    }
+
+    private static void checkRequired(CompiledSurvey survey, AnswerSheet sheet) {
+        for (int q = 0, count = survey.questionCount(); q < count; q++) {
+            CompiledSurvey.QuestionDef def = survey.question(q);
+            if (def.required() && !def.disabled() && !sheet.isAnswered(q)) {
+                throw new InvalidSubmissionException("Required question not answered: " + def.id());
+            }
+        }
+    }
+
+    private static UUID newId() {
+        return UuidV7.next();
+    }
+}
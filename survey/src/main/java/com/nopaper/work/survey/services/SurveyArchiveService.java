@@ -0,0 +1,424 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 10:39:57 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nopaper.work.survey.archive.ArchiveColumn;
+import com.nopaper.work.survey.archive.ArchiveColumn.Table;
+import com.nopaper.work.survey.archive.ColumnarArchiveReader;
+import com.nopaper.work.survey.archive.ColumnarArchiveWriter;
+import com.nopaper.work.survey.dto.ArchiveInfo;
+import com.nopaper.work.survey.dto.SurveyStats;
+import com.nopaper.work.survey.dto.SurveyStats.OptionStats;
+import com.nopaper.work.survey.dto.SurveyStats.QuestionStats;
+import com.nopaper.work.survey.dto.SurveyStats.SectionStats;
+import com.nopaper.work.survey.entity.SurveyArchive;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ResponseStatus;
+import com.nopaper.work.survey.enums.SurveyStatus;
+import com.nopaper.work.survey.errors.ArchiveNotFoundException;
+import com.nopaper.work.survey.errors.SurveyNotFoundException;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.payload.AnswerPayload;
+import com.nopaper.work.survey.payload.AnswerPayloadCodec;
+import com.nopaper.work.survey.repository.ResponseArchiveReader;
+import com.nopaper.work.survey.repository.SurveyArchiveRepository;
+import com.nopaper.work.survey.repository.SurveyRepository;
+import com.nopaper.work.survey.routing.ReadFrom;
+import com.nopaper.work.survey.routing.ReadTarget;
+import com.nopaper.work.survey.scoring.MatrixAnswerCodec;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the response history of ARCHIVED surveys out of the hot tables
+ * into compressed columnar files, and answers statistics from those files.
+ *
+ * Every app.survey.archive-interval, on its own background thread, each
+ * ARCHIVED survey without a SurveyArchive is archived:
+ * - Under a per-survey advisory lock, stream its responses and answers
+ *   (every column) into a ColumnarArchiveWriter file in the ArchiveStore's
+ *   staging area
+ * - Re-open the file and check its row counts, then put it in the store
+ * - Record a SurveyArchive in the same transaction, then queue a SURVEY
+ *   purge job (ResponsePurgeService) that deletes the rows in chunks
+ * A survey whose purge could not be queued is retried on the next run.
+ *
+ * ARCHIVED surveys accept neither submissions nor imports, so nothing is
+ * written between archiving and purging.
+ *
+ * Read path: getStats scans the memory-mapped archive, decoding only the
+ * columns it needs, into the same SurveyStats the live dashboards use.
+ */
+@Slf4j
+@Service
+public class SurveyArchiveService {
+
+    private static final String FILE_SUFFIX = ".sva";
+
+    private static final EnumSet<ArchiveColumn> RESPONSE_STATS_COLUMNS =
+            EnumSet.of(ArchiveColumn.STATUS, ArchiveColumn.TOTAL_SCORE);
+
+    private static final EnumSet<ArchiveColumn> ANSWER_STATS_COLUMNS = EnumSet.of(ArchiveColumn.ANSWER_RESPONSE_ID,
+            ArchiveColumn.QUESTION_ID, ArchiveColumn.OPTION_ID, ArchiveColumn.ANSWER_PAYLOAD,
+            ArchiveColumn.ANSWER_DATA, ArchiveColumn.ANSWER_SCORE);
+
+    private final SurveyRepository surveyRepository;
+    private final SurveyArchiveRepository archiveRepository;
+    private final ResponseArchiveReader reader;
+    private final ArchiveStore store;
+    private final ResponsePurgeService purgeService;
+    private final SurveyDefinitionService definitionService;
+    private final AnswerPayloadCodec payloadCodec;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            runnable -> Thread.ofPlatform().name("survey-archive").daemon().unstarted(runnable));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    public SurveyArchiveService(SurveyRepository surveyRepository,
+                                SurveyArchiveRepository archiveRepository,
+                                ResponseArchiveReader reader,
+                                ArchiveStore store,
+                                ResponsePurgeService purgeService,
+                                SurveyDefinitionService definitionService,
+                                AnswerPayloadCodec payloadCodec,
+                                TransactionTemplate transactionTemplate) {
+        this.surveyRepository = surveyRepository;
+        this.archiveRepository = archiveRepository;
+        this.reader = reader;
+        this.store = store;
+        this.purgeService = purgeService;
+        this.definitionService = definitionService;
+        this.payloadCodec = payloadCodec;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // ========================================================================
+    // Archiving
+    // ========================================================================
+
+    /**
+     * Start the worker unless it is already busy.
+     */
+    @Scheduled(fixedDelayString = "${app.survey.archive-interval:3600}",
+            initialDelayString = "${app.survey.archive-interval:3600}", timeUnit = TimeUnit.SECONDS)
+    public void poll() {
+        if (stopping || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                try {
+                    archivePending();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    private void archivePending() {
+        for (UUID surveyId : surveyRepository.findUnarchivedIds(SurveyStatus.ARCHIVED)) {
+            if (stopping) {
+                return;
+            }
+            try {
+                archive(surveyId);
+            } catch (RuntimeException e) {
+                log.warn("Could not archive survey {}, retrying next run", surveyId, e);
+            }
+        }
+        for (SurveyArchive archive : archiveRepository.findByPurgeJobIdIsNull()) {
+            try {
+                queuePurge(archive);
+            } catch (RuntimeException e) {
+                log.warn("Could not queue the purge of archived survey {}", archive.getSurveyId(), e);
+            }
+        }
+    }
+
+    /**
+     * Archive a survey's responses and queue their deletion from the hot tables.
+     *
+     * @return true if archived now; false if it already was or another node is archiving it
+     * @throws SurveyNotFoundException if the survey does not exist
+     */
+    public boolean archive(UUID surveyId) {
+        LocalDateTime createdAt = surveyRepository.findCreatedAt(surveyId)
+                .orElseThrow(() -> new SurveyNotFoundException(surveyId));
+        SurveyArchive archive = transactionTemplate.execute(status -> {
+            if (!reader.tryLock(surveyId) || archiveRepository.existsById(surveyId)) {
+                return null;
+            }
+            try {
+                return write(surveyId, createdAt);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (archive == null) {
+            return false;
+        }
+        log.info("Archived survey {}: {} responses, {} answers, {} bytes", surveyId, archive.getResponseCount(),
+                archive.getAnswerCount(), archive.getFileSize());
+        queuePurge(archive);
+        return true;
+    }
+
+    private SurveyArchive write(UUID surveyId, LocalDateTime createdAt) throws IOException {
+        String name = surveyId + FILE_SUFFIX;
+        LocalDateTime from = ResponsePartitionService.responseWindowStart(createdAt);
+        LocalDateTime to = ResponsePartitionService.responseWindowEnd();
+        Path staged = store.staging(name);
+        long responses;
+        long answers;
+        try {
+            try (ColumnarArchiveWriter writer = new ColumnarArchiveWriter(staged, surveyId)) {
+                reader.forEachResponse(surveyId, from, to, rs -> copyRow(rs, Table.RESPONSES, writer));
+                reader.forEachAnswer(surveyId, from, to, rs -> copyRow(rs, Table.ANSWERS, writer));
+                responses = writer.rowCount(Table.RESPONSES);
+                answers = writer.rowCount(Table.ANSWERS);
+            }
+            try (ColumnarArchiveReader check = ColumnarArchiveReader.open(staged)) {
+                if (!surveyId.equals(check.surveyId()) || check.rowCount(Table.RESPONSES) != responses
+                        || check.rowCount(Table.ANSWERS) != answers) {
+                    throw new IOException("Archive of survey " + surveyId + " does not read back");
+                }
+            }
+            store.put(name, staged);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+        return archiveRepository.save(SurveyArchive.builder()
+                .surveyId(surveyId)
+                .fileName(name)
+                .fileSize(store.size(name))
+                .responseCount(responses)
+                .answerCount(answers)
+                .build());
+    }
+
+    private void queuePurge(SurveyArchive archive) {
+        archive.setPurgeJobId(purgeService.purgeSurvey(archive.getSurveyId()).jobId());
+        archiveRepository.save(archive);
+    }
+
+    /**
+     * Copy the current row into the archive; columns are in ArchiveColumn order.
+     */
+    private static void copyRow(ResultSet rs, Table table, ColumnarArchiveWriter writer) throws SQLException {
+        try {
+            List<ArchiveColumn> columns = ArchiveColumn.columns(table);
+            for (int i = 0; i < columns.size(); i++) {
+                ArchiveColumn column = columns.get(i);
+                int index = i + 1;
+                switch (column.type()) {
+                    case UUID -> writer.uuid(column, rs.getObject(index, UUID.class));
+                    case TEXT -> writer.text(column, rs.getString(index));
+                    case DOUBLE -> {
+                        double value = rs.getDouble(index);
+                        writer.number(column, rs.wasNull() ? null : value);
+                    }
+                    case INT -> {
+                        int value = rs.getInt(index);
+                        writer.integer(column, rs.wasNull() ? null : value);
+                    }
+                    case BOOLEAN -> {
+                        boolean value = rs.getBoolean(index);
+                        writer.bool(column, rs.wasNull() ? null : value);
+                    }
+                    case TIMESTAMP -> writer.timestamp(column, rs.getObject(index, LocalDateTime.class));
+                    case BYTES -> writer.bytes(column, rs.getBytes(index));
+                }
+            }
+            writer.endRow(table);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        worker.shutdown();
+        worker.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // ========================================================================
+    // Read Path
+    // ========================================================================
+
+    /**
+     * @throws ArchiveNotFoundException if the survey has not been archived
+     */
+    @ReadFrom(ReadTarget.REPLICA)
+    public ArchiveInfo getArchive(UUID surveyId) {
+        SurveyArchive archive = find(surveyId);
+        return new ArchiveInfo(surveyId, archive.getResponseCount(), archive.getAnswerCount(), archive.getFileSize(),
+                archive.getArchivedAt(), archive.getPurgeJobId());
+    }
+
+    /**
+     * Answer distribution of an archived survey, computed by scanning its
+     * archive file. Section averages are the sum of their questions' scores
+     * per response (formula-based section scores are not archived).
+     *
+     * @throws ArchiveNotFoundException if the survey has not been archived
+     */
+    @ReadFrom(ReadTarget.REPLICA)
+    public SurveyStats getStats(UUID surveyId) {
+        SurveyArchive archive = find(surveyId);
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        ArchiveTally tally = new ArchiveTally(survey);
+        try (ColumnarArchiveReader file = ColumnarArchiveReader.open(store.open(archive.getFileName()))) {
+            file.scan(Table.RESPONSES, RESPONSE_STATS_COLUMNS, tally::addResponse);
+            file.scan(Table.ANSWERS, ANSWER_STATS_COLUMNS, tally::addAnswer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tally.toStats();
+    }
+
+    private SurveyArchive find(UUID surveyId) {
+        return archiveRepository.findById(surveyId).orElseThrow(() -> new ArchiveNotFoundException(surveyId));
+    }
+
+    /**
+     * Folds archive rows into SurveyStats counts, by CompiledSurvey ordinals.
+     */
+    private final class ArchiveTally {
+
+        private final CompiledSurvey survey;
+        private final long[] answerCounts;
+        private final double[] questionScores;
+        private final long[] optionCounts;
+        /** Sequence number of the last response that answered each question. */
+        private final long[] lastResponse;
+        private final AnswerPayload payload = new AnswerPayload();
+
+        private long responses;
+        private double totalScore;
+        private UUID currentResponse;
+        private long responseSeq;
+
+        ArchiveTally(CompiledSurvey survey) {
+            this.survey = survey;
+            this.answerCounts = new long[survey.questionCount()];
+            this.questionScores = new double[survey.questionCount()];
+            this.optionCounts = new long[survey.optionCount()];
+            this.lastResponse = new long[survey.questionCount()];
+        }
+
+        void addResponse(ColumnarArchiveReader.Row row) {
+            if (ResponseStatus.SUBMITTED.name().equals(row.text(ArchiveColumn.STATUS))) {
+                responses++;
+                double score = row.number(ArchiveColumn.TOTAL_SCORE);
+                if (!Double.isNaN(score)) {
+                    totalScore += score;
+                }
+            }
+        }
+
+        void addAnswer(ColumnarArchiveReader.Row row) {
+            UUID questionId = row.uuid(ArchiveColumn.QUESTION_ID);
+            int question = questionId != null ? survey.questionOrdinal(questionId) : -1;
+            if (question < 0) {
+                // Question deleted since the answer was written.
+                return;
+            }
+            UUID responseId = row.uuid(ArchiveColumn.ANSWER_RESPONSE_ID);
+            if (!responseId.equals(currentResponse)) {
+                currentResponse = responseId;
+                responseSeq++;
+            }
+            if (lastResponse[question] != responseSeq) {
+                lastResponse[question] = responseSeq;
+                answerCounts[question]++;
+            }
+            double score = row.number(ArchiveColumn.ANSWER_SCORE);
+            if (!Double.isNaN(score)) {
+                questionScores[question] += score;
+            }
+
+            QuestionType type = survey.questionType(question);
+            UUID optionId = row.uuid(ArchiveColumn.OPTION_ID);
+            byte[] data = row.bytes(ArchiveColumn.ANSWER_DATA);
+            String json = row.text(ArchiveColumn.ANSWER_PAYLOAD);
+            if (optionId != null) {
+                countOption(survey.optionOrdinal(optionId));
+            } else if (data != null && type == QuestionType.MATRIX) {
+                List<UUID> columns = MatrixAnswerCodec.decodeOptionIds(survey, question, data);
+                if (columns != null) {
+                    for (UUID column : columns) {
+                        countOption(survey.optionOrdinal(column));
+                    }
+                }
+            } else if (json != null && AnswerSupport.isOptionList(type)
+                    && payloadCodec.read(type, survey, json, payload)) {
+                for (int i = 0; i < payload.optionCount(); i++) {
+                    countOption(payload.option(i));
+                }
+            }
+        }
+
+        private void countOption(int option) {
+            if (option >= 0) {
+                optionCounts[option]++;
+            }
+        }
+
+        SurveyStats toStats() {
+            List<SectionStats> sections = new ArrayList<>(survey.sectionCount());
+            for (int s = 0; s < survey.sectionCount(); s++) {
+                double score = 0.0;
+                for (int q = survey.firstQuestion(s); q < survey.endQuestion(s); q++) {
+                    score += questionScores[q];
+                }
+                sections.add(new SectionStats(survey.section(s).id(), average(score, responses)));
+            }
+            List<QuestionStats> questions = new ArrayList<>(survey.questionCount());
+            for (int q = 0; q < survey.questionCount(); q++) {
+                List<OptionStats> options = new ArrayList<>(survey.endOption(q) - survey.firstOption(q));
+                for (int o = survey.firstOption(q); o < survey.endOption(q); o++) {
+                    options.add(new OptionStats(survey.option(o).id(), optionCounts[o]));
+                }
+                questions.add(new QuestionStats(survey.question(q).id(), answerCounts[q],
+                        average(questionScores[q], answerCounts[q]), options));
+            }
+            return new SurveyStats(survey.getId(), responses, average(totalScore, responses), sections, questions);
+        }
+    }
+
+    private static double average(double sum, long count) {
+        return count > 0 ? sum / count : 0.0;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 2:58:12 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.survey.model.SurveyInvalidation;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies invalidations received from {@link SurveyInvalidationBus} to this
+ * node's {@link CompiledSurveyCache}.
+ */
+@Slf4j
+@Component
+public class SurveyCacheInvalidator {
+
+    private final CompiledSurveyCache cache;
+
+    public SurveyCacheInvalidator(CompiledSurveyCache cache, SurveyInvalidationBus bus) {
+        this.cache = cache;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    void onInvalidation(SurveyInvalidation invalidation) {
+        if (cache.invalidate(invalidation.surveyId(), invalidation.updatedAt())) {
+            log.debug("Evicted compiled survey {} older than {}", invalidation.surveyId(), invalidation.updatedAt());
+        }
+    }
+}
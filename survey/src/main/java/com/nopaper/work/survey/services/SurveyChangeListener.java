@@ -0,0 +1,149 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 3:06:40 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.enums.SurveyStatus;
+import com.nopaper.work.survey.model.SurveyInvalidation;
+import com.nopaper.work.survey.scoring.ScoringFormula;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JPA entity listener on {@link Survey} that announces definition changes.
+ *
+ * After the transaction that updated (Survey.updatedAt bumped by
+ * @UpdateTimestamp) or deleted a survey commits, it drops the Redis (L2)
+ * copy and broadcasts a {@link SurveyInvalidation} so every node drops its
+ * in-process snapshot. Nothing is published for rolled-back transactions.
+ *
+ * After inserts and updates commit it also hands the survey's status and
+ * expiry to SurveyExpiryService, so expiries set or changed between
+ * sweeps are still enforced on time.
+ *
+ * Before insert/update it also checks the syntax of a FORMULA_BASED
+ * survey's scoring formula, and has SurveyFormulaValidator check it
+ * against the survey's sections and questions before commit, so a broken
+ * formula is rejected on save rather than when the survey is first served.
+ *
+ * Changes to sections, questions and options are announced through
+ * SurveyTreeChangeListener, which bumps the survey's updatedAt.
+ *
+ * Hibernate obtains this listener from the Spring context, so collaborators
+ * are resolved lazily to stay out of the EntityManagerFactory bootstrap.
+ */
+@Slf4j
+@Component
+public class SurveyChangeListener {
+
+    private final ObjectProvider<SurveyInvalidationBus> bus;
+    private final ObjectProvider<RedisSurveyDefinitionCache> sharedCache;
+    private final ObjectProvider<SurveyExpiryService> expiryService;
+    private final ObjectProvider<SurveyFormulaValidator> formulaValidator;
+
+    public SurveyChangeListener(ObjectProvider<SurveyInvalidationBus> bus,
+                                ObjectProvider<RedisSurveyDefinitionCache> sharedCache,
+                                ObjectProvider<SurveyExpiryService> expiryService,
+                                ObjectProvider<SurveyFormulaValidator> formulaValidator) {
+        this.bus = bus;
+        this.sharedCache = sharedCache;
+        this.expiryService = expiryService;
+        this.formulaValidator = formulaValidator;
+    }
+
+    @PostLoad
+    public void afterLoad(Survey survey) {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            formulaValidator.getObject().watch();
+        }
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void beforeSave(Survey survey) {
+        if (survey.getScoringType() == ScoringType.FORMULA_BASED) {
+            ScoringFormula.validate(survey.getScoringFormula());
+            formulaValidator.getObject().surveyChanged(survey);
+        }
+    }
+
+    @PostPersist
+    public void afterInsert(Survey survey) {
+        afterCommit(trackExpiry(survey));
+    }
+
+    @PostUpdate
+    public void afterUpdate(Survey survey) {
+        SurveyInvalidation invalidation = new SurveyInvalidation(survey.getId(), survey.getUpdatedAt());
+        Runnable trackExpiry = trackExpiry(survey);
+        afterCommit(() -> {
+            announce(invalidation);
+            trackExpiry.run();
+        });
+    }
+
+    @PostRemove
+    public void afterRemove(Survey survey) {
+        SurveyInvalidation invalidation = new SurveyInvalidation(survey.getId(), SurveyInvalidation.DELETED);
+        afterCommit(() -> {
+            announce(invalidation);
+            expiryService.getObject().track(invalidation.surveyId(), null, null);
+        });
+    }
+
+    /**
+     * Captures the saved expiry now: the entity may change again before commit.
+     */
+    private Runnable trackExpiry(Survey survey) {
+        UUID surveyId = survey.getId();
+        SurveyStatus status = survey.getStatus();
+        LocalDateTime expiresAt = survey.getExpiresAt();
+        return () -> expiryService.getObject().track(surveyId, status, expiresAt);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Drop the Redis copy and broadcast the new version. Runs after commit,
+     * so Redis failures are only logged.
+     */
+    void announce(SurveyInvalidation invalidation) {
+        sharedCache.getObject().evict(invalidation.surveyId());
+        try {
+            bus.getObject().publish(invalidation);
+        } catch (DataAccessException e) {
+            log.warn("Could not broadcast new version of survey {}: {}", invalidation.surveyId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:14:09 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.nopaper.work.survey.errors.SurveyNotFoundException;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves compiled survey definitions to the respondent-facing paths.
+ *
+ * Lookup order:
+ * 1. {@link CompiledSurveyCache} (L1, in-process)
+ * 2. {@link RedisSurveyDefinitionCache} (L2, shared by all nodes)
+ * 3. {@link SurveyTreeLoader} (one query per level) + compile
+ *
+ * Once a survey is in L1, serving it never opens a transaction or touches JPA.
+ */
+@Slf4j
+@Service
+public class SurveyDefinitionService {
+
+    private final SurveyTreeLoader treeLoader;
+    private final CompiledSurveyCache cache;
+    private final RedisSurveyDefinitionCache sharedCache;
+
+    public SurveyDefinitionService(SurveyTreeLoader treeLoader,
+                                   CompiledSurveyCache cache,
+                                   RedisSurveyDefinitionCache sharedCache) {
+        this.treeLoader = treeLoader;
+        this.cache = cache;
+        this.sharedCache = sharedCache;
+    }
+
+    /**
+     * Get the compiled definition of a survey.
+     *
+     * @param surveyId Survey id
+     * @return Compiled snapshot
+     * @throws SurveyNotFoundException if the survey does not exist
+     */
+    public CompiledSurvey getCompiledSurvey(UUID surveyId) {
+        return cache.get(surveyId, id -> loadShared(id, null));
+    }
+
+    /**
+     * Get the compiled definition of a survey at least as new as the given version.
+     *
+     * @param surveyId  Survey id
+     * @param updatedAt Survey.updatedAt known to the caller
+     * @return Compiled snapshot
+     * @throws SurveyNotFoundException if the survey does not exist
+     */
+    public CompiledSurvey getCompiledSurvey(UUID surveyId, LocalDateTime updatedAt) {
+        return cache.get(surveyId, updatedAt, id -> loadShared(id, updatedAt));
+    }
+
+    /**
+     * Load from L2, falling back to the database when L2 is older than both
+     * the requested version and the version last announced by an invalidation,
+     * or has the survey as missing although a version of it is known.
+     */
+    private CompiledSurvey loadShared(UUID surveyId, LocalDateTime updatedAt) {
+        LocalDateTime required = cache.minimumVersion(surveyId);
+        if (required == null || (updatedAt != null && updatedAt.isAfter(required))) {
+            required = updatedAt;
+        }
+        CompiledSurvey shared;
+        try {
+            shared = sharedCache.get(surveyId, this::compile);
+        } catch (SurveyNotFoundException e) {
+            if (required == null) {
+                throw e;
+            }
+            shared = null;
+        }
+        if (shared != null && !shared.isOlderThan(required)) {
+            return shared;
+        }
+        CompiledSurvey fresh = compile(surveyId);
+        sharedCache.put(fresh);
+        return fresh;
+    }
+
+    /**
+     * Compile a survey straight from the database, bypassing the cache.
+     *
+     * @param surveyId Survey id
+     * @return Freshly compiled snapshot
+     * @throws SurveyNotFoundException if the survey does not exist
+     */
+    public CompiledSurvey compile(UUID surveyId) {
+        CompiledSurvey compiled = treeLoader.load(surveyId)
+                .map(CompiledSurvey::compile)
+                .orElseThrow(() -> new SurveyNotFoundException(surveyId));
+        if (compiled.hasPartialQuestionTimeLimits()) {
+            log.warn("Survey {} has time limits on only some questions; its responses are untimed", surveyId);
+        }
+        return compiled;
+    }
+}
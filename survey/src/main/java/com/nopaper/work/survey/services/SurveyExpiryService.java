@@ -0,0 +1,210 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 12:31:05 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.enums.SurveyStatus;
+import com.nopaper.work.survey.model.SurveyInvalidation;
+import com.nopaper.work.survey.repository.SurveyExpiryWriter;
+import com.nopaper.work.survey.repository.SurveyExpiryWriter.ExpiryRow;
+import com.nopaper.work.survey.timer.HashedTimerWheel;
+import com.nopaper.work.survey.timer.HashedTimerWheel.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves ACTIVE and PAUSED surveys to EXPIRED once expiresAt has passed.
+ *
+ * Every app.survey.expiry-check-interval a sweep:
+ * - Expires every due survey in keyset-paginated batches (SurveyExpiryWriter);
+ *   the first sweep scans from the start of idx_survey_expires_at, later
+ *   ones only from one interval before the previous sweep
+ * - Schedules every survey expiring before the next sweep (plus a margin)
+ *   on an in-memory timer wheel with one-second ticks
+ * Surveys saved in between are (re)scheduled by SurveyChangeListener
+ * through track. When timers fire, their surveys are expired in one batch
+ * that re-checks expires_at, so an extended expiry is respected. Closure
+ * therefore happens within about a second of expiresAt.
+ *
+ * Every transition evicts the Redis copy of the definition and broadcasts
+ * a SurveyInvalidation (updated_at is bumped), like an entity update.
+ *
+ * Every node runs the sweeper; transitions are idempotent, so a survey
+ * expired by several nodes is only flipped and announced once.
+ */
+@Slf4j
+@Service
+public class SurveyExpiryService {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final long TICK_MILLIS = 1000;
+
+    /**
+     * 4096 one-second buckets: one revolution covers the default hourly sweep.
+     */
+    private static final int WHEEL_SIZE = 4096;
+
+    /**
+     * Timers are kept a little past the next sweep, in case it runs late.
+     */
+    private static final long HORIZON_MARGIN_SECONDS = 300;
+
+    private final SurveyExpiryWriter writer;
+    private final RedisSurveyDefinitionCache sharedCache;
+    private final SurveyInvalidationBus bus;
+    private final SurveyProperties properties;
+
+    private final HashedTimerWheel<UUID> wheel = new HashedTimerWheel<>(TICK_MILLIS, WHEEL_SIZE,
+            System.currentTimeMillis());
+    private final Map<UUID, Timer<UUID>> timers = new ConcurrentHashMap<>();
+    private volatile LocalDateTime watermark = SurveyExpiryWriter.SCAN_START;
+
+    public SurveyExpiryService(SurveyExpiryWriter writer,
+                               RedisSurveyDefinitionCache sharedCache,
+                               SurveyInvalidationBus bus,
+                               SurveyProperties properties) {
+        this.writer = writer;
+        this.sharedCache = sharedCache;
+        this.bus = bus;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        wheel.start("survey-expiry", this::expireDue);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        wheel.stop();
+    }
+
+    /**
+     * Expire due surveys and schedule those due before the next sweep.
+     */
+    @Scheduled(fixedDelayString = "${app.survey.expiry-check-interval:3600}", timeUnit = TimeUnit.SECONDS)
+    public void sweep() {
+        LocalDateTime now = now();
+        long expired = 0;
+        ExpiryRow last = null;
+        List<ExpiryRow> page;
+        do {
+            page = writer.expirePage(now, watermark, last, BATCH_SIZE);
+            for (ExpiryRow row : page) {
+                untrack(row.surveyId());
+                if (row.flipped()) {
+                    announce(row.surveyId(), now);
+                    expired++;
+                }
+            }
+            last = page.isEmpty() ? last : page.getLast();
+        } while (page.size() == BATCH_SIZE);
+        watermark = now.minusSeconds(properties.getExpiryCheckInterval());
+
+        long scheduled = 0;
+        last = null;
+        do {
+            page = writer.findExpiring(now, horizon(now), last, BATCH_SIZE);
+            for (ExpiryRow row : page) {
+                schedule(row.surveyId(), row.expiresAt());
+            }
+            scheduled += page.size();
+            last = page.isEmpty() ? last : page.getLast();
+        } while (page.size() == BATCH_SIZE);
+
+        log.debug("Expiry sweep: {} surveys expired, {} scheduled, {} timers pending", expired, scheduled,
+                wheel.size());
+    }
+
+    /**
+     * (Re)schedule a saved survey's expiry, or drop its timer if it can no
+     * longer expire or expires after the next sweep.
+     */
+    public void track(UUID surveyId, SurveyStatus status, LocalDateTime expiresAt) {
+        boolean expiring = status == SurveyStatus.ACTIVE || status == SurveyStatus.PAUSED;
+        if (!expiring || expiresAt == null || expiresAt.isAfter(horizon(now()))) {
+            untrack(surveyId);
+            return;
+        }
+        schedule(surveyId, expiresAt);
+    }
+
+    private void schedule(UUID surveyId, LocalDateTime expiresAt) {
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        timers.compute(surveyId, (id, current) -> {
+            if (current != null && current.deadlineMillis() == deadline && !current.isCancelled()
+                    && !current.isExpired()) {
+                return current;
+            }
+            if (current != null) {
+                current.cancel();
+            }
+            return wheel.schedule(id, deadline);
+        });
+    }
+
+    private void untrack(UUID surveyId) {
+        Timer<UUID> timer = timers.remove(surveyId);
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    /**
+     * Runs on the wheel thread with every survey whose timer fired in one tick.
+     */
+    private void expireDue(List<UUID> due) {
+        for (UUID surveyId : due) {
+            timers.computeIfPresent(surveyId, (id, timer) -> timer.isExpired() ? null : timer);
+        }
+        LocalDateTime now = now();
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<UUID> batch = due.subList(from, Math.min(due.size(), from + BATCH_SIZE));
+            try {
+                for (UUID surveyId : writer.expire(batch, now)) {
+                    announce(surveyId, now);
+                }
+            } catch (DataAccessException e) {
+                // The next sweep expires them.
+                log.warn("Could not expire {} surveys: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void announce(UUID surveyId, LocalDateTime updatedAt) {
+        log.info("Survey {} expired", surveyId);
+        sharedCache.evict(surveyId);
+        bus.publish(new SurveyInvalidation(surveyId, updatedAt));
+    }
+
+    private LocalDateTime horizon(LocalDateTime now) {
+        return now.plusSeconds(properties.getExpiryCheckInterval() + HORIZON_MARGIN_SECONDS);
+    }
+
+    /**
+     * PostgreSQL keeps microseconds: announce the version as stored.
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 19-Oct-2026 2:47:10 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.entity.SurveySection;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.scoring.ScoringFormula;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Checks FORMULA_BASED scoring formulas against the surveys they score,
+ * before the transaction that changed them commits.
+ *
+ * A formula may only reference questions and sections the survey has
+ * (Q1..Qn, S1..Sm), so it is compiled against the survey's stored section
+ * and question counts whenever the survey itself, or its sections or
+ * questions, were inserted, updated or deleted. A formula that no longer
+ * fits rolls the transaction back with InvalidFormulaException.
+ *
+ * Entity callbacks (SurveyChangeListener, SurveyTreeChangeListener) report
+ * the changes. Updates are only detected when the persistence context
+ * flushes, which a plain commit does after every beforeCommit callback; so
+ * read-write transactions that load a survey, section or question register
+ * the check up front, and it flushes first, then checks what the flush
+ * reported.
+ */
+@Service
+public class SurveyFormulaValidator {
+
+    private static final String COUNTS =
+            "select s.id, s.scoringFormula,"
+                    + " (select count(sec) from SurveySection sec where sec.survey = s),"
+                    + " (select count(q) from Question q where q.section.survey = s)"
+                    + " from Survey s where s.scoringType = :scoringType"
+                    + " and (s.id in :surveyIds"
+                    + " or s.id in (select sec.survey.id from SurveySection sec where sec.id in :sectionIds))";
+
+    /**
+     * Never a real id: keeps the IN lists non-empty.
+     */
+    private static final UUID NONE = new UUID(0, 0);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Make the current read-write transaction check changed formulas before it commits.
+     */
+    void watch() {
+        pending();
+    }
+
+    /**
+     * The survey was saved, or its sections were inserted, updated or deleted.
+     */
+    void surveyChanged(Survey survey) {
+        PendingCheck check = pending();
+        if (check != null && survey != null) {
+            check.surveys.add(survey);
+        }
+    }
+
+    /**
+     * Questions of the section were inserted, updated or deleted.
+     */
+    void sectionChanged(SurveySection section) {
+        PendingCheck check = pending();
+        if (check != null && section != null) {
+            check.sections.add(section);
+        }
+    }
+
+    /**
+     * @return Check of the current transaction, null outside a read-write one
+     */
+    private PendingCheck pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        PendingCheck check = (PendingCheck) TransactionSynchronizationManager.getResource(this);
+        if (check == null) {
+            check = new PendingCheck();
+            TransactionSynchronizationManager.bindResource(this, check);
+            TransactionSynchronizationManager.registerSynchronization(check);
+        }
+        return check;
+    }
+
+    /**
+     * Surveys and sections changed in one transaction. Entities are kept
+     * rather than ids: a survey's id may not be generated yet when it is persisted.
+     */
+    private final class PendingCheck implements TransactionSynchronization {
+
+        private final List<Survey> surveys = new ArrayList<>();
+        private final List<SurveySection> sections = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (readOnly) {
+                return;
+            }
+            entityManager.flush();
+            if (surveys.isEmpty() && sections.isEmpty()) {
+                return;
+            }
+            List<Object[]> rows = entityManager.createQuery(COUNTS, Object[].class)
+                    .setParameter("scoringType", ScoringType.FORMULA_BASED)
+                    .setParameter("surveyIds", ids(surveys.stream().map(Survey::getId).toList()))
+                    .setParameter("sectionIds", ids(sections.stream().map(SurveySection::getId).toList()))
+                    .getResultList();
+            for (Object[] row : rows) {
+                ScoringFormula.compile((String) row[1], ((Number) row[3]).intValue(), ((Number) row[2]).intValue());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SurveyFormulaValidator.this);
+        }
+
+        private static Set<UUID> ids(List<UUID> ids) {
+            Set<UUID> set = new LinkedHashSet<>(ids);
+            set.remove(null);
+            if (set.isEmpty()) {
+                set.add(NONE);
+            }
+            return set;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 2:16:50 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.util.function.Consumer;
+
+import com.nopaper.work.survey.model.SurveyInvalidation;
+
+/**
+ * Broadcast channel for survey definition invalidations across all nodes.
+ *
+ * Implementations:
+ * - RedisSurveyInvalidationBus: Redis pub/sub (app.survey.invalidation-bus=redis, default)
+ * - LocalSurveyInvalidationBus: in-process, for tests and single-node runs
+ *   (app.survey.invalidation-bus=local)
+ *
+ * Every published message is delivered to every subscriber, including the
+ * subscribers of the publishing node.
+ */
+public interface SurveyInvalidationBus {
+
+    /**
+     * Broadcast an invalidation to all nodes.
+     *
+     * @param invalidation Survey id and new version
+     */
+    void publish(SurveyInvalidation invalidation);
+
+    /**
+     * Register a handler for invalidations published by any node.
+     *
+     * @param handler Invalidation handler
+     */
+    void subscribe(Consumer<SurveyInvalidation> handler);
+}
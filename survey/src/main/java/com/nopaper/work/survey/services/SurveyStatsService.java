@@ -0,0 +1,566 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:31:58 pm
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nopaper.work.survey.dto.DistinctStats;
+import com.nopaper.work.survey.dto.QuantileStats;
+import com.nopaper.work.survey.dto.QuantileStats.Quantile;
+import com.nopaper.work.survey.dto.RankingStats;
+import com.nopaper.work.survey.dto.RankingStats.RankedOption;
+import com.nopaper.work.survey.dto.SurveyStats;
+import com.nopaper.work.survey.dto.SurveyStats.OptionStats;
+import com.nopaper.work.survey.dto.SurveyStats.QuestionStats;
+import com.nopaper.work.survey.dto.SurveyStats.SectionStats;
+import com.nopaper.work.survey.entity.SurveyAnswerSketch;
+import com.nopaper.work.survey.entity.SurveyAnswerStat;
+import com.nopaper.work.survey.entity.SurveyDistinctSketch;
+import com.nopaper.work.survey.entity.SurveyRankingStat;
+import com.nopaper.work.survey.enums.DistinctDimension;
+import com.nopaper.work.survey.enums.StatItemType;
+import com.nopaper.work.survey.errors.QuestionNotFoundException;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.repository.SurveyAnswerSketchRepository;
+import com.nopaper.work.survey.repository.SurveyAnswerSketchWriter;
+import com.nopaper.work.survey.repository.SurveyAnswerSketchWriter.SketchDelta;
+import com.nopaper.work.survey.repository.SurveyAnswerStatRepository;
+import com.nopaper.work.survey.repository.SurveyAnswerStatWriter;
+import com.nopaper.work.survey.repository.SurveyAnswerStatWriter.StatDelta;
+import com.nopaper.work.survey.repository.SurveyDistinctSketchRepository;
+import com.nopaper.work.survey.repository.SurveyDistinctSketchWriter;
+import com.nopaper.work.survey.repository.SurveyDistinctSketchWriter.DistinctDelta;
+import com.nopaper.work.survey.repository.SurveyRankingStatRepository;
+import com.nopaper.work.survey.repository.SurveyRankingStatWriter;
+import com.nopaper.work.survey.repository.SurveyRankingStatWriter.RankingDelta;
+import com.nopaper.work.survey.routing.ReadFrom;
+import com.nopaper.work.survey.routing.ReadTarget;
+import com.nopaper.work.survey.scoring.AnswerSheet;
+import com.nopaper.work.survey.scoring.ScoreCard;
+import com.nopaper.work.survey.stats.HyperLogLog;
+import com.nopaper.work.survey.stats.QuantileSketch;
+import com.nopaper.work.survey.stats.RankAggregate;
+import com.nopaper.work.survey.stats.ResponseTally;
+import com.nopaper.work.survey.stats.SurveyCounters;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incremental answer statistics: option counts, answer counts and score
+ * sums per question, section and survey, quantile sketches of NUMERIC /
+ * SLIDER values, rank aggregates of RANKING / ORDERING answers, and
+ * HyperLogLogs of distinct respondents and IP addresses.
+ *
+ * Write path:
+ * - record(...) captures a submitted response's contribution and adds it to
+ *   the survey's in-memory SurveyCounters after the transaction commits;
+ *   recordVisitor(...) adds a started response's visitor the same way
+ * - flush() periodically drains all counters into survey_answer_stat with
+ *   additive upserts (app.survey.stats-flush-interval), and merges pending
+ *   sketches into hourly survey_answer_sketch buckets, pending rank
+ *   aggregates into survey_ranking_stat and pending HyperLogLogs into daily
+ *   survey_distinct_sketch buckets; deltas of a failed flush are kept and
+ *   retried on the next one
+ *
+ * Read path:
+ * - getStats(...) reads the survey's survey_answer_stat rows plus the
+ *   not-yet-flushed increments: O(questions + options), independent of the
+ *   number of responses
+ * - getQuantiles(...) merges a question's bucket sketches over a period plus
+ *   the pending sketch and reads percentiles from the result
+ * - getRanking(...) derives Borda scores, mean ranks and pairwise
+ *   preferences from a question's stored plus pending rank aggregate, in
+ *   O(options^2)
+ * - getDistinct(...) merges the survey's daily HyperLogLogs over a period
+ *
+ * Counters are per survey version; when a survey changes, its counters are
+ * retired, flushed until empty, and replaced. Responses imported through
+ * ResponseImportService are tallied on counters of their own and handed
+ * over in one piece by recordAll(...).
+ */
+@Slf4j
+@Service
+public class SurveyStatsService {
+
+    private final SurveyDefinitionService definitionService;
+    private final SurveyAnswerStatRepository statRepository;
+    private final SurveyAnswerStatWriter statWriter;
+    private final SurveyAnswerSketchRepository sketchRepository;
+    private final SurveyAnswerSketchWriter sketchWriter;
+    private final SurveyRankingStatRepository rankingRepository;
+    private final SurveyRankingStatWriter rankingWriter;
+    private final SurveyDistinctSketchRepository distinctRepository;
+    private final SurveyDistinctSketchWriter distinctWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<UUID, SurveyCounters> counters = new ConcurrentHashMap<>();
+    private final Queue<SurveyCounters> retired = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Deltas of a failed flush, by item id. Guarded by flushLock.
+     */
+    private final Map<UUID, StatDelta> unflushed = new LinkedHashMap<>();
+
+    /**
+     * Sketches of a failed flush, by question id. Guarded by flushLock.
+     */
+    private final Map<UUID, SketchDelta> unflushedSketches = new LinkedHashMap<>();
+
+    /**
+     * Rank aggregates of a failed flush, by question id. Guarded by flushLock.
+     */
+    private final Map<UUID, RankingDelta> unflushedRankings = new LinkedHashMap<>();
+
+    /**
+     * Distinct-count sketches of a failed flush. Guarded by flushLock.
+     */
+    private final Map<DistinctKey, DistinctDelta> unflushedDistinct = new LinkedHashMap<>();
+
+    private record DistinctKey(UUID surveyId, DistinctDimension dimension) {
+    }
+
+    public SurveyStatsService(SurveyDefinitionService definitionService,
+                              SurveyAnswerStatRepository statRepository,
+                              SurveyAnswerStatWriter statWriter,
+                              SurveyAnswerSketchRepository sketchRepository,
+                              SurveyAnswerSketchWriter sketchWriter,
+                              SurveyRankingStatRepository rankingRepository,
+                              SurveyRankingStatWriter rankingWriter,
+                              SurveyDistinctSketchRepository distinctRepository,
+                              SurveyDistinctSketchWriter distinctWriter,
+                              TransactionTemplate transactionTemplate) {
+        this.definitionService = definitionService;
+        this.statRepository = statRepository;
+        this.statWriter = statWriter;
+        this.sketchRepository = sketchRepository;
+        this.sketchWriter = sketchWriter;
+        this.rankingRepository = rankingRepository;
+        this.rankingWriter = rankingWriter;
+        this.distinctRepository = distinctRepository;
+        this.distinctWriter = distinctWriter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // ========================================================================
+    // Write Path
+    // ========================================================================
+
+    /**
+     * Count a submitted response once its transaction commits.
+     *
+     * @param survey       Survey the response was scored against
+     * @param answers      Answers of the response
+     * @param card         Scores of the response
+     * @param respondentId Respondent id, null if anonymous
+     * @param ipAddress    Client IP address, may be null
+     */
+    public void record(CompiledSurvey survey, AnswerSheet answers, ScoreCard card, String respondentId,
+                       String ipAddress) {
+        ResponseTally tally = ResponseTally.of(survey, answers, card);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            SurveyCounters target = countersFor(survey);
+            target.add(tally);
+            target.addVisitor(respondentId, ipAddress);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                SurveyCounters target = countersFor(survey);
+                target.add(tally);
+                target.addVisitor(respondentId, ipAddress);
+            }
+        });
+    }
+
+    /**
+     * Count responses tallied on counters of their own (an import) once the
+     * transaction commits. The counters are drained by flush() like retired
+     * ones, so getStats(...) includes them from the next flush on.
+     *
+     * @param tallied Counters created for the responses' survey version
+     */
+    public void recordAll(SurveyCounters tallied) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            retired.add(tallied);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                retired.add(tallied);
+            }
+        });
+    }
+
+    /**
+     * Count a visitor of the survey's distinct respondent and IP address
+     * sketches once its transaction commits, whether or not the response is
+     * ever submitted. Adding the same visitor again on submit is harmless.
+     *
+     * @param survey       Survey the response was started for
+     * @param respondentId Respondent id, null if anonymous
+     * @param ipAddress    Client IP address, may be null
+     */
+    public void recordVisitor(CompiledSurvey survey, String respondentId, String ipAddress) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            countersFor(survey).addVisitor(respondentId, ipAddress);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                countersFor(survey).addVisitor(respondentId, ipAddress);
+            }
+        });
+    }
+
+    /**
+     * Write all pending increments to survey_answer_stat.
+     */
+    @Scheduled(fixedDelayString = "${app.survey.stats-flush-interval:10}", timeUnit = TimeUnit.SECONDS)
+    public void flush() {
+        // A lock, not synchronized: the flush waits on the database, which
+        // would pin the carrier of a virtual thread (Java 21).
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        Map<UUID, StatDelta> batch = new LinkedHashMap<>(unflushed);
+        Map<UUID, SketchDelta> sketches = new LinkedHashMap<>(unflushedSketches);
+        Map<UUID, RankingDelta> rankings = new LinkedHashMap<>(unflushedRankings);
+        Map<DistinctKey, DistinctDelta> distinct = new LinkedHashMap<>(unflushedDistinct);
+        for (SurveyCounters current : counters.values()) {
+            drainInto(current, batch, sketches, rankings, distinct);
+        }
+        for (Iterator<SurveyCounters> it = retired.iterator(); it.hasNext(); ) {
+            if (!drainInto(it.next(), batch, sketches, rankings, distinct)) {
+                it.remove();
+            }
+        }
+        if (batch.isEmpty() && sketches.isEmpty() && rankings.isEmpty() && distinct.isEmpty()) {
+            return;
+        }
+
+        List<StatDelta> deltas = new ArrayList<>(batch.values());
+        List<SketchDelta> sketchDeltas = new ArrayList<>(sketches.values());
+        List<RankingDelta> rankingDeltas = new ArrayList<>(rankings.values());
+        List<DistinctDelta> distinctDeltas = new ArrayList<>(distinct.values());
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                statWriter.apply(deltas);
+                sketchWriter.merge(now.truncatedTo(ChronoUnit.HOURS), sketchDeltas);
+                rankingWriter.add(rankingDeltas);
+                distinctWriter.merge(now.truncatedTo(ChronoUnit.DAYS), distinctDeltas);
+            });
+            unflushed.clear();
+            unflushedSketches.clear();
+            unflushedRankings.clear();
+            unflushedDistinct.clear();
+        } catch (DataAccessException e) {
+            log.warn("Could not flush {} answer statistics and {} sketches, retrying next cycle: {}",
+                    deltas.size(), sketchDeltas.size() + rankingDeltas.size() + distinctDeltas.size(), e.getMessage());
+            unflushed.clear();
+            unflushed.putAll(batch);
+            unflushedSketches.clear();
+            unflushedSketches.putAll(sketches);
+            unflushedRankings.clear();
+            unflushedRankings.putAll(rankings);
+            unflushedDistinct.clear();
+            unflushedDistinct.putAll(distinct);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private SurveyCounters countersFor(CompiledSurvey survey) {
+        SurveyCounters current = counters.get(survey.getId());
+        if (current != null && current.survey().isVersion(survey.getVersion())) {
+            return current;
+        }
+        current = counters.compute(survey.getId(), (id, existing) -> {
+            if (existing == null) {
+                return new SurveyCounters(survey);
+            }
+            if (existing.survey().isVersion(survey.getVersion())
+                    || survey.isOlderThan(existing.survey().getVersion())) {
+                return existing;
+            }
+            retired.add(existing);
+            return new SurveyCounters(survey);
+        });
+        if (current.survey().isVersion(survey.getVersion())) {
+            return current;
+        }
+        // Scored against a superseded snapshot: count it on that snapshot's layout.
+        SurveyCounters stale = new SurveyCounters(survey);
+        retired.add(stale);
+        return stale;
+    }
+
+    /**
+     * Merge a counters' pending increments into the batches (one entry per item).
+     *
+     * @return true if anything was drained
+     */
+    private static boolean drainInto(SurveyCounters source, Map<UUID, StatDelta> batch,
+                                     Map<UUID, SketchDelta> sketches, Map<UUID, RankingDelta> rankings,
+                                     Map<DistinctKey, DistinctDelta> distinct) {
+        UUID surveyId = source.survey().getId();
+        return source.drain(new SurveyCounters.Sink() {
+            @Override
+            public void delta(UUID itemId, StatItemType itemType, long count, double scoreSum) {
+                batch.merge(itemId, new StatDelta(itemId, surveyId, itemType, count, scoreSum),
+                        (a, b) -> new StatDelta(itemId, surveyId, itemType, a.count() + b.count(),
+                                a.scoreSum() + b.scoreSum()));
+            }
+
+            @Override
+            public void sketch(UUID questionId, QuantileSketch sketch) {
+                sketches.merge(questionId, new SketchDelta(surveyId, questionId, sketch), (a, b) -> {
+                    a.sketch().merge(b.sketch());
+                    return a;
+                });
+            }
+
+            @Override
+            public void ranking(UUID questionId, RankAggregate ranking) {
+                rankings.merge(questionId, new RankingDelta(surveyId, questionId, ranking),
+                        (a, b) -> new RankingDelta(surveyId, questionId, a.ranking().plus(b.ranking())));
+            }
+
+            @Override
+            public void distinct(DistinctDimension dimension, HyperLogLog sketch) {
+                distinct.merge(new DistinctKey(surveyId, dimension), new DistinctDelta(surveyId, dimension, sketch),
+                        (a, b) -> {
+                            a.sketch().merge(b.sketch());
+                            return a;
+                        });
+            }
+        });
+    }
+
+    // ========================================================================
+    // Read Path
+    // ========================================================================
+
+    /**
+     * @param surveyId Survey id
+     * @return Answer distribution, including increments not yet flushed
+     */
+    @ReadFrom(ReadTarget.REPLICA)
+    public SurveyStats getStats(UUID surveyId) {
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        Map<UUID, SurveyAnswerStat> stored = new HashMap<>();
+        for (SurveyAnswerStat stat : statRepository.findBySurveyId(surveyId)) {
+            stored.put(stat.getItemId(), stat);
+        }
+        SurveyCounters pending = counters.get(surveyId);
+        if (pending != null && !pending.survey().isVersion(survey.getVersion())) {
+            pending = null;
+        }
+
+        long responses = count(stored, surveyId) + (pending != null ? pending.responseCount() : 0);
+        double totalScore = sum(stored, surveyId) + (pending != null ? pending.totalScoreSum() : 0.0);
+
+        List<SectionStats> sections = new ArrayList<>(survey.sectionCount());
+        for (int s = 0; s < survey.sectionCount(); s++) {
+            UUID sectionId = survey.section(s).id();
+            double score = sum(stored, sectionId) + (pending != null ? pending.sectionScoreSum(s) : 0.0);
+            long count = count(stored, sectionId) + (pending != null ? pending.responseCount() : 0);
+            sections.add(new SectionStats(sectionId, average(score, count)));
+        }
+
+        List<QuestionStats> questions = new ArrayList<>(survey.questionCount());
+        for (int q = 0; q < survey.questionCount(); q++) {
+            UUID questionId = survey.question(q).id();
+            long answers = count(stored, questionId) + (pending != null ? pending.answerCount(q) : 0);
+            double score = sum(stored, questionId) + (pending != null ? pending.questionScoreSum(q) : 0.0);
+            List<OptionStats> options = new ArrayList<>(survey.endOption(q) - survey.firstOption(q));
+            for (int o = survey.firstOption(q); o < survey.endOption(q); o++) {
+                UUID optionId = survey.option(o).id();
+                options.add(new OptionStats(optionId,
+                        count(stored, optionId) + (pending != null ? pending.optionCount(o) : 0)));
+            }
+            questions.add(new QuestionStats(questionId, answers, average(score, answers), options));
+        }
+        return new SurveyStats(surveyId, responses, average(totalScore, responses), sections, questions);
+    }
+
+    /**
+     * @param surveyId   Survey id
+     * @param questionId NUMERIC or SLIDER question of the survey
+     * @param from       Start of the period (inclusive); truncated to the hour
+     * @param to         End of the period (exclusive)
+     * @param fractions  Ranks in [0, 1], e.g. 0.5 and 0.9
+     * @return Percentiles over the period, including values not yet flushed
+     * @throws QuestionNotFoundException if the question is unknown or not numeric
+     */
+    @ReadFrom(ReadTarget.REPLICA)
+    public QuantileStats getQuantiles(UUID surveyId, UUID questionId, LocalDateTime from, LocalDateTime to,
+                                      double[] fractions) {
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        int question = survey.questionOrdinal(questionId);
+        if (question < 0 || !SurveyCounters.hasSketch(survey.questionType(question))) {
+            throw new QuestionNotFoundException(surveyId, questionId, "No NUMERIC or SLIDER question");
+        }
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+
+        QuantileSketch merged = new QuantileSketch();
+        for (SurveyAnswerSketch bucket : sketchRepository.findBuckets(questionId, start, to)) {
+            merged.merge(QuantileSketch.fromBytes(bucket.getSketch()));
+        }
+        // Pending values belong to the current bucket.
+        LocalDateTime now = LocalDateTime.now();
+        SurveyCounters pending = counters.get(surveyId);
+        if (pending != null && pending.survey().isVersion(survey.getVersion())
+                && !now.isBefore(start) && now.isBefore(to)) {
+            merged.merge(pending.sketch(question));
+        }
+
+        List<Quantile> quantiles = new ArrayList<>(fractions.length);
+        for (double fraction : fractions) {
+            quantiles.add(new Quantile(fraction, finite(merged.quantile(fraction))));
+        }
+        return new QuantileStats(questionId, start, to, merged.count(), finite(merged.min()), finite(merged.max()),
+                quantiles);
+    }
+
+    /**
+     * @param surveyId   Survey id
+     * @param questionId RANKING or ORDERING question of the survey
+     * @return Options by consensus (Borda score), including rankings not yet flushed
+     * @throws QuestionNotFoundException if the question is unknown or not a ranking
+     */
+    @ReadFrom(ReadTarget.REPLICA)
+    public RankingStats getRanking(UUID surveyId, UUID questionId) {
+        CompiledSurvey survey = definitionService.getCompiledSurvey(surveyId);
+        int question = survey.questionOrdinal(questionId);
+        if (question < 0 || !SurveyCounters.hasRanking(survey.questionType(question))) {
+            throw new QuestionNotFoundException(surveyId, questionId, "No RANKING or ORDERING question");
+        }
+
+        // Start from the current option list so options never ranked still show up.
+        UUID[] currentOptions = new UUID[survey.endOption(question) - survey.firstOption(question)];
+        for (int o = 0; o < currentOptions.length; o++) {
+            currentOptions[o] = survey.option(survey.firstOption(question) + o).id();
+        }
+        RankAggregate aggregate = new RankAggregate(currentOptions);
+        SurveyRankingStat stored = rankingRepository.findById(questionId).orElse(null);
+        if (stored != null) {
+            aggregate = aggregate.plus(RankAggregate.fromBytes(stored.getAggregate()));
+        }
+        SurveyCounters pending = counters.get(surveyId);
+        if (pending != null && pending.survey().isVersion(survey.getVersion())) {
+            aggregate = aggregate.plus(pending.ranking(question));
+        }
+
+        // Options removed from the question drop out; the union lists current options first.
+        long[] borda = aggregate.bordaScores();
+        double[] meanRanks = aggregate.meanRanks();
+        long[][] positions = aggregate.positions();
+        long[][] allPreferences = aggregate.preferences();
+        List<Integer> order = new ArrayList<>(currentOptions.length);
+        for (int o = 0; o < currentOptions.length; o++) {
+            order.add(o);
+        }
+        order.sort(Comparator.comparingLong((Integer o) -> borda[o]).reversed());
+
+        List<RankedOption> options = new ArrayList<>(order.size());
+        long[][] preferences = new long[order.size()][order.size()];
+        for (int i = 0; i < order.size(); i++) {
+            int a = order.get(i);
+            options.add(new RankedOption(currentOptions[a], borda[a], finite(meanRanks[a]), positions[a]));
+            for (int j = 0; j < order.size(); j++) {
+                preferences[i][j] = allPreferences[a][order.get(j)];
+            }
+        }
+        return new RankingStats(questionId, aggregate.responses(), options, preferences);
+    }
+
+    /**
+     * @param surveyId Survey id
+     * @param from     Start of the period (inclusive); truncated to the day
+     * @param to       End of the period (exclusive)
+     * @return Estimated distinct respondents and IP addresses over the period,
+     *         including visitors not yet flushed
+     */
+    @ReadFrom(ReadTarget.REPLICA)
+    public DistinctStats getDistinct(UUID surveyId, LocalDateTime from, LocalDateTime to) {
+        definitionService.getCompiledSurvey(surveyId);
+        LocalDateTime start = from.truncatedTo(ChronoUnit.DAYS);
+
+        Map<DistinctDimension, HyperLogLog> merged = new EnumMap<>(DistinctDimension.class);
+        for (DistinctDimension dimension : DistinctDimension.values()) {
+            merged.put(dimension, new HyperLogLog());
+        }
+        for (SurveyDistinctSketch bucket : distinctRepository.findBuckets(surveyId, start, to)) {
+            merged.get(bucket.getDimension()).merge(HyperLogLog.fromBytes(bucket.getSketch()));
+        }
+        // Pending visitors belong to the current bucket; a union counts them once even if already flushed.
+        LocalDateTime now = LocalDateTime.now();
+        SurveyCounters pending = counters.get(surveyId);
+        if (pending != null && !now.isBefore(start) && now.isBefore(to)) {
+            for (DistinctDimension dimension : DistinctDimension.values()) {
+                merged.get(dimension).merge(pending.distinct(dimension));
+            }
+        }
+        return new DistinctStats(surveyId, start, to, merged.get(DistinctDimension.RESPONDENT).estimate(),
+                merged.get(DistinctDimension.IP_ADDRESS).estimate());
+    }
+
+    private static Double finite(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static long count(Map<UUID, SurveyAnswerStat> stored, UUID itemId) {
+        SurveyAnswerStat stat = stored.get(itemId);
+        return stat != null ? stat.getAnswerCount() : 0;
+    }
+
+    private static double sum(Map<UUID, SurveyAnswerStat> stored, UUID itemId) {
+        SurveyAnswerStat stat = stored.get(itemId);
+        return stat != null ? stat.getScoreSum() : 0.0;
+    }
+
+    private static double average(double sum, long count) {
+        return count > 0 ? sum / count : 0.0;
+    }
+}
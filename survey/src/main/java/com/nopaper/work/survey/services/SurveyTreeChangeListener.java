@@ -0,0 +1,152 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 19-Oct-2026 10:31:05 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.entity.QuestionOption;
+import com.nopaper.work.survey.entity.SurveySection;
+import com.nopaper.work.survey.model.SurveyInvalidation;
+import com.nopaper.work.survey.repository.SurveyVersionWriter;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JPA entity listener on {@link SurveySection}, {@link Question} and
+ * {@link QuestionOption} that announces changes to a survey's tree.
+ *
+ * Such changes leave Survey.updatedAt, the version of every cached
+ * definition, unchanged. The parent ids of all rows inserted, updated or
+ * deleted in a transaction are collected; once it commits, their surveys
+ * get a new updated_at (SurveyVersionWriter) and are announced like a
+ * survey update (SurveyChangeListener). Parent ids are read from the
+ * association's identifier, so no lazy parent is loaded during flush.
+ *
+ * Sections and questions inserted, updated or deleted are also reported to
+ * SurveyFormulaValidator, which re-checks the survey's scoring formula
+ * against its new shape before commit.
+ *
+ * Hibernate obtains this listener from the Spring context, so collaborators
+ * are resolved lazily to stay out of the EntityManagerFactory bootstrap.
+ */
+@Slf4j
+@Component
+public class SurveyTreeChangeListener {
+
+    private final ObjectProvider<SurveyVersionWriter> versionWriter;
+    private final ObjectProvider<SurveyChangeListener> surveyListener;
+    private final ObjectProvider<SurveyFormulaValidator> formulaValidator;
+
+    public SurveyTreeChangeListener(ObjectProvider<SurveyVersionWriter> versionWriter,
+                                    ObjectProvider<SurveyChangeListener> surveyListener,
+                                    ObjectProvider<SurveyFormulaValidator> formulaValidator) {
+        this.versionWriter = versionWriter;
+        this.surveyListener = surveyListener;
+        this.formulaValidator = formulaValidator;
+    }
+
+    @PostLoad
+    public void afterLoad(Object entity) {
+        if (!(entity instanceof QuestionOption) && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            formulaValidator.getObject().watch();
+        }
+    }
+
+    @PrePersist
+    @PreUpdate
+    @PreRemove
+    public void beforeChange(Object entity) {
+        if (entity instanceof SurveySection section) {
+            formulaValidator.getObject().surveyChanged(section.getSurvey());
+        } else if (entity instanceof Question question) {
+            formulaValidator.getObject().sectionChanged(question.getSection());
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Object entity) {
+        TreeChanges changes = changes();
+        if (entity instanceof SurveySection section) {
+            changes.surveyIds.add(section.getSurvey().getId());
+        } else if (entity instanceof Question question) {
+            changes.sectionIds.add(question.getSection().getId());
+        } else if (entity instanceof QuestionOption option) {
+            changes.questionIds.add(option.getQuestion().getId());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changes.afterCommit();
+        }
+    }
+
+    /**
+     * @return The changes collected in the current transaction, or a fresh
+     *         set to apply right away outside of one
+     */
+    private TreeChanges changes() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new TreeChanges();
+        }
+        TreeChanges changes = (TreeChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new TreeChanges();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Parent ids of the rows changed in one transaction.
+     */
+    private final class TreeChanges implements TransactionSynchronization {
+
+        private final Set<UUID> surveyIds = new LinkedHashSet<>();
+        private final Set<UUID> sectionIds = new LinkedHashSet<>();
+        private final Set<UUID> questionIds = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            Map<UUID, LocalDateTime> versions;
+            try {
+                // PostgreSQL keeps microseconds: the returned versions are the stored ones.
+                versions = versionWriter.getObject().touch(surveyIds, sectionIds, questionIds,
+                        LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+            } catch (DataAccessException e) {
+                log.warn("Could not bump the version of surveys changed below the survey row: {}", e.getMessage());
+                return;
+            }
+            versions.forEach((surveyId, updatedAt) ->
+                    surveyListener.getObject().announce(new SurveyInvalidation(surveyId, updatedAt)));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SurveyTreeChangeListener.this);
+        }
+    }
+}
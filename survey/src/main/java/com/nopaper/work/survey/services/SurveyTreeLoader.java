@@ -0,0 +1,155 @@
+/**
+ * @package com.nopaper.work.survey.services -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:48:02 am
+ * @git
+ */
+package com.nopaper.work.survey.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nopaper.work.survey.config.QueryCountingStatementInspector;
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.entity.QuestionOption;
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.entity.SurveySection;
+import com.nopaper.work.survey.routing.ReadFrom;
+import com.nopaper.work.survey.routing.ReadTarget;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Loads a complete survey definition tree in a bounded number of queries.
+ *
+ * Walking Survey.sections -> questions -> options through the lazy
+ * collections costs one select per collection (N+1). This loader instead
+ * issues exactly one query per level, all filtered by survey id:
+ *
+ * 1. survey
+ * 2. survey_section  where survey_id = ?
+ * 3. question        join survey_section where survey_id = ?
+ * 4. question_option join question join survey_section where survey_id = ?
+ *
+ * and reassembles the tree in memory. The returned graph is detached and
+ * its collections are plain lists, so it can be handed to
+ * CompiledSurvey.compile(...) outside the transaction.
+ *
+ * A load joins the caller's transaction, if any, so it never takes a
+ * second pooled connection; the respondent-facing services resolve their
+ * CompiledSurvey before opening one, so a cache miss (and the wait of
+ * CompiledSurveyCache and RedisSurveyDefinitionCache for another loader)
+ * holds no connection at all. Only the entities the load read are
+ * detached, not the rest of the caller's persistence context; a caller
+ * must not hold entities of the survey being loaded.
+ *
+ * Metrics (Actuator):
+ * - survey.tree.load.queries: SQL statements issued per load, as counted by
+ *   QueryCountingStatementInspector (a rise above 4 means something lazy-loads)
+ * - survey.tree.load: load latency
+ *
+ * Always reads from the primary: a changed survey is evicted when the
+ * change commits (SurveyCacheInvalidator) and reloaded by the next request,
+ * so a lagging replica could put the old definition back in the cache.
+ */
+@Service
+public class SurveyTreeLoader {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DistributionSummary queryCount;
+    private final Timer loadTimer;
+
+    public SurveyTreeLoader(MeterRegistry meterRegistry) {
+        this.queryCount = DistributionSummary.builder("survey.tree.load.queries")
+                .description("SQL statements issued to load one survey definition tree")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("survey.tree.load")
+                .description("Time to load one survey definition tree")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load a survey with all sections, questions and options.
+     *
+     * @param surveyId Survey id
+     * @return Detached, fully assembled survey, or empty if it does not exist
+     */
+    @ReadFrom(ReadTarget.PRIMARY)
+    @Transactional(readOnly = true)
+    public Optional<Survey> load(UUID surveyId) {
+        long startCount = QueryCountingStatementInspector.currentCount();
+        Timer.Sample sample = Timer.start();
+        try {
+            return Optional.ofNullable(entityManager.find(Survey.class, surveyId))
+                    .map(this::loadTree);
+        } finally {
+            sample.stop(loadTimer);
+            queryCount.record(QueryCountingStatementInspector.currentCount() - startCount);
+        }
+    }
+
+    private Survey loadTree(Survey survey) {
+        UUID surveyId = survey.getId();
+
+        List<SurveySection> sections = entityManager.createQuery(
+                "select s from SurveySection s"
+                        + " where s.survey.id = :surveyId"
+                        + " order by s.displayOrder", SurveySection.class)
+                .setParameter("surveyId", surveyId)
+                .getResultList();
+
+        List<Question> questions = entityManager.createQuery(
+                "select q from Question q join q.section s"
+                        + " where s.survey.id = :surveyId"
+                        + " order by s.displayOrder, q.displayOrder", Question.class)
+                .setParameter("surveyId", surveyId)
+                .getResultList();
+
+        List<QuestionOption> options = entityManager.createQuery(
+                "select o from QuestionOption o join o.question q join q.section s"
+                        + " where s.survey.id = :surveyId"
+                        + " order by s.displayOrder, q.displayOrder, o.displayOrder", QuestionOption.class)
+                .setParameter("surveyId", surveyId)
+                .getResultList();
+
+        // Detach before replacing the mapped collections, so the plain lists
+        // below are never mistaken for orphan removals on flush. Only this
+        // load's entities: a joined caller's context keeps everything else.
+        options.forEach(entityManager::detach);
+        questions.forEach(entityManager::detach);
+        sections.forEach(entityManager::detach);
+        entityManager.detach(survey);
+
+        Map<UUID, List<QuestionOption>> optionsByQuestion = new HashMap<>(questions.size() * 2);
+        for (QuestionOption option : options) {
+            optionsByQuestion.computeIfAbsent(option.getQuestion().getId(), id -> new ArrayList<>()).add(option);
+        }
+
+        Map<UUID, List<Question>> questionsBySection = new HashMap<>(sections.size() * 2);
+        for (Question question : questions) {
+            question.setOptions(optionsByQuestion.getOrDefault(question.getId(), new ArrayList<>()));
+            questionsBySection.computeIfAbsent(question.getSection().getId(), id -> new ArrayList<>()).add(question);
+        }
+
+        for (SurveySection section : sections) {
+            section.setQuestions(questionsBySection.getOrDefault(section.getId(), new ArrayList<>()));
+        }
+        survey.setSections(sections);
+        survey.setResponses(null);
+
+        return survey;
+    }
+}
@@ -0,0 +1,269 @@
+/**
+ * @package com.nopaper.work.survey.stats -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 1:41:05 am
+ * @git
+ */
+package com.nopaper.work.survey.stats;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-count estimator over 64-bit hashes.
+ *
+ * 2^p registers each keep the maximum leading-zero rank seen among the
+ * hashes routed to them. The standard error is 1.04 / sqrt(2^p): 1.6% at
+ * the default p = 12 (4096 registers). Small cardinalities use linear
+ * counting; with 64-bit hashes no large-range correction is needed.
+ *
+ * Merging is a register-wise maximum, so sketches from several nodes and
+ * time buckets combine in any order into the sketch of the union.
+ *
+ * Serialized form picks the smaller of:
+ * - sparse: (register index, rank) pairs of the non-zero registers
+ * - dense: all registers packed at 6 bits each (3 KB at p = 12)
+ *
+ * Thread-safe: all methods synchronize on the sketch.
+ */
+public final class HyperLogLog {
+
+    /**
+     * Default precision (number of index bits).
+     */
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte SPARSE = 0;
+    private static final byte DENSE = 1;
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 16;
+
+    private final int precision;
+    private final byte[] registers;
+    private int nonZero;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision Index bits, 4..16; registers = 2^precision
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(
+                    "Precision must be in [" + MIN_PRECISION + ", " + MAX_PRECISION + "]: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    // ========================================================================
+    // Updates
+    // ========================================================================
+
+    /**
+     * Add a string value; null is ignored.
+     */
+    public void add(String value) {
+        if (value != null) {
+            addHash(hash(value));
+        }
+    }
+
+    /**
+     * Add a value by its 64-bit hash (see hash(String)).
+     */
+    public synchronized void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // Rank = position of the first 1 bit in the remaining bits; the guard bit caps it.
+        long rest = (hash << precision) | (1L << (precision - 1));
+        set(index, (byte) (Long.numberOfLeadingZeros(rest) + 1));
+    }
+
+    /**
+     * Fold another sketch into this one (union). The other sketch is not modified.
+     *
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLogs with precision "
+                    + other.precision + " and " + precision);
+        }
+        byte[] source;
+        synchronized (other) {
+            source = other.registers.clone();
+        }
+        synchronized (this) {
+            for (int i = 0; i < source.length; i++) {
+                set(i, source[i]);
+            }
+        }
+    }
+
+    /**
+     * Atomically take the current content and clear this sketch.
+     *
+     * @return Sketch holding everything added since the last take
+     */
+    public synchronized HyperLogLog takeAndReset() {
+        HyperLogLog taken = new HyperLogLog(precision);
+        System.arraycopy(registers, 0, taken.registers, 0, registers.length);
+        taken.nonZero = nonZero;
+        Arrays.fill(registers, (byte) 0);
+        nonZero = 0;
+        return taken;
+    }
+
+    // ========================================================================
+    // Queries
+    // ========================================================================
+
+    /**
+     * @return true if nothing was added
+     */
+    public synchronized boolean isEmpty() {
+        return nonZero == 0;
+    }
+
+    /**
+     * @return Estimated number of distinct values added
+     */
+    public synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0.0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Double.longBitsToDouble((1023L - register) << 52); // 2^-register
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 64-bit hash of a string's UTF-8 bytes (FNV-1a with a MurmurHash3 finalizer).
+     */
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    // ========================================================================
+    // Serialization
+    // ========================================================================
+
+    /**
+     * Format: version (1), precision (1), encoding (1), then
+     * sparse: count (4) and per non-zero register index (2) + rank (1), or
+     * dense: 2^precision registers packed at 6 bits, big-endian bit order.
+     */
+    public synchronized byte[] toBytes() {
+        int sparseSize = 3 + 4 + 3 * nonZero;
+        int denseSize = 3 + (registers.length * 6 + 7) / 8;
+        if (sparseSize <= denseSize) {
+            ByteBuffer buffer = ByteBuffer.allocate(sparseSize);
+            buffer.put(FORMAT_VERSION).put((byte) precision).put(SPARSE).putInt(nonZero);
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] != 0) {
+                    buffer.putShort((short) i).put(registers[i]);
+                }
+            }
+            return buffer.array();
+        }
+        byte[] data = new byte[denseSize];
+        data[0] = FORMAT_VERSION;
+        data[1] = (byte) precision;
+        data[2] = DENSE;
+        for (int i = 0; i < registers.length; i++) {
+            int bit = i * 6;
+            int value = registers[i] << 2; // 6 bits, left-aligned in a byte
+            data[3 + bit / 8] |= (byte) (value >>> (bit % 8));
+            if (bit % 8 > 2) {
+                data[3 + bit / 8 + 1] |= (byte) (value << (8 - bit % 8));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * @param data Bytes produced by toBytes()
+     * @return Sketch
+     * @throws IllegalArgumentException if the data has another format version or is corrupt
+     */
+    public static HyperLogLog fromBytes(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            byte format = buffer.get();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported HyperLogLog format: " + format);
+            }
+            HyperLogLog sketch = new HyperLogLog(buffer.get());
+            byte encoding = buffer.get();
+            if (encoding == SPARSE) {
+                int count = buffer.getInt();
+                for (int i = 0; i < count; i++) {
+                    int index = buffer.getShort() & 0xFFFF;
+                    if (index >= sketch.registers.length) {
+                        throw new IllegalArgumentException("Corrupt HyperLogLog: register " + index);
+                    }
+                    sketch.set(index, buffer.get());
+                }
+            } else if (encoding == DENSE) {
+                if (data.length != 3 + (sketch.registers.length * 6 + 7) / 8) {
+                    throw new IllegalArgumentException("Corrupt HyperLogLog: " + data.length + " bytes");
+                }
+                for (int i = 0; i < sketch.registers.length; i++) {
+                    int bit = i * 6;
+                    int value = (data[3 + bit / 8] & 0xFF) << 8;
+                    if (3 + bit / 8 + 1 < data.length) {
+                        value |= data[3 + bit / 8 + 1] & 0xFF;
+                    }
+                    sketch.set(i, (byte) ((value >>> (10 - bit % 8)) & 0x3F));
+                }
+            } else {
+                throw new IllegalArgumentException("Corrupt HyperLogLog: encoding " + encoding);
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt HyperLogLog data", e);
+        }
+    }
+
+    private void set(int index, byte rank) {
+        byte current = registers[index];
+        if (rank > current) {
+            if (current == 0) {
+                nonZero++;
+            }
+            registers[index] = rank;
+        }
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1.0 + 1.079 / m);
+        };
+    }
+}
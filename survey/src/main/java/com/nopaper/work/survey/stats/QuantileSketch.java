@@ -0,0 +1,361 @@
+/**
+ * @package com.nopaper.work.survey.stats -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 12:14:37 am
+ * @git
+ */
+package com.nopaper.work.survey.stats;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * KLL quantile sketch (Karnin, Lang, Liberty) over double values.
+ *
+ * Values are kept in a stack of compactors; level h holds items of weight
+ * 2^h. When the sketch is full, the lowest over-capacity level is sorted and
+ * every other item (random offset) is promoted to the next level with
+ * double weight. Capacities shrink geometrically (factor 2/3) below the top
+ * level, so the sketch retains O(k) items regardless of the number of
+ * values, and the rank error is about 1.7 / k (~0.8% for k = 200).
+ *
+ * Sketches with the same k merge losslessly with respect to the error
+ * bound, so per-node, per-flush and per-time-bucket sketches can be
+ * combined in any order. Count, min and max are exact.
+ *
+ * Thread-safe: all methods synchronize on the sketch.
+ */
+public final class QuantileSketch {
+
+    /**
+     * Default accuracy parameter.
+     */
+    public static final int DEFAULT_K = 200;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int MIN_K = 8;
+    private static final int MAX_K = 1 << 16;
+    private static final int MIN_CAPACITY = 2;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels;
+    private int[] sizes;
+    private int levelCount;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long randomState = System.nanoTime() | 1L;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * @param k Accuracy parameter; larger is more accurate and bigger
+     */
+    public QuantileSketch(int k) {
+        if (k < MIN_K || k > MAX_K) {
+            throw new IllegalArgumentException("k must be in [" + MIN_K + ", " + MAX_K + "]: " + k);
+        }
+        this.k = k;
+        reset();
+    }
+
+    // ========================================================================
+    // Updates
+    // ========================================================================
+
+    /**
+     * Add one value; NaN is ignored.
+     */
+    public synchronized void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0 || value < min) {
+            min = value;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+        }
+        count++;
+        append(0, value);
+        compress();
+    }
+
+    /**
+     * Fold another sketch into this one. The other sketch is not modified.
+     *
+     * @throws IllegalArgumentException if the sketches have different k
+     */
+    public void merge(QuantileSketch other) {
+        QuantileSketch source = other.copy();
+        if (source.k != k) {
+            throw new IllegalArgumentException("Cannot merge sketches with k " + source.k + " and " + k);
+        }
+        synchronized (this) {
+            if (source.count == 0) {
+                return;
+            }
+            min = count == 0 ? source.min : Math.min(min, source.min);
+            max = count == 0 ? source.max : Math.max(max, source.max);
+            count += source.count;
+            while (levelCount < source.levelCount) {
+                addLevel();
+            }
+            for (int h = 0; h < source.levelCount; h++) {
+                for (int i = 0; i < source.sizes[h]; i++) {
+                    append(h, source.levels[h][i]);
+                }
+            }
+            compress();
+        }
+    }
+
+    /**
+     * Atomically take the current content and clear this sketch.
+     *
+     * @return Sketch holding everything added since the last take
+     */
+    public synchronized QuantileSketch takeAndReset() {
+        QuantileSketch taken = copy();
+        reset();
+        return taken;
+    }
+
+    // ========================================================================
+    // Queries
+    // ========================================================================
+
+    public synchronized long count() {
+        return count;
+    }
+
+    /**
+     * @return Smallest value, NaN if empty
+     */
+    public synchronized double min() {
+        return min;
+    }
+
+    /**
+     * @return Largest value, NaN if empty
+     */
+    public synchronized double max() {
+        return max;
+    }
+
+    /**
+     * @param fraction Rank as a fraction in [0, 1] (0.5 = median, 0.9 = p90)
+     * @return Approximate value at that rank, NaN if empty
+     */
+    public synchronized double quantile(double fraction) {
+        if (fraction < 0.0 || fraction > 1.0 || Double.isNaN(fraction)) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + fraction);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction == 0.0) {
+            return min;
+        }
+        if (fraction == 1.0) {
+            return max;
+        }
+        for (int h = 0; h < levelCount; h++) {
+            Arrays.sort(levels[h], 0, sizes[h]);
+        }
+        // k-way merge of the sorted levels until the cumulative weight reaches the rank.
+        double target = fraction * count;
+        int[] positions = new int[levelCount];
+        long cumulative = 0;
+        while (true) {
+            int next = -1;
+            for (int h = 0; h < levelCount; h++) {
+                if (positions[h] < sizes[h]
+                        && (next < 0 || levels[h][positions[h]] < levels[next][positions[next]])) {
+                    next = h;
+                }
+            }
+            if (next < 0) {
+                return max;
+            }
+            double value = levels[next][positions[next]++];
+            cumulative += 1L << next;
+            if (cumulative >= target) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * @return Values retained by the sketch (not the number of values added)
+     */
+    public synchronized int retained() {
+        int retained = 0;
+        for (int h = 0; h < levelCount; h++) {
+            retained += sizes[h];
+        }
+        return retained;
+    }
+
+    // ========================================================================
+    // Serialization
+    // ========================================================================
+
+    /**
+     * Format: version (1), k (4), count (8), min (8), max (8), level count (4),
+     * then per level: size (4) and size doubles (8 each). Big-endian.
+     */
+    public synchronized byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(33 + 4 * levelCount + 8 * retained());
+        buffer.put(FORMAT_VERSION).putInt(k).putLong(count).putDouble(min).putDouble(max).putInt(levelCount);
+        for (int h = 0; h < levelCount; h++) {
+            buffer.putInt(sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                buffer.putDouble(levels[h][i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param data Bytes produced by toBytes()
+     * @return Sketch
+     * @throws IllegalArgumentException if the data has another format version or is corrupt
+     */
+    public static QuantileSketch fromBytes(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            byte format = buffer.get();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported quantile sketch format: " + format);
+            }
+            QuantileSketch sketch = new QuantileSketch(buffer.getInt());
+            sketch.count = buffer.getLong();
+            sketch.min = buffer.getDouble();
+            sketch.max = buffer.getDouble();
+            int levelCount = buffer.getInt();
+            if (levelCount < 1 || levelCount > 64) {
+                throw new IllegalArgumentException("Corrupt quantile sketch: " + levelCount + " levels");
+            }
+            while (sketch.levelCount < levelCount) {
+                sketch.addLevel();
+            }
+            for (int h = 0; h < levelCount; h++) {
+                int size = buffer.getInt();
+                if (size < 0 || size > buffer.remaining() / 8) {
+                    throw new IllegalArgumentException("Corrupt quantile sketch: level size " + size);
+                }
+                for (int i = 0; i < size; i++) {
+                    sketch.append(h, buffer.getDouble());
+                }
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt quantile sketch data", e);
+        }
+    }
+
+    // ========================================================================
+    // Compaction
+    // ========================================================================
+
+    private void reset() {
+        levels = new double[][] {new double[k]};
+        sizes = new int[1];
+        levelCount = 1;
+        count = 0;
+        min = Double.NaN;
+        max = Double.NaN;
+    }
+
+    private synchronized QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(k);
+        copy.levels = new double[levels.length][];
+        for (int h = 0; h < levels.length; h++) {
+            copy.levels[h] = levels[h] != null ? levels[h].clone() : null;
+        }
+        copy.sizes = sizes.clone();
+        copy.levelCount = levelCount;
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    private int capacity(int level) {
+        int depth = levelCount - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void append(int level, double value) {
+        double[] items = levels[level];
+        if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, Math.max(MIN_CAPACITY, items.length * 2));
+            levels[level] = items;
+        }
+        items[sizes[level]++] = value;
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount * 2);
+            sizes = Arrays.copyOf(sizes, levelCount * 2);
+        }
+        levels[levelCount] = new double[MIN_CAPACITY];
+        sizes[levelCount] = 0;
+        levelCount++;
+    }
+
+    /**
+     * Compact levels until the sketch fits its total capacity.
+     */
+    private void compress() {
+        while (true) {
+            int capacity = 0;
+            for (int h = 0; h < levelCount; h++) {
+                capacity += capacity(h);
+            }
+            if (retained() < capacity) {
+                return;
+            }
+            for (int h = 0; h < levelCount; h++) {
+                if (sizes[h] >= capacity(h)) {
+                    if (h + 1 == levelCount) {
+                        addLevel();
+                    }
+                    compact(h);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Promote every other item of a level (random offset) to the next level.
+     * With an odd size, one item stays behind so total weight is preserved.
+     */
+    private void compact(int level) {
+        double[] items = levels[level];
+        int size = sizes[level];
+        int first = size % 2;
+        Arrays.sort(items, first, size);
+        int offset = first + (nextBit() ? 1 : 0);
+        for (int i = offset; i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        sizes[level] = first;
+    }
+
+    private boolean nextBit() {
+        long x = randomState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        randomState = x;
+        return (x & 1L) != 0;
+    }
+}
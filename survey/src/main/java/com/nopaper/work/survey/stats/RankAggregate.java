@@ -0,0 +1,297 @@
+/**
+ * @package com.nopaper.work.survey.stats -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 2:31:47 am
+ * @git
+ */
+package com.nopaper.work.survey.stats;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Running aggregate of the answers to one RANKING / ORDERING question.
+ *
+ * Two n x n matrices over the question's options (n = option count):
+ * - positions[a][r]: responses that placed option a at rank r (0 = top)
+ * - preferences[a][b]: responses that ranked option a above option b; a
+ *   ranked option counts as preferred over every unranked one
+ *
+ * Each response costs O(n^2) to add; Borda scores, mean ranks and the
+ * pairwise-preference matrix are then read in O(n^2), independent of the
+ * number of responses. Aggregates are additive: per-node and per-flush
+ * aggregates combine by summing the matrices.
+ *
+ * Options are identified by id, so aggregates built from different
+ * versions of a question (options added or removed) can still be combined
+ * with plus().
+ *
+ * Thread-safe: all methods synchronize on the aggregate.
+ */
+public final class RankAggregate {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int MAX_OPTIONS = 1024;
+
+    private final UUID[] optionIds;
+    private final long[][] positions;
+    private final long[][] preferences;
+    private long responses;
+
+    /**
+     * @param optionIds Option ids of the question, in option ordinal order
+     */
+    public RankAggregate(UUID[] optionIds) {
+        if (optionIds.length > MAX_OPTIONS) {
+            throw new IllegalArgumentException("Too many options to rank: " + optionIds.length);
+        }
+        this.optionIds = optionIds.clone();
+        this.positions = new long[optionIds.length][optionIds.length];
+        this.preferences = new long[optionIds.length][optionIds.length];
+    }
+
+    // ========================================================================
+    // Updates
+    // ========================================================================
+
+    /**
+     * Add one response's ranking. Submissions reject repeated options, but
+     * this runs after commit, where a throw would leave the counters half
+     * updated: an option already ranked, or outside 0..n-1, is skipped and
+     * the options after it move up, so at most n ranks are counted.
+     *
+     * @param ranking Option indexes (0..n-1) from top to bottom; unranked options are omitted
+     * @param from    First element of the ranking in the array
+     * @param length  Number of ranked options
+     */
+    public synchronized void add(int[] ranking, int from, int length) {
+        int n = optionIds.length;
+        boolean[] ranked = new boolean[n];
+        int r = 0;
+        for (int i = 0; i < length; i++) {
+            int a = ranking[from + i];
+            if (a < 0 || a >= n || ranked[a]) {
+                continue;
+            }
+            positions[a][r++]++;
+            ranked[a] = true;
+            long[] preferred = preferences[a];
+            for (int b = 0; b < n; b++) {
+                if (!ranked[b]) {
+                    preferred[b]++;
+                }
+            }
+        }
+        responses++;
+    }
+
+    /**
+     * Atomically take the current content and clear this aggregate.
+     *
+     * @return Aggregate holding everything added since the last take
+     */
+    public synchronized RankAggregate takeAndReset() {
+        RankAggregate taken = new RankAggregate(optionIds);
+        for (int a = 0; a < optionIds.length; a++) {
+            System.arraycopy(positions[a], 0, taken.positions[a], 0, optionIds.length);
+            System.arraycopy(preferences[a], 0, taken.preferences[a], 0, optionIds.length);
+            Arrays.fill(positions[a], 0L);
+            Arrays.fill(preferences[a], 0L);
+        }
+        taken.responses = responses;
+        responses = 0;
+        return taken;
+    }
+
+    /**
+     * Sum of two aggregates, over the union of their options (this
+     * aggregate's options first). Neither input is modified.
+     */
+    public RankAggregate plus(RankAggregate other) {
+        RankAggregate left = copy();
+        RankAggregate right = other.copy();
+        Map<UUID, Integer> index = new HashMap<>();
+        UUID[] union = Arrays.copyOf(left.optionIds, left.optionIds.length + right.optionIds.length);
+        int n = 0;
+        for (UUID id : left.optionIds) {
+            index.put(id, n++);
+        }
+        for (UUID id : right.optionIds) {
+            if (index.putIfAbsent(id, n) == null) {
+                union[n++] = id;
+            }
+        }
+        RankAggregate sum = new RankAggregate(Arrays.copyOf(union, n));
+        sum.addMatrices(left, index);
+        sum.addMatrices(right, index);
+        return sum;
+    }
+
+    // ========================================================================
+    // Queries
+    // ========================================================================
+
+    public synchronized long responses() {
+        return responses;
+    }
+
+    /**
+     * @return Option ids, index-aligned with all per-option results
+     */
+    public UUID[] optionIds() {
+        return optionIds.clone();
+    }
+
+    /**
+     * @return Copy of the rank-position histogram: [option][rank] = responses
+     */
+    public synchronized long[][] positions() {
+        return copyOf(positions);
+    }
+
+    /**
+     * @return Copy of the pairwise-preference matrix: [a][b] = responses ranking a above b
+     */
+    public synchronized long[][] preferences() {
+        return copyOf(preferences);
+    }
+
+    /**
+     * Borda count: an option earns n - 1 - r points per response that
+     * placed it at rank r; unranked placements earn nothing.
+     *
+     * @return Borda score per option
+     */
+    public synchronized long[] bordaScores() {
+        int n = optionIds.length;
+        long[] scores = new long[n];
+        for (int a = 0; a < n; a++) {
+            for (int r = 0; r < n; r++) {
+                scores[a] += positions[a][r] * (n - 1 - r);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * @return Mean 1-based rank per option over the responses that ranked it, NaN if never ranked
+     */
+    public synchronized double[] meanRanks() {
+        int n = optionIds.length;
+        double[] means = new double[n];
+        for (int a = 0; a < n; a++) {
+            long count = 0;
+            long rankSum = 0;
+            for (int r = 0; r < n; r++) {
+                count += positions[a][r];
+                rankSum += positions[a][r] * (r + 1);
+            }
+            means[a] = count > 0 ? (double) rankSum / count : Double.NaN;
+        }
+        return means;
+    }
+
+    // ========================================================================
+    // Serialization
+    // ========================================================================
+
+    /**
+     * Format: version (1), option count n (4), responses (8), n option ids
+     * (16 each), then positions and preferences row by row (8 per cell). Big-endian.
+     */
+    public synchronized byte[] toBytes() {
+        int n = optionIds.length;
+        ByteBuffer buffer = ByteBuffer.allocate(13 + 16 * n + 16 * n * n);
+        buffer.put(FORMAT_VERSION).putInt(n).putLong(responses);
+        for (UUID id : optionIds) {
+            buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        }
+        for (long[] row : positions) {
+            buffer.asLongBuffer().put(row);
+            buffer.position(buffer.position() + 8 * n);
+        }
+        for (long[] row : preferences) {
+            buffer.asLongBuffer().put(row);
+            buffer.position(buffer.position() + 8 * n);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param data Bytes produced by toBytes()
+     * @return Aggregate
+     * @throws IllegalArgumentException if the data has another format version or is corrupt
+     */
+    public static RankAggregate fromBytes(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            byte format = buffer.get();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported rank aggregate format: " + format);
+            }
+            int n = buffer.getInt();
+            if (n < 0 || n > MAX_OPTIONS || data.length != 13 + 16 * n + 16 * n * n) {
+                throw new IllegalArgumentException(
+                        "Corrupt rank aggregate: " + n + " options, " + data.length + " bytes");
+            }
+            long responses = buffer.getLong();
+            UUID[] optionIds = new UUID[n];
+            for (int a = 0; a < n; a++) {
+                optionIds[a] = new UUID(buffer.getLong(), buffer.getLong());
+            }
+            RankAggregate aggregate = new RankAggregate(optionIds);
+            aggregate.responses = responses;
+            for (long[] row : aggregate.positions) {
+                buffer.asLongBuffer().get(row);
+                buffer.position(buffer.position() + 8 * n);
+            }
+            for (long[] row : aggregate.preferences) {
+                buffer.asLongBuffer().get(row);
+                buffer.position(buffer.position() + 8 * n);
+            }
+            return aggregate;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt rank aggregate data", e);
+        }
+    }
+
+    private synchronized RankAggregate copy() {
+        RankAggregate copy = new RankAggregate(optionIds);
+        for (int a = 0; a < optionIds.length; a++) {
+            System.arraycopy(positions[a], 0, copy.positions[a], 0, optionIds.length);
+            System.arraycopy(preferences[a], 0, copy.preferences[a], 0, optionIds.length);
+        }
+        copy.responses = responses;
+        return copy;
+    }
+
+    /**
+     * Add an unshared aggregate's matrices, re-indexed into this aggregate's options.
+     */
+    private void addMatrices(RankAggregate source, Map<UUID, Integer> index) {
+        int[] map = new int[source.optionIds.length];
+        for (int a = 0; a < map.length; a++) {
+            map[a] = index.get(source.optionIds[a]);
+        }
+        for (int a = 0; a < map.length; a++) {
+            for (int i = 0; i < map.length; i++) {
+                // Ranks stay ranks: position i maps to rank i of the wider question.
+                positions[map[a]][i] += source.positions[a][i];
+                preferences[map[a]][map[i]] += source.preferences[a][i];
+            }
+        }
+        responses += source.responses;
+    }
+
+    private static long[][] copyOf(long[][] matrix) {
+        long[][] copy = new long[matrix.length][];
+        for (int a = 0; a < matrix.length; a++) {
+            copy[a] = matrix[a].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * @package com.nopaper.work.survey.stats -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:01:47 pm
+ * @git
+ */
+package com.nopaper.work.survey.stats;
+
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.scoring.AnswerSheet;
+import com.nopaper.work.survey.scoring.ScoreCard;
+
+/**
+ * Immutable copy of what one submitted response contributes to the
+ * statistics. AnswerSheet and ScoreCard are reused per thread, so the
+ * contribution is captured when scoring finishes and applied later
+ * (after the transaction commits).
+ */
+public final class ResponseTally {
+
+    private final int[] options;
+    private final int[] optionStarts;
+    private final int[] questions;
+    private final double[] questionScores;
+    private final double[] numericValues;
+    private final double[] sectionScores;
+    private final double totalScore;
+
+    private ResponseTally(int[] options, int[] optionStarts, int[] questions, double[] questionScores,
+                          double[] numericValues, double[] sectionScores, double totalScore) {
+        this.options = options;
+        this.optionStarts = optionStarts;
+        this.questions = questions;
+        this.questionScores = questionScores;
+        this.numericValues = numericValues;
+        this.sectionScores = sectionScores;
+        this.totalScore = totalScore;
+    }
+
+    /**
+     * @param survey  Survey the response was scored against
+     * @param answers Answers of the response
+     * @param card    Scores of the response
+     * @return Contribution of the response
+     */
+    public static ResponseTally of(CompiledSurvey survey, AnswerSheet answers, ScoreCard card) {
+        int questionCount = survey.questionCount();
+        int answered = 0;
+        int selections = 0;
+        for (int q = 0; q < questionCount; q++) {
+            if (answers.isAnswered(q)) {
+                answered++;
+                selections += answers.selectionCount(q);
+            }
+        }
+
+        int[] options = new int[selections];
+        int[] optionStarts = new int[answered + 1];
+        int[] questions = new int[answered];
+        double[] questionScores = new double[answered];
+        double[] numericValues = new double[answered];
+        for (int q = 0, a = 0, o = 0; q < questionCount; q++) {
+            if (!answers.isAnswered(q)) {
+                continue;
+            }
+            optionStarts[a] = o;
+            questions[a] = q;
+            questionScores[a] = card.questionScore(q);
+            numericValues[a++] = answers.numericValue(q);
+            for (int i = 0, count = answers.selectionCount(q); i < count; i++) {
+                options[o++] = answers.selection(q, i);
+            }
+        }
+        optionStarts[answered] = selections;
+
+        double[] sectionScores = new double[survey.sectionCount()];
+        for (int s = 0; s < sectionScores.length; s++) {
+            sectionScores[s] = card.sectionScore(s);
+        }
+        return new ResponseTally(options, optionStarts, questions, questionScores, numericValues, sectionScores,
+                card.getTotalScore());
+    }
+
+    /**
+     * Selected option ordinals (an option selected twice appears twice).
+     */
+    int[] options() {
+        return options;
+    }
+
+    /**
+     * Start of each answered question's run in options(), index-aligned with
+     * questions(), plus a final end offset; runs keep the answer order.
+     */
+    int[] optionStarts() {
+        return optionStarts;
+    }
+
+    /**
+     * Answered question ordinals, ascending.
+     */
+    int[] questions() {
+        return questions;
+    }
+
+    /**
+     * Scores of questions(), index-aligned.
+     */
+    double[] questionScores() {
+        return questionScores;
+    }
+
+    /**
+     * Numeric answers of questions() (NaN = none), index-aligned.
+     */
+    double[] numericValues() {
+        return numericValues;
+    }
+
+    /**
+     * Score per section ordinal.
+     */
+    double[] sectionScores() {
+        return sectionScores;
+    }
+
+    double totalScore() {
+        return totalScore;
+    }
+}
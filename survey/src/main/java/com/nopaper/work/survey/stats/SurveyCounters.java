@@ -0,0 +1,281 @@
+/**
+ * @package com.nopaper.work.survey.stats -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 11:09:25 pm
+ * @git
+ */
+package com.nopaper.work.survey.stats;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.nopaper.work.survey.enums.DistinctDimension;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.StatItemType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+/**
+ * Striped in-memory counters for one survey version: option selections,
+ * per-question answer counts and score sums, per-section score sums and
+ * survey totals, a QuantileSketch of the values of every NUMERIC and
+ * SLIDER question, a RankAggregate of every RANKING and ORDERING question,
+ * and HyperLogLogs of the respondent ids and IP addresses.
+ *
+ * Every counter is a LongAdder / DoubleAdder, so concurrent submissions
+ * increment without contending on a lock or a single CAS cell. The
+ * counters hold only the increments not yet flushed: drain() moves them out
+ * with sumThenReset() (sketches and aggregates with takeAndReset()); an increment racing
+ * with a drain lands in the next one, never nowhere.
+ *
+ * Counters are laid out by the ordinals of the CompiledSurvey they were
+ * created from; when the survey changes, the owner retires this instance
+ * and starts a new one.
+ */
+public final class SurveyCounters {
+
+    /**
+     * Receives drained deltas; sketches and aggregates are ignored unless overridden.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void delta(UUID itemId, StatItemType itemType, long count, double scoreSum);
+
+        default void sketch(UUID questionId, QuantileSketch sketch) {
+        }
+
+        default void ranking(UUID questionId, RankAggregate ranking) {
+        }
+
+        default void distinct(DistinctDimension dimension, HyperLogLog sketch) {
+        }
+    }
+
+    private final CompiledSurvey survey;
+    private final LongAdder responses = new LongAdder();
+    private final DoubleAdder totalScoreSum = new DoubleAdder();
+    private final DoubleAdder[] sectionScoreSums;
+    private final LongAdder[] answerCounts;
+    private final DoubleAdder[] questionScoreSums;
+    private final LongAdder[] optionCounts;
+    private final QuantileSketch[] sketches;
+    private final RankAggregate[] rankings;
+    private final HyperLogLog respondents = new HyperLogLog();
+    private final HyperLogLog ipAddresses = new HyperLogLog();
+
+    public SurveyCounters(CompiledSurvey survey) {
+        this.survey = survey;
+        this.sectionScoreSums = doubleAdders(survey.sectionCount());
+        this.answerCounts = longAdders(survey.questionCount());
+        this.questionScoreSums = doubleAdders(survey.questionCount());
+        this.optionCounts = longAdders(survey.optionCount());
+        this.sketches = new QuantileSketch[survey.questionCount()];
+        for (int q = 0; q < sketches.length; q++) {
+            if (hasSketch(survey.questionType(q))) {
+                sketches[q] = new QuantileSketch();
+            }
+        }
+        this.rankings = new RankAggregate[survey.questionCount()];
+        for (int q = 0; q < rankings.length; q++) {
+            if (hasRanking(survey.questionType(q))) {
+                UUID[] optionIds = new UUID[survey.endOption(q) - survey.firstOption(q)];
+                for (int o = 0; o < optionIds.length; o++) {
+                    optionIds[o] = survey.option(survey.firstOption(q) + o).id();
+                }
+                rankings[q] = new RankAggregate(optionIds);
+            }
+        }
+    }
+
+    /**
+     * @return true for question types whose values are summarised by a quantile sketch
+     */
+    public static boolean hasSketch(QuestionType type) {
+        return type == QuestionType.NUMERIC || type == QuestionType.SLIDER;
+    }
+
+    /**
+     * @return true for question types whose answers are aggregated into a RankAggregate
+     */
+    public static boolean hasRanking(QuestionType type) {
+        return type == QuestionType.RANKING || type == QuestionType.ORDERING;
+    }
+
+    public CompiledSurvey survey() {
+        return survey;
+    }
+
+    /**
+     * Add one response's contribution.
+     *
+     * @param tally Built from the same CompiledSurvey version
+     */
+    public void add(ResponseTally tally) {
+        responses.increment();
+        totalScoreSum.add(tally.totalScore());
+        double[] sectionScores = tally.sectionScores();
+        for (int s = 0; s < sectionScores.length; s++) {
+            sectionScoreSums[s].add(sectionScores[s]);
+        }
+        int[] questions = tally.questions();
+        double[] questionScores = tally.questionScores();
+        double[] numericValues = tally.numericValues();
+        int[] options = tally.options();
+        int[] optionStarts = tally.optionStarts();
+        for (int i = 0; i < questions.length; i++) {
+            int q = questions[i];
+            answerCounts[q].increment();
+            questionScoreSums[q].add(questionScores[i]);
+            if (sketches[q] != null) {
+                sketches[q].update(numericValues[i]);
+            }
+            if (rankings[q] != null) {
+                addRanking(q, options, optionStarts[i], optionStarts[i + 1]);
+            }
+        }
+        for (int option : options) {
+            optionCounts[option].increment();
+        }
+    }
+
+    /**
+     * Add a respondent id and IP address to the distinct-count sketches.
+     *
+     * @param respondentId Respondent id, null if anonymous
+     * @param ipAddress    Client IP address, may be null
+     */
+    public void addVisitor(String respondentId, String ipAddress) {
+        respondents.add(respondentId);
+        ipAddresses.add(ipAddress);
+    }
+
+    /**
+     * Move all pending increments to the sinks and reset them.
+     * Items without increments are skipped.
+     *
+     * @return true if anything was drained
+     */
+    public boolean drain(Sink sink) {
+        long responseCount = responses.sumThenReset();
+        double totalScore = totalScoreSum.sumThenReset();
+        boolean drained = emit(sink, survey.getId(), StatItemType.SURVEY, responseCount, totalScore);
+        for (int s = 0; s < sectionScoreSums.length; s++) {
+            // Every response touches every section: its count is the response count.
+            drained |= emit(sink, survey.section(s).id(), StatItemType.SECTION, responseCount,
+                    sectionScoreSums[s].sumThenReset());
+        }
+        for (int q = 0; q < answerCounts.length; q++) {
+            drained |= emit(sink, survey.question(q).id(), StatItemType.QUESTION, answerCounts[q].sumThenReset(),
+                    questionScoreSums[q].sumThenReset());
+        }
+        for (int o = 0; o < optionCounts.length; o++) {
+            drained |= emit(sink, survey.option(o).id(), StatItemType.OPTION, optionCounts[o].sumThenReset(), 0.0);
+        }
+        for (int q = 0; q < sketches.length; q++) {
+            if (sketches[q] != null && sketches[q].count() > 0) {
+                sink.sketch(survey.question(q).id(), sketches[q].takeAndReset());
+                drained = true;
+            }
+            if (rankings[q] != null && rankings[q].responses() > 0) {
+                sink.ranking(survey.question(q).id(), rankings[q].takeAndReset());
+                drained = true;
+            }
+        }
+        drained |= emit(sink, DistinctDimension.RESPONDENT, respondents);
+        drained |= emit(sink, DistinctDimension.IP_ADDRESS, ipAddresses);
+        return drained;
+    }
+
+    // ========================================================================
+    // Pending Increments (not yet drained)
+    // ========================================================================
+
+    public long responseCount() {
+        return responses.sum();
+    }
+
+    public double totalScoreSum() {
+        return totalScoreSum.sum();
+    }
+
+    public double sectionScoreSum(int section) {
+        return sectionScoreSums[section].sum();
+    }
+
+    public long answerCount(int question) {
+        return answerCounts[question].sum();
+    }
+
+    public double questionScoreSum(int question) {
+        return questionScoreSums[question].sum();
+    }
+
+    public long optionCount(int option) {
+        return optionCounts[option].sum();
+    }
+
+    /**
+     * @return Pending values of a NUMERIC / SLIDER question, null for other types
+     */
+    public QuantileSketch sketch(int question) {
+        return sketches[question];
+    }
+
+    /**
+     * @return Pending rankings of a RANKING / ORDERING question, null for other types
+     */
+    public RankAggregate ranking(int question) {
+        return rankings[question];
+    }
+
+    /**
+     * @return Pending distinct values of a dimension
+     */
+    public HyperLogLog distinct(DistinctDimension dimension) {
+        return dimension == DistinctDimension.RESPONDENT ? respondents : ipAddresses;
+    }
+
+    /**
+     * Add a ranking given as option ordinals, converted to the question's option indexes.
+     */
+    private void addRanking(int question, int[] options, int from, int to) {
+        int first = survey.firstOption(question);
+        int[] ranking = new int[to - from];
+        for (int i = from; i < to; i++) {
+            ranking[i - from] = options[i] - first;
+        }
+        rankings[question].add(ranking, 0, ranking.length);
+    }
+
+    private static boolean emit(Sink sink, DistinctDimension dimension, HyperLogLog sketch) {
+        if (sketch.isEmpty()) {
+            return false;
+        }
+        sink.distinct(dimension, sketch.takeAndReset());
+        return true;
+    }
+
+    private static boolean emit(Sink sink, UUID itemId, StatItemType type, long count, double scoreSum) {
+        if (count == 0 && scoreSum == 0.0) {
+            return false;
+        }
+        sink.delta(itemId, type, count, scoreSum);
+        return true;
+    }
+
+    private static LongAdder[] longAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static DoubleAdder[] doubleAdders(int count) {
+        DoubleAdder[] adders = new DoubleAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new DoubleAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * @package com.nopaper.work.survey.stats -> survey
+ * @author saikatbarman
+ * @date 2026 17-Oct-2026 10:58:20 pm
+ * @git 
+ */
+/**
+ * In-memory, lock-free answer statistics maintained incrementally as
+ * responses are submitted, addressed by the ordinals of a
+ * {@link com.nopaper.work.survey.model.CompiledSurvey}.
+ */
+package com.nopaper.work.survey.stats;
@@ -0,0 +1,256 @@
+/**
+ * @package com.nopaper.work.survey.timer -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 11:44:12 am
+ * @git
+ */
+package com.nopaper.work.survey.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed timing wheel (Varghese and Lauck): a ring of buckets, one per
+ * tick, each holding the timers that fall on it; a timer further away than
+ * one revolution carries the number of remaining rounds.
+ *
+ * Costs do not depend on how many timers exist:
+ * - schedule and cancel are O(1) and lock-free (new timers wait in a queue
+ *   until the next tick, cancelled ones are dropped when their bucket is visited)
+ * - each tick visits one bucket
+ * Deadlines are rounded up to the tick: a timer never fires early and
+ * fires at most one tick (plus handler time) late.
+ *
+ * Only one thread advances the wheel: either the caller of advance, or
+ * the thread started by start, which hands every tick's expired items to
+ * the handler as one batch.
+ *
+ * @param <T> Item carried by a timer
+ */
+@Slf4j
+public final class HashedTimerWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<Timer<T>>[] buckets;
+    private final Queue<Timer<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicReference<Thread> worker = new AtomicReference<>();
+
+    /** Next tick to visit; only touched by the advancing thread. */
+    private long tick;
+    private volatile boolean running;
+
+    /**
+     * @param tickMillis  Tick length (timer resolution)
+     * @param wheelSize   Buckets; rounded up to a power of two. Timers within
+     *                    tickMillis * wheelSize of now are visited only once.
+     * @param startMillis Time of tick 0, normally now
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int buckets = Integer.highestOneBit(wheelSize);
+        if (buckets < wheelSize) {
+            buckets <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = buckets - 1;
+        this.buckets = new List[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Schedule an item. Thread-safe.
+     *
+     * @param item           Item handed back on expiry
+     * @param deadlineMillis Epoch milliseconds; past deadlines fire on the next tick
+     * @return Handle to cancel the timer
+     */
+    public Timer<T> schedule(T item, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(item, deadlineMillis, this);
+        size.incrementAndGet();
+        pending.add(timer);
+        return timer;
+    }
+
+    /**
+     * @return Timers scheduled and neither expired nor cancelled
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Visit every tick that has started by now and collect expired items.
+     * Must only be called from one thread at a time, and not while started.
+     *
+     * @return Items whose deadline has passed, in tick order
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long lastTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        transferPending();
+        for (; tick <= lastTick; tick++) {
+            expire(buckets[(int) (tick & mask)], expired);
+        }
+        return expired;
+    }
+
+    /**
+     * @return Epoch milliseconds at which the next unvisited tick starts
+     */
+    public long nextTickMillis() {
+        return startMillis + tick * tickMillis;
+    }
+
+    /**
+     * Advance the wheel on a new daemon thread, passing each tick's expired
+     * items to the handler. Handler exceptions are logged and do not stop
+     * the wheel.
+     */
+    public void start(String threadName, Consumer<List<T>> handler) {
+        Thread thread = Thread.ofPlatform().name(threadName).daemon().unstarted(() -> run(handler));
+        if (!worker.compareAndSet(null, thread)) {
+            throw new IllegalStateException("Timer wheel already started");
+        }
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stop the thread started by start and wait for it; pending timers are kept.
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = worker.get();
+        if (thread != null) {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    private void run(Consumer<List<T>> handler) {
+        while (running) {
+            List<T> expired = advance(System.currentTimeMillis());
+            if (!expired.isEmpty()) {
+                try {
+                    handler.accept(expired);
+                } catch (RuntimeException e) {
+                    log.error("Timer wheel handler failed for {} items", expired.size(), e);
+                }
+            }
+            long sleep = nextTickMillis() - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void transferPending() {
+        Timer<T> timer;
+        while ((timer = pending.poll()) != null) {
+            if (timer.isCancelled()) {
+                continue;
+            }
+            long due = Math.max(Math.ceilDiv(timer.deadlineMillis - startMillis, tickMillis), tick);
+            timer.rounds = (due - tick) / buckets.length;
+            buckets[(int) (due & mask)].add(timer);
+        }
+    }
+
+    private void expire(List<Timer<T>> bucket, List<T> expired) {
+        int kept = 0;
+        for (int i = 0, n = bucket.size(); i < n; i++) {
+            Timer<T> timer = bucket.get(i);
+            if (timer.isCancelled()) {
+                continue;
+            }
+            if (timer.rounds > 0) {
+                timer.rounds--;
+                bucket.set(kept++, timer);
+            } else if (timer.expire()) {
+                expired.add(timer.item);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    // ========================================================================
+    // Timer
+    // ========================================================================
+
+    /**
+     * A scheduled item.
+     */
+    public static final class Timer<T> {
+
+        private static final int SCHEDULED = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final T item;
+        private final long deadlineMillis;
+        private final HashedTimerWheel<T> wheel;
+        private final AtomicInteger state = new AtomicInteger(SCHEDULED);
+        private long rounds;
+
+        private Timer(T item, long deadlineMillis, HashedTimerWheel<T> wheel) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+            this.wheel = wheel;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * @return true if cancelled now; false if it already expired or was cancelled
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(SCHEDULED, CANCELLED)) {
+                wheel.size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private boolean expire() {
+            if (state.compareAndSet(SCHEDULED, EXPIRED)) {
+                wheel.size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * @package com.nopaper.work.survey.timer -> survey
+ * @author saikatbarman
+ * @date 2026 18-Oct-2026 11:41:30 am
+ * @git 
+ */
+/**
+ * In-memory deadline scheduling for very many timers (survey expiry,
+ * response time limits), expired in batches.
+ */
+package com.nopaper.work.survey.timer;
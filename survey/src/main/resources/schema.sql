@@ -0,0 +1,57 @@
+-- ============================================================================
+-- Survey Microservice - Partitioned Tables
+-- ============================================================================
+-- Runs before Hibernate's ddl-auto=update (spring.sql.init.mode=always), so
+-- the response tables are created as range-partitioned parents; Hibernate
+-- then only adds indexes, foreign keys and columns added later to the
+-- entities. Every other table is still created by Hibernate.
+--
+-- Partitioning:
+-- - Monthly ranges on created_at; a response and its answers are written
+--   with the same created_at, so they always share a month
+-- - Primary keys include created_at (PostgreSQL requires the partition key
+--   in every unique constraint); ids are UUIDv7 and unique on their own
+-- - No foreign key from survey_response_answer.response_id: it would need a
+--   unique constraint on response_id alone
+-- - Partitions are created ahead and dropped after retention by
+--   ResponsePartitionService; there is no default partition
+--
+-- Existing unpartitioned tables are left untouched (IF NOT EXISTS), and
+-- ResponsePartitionService then skips them.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS survey_response (
+    response_id         UUID            NOT NULL,
+    survey_id           UUID            NOT NULL,
+    respondent_id       VARCHAR(500),
+    ip_address          VARCHAR(50),
+    user_agent          TEXT,
+    status              VARCHAR(20)     NOT NULL,
+    total_score         FLOAT(53),
+    max_score           FLOAT(53),
+    score_percentage    FLOAT(53),
+    is_passed           BOOLEAN,
+    time_spent_seconds  INTEGER,
+    started_at          TIMESTAMP(6),
+    submitted_at        TIMESTAMP(6),
+    created_at          TIMESTAMP(6)    NOT NULL,
+    updated_at          TIMESTAMP(6)    NOT NULL,
+    PRIMARY KEY (response_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS survey_response_answer (
+    answer_id           UUID            NOT NULL,
+    response_id         UUID            NOT NULL,
+    question_id         UUID            NOT NULL,
+    option_id           UUID,
+    answer_payload      JSONB           NOT NULL,
+    answer_data         BYTEA,
+    answer_value        TEXT,
+    answer_score        FLOAT(53),
+    is_correct          BOOLEAN,
+    time_spent_seconds  INTEGER,
+    answered_at         TIMESTAMP(6),
+    created_at          TIMESTAMP(6)    NOT NULL,
+    updated_at          TIMESTAMP(6)    NOT NULL,
+    PRIMARY KEY (answer_id, created_at)
+) PARTITION BY RANGE (created_at);
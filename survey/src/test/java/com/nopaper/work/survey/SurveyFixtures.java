@@ -0,0 +1,91 @@
+package com.nopaper.work.survey;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.entity.QuestionOption;
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.entity.SurveySection;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.enums.SurveyStatus;
+
+/**
+ * Survey entity trees for tests: an active, fixed-score survey whose
+ * sections, questions and options get random ids and display orders in
+ * argument order. Tests adjust anything else through the entity setters.
+ */
+public final class SurveyFixtures {
+
+	private SurveyFixtures() {
+	}
+
+	public static Survey survey(Question... questions) {
+		return survey(section(1, questions));
+	}
+
+	public static Survey survey(SurveySection... sections) {
+		return Survey.builder()
+				.id(UUID.randomUUID())
+				.title("Survey")
+				.status(SurveyStatus.ACTIVE)
+				.scoringType(ScoringType.FIXED_SCORE)
+				.showResults(true)
+				.updatedAt(LocalDateTime.now())
+				.sections(List.of(sections))
+				.build();
+	}
+
+	public static SurveySection section(int displayOrder, Question... questions) {
+		return SurveySection.builder()
+				.id(UUID.randomUUID())
+				.title("Section " + displayOrder)
+				.displayOrder(displayOrder)
+				.scoringType(ScoringType.FIXED_SCORE)
+				.questions(List.of(questions))
+				.build();
+	}
+
+	/**
+	 * @return A fixed-score question with one option per given points value
+	 */
+	public static Question question(QuestionType type, double... optionPoints) {
+		return question(type, ScoringType.FIXED_SCORE, optionPoints);
+	}
+
+	public static Question question(QuestionType type, ScoringType scoringType, double... optionPoints) {
+		Question question = unscored(type, optionPoints.length);
+		question.setScoringType(scoringType);
+		for (int i = 0; i < optionPoints.length; i++) {
+			question.getOptions().get(i).setPoints(optionPoints[i]);
+		}
+		return question;
+	}
+
+	/**
+	 * @return A question without scoring whose options carry no points
+	 */
+	public static Question unscored(QuestionType type, int optionCount) {
+		List<QuestionOption> options = new ArrayList<>();
+		for (int i = 0; i < optionCount; i++) {
+			options.add(QuestionOption.builder()
+					.id(UUID.randomUUID())
+					.optionText("Option " + i)
+					.displayOrder(i)
+					.build());
+		}
+		return Question.builder()
+				.id(UUID.randomUUID())
+				.questionText(type.name())
+				.questionType(type)
+				.scoringType(ScoringType.NO_SCORING)
+				.required(false)
+				.disabled(false)
+				.options(options)
+				.build();
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.nopaper.work.survey.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.nopaper.work.survey.archive.ArchiveColumn.Table;
+
+class ColumnarArchiveTests {
+
+	private static final UUID SURVEY_ID = UUID.fromString("0192f0a1-0000-7000-8000-000000000001");
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void roundTripsEveryColumnTypeAcrossRowGroups() throws IOException {
+		Path file = dir.resolve("survey.sva");
+		int responses = ColumnarArchiveWriter.ROW_GROUP_ROWS + 10;
+		LocalDateTime created = LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_000);
+		try (ColumnarArchiveWriter writer = new ColumnarArchiveWriter(file, SURVEY_ID)) {
+			for (int i = 0; i < responses; i++) {
+				writeResponse(writer, new UUID(0, i), i % 3 == 0 ? null : "user-" + i, created.plusSeconds(i));
+			}
+			writer.uuid(ArchiveColumn.ANSWER_ID, new UUID(1, 1))
+					.uuid(ArchiveColumn.ANSWER_RESPONSE_ID, new UUID(0, 0))
+					.uuid(ArchiveColumn.QUESTION_ID, new UUID(2, 2))
+					.uuid(ArchiveColumn.OPTION_ID, null)
+					.text(ArchiveColumn.ANSWER_PAYLOAD, "{\"text\":\"ünïcødé\"}")
+					.bytes(ArchiveColumn.ANSWER_DATA, new byte[] {1, 2, 3})
+					.text(ArchiveColumn.ANSWER_VALUE, "")
+					.number(ArchiveColumn.ANSWER_SCORE, 2.5)
+					.bool(ArchiveColumn.IS_CORRECT, true)
+					.integer(ArchiveColumn.ANSWER_TIME_SPENT_SECONDS, null)
+					.timestamp(ArchiveColumn.ANSWERED_AT, null)
+					.timestamp(ArchiveColumn.ANSWER_CREATED_AT, created)
+					.timestamp(ArchiveColumn.ANSWER_UPDATED_AT, created)
+					.endRow(Table.ANSWERS);
+		}
+
+		try (ColumnarArchiveReader reader = ColumnarArchiveReader.open(file)) {
+			assertThat(reader.surveyId()).isEqualTo(SURVEY_ID);
+			assertThat(reader.rowCount(Table.RESPONSES)).isEqualTo(responses);
+			assertThat(reader.rowCount(Table.ANSWERS)).isEqualTo(1);
+
+			List<String> respondents = new ArrayList<>();
+			long[] index = {0};
+			reader.scan(Table.RESPONSES, EnumSet.of(ArchiveColumn.RESPONSE_ID, ArchiveColumn.RESPONDENT_ID,
+					ArchiveColumn.TOTAL_SCORE, ArchiveColumn.IS_PASSED, ArchiveColumn.CREATED_AT), row -> {
+						long i = index[0]++;
+						assertThat(row.uuid(ArchiveColumn.RESPONSE_ID)).isEqualTo(new UUID(0, i));
+						assertThat(row.number(ArchiveColumn.TOTAL_SCORE)).isEqualTo(i * 0.5);
+						assertThat(row.bool(ArchiveColumn.IS_PASSED)).isEqualTo(i % 2 == 0);
+						assertThat(row.timestamp(ArchiveColumn.CREATED_AT)).isEqualTo(created.plusSeconds(i));
+						respondents.add(row.text(ArchiveColumn.RESPONDENT_ID));
+					});
+			assertThat(index[0]).isEqualTo(responses);
+			assertThat(respondents.subList(0, 3)).containsExactly(null, "user-1", "user-2");
+
+			reader.scan(Table.ANSWERS, EnumSet.allOf(ArchiveColumn.class).stream()
+					.filter(column -> column.table() == Table.ANSWERS)
+					.collect(() -> EnumSet.noneOf(ArchiveColumn.class), EnumSet::add, EnumSet::addAll), row -> {
+						assertThat(row.isNull(ArchiveColumn.OPTION_ID)).isTrue();
+						assertThat(row.text(ArchiveColumn.ANSWER_PAYLOAD)).isEqualTo("{\"text\":\"ünïcødé\"}");
+						assertThat(row.bytes(ArchiveColumn.ANSWER_DATA)).containsExactly(1, 2, 3);
+						assertThat(row.text(ArchiveColumn.ANSWER_VALUE)).isEmpty();
+						assertThat(row.number(ArchiveColumn.ANSWER_SCORE)).isEqualTo(2.5);
+						assertThat(row.isNull(ArchiveColumn.ANSWER_TIME_SPENT_SECONDS)).isTrue();
+						assertThat(row.timestamp(ArchiveColumn.ANSWERED_AT)).isNull();
+						assertThat(row.timestamp(ArchiveColumn.ANSWER_CREATED_AT)).isEqualTo(created);
+					});
+		}
+	}
+
+	@Test
+	void onlyProjectedColumnsCanBeRead() throws IOException {
+		Path file = dir.resolve("projected.sva");
+		try (ColumnarArchiveWriter writer = new ColumnarArchiveWriter(file, SURVEY_ID)) {
+			writeResponse(writer, new UUID(0, 1), "user", LocalDateTime.of(2026, 1, 1, 0, 0));
+		}
+		try (ColumnarArchiveReader reader = ColumnarArchiveReader.open(file)) {
+			reader.scan(Table.RESPONSES, EnumSet.of(ArchiveColumn.STATUS), row -> {
+				assertThat(row.text(ArchiveColumn.STATUS)).isEqualTo("SUBMITTED");
+				assertThatThrownBy(() -> row.text(ArchiveColumn.RESPONDENT_ID))
+						.isInstanceOf(IllegalArgumentException.class);
+			});
+		}
+	}
+
+	@Test
+	void rejectsIncompleteRowsAndTruncatedFiles() throws IOException {
+		Path file = dir.resolve("truncated.sva");
+		try (ColumnarArchiveWriter writer = new ColumnarArchiveWriter(file, SURVEY_ID)) {
+			writer.uuid(ArchiveColumn.RESPONSE_ID, new UUID(0, 1));
+			assertThatThrownBy(() -> writer.endRow(Table.RESPONSES)).isInstanceOf(IllegalStateException.class);
+			assertThatThrownBy(() -> writer.text(ArchiveColumn.TOTAL_SCORE, "1"))
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(file) - 1);
+		}
+		assertThatThrownBy(() -> ColumnarArchiveReader.open(file)).isInstanceOf(IOException.class);
+	}
+
+	private static void writeResponse(ColumnarArchiveWriter writer, UUID id, String respondent,
+			LocalDateTime created) throws IOException {
+		long i = id.getLeastSignificantBits();
+		writer.uuid(ArchiveColumn.RESPONSE_ID, id)
+				.text(ArchiveColumn.RESPONDENT_ID, respondent)
+				.text(ArchiveColumn.IP_ADDRESS, "10.0.0.1")
+				.text(ArchiveColumn.USER_AGENT, null)
+				.text(ArchiveColumn.STATUS, "SUBMITTED")
+				.number(ArchiveColumn.TOTAL_SCORE, i * 0.5)
+				.number(ArchiveColumn.MAX_SCORE, 10.0)
+				.number(ArchiveColumn.SCORE_PERCENTAGE, null)
+				.bool(ArchiveColumn.IS_PASSED, i % 2 == 0)
+				.integer(ArchiveColumn.TIME_SPENT_SECONDS, (int) i)
+				.timestamp(ArchiveColumn.STARTED_AT, created.minusMinutes(5))
+				.timestamp(ArchiveColumn.SUBMITTED_AT, created)
+				.timestamp(ArchiveColumn.CREATED_AT, created)
+				.timestamp(ArchiveColumn.UPDATED_AT, created)
+				.endRow(Table.RESPONSES);
+	}
+}
@@ -0,0 +1,90 @@
+package com.nopaper.work.survey.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedDataSourceTests {
+
+	private final AtomicInteger open = new AtomicInteger();
+	private final AtomicInteger maxOpen = new AtomicInteger();
+
+	@Test
+	void closingReturnsThePermitOnce() throws Exception {
+		BoundedDataSource dataSource = new BoundedDataSource(pool(), 2, 50);
+
+		Connection first = dataSource.getConnection();
+		Connection second = dataSource.getConnection();
+		assertThat(dataSource.inUse()).isEqualTo(2);
+		assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+		first.close();
+		first.close();
+		assertThat(dataSource.inUse()).isEqualTo(1);
+		second.close();
+		assertThat(dataSource.inUse()).isZero();
+		assertThat(first).isEqualTo(first).isNotEqualTo(second);
+	}
+
+	@Test
+	void virtualThreadsNeverHoldMoreConnectionsThanPermits() throws Exception {
+		BoundedDataSource dataSource = new BoundedDataSource(pool(), 4, 10_000);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> tasks = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 1_000; i++) {
+				tasks.add(executor.submit(() -> {
+					start.await();
+					try (Connection connection = dataSource.getConnection()) {
+						Thread.sleep(1);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> task : tasks) {
+				task.get(30, TimeUnit.SECONDS);
+			}
+		}
+
+		assertThat(maxOpen.get()).isLessThanOrEqualTo(4);
+		assertThat(open.get()).isZero();
+		assertThat(dataSource.inUse()).isZero();
+	}
+
+	/**
+	 * DataSource handing out connections that only count how many are open.
+	 */
+	private DataSource pool() {
+		return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class },
+				(proxy, method, args) -> {
+					if (!method.getName().equals("getConnection")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+					AtomicInteger closes = new AtomicInteger();
+					return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+							(connection, call, callArgs) -> {
+								if (call.getName().equals("close") && closes.getAndIncrement() == 0) {
+									open.decrementAndGet();
+								}
+								return null;
+							});
+				});
+	}
+}
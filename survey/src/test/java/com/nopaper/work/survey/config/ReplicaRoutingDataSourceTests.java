@@ -0,0 +1,142 @@
+package com.nopaper.work.survey.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nopaper.work.survey.routing.ReadTarget;
+import com.nopaper.work.survey.routing.ReplicaRouting;
+
+/**
+ * Routing decisions, with stand-in primary and replica DataSources that
+ * only count the connections they hand out.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private final AtomicInteger primaryConnections = new AtomicInteger();
+	private final AtomicInteger replicaConnections = new AtomicInteger();
+
+	private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(standIn(primaryConnections),
+			standIn(replicaConnections), 5_000, 15_000);
+
+	@AfterEach
+	void clearThreadState() {
+		TransactionSynchronizationManager.clear();
+		ReplicaRouting.restoreTarget(null);
+		ReplicaRouting.endRequest();
+	}
+
+	@Test
+	void readOnlyServiceTransactionsReadFromTheReplica() throws Exception {
+		routing.replicaLag(100);
+
+		assertThat(connect()).isEqualTo(ReadTarget.PRIMARY);
+		readOnlyTransaction("com.nopaper.work.survey.services.ResponseExportService.export");
+		assertThat(connect()).isEqualTo(ReadTarget.REPLICA);
+	}
+
+	@Test
+	void repositoryDefaultTransactionsStayOnThePrimary() throws Exception {
+		routing.replicaLag(100);
+		readOnlyTransaction("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById");
+
+		assertThat(connect()).isEqualTo(ReadTarget.PRIMARY);
+		ReplicaRouting.setTarget(ReadTarget.REPLICA);
+		assertThat(connect()).isEqualTo(ReadTarget.REPLICA);
+	}
+
+	@Test
+	void annotationOverridesTheReadOnlyFlag() throws Exception {
+		routing.replicaLag(100);
+
+		ReadTarget previous = ReplicaRouting.setTarget(ReadTarget.REPLICA);
+		assertThat(connect()).isEqualTo(ReadTarget.REPLICA);
+		readOnlyTransaction("com.nopaper.work.survey.services.SurveyTreeLoader.load");
+		ReplicaRouting.setTarget(ReadTarget.PRIMARY);
+		assertThat(connect()).isEqualTo(ReadTarget.PRIMARY);
+		ReplicaRouting.restoreTarget(previous);
+		assertThat(connect()).isEqualTo(ReadTarget.REPLICA);
+	}
+
+	@Test
+	void readWriteTransactionsAlwaysUseThePrimary() throws Exception {
+		routing.replicaLag(100);
+		ReplicaRouting.setTarget(ReadTarget.REPLICA);
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		assertThat(connect()).isEqualTo(ReadTarget.PRIMARY);
+	}
+
+	@Test
+	void laggingStaleOrUnavailableReplicaFallsBackToThePrimary() throws Exception {
+		ReplicaRouting.setTarget(ReadTarget.REPLICA);
+		assertThat(connect()).as("not measured yet").isEqualTo(ReadTarget.PRIMARY);
+
+		routing.replicaLag(6_000);
+		assertThat(connect()).as("lagging").isEqualTo(ReadTarget.PRIMARY);
+		routing.replicaLag(5_000);
+		assertThat(connect()).isEqualTo(ReadTarget.REPLICA);
+		routing.replicaUnavailable();
+		assertThat(connect()).as("unavailable").isEqualTo(ReadTarget.PRIMARY);
+
+		ReplicaRoutingDataSource stale = new ReplicaRoutingDataSource(standIn(primaryConnections),
+				standIn(replicaConnections), 5_000, 0);
+		stale.replicaLag(0);
+		Thread.sleep(5);
+		assertThat(stale.isReplicaUsable()).as("stale").isFalse();
+	}
+
+	@Test
+	void requestReadsItsOwnWritesFromThePrimary() throws Exception {
+		routing.replicaLag(100);
+		ReplicaRouting.beginRequest();
+		ReplicaRouting.setTarget(ReadTarget.REPLICA);
+		assertThat(connect()).isEqualTo(ReadTarget.REPLICA);
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		assertThat(connect()).as("the write").isEqualTo(ReadTarget.PRIMARY);
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		assertThat(connect()).as("read after the write").isEqualTo(ReadTarget.PRIMARY);
+
+		ReplicaRouting.endRequest();
+		ReplicaRouting.beginRequest();
+		assertThat(connect()).as("next request").isEqualTo(ReadTarget.REPLICA);
+	}
+
+	private static void readOnlyTransaction(String name) {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		TransactionSynchronizationManager.setCurrentTransactionName(name);
+	}
+
+	/**
+	 * @return Which DataSource handed out the connection
+	 */
+	private ReadTarget connect() throws Exception {
+		int primary = primaryConnections.get();
+		int replica = replicaConnections.get();
+		routing.getConnection().close();
+		assertThat(primaryConnections.get() + replicaConnections.get()).isEqualTo(primary + replica + 1);
+		return replicaConnections.get() > replica ? ReadTarget.REPLICA : ReadTarget.PRIMARY;
+	}
+
+	private DataSource standIn(AtomicInteger connections) {
+		return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class },
+				(proxy, method, args) -> {
+					if (!method.getName().equals("getConnection")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					connections.incrementAndGet();
+					return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+							(connection, call, callArgs) -> null);
+				});
+	}
+}
@@ -0,0 +1,118 @@
+package com.nopaper.work.survey.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Closed-loop load test of the submit endpoint against a running instance,
+ * to compare the platform-thread pool with the virtual-threads profile.
+ *
+ * Skipped unless a target is given:
+ * mvn test -Dtest=ResponseSubmissionLoadBenchmarkTests -Dbenchmark.baseUrl=http://localhost:8080
+ *     -Dbenchmark.surveyId=... [-Dbenchmark.clients=400 -Dbenchmark.seconds=30]
+ *
+ * The survey must be ACTIVE, untimed and without required questions: every
+ * request submits an empty response. Run it once against the application
+ * started normally and once with --spring.profiles.active=virtual-threads,
+ * with the same database; each client sends its next request as soon as
+ * the previous one is answered.
+ */
+@EnabledIfSystemProperty(named = "benchmark.baseUrl", matches = ".+")
+class ResponseSubmissionLoadBenchmarkTests {
+
+	private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+	private static final int SECONDS = Integer.getInteger("benchmark.seconds", 30);
+	private static final int WARMUP_SECONDS = 5;
+
+	@Test
+	void measuresSubmitThroughputAndLatency() throws Exception {
+		URI uri = URI.create(System.getProperty("benchmark.baseUrl") + "/api/surveys/"
+				+ System.getProperty("benchmark.surveyId") + "/responses");
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+		HttpRequest request = HttpRequest.newBuilder(uri)
+				.header("Content-Type", "application/json")
+				.timeout(Duration.ofSeconds(60))
+				.POST(HttpRequest.BodyPublishers.ofString("{\"respondentId\":\"benchmark\",\"answers\":[]}"))
+				.build();
+
+		run(client, request, WARMUP_SECONDS);
+		Result result = run(client, request, SECONDS);
+
+		System.out.printf("%-8s %10s %10s %10s %10s %8s%n", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+		System.out.printf("%-8d %10.0f %10.1f %10.1f %10.1f %8d%n", CLIENTS, result.requestsPerSecond(),
+				result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0),
+				result.errors());
+
+		assertThat(result.latencies()).isNotEmpty();
+	}
+
+	private static Result run(HttpClient client, HttpRequest request, int seconds) throws Exception {
+		long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+		AtomicLong errors = new AtomicLong();
+		List<Future<long[]>> clients = new ArrayList<>();
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < CLIENTS; i++) {
+				clients.add(executor.submit(() -> {
+					long[] latencies = new long[1024];
+					int count = 0;
+					while (System.nanoTime() < end) {
+						long sent = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() != 201) {
+								errors.incrementAndGet();
+								continue;
+							}
+						} catch (java.io.IOException e) {
+							errors.incrementAndGet();
+							continue;
+						}
+						if (count == latencies.length) {
+							latencies = Arrays.copyOf(latencies, count * 2);
+						}
+						latencies[count++] = System.nanoTime() - sent;
+					}
+					return Arrays.copyOf(latencies, count);
+				}));
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		long[] all = new long[0];
+		for (Future<long[]> future : clients) {
+			long[] latencies = future.get();
+			int offset = all.length;
+			all = Arrays.copyOf(all, offset + latencies.length);
+			System.arraycopy(latencies, 0, all, offset, latencies.length);
+		}
+		Arrays.sort(all);
+		return new Result(all, all.length * 1e9 / elapsed, errors.get());
+	}
+
+	private record Result(long[] latencies, double requestsPerSecond, long errors) {
+
+		double percentileMillis(double fraction) {
+			if (latencies.length == 0) {
+				return Double.NaN;
+			}
+			int index = (int) Math.min(latencies.length - 1, Math.ceil(fraction * latencies.length) - 1);
+			return latencies[Math.max(0, index)] / 1e6;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.nopaper.work.survey.ids;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Insert throughput and primary key index size of random v4 ids versus
+ * UuidV7, on a real PostgreSQL (the effect is in the B-tree, so an
+ * in-memory database would not show it).
+ *
+ * Skipped unless a database is given:
+ * mvn test -Dtest=UuidInsertBenchmarkTests -Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/survey
+ *     -Dbenchmark.datasource.username=... -Dbenchmark.datasource.password=...
+ *
+ * Each run inserts into a fresh temp table shaped like survey_response_answer's
+ * key columns, in committed batches like ResponseBatchWriter.
+ */
+@EnabledIfSystemProperty(named = "benchmark.datasource.url", matches = ".+")
+class UuidInsertBenchmarkTests {
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 500_000);
+	private static final int WARMUP_ROWS = 20_000;
+	private static final int BATCH_SIZE = 1_000;
+
+	@Test
+	void comparesRandomAndTimeOrderedIds() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.datasource.url"),
+				System.getProperty("benchmark.datasource.username"),
+				System.getProperty("benchmark.datasource.password"))) {
+			connection.setAutoCommit(false);
+			run(connection, "uuid_bench_warmup_v4", UUID::randomUUID, WARMUP_ROWS);
+			run(connection, "uuid_bench_warmup_v7", UuidV7::next, WARMUP_ROWS);
+
+			Result random = run(connection, "uuid_bench_v4", UUID::randomUUID, ROWS);
+			Result ordered = run(connection, "uuid_bench_v7", UuidV7::next, ROWS);
+
+			System.out.printf("%-8s %12s %14s %14s%n", "ids", "rows/s", "index bytes", "table bytes");
+			System.out.printf("%-8s %12.0f %14d %14d%n", "v4", random.rowsPerSecond(), random.indexBytes(),
+					random.tableBytes());
+			System.out.printf("%-8s %12.0f %14d %14d%n", "v7", ordered.rowsPerSecond(), ordered.indexBytes(),
+					ordered.tableBytes());
+
+			// Appending keeps leaf pages full; random inserts split pages and leave them ~70% used.
+			assertThat(ordered.indexBytes()).isLessThan(random.indexBytes());
+		}
+	}
+
+	private static Result run(Connection connection, String table, Supplier<UUID> ids, int rows)
+			throws SQLException {
+		try (Statement ddl = connection.createStatement()) {
+			ddl.execute("DROP TABLE IF EXISTS " + table);
+			ddl.execute("CREATE TEMP TABLE " + table + " (answer_id UUID PRIMARY KEY, response_id UUID NOT NULL,"
+					+ " answer_value TEXT)");
+		}
+		connection.commit();
+
+		UUID responseId = ids.get();
+		long start = System.nanoTime();
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO " + table + " (answer_id, response_id, answer_value) VALUES (?, ?, ?)")) {
+			for (int i = 0; i < rows; i++) {
+				if (i % 10 == 0) {
+					responseId = ids.get();
+				}
+				insert.setObject(1, ids.get());
+				insert.setObject(2, responseId);
+				insert.setString(3, "value " + i);
+				insert.addBatch();
+				if ((i + 1) % BATCH_SIZE == 0) {
+					insert.executeBatch();
+					connection.commit();
+				}
+			}
+			insert.executeBatch();
+			connection.commit();
+		}
+		long elapsed = System.nanoTime() - start;
+
+		try (Statement sizes = connection.createStatement();
+				ResultSet rs = sizes.executeQuery("SELECT pg_relation_size('" + table + "_pkey'), pg_relation_size('"
+						+ table + "')")) {
+			rs.next();
+			return new Result(rows * 1e9 / elapsed, rs.getLong(1), rs.getLong(2));
+		}
+	}
+
+	private record Result(double rowsPerSecond, long indexBytes, long tableBytes) {
+	}
+}
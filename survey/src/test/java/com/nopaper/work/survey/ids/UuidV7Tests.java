@@ -0,0 +1,78 @@
+package com.nopaper.work.survey.ids;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7Tests {
+
+	@Test
+	void setsVersionVariantAndTimestamp() throws InterruptedException {
+		// Fresh thread: ids generated earlier on this thread may have borrowed future milliseconds.
+		UUID[] generated = new UUID[1];
+		long before = System.currentTimeMillis();
+		Thread.ofPlatform().start(() -> generated[0] = UuidV7.next()).join();
+		long after = System.currentTimeMillis();
+		UUID id = generated[0];
+
+		assertThat(id.version()).isEqualTo(7);
+		assertThat(id.variant()).isEqualTo(2);
+		assertThat(UuidV7.epochMillis(id)).isBetween(before, after);
+		assertThatThrownBy(() -> UuidV7.epochMillis(UUID.randomUUID())).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void increasesStrictlyWithinAThread() {
+		UUID previous = UuidV7.next();
+		for (int i = 0; i < 100_000; i++) {
+			UUID id = UuidV7.next();
+			// Unsigned comparison of the most significant half is the index sort order.
+			assertThat(Long.compareUnsigned(id.getMostSignificantBits(), previous.getMostSignificantBits()))
+					.isPositive();
+			previous = id;
+		}
+	}
+
+	@Test
+	void encodesFieldsInSortOrder() {
+		UUID early = UuidV7.of(1_700_000_000_000L, 4095, -1L);
+		UUID late = UuidV7.of(1_700_000_000_001L, 0, 0L);
+
+		assertThat(early.toString()).startsWith("018bcfe5-6800-7fff-bfff-");
+		assertThat(late.toString()).isGreaterThan(early.toString());
+		assertThat(UuidV7.epochMillis(late)).isEqualTo(1_700_000_000_001L);
+	}
+
+	@Test
+	void staysUniqueAcrossThreads() throws InterruptedException {
+		Set<UUID> ids = ConcurrentHashMap.newKeySet();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			threads.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				for (int i = 0; i < 20_000; i++) {
+					ids.add(UuidV7.next());
+				}
+			}));
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(ids).hasSize(8 * 20_000);
+	}
+}
@@ -0,0 +1,128 @@
+package com.nopaper.work.survey.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.limit.AdaptiveConcurrencyLimiter.Priority;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long MILLI = 1_000_000;
+
+	@Test
+	void shedsReportingFirstAndSubmitLast() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 4, 1.5, 0.5);
+
+		assertThat(limiter.acquire(Priority.REPORTING, 0, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(limiter.acquire(Priority.REPORTING, 0, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(limiter.acquire(Priority.REPORTING, 0, TimeUnit.MILLISECONDS)).isFalse();
+		assertThat(limiter.acquire(Priority.NORMAL, 0, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(limiter.acquire(Priority.SUBMIT, 0, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(limiter.getInFlight()).isEqualTo(4);
+
+		assertThat(limiter.acquire(Priority.NORMAL, 0, TimeUnit.MILLISECONDS)).isFalse();
+		assertThat(limiter.acquire(Priority.SUBMIT, 10, TimeUnit.MILLISECONDS)).isFalse();
+		assertThat(limiter.getInFlight()).isEqualTo(4);
+	}
+
+	@Test
+	void waitingSubmitTakesTheNextFreeSlot() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1.5, 1.0);
+		assertThat(limiter.acquire(Priority.NORMAL, 0, TimeUnit.MILLISECONDS)).isTrue();
+
+		CompletableFuture<Boolean> submit = CompletableFuture.supplyAsync(() -> {
+			try {
+				return limiter.acquire(Priority.SUBMIT, 10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		while (limiter.getWaiting() == 0) {
+			Thread.onSpinWait();
+		}
+		limiter.release(MILLI);
+		assertThat(limiter.acquire(Priority.NORMAL, 0, TimeUnit.MILLISECONDS)).isFalse();
+
+		assertThat(submit.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+		assertThat(limiter.getWaiting()).isZero();
+	}
+
+	@Test
+	void limitFollowsLatency() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 20, 1.5, 1.0);
+
+		runAtFullLoad(limiter, 1, 100);
+		assertThat(limiter.getLimit()).isEqualTo(20);
+
+		runAtFullLoad(limiter, 10, 10);
+		assertThat(limiter.getLimit()).isLessThan(10);
+
+		runAtFullLoad(limiter, 1, 100);
+		assertThat(limiter.getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	void oneLongOutlierDoesNotShrinkTheLimit() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 20, 1.5, 1.0);
+		runAtFullLoad(limiter, 10, 100);
+
+		// An export holding its connection for half an hour, released among short units.
+		int admitted = 0;
+		while (limiter.acquire(Priority.NORMAL, 0, TimeUnit.MILLISECONDS)) {
+			admitted++;
+		}
+		limiter.release(TimeUnit.MINUTES.toNanos(30));
+		for (int i = 1; i < admitted; i++) {
+			limiter.release(10 * MILLI);
+		}
+		assertThat(limiter.getLimit()).isEqualTo(20);
+
+		runAtFullLoad(limiter, 10, 10);
+		assertThat(limiter.getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	void dropsCutTheLimitDownToTheMinimum() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 10, 1.5, 1.0);
+		for (int i = 0; i < 50; i++) {
+			assertThat(limiter.acquire(Priority.NORMAL, 0, TimeUnit.MILLISECONDS)).isTrue();
+			limiter.drop();
+		}
+		assertThat(limiter.getLimit()).isEqualTo(2);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void priorityIsPerThreadAndRestored() {
+		assertThat(AdaptiveConcurrencyLimiter.currentPriority()).isEqualTo(Priority.NORMAL);
+		Priority outer = AdaptiveConcurrencyLimiter.setPriority(Priority.REPORTING);
+		Priority inner = AdaptiveConcurrencyLimiter.setPriority(Priority.SUBMIT);
+		assertThat(AdaptiveConcurrencyLimiter.currentPriority()).isEqualTo(Priority.SUBMIT);
+
+		AdaptiveConcurrencyLimiter.restorePriority(inner);
+		assertThat(AdaptiveConcurrencyLimiter.currentPriority()).isEqualTo(Priority.REPORTING);
+		AdaptiveConcurrencyLimiter.restorePriority(outer);
+		assertThat(AdaptiveConcurrencyLimiter.currentPriority()).isEqualTo(Priority.NORMAL);
+	}
+
+	/**
+	 * Fill the limit, then release everything with the given latency, for a number of rounds.
+	 */
+	private static void runAtFullLoad(AdaptiveConcurrencyLimiter limiter, long latencyMillis, int rounds)
+			throws InterruptedException {
+		for (int round = 0; round < rounds; round++) {
+			int admitted = 0;
+			while (limiter.acquire(Priority.NORMAL, 0, TimeUnit.MILLISECONDS)) {
+				admitted++;
+			}
+			for (int i = 0; i < admitted; i++) {
+				limiter.release(latencyMillis * MILLI);
+			}
+		}
+	}
+}
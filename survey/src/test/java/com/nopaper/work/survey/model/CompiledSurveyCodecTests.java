@@ -0,0 +1,183 @@
+package com.nopaper.work.survey.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.entity.QuestionOption;
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.entity.SurveySection;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.enums.SurveyStatus;
+
+class CompiledSurveyCodecTests {
+
+	@Test
+	void roundTripKeepsEveryField() {
+		CompiledSurvey original = CompiledSurvey.compile(survey());
+
+		CompiledSurvey decoded = CompiledSurveyCodec.decode(CompiledSurveyCodec.encode(original));
+
+		assertThat(decoded.getId()).isEqualTo(original.getId());
+		assertThat(decoded.getVersion()).isEqualTo(LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_789));
+		assertThat(decoded.getTitle()).isEqualTo("Sécurité — 安全");
+		assertThat(decoded.getDescription()).isNull();
+		assertThat(decoded.getInstructions()).isEqualTo("Answer everything");
+		assertThat(decoded.getStatus()).isEqualTo(SurveyStatus.ACTIVE);
+		assertThat(decoded.getScoringType()).isEqualTo(ScoringType.FORMULA_BASED);
+		assertThat(decoded.getScoringFormulaSource()).isEqualTo("S1 * 0.4 + S2 * 0.6");
+		assertThat(decoded.getScoringFormula()).isNotNull();
+		assertThat(decoded.isShowResults()).isTrue();
+		assertThat(decoded.getTimeLimitMinutes()).isEqualTo(45);
+		assertThat(decoded.responseTimeLimitSeconds()).isEqualTo(45 * 60);
+		assertThat(decoded.getExpiresAt()).isEqualTo(LocalDateTime.of(2026, 12, 31, 23, 59));
+		assertThat(decoded.sections()).isEqualTo(original.sections());
+		assertThat(decoded.questions()).isEqualTo(original.questions());
+		assertThat(decoded.options()).isEqualTo(original.options());
+	}
+
+	@Test
+	void roundTripKeepsNullAndNaNValues() {
+		CompiledSurvey decoded = CompiledSurveyCodec.decode(CompiledSurveyCodec.encode(
+				CompiledSurvey.compile(survey())));
+
+		assertThat(decoded.section(0).maxScore()).isEqualTo(10.0);
+		assertThat(decoded.section(0).passScore()).isEqualTo(6.0);
+		assertThat(decoded.section(1).maxScore()).isNaN();
+		assertThat(decoded.section(1).passScore()).isNaN();
+		assertThat(decoded.section(1).description()).isNull();
+		assertThat(decoded.question(0).timeLimitSeconds()).isEqualTo(90);
+		assertThat(decoded.question(0).required()).isTrue();
+		assertThat(decoded.question(1).disabled()).isTrue();
+		assertThat(decoded.question(1).optionCount()).isZero();
+		assertThat(decoded.question(2).firstOption()).isEqualTo(2);
+		assertThat(decoded.option(0).numericValue()).isEqualTo(1.5);
+		assertThat(decoded.option(1).numericValue()).isNaN();
+		assertThat(decoded.option(1).points()).isZero();
+		assertThat(decoded.option(1).imageUrl()).isNull();
+		assertThat(decoded.option(2).question()).isEqualTo(2);
+	}
+
+	@Test
+	void surveyWithoutStatusOrSectionsRoundTrips() {
+		Survey survey = Survey.builder()
+				.id(UUID.randomUUID())
+				.title("")
+				.updatedAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+				.build();
+		CompiledSurvey original = CompiledSurvey.compile(survey);
+
+		CompiledSurvey decoded = CompiledSurveyCodec.decode(CompiledSurveyCodec.encode(original));
+
+		assertThat(decoded.getTitle()).isEmpty();
+		assertThat(decoded.getStatus()).isNull();
+		assertThat(decoded.getScoringType()).isEqualTo(ScoringType.NO_SCORING);
+		assertThat(decoded.getScoringFormulaSource()).isNull();
+		assertThat(decoded.getExpiresAt()).isNull();
+		assertThat(decoded.sectionCount()).isZero();
+		assertThat(decoded.questionCount()).isZero();
+		assertThat(decoded.optionCount()).isZero();
+	}
+
+	@Test
+	void unknownFormatVersionIsRejected() {
+		byte[] data = CompiledSurveyCodec.encode(CompiledSurvey.compile(survey()));
+		data[0] = (byte) (CompiledSurveyCodec.FORMAT_VERSION + 1);
+
+		assertThatThrownBy(() -> CompiledSurveyCodec.decode(data))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Unsupported compiled survey format: " + (CompiledSurveyCodec.FORMAT_VERSION + 1));
+	}
+
+	/**
+	 * Two sections: the first scored with bounds and a timed, required
+	 * question; the second unbounded, with a disabled question without
+	 * options and a question whose option leaves every optional field unset.
+	 */
+	private static Survey survey() {
+		Question timed = Question.builder()
+				.id(UUID.randomUUID())
+				.questionText("How many?")
+				.description("Pick one")
+				.questionType(QuestionType.SINGLE_CHOICE)
+				.scoringType(ScoringType.FIXED_SCORE)
+				.required(true)
+				.disabled(false)
+				.timeLimitSeconds(90)
+				.maxPoints(5.0)
+				.imageUrl("https://example.com/q.png")
+				.videoUrl("https://example.com/q.mp4")
+				.options(List.of(
+						QuestionOption.builder()
+								.id(UUID.randomUUID())
+								.optionText("One")
+								.description("The first")
+								.displayOrder(0)
+								.points(5.0)
+								.numericValue(1.5)
+								.imageUrl("https://example.com/o.png")
+								.imageAltText("one")
+								.videoUrl("https://example.com/o.mp4")
+								.build(),
+						QuestionOption.builder()
+								.id(UUID.randomUUID())
+								.optionText("Two")
+								.displayOrder(1)
+								.build()))
+				.build();
+		Question disabled = Question.builder()
+				.id(UUID.randomUUID())
+				.questionText("Retired")
+				.questionType(QuestionType.TEXT)
+				.required(false)
+				.disabled(true)
+				.options(List.of())
+				.build();
+		Question plain = Question.builder()
+				.id(UUID.randomUUID())
+				.questionText("Pick")
+				.questionType(QuestionType.MULTIPLE_CHOICE)
+				.options(List.of(QuestionOption.builder()
+						.id(UUID.randomUUID())
+						.displayOrder(0)
+						.build()))
+				.build();
+		SurveySection scored = SurveySection.builder()
+				.id(UUID.randomUUID())
+				.title("S1")
+				.description("First")
+				.displayOrder(1)
+				.scoringType(ScoringType.FIXED_SCORE)
+				.maxScore(10.0)
+				.passScore(6.0)
+				.questions(List.of(timed))
+				.build();
+		SurveySection unbounded = SurveySection.builder()
+				.id(UUID.randomUUID())
+				.title("S2")
+				.displayOrder(2)
+				.questions(List.of(disabled, plain))
+				.build();
+		return Survey.builder()
+				.id(UUID.randomUUID())
+				.title("Sécurité — 安全")
+				.instructions("Answer everything")
+				.status(SurveyStatus.ACTIVE)
+				.scoringType(ScoringType.FORMULA_BASED)
+				.scoringFormula("S1 * 0.4 + S2 * 0.6")
+				.showResults(true)
+				.timeLimitMinutes(45)
+				.expiresAt(LocalDateTime.of(2026, 12, 31, 23, 59))
+				.updatedAt(LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_789))
+				.sections(List.of(scored, unbounded))
+				.build();
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.nopaper.work.survey.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.SurveyFixtures;
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.enums.QuestionType;
+
+class CompiledSurveyTests {
+
+	@Test
+	void surveyTimeLimitWinsOverQuestionLimits() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(20, question(30, false), question(45, false)));
+
+		assertThat(survey.responseTimeLimitSeconds()).isEqualTo(1200);
+		assertThat(survey.hasPartialQuestionTimeLimits()).isFalse();
+	}
+
+	@Test
+	void questionLimitsAddUpWhenEveryEnabledQuestionHasOne() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(null, question(30, false), question(45, false),
+				question(null, true)));
+
+		assertThat(survey.responseTimeLimitSeconds()).isEqualTo(75);
+		assertThat(survey.hasPartialQuestionTimeLimits()).isFalse();
+	}
+
+	@Test
+	void mixedQuestionLimitsLeaveResponseUntimedAndAreFlagged() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(null, question(30, false), question(null, false),
+				question(45, false)));
+
+		assertThat(survey.responseTimeLimitSeconds()).isZero();
+		assertThat(survey.hasPartialQuestionTimeLimits()).isTrue();
+	}
+
+	@Test
+	void surveyWithoutQuestionLimitsIsNotPartial() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(null, question(null, false), question(30, true)));
+
+		assertThat(survey.responseTimeLimitSeconds()).isZero();
+		assertThat(survey.hasPartialQuestionTimeLimits()).isFalse();
+	}
+
+	private static Survey survey(Integer timeLimitMinutes, Question... questions) {
+		Survey survey = SurveyFixtures.survey(questions);
+		survey.setTimeLimitMinutes(timeLimitMinutes);
+		return survey;
+	}
+
+	private static Question question(Integer timeLimitSeconds, boolean disabled) {
+		Question question = SurveyFixtures.unscored(QuestionType.TEXT, 0);
+		question.setTimeLimitSeconds(timeLimitSeconds);
+		question.setDisabled(disabled);
+		return question;
+	}
+}
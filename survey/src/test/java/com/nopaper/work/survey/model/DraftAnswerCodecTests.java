@@ -0,0 +1,56 @@
+package com.nopaper.work.survey.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.dto.AnswerSubmission;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class DraftAnswerCodecTests {
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	@Test
+	void roundTripsEveryField() {
+		UUID questionId = UUID.randomUUID();
+		AnswerSubmission answer = new AnswerSubmission(questionId, List.of(UUID.randomUUID(), UUID.randomUUID()),
+				"naïve – 42", jsonMapper.readTree("{\"value\":\"x\",\"tags\":[1,2]}"), 37);
+
+		AnswerSubmission decoded = DraftAnswerCodec.decode(questionId, DraftAnswerCodec.encode(answer, jsonMapper),
+				jsonMapper);
+
+		assertThat(decoded).isEqualTo(answer);
+	}
+
+	@Test
+	void keepsNullsAndEncodesChoiceCompactly() {
+		UUID questionId = UUID.randomUUID();
+		AnswerSubmission choice = new AnswerSubmission(questionId, List.of(UUID.randomUUID()), null, null, null);
+
+		byte[] data = DraftAnswerCodec.encode(choice, jsonMapper);
+
+		assertThat(data).hasSize(21);
+		assertThat(DraftAnswerCodec.decode(questionId, data, jsonMapper)).isEqualTo(choice);
+	}
+
+	@Test
+	void rejectsOtherVersionsAndTruncatedData() {
+		UUID questionId = UUID.randomUUID();
+		byte[] data = DraftAnswerCodec.encode(new AnswerSubmission(questionId, List.of(), "text", null, 5),
+				jsonMapper);
+
+		byte[] otherVersion = data.clone();
+		otherVersion[0] = DraftAnswerCodec.FORMAT_VERSION + 1;
+		assertThatThrownBy(() -> DraftAnswerCodec.decode(questionId, otherVersion, jsonMapper))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> DraftAnswerCodec.decode(questionId, Arrays.copyOf(data, data.length - 3), jsonMapper))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
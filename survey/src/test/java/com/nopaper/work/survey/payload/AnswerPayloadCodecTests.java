@@ -0,0 +1,107 @@
+package com.nopaper.work.survey.payload;
+
+import static com.nopaper.work.survey.SurveyFixtures.survey;
+import static com.nopaper.work.survey.SurveyFixtures.unscored;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class AnswerPayloadCodecTests {
+
+	private final AnswerPayloadCodec codec = new AnswerPayloadCodec(JsonMapper.builder().build());
+
+	private final CompiledSurvey survey = CompiledSurvey.compile(survey(
+			unscored(QuestionType.RANKING, 4), unscored(QuestionType.SINGLE_CHOICE, 2)));
+
+	@Test
+	void roundTripsRankings() {
+		String json = codec.write(QuestionType.RANKING, survey, codec.holder().addOption(2).addOption(0).addOption(3));
+
+		assertThat(json).isEqualTo("{\"ranking\":[\"" + survey.option(2).id() + "\",\"" + survey.option(0).id()
+				+ "\",\"" + survey.option(3).id() + "\"]}");
+		AnswerPayload payload = new AnswerPayload();
+		assertThat(codec.read(QuestionType.RANKING, survey, json, payload)).isTrue();
+		assertThat(payload.kind()).isEqualTo(AnswerPayload.Kind.OPTIONS);
+		assertThat(options(payload)).containsExactly(2, 0, 3);
+	}
+
+	@Test
+	void roundTripsChoicesAndKeepsUnknownOptionsAsMinusOne() {
+		String json = codec.write(QuestionType.SINGLE_CHOICE, survey, codec.holder().addOption(5));
+		AnswerPayload payload = new AnswerPayload();
+
+		assertThat(json).isEqualTo("{\"option\":\"" + survey.option(5).id() + "\"}");
+		assertThat(codec.read(QuestionType.SINGLE_CHOICE, survey, json, payload)).isTrue();
+		assertThat(options(payload)).containsExactly(5);
+
+		assertThat(codec.read(QuestionType.SINGLE_CHOICE, survey,
+				"{\"option\":\"" + UUID.randomUUID() + "\",\"extra\":{\"a\":[1,2]}}", payload)).isTrue();
+		assertThat(options(payload)).containsExactly(-1);
+	}
+
+	@Test
+	void roundTripsNumbersAndText() {
+		AnswerPayload payload = new AnswerPayload();
+
+		String number = codec.write(QuestionType.NUMERIC, survey, codec.holder().setNumber(42.5));
+		assertThat(number).isEqualTo("{\"value\":42.5}");
+		assertThat(codec.read(QuestionType.NUMERIC, survey, number, payload)).isTrue();
+		assertThat(payload.number()).isEqualTo(42.5);
+		assertThat(codec.write(QuestionType.SLIDER, survey, codec.holder().setNumber(7.0)))
+				.isEqualTo("{\"value\":7}");
+
+		String text = codec.write(QuestionType.TEXT, survey, codec.holder().setText("say \"hi\"\n\u0001"));
+		assertThat(text).isEqualTo("{\"value\":\"say \\\"hi\\\"\\n\\u0001\"}");
+		assertThat(codec.read(QuestionType.TEXT, survey, text, payload)).isTrue();
+		assertThat(payload.text()).isEqualTo("say \"hi\"\n\u0001");
+	}
+
+	@Test
+	void keepsTheEpochOfDateTimes() {
+		long epochMillis = AnswerPayloadCodec.parseEpochMillis("2026-10-17T10:15:30Z");
+		String json = codec.write(QuestionType.DATE_TIME, survey,
+				codec.holder().setDateTime(epochMillis, "2026-10-17T10:15:30Z"));
+		AnswerPayload payload = new AnswerPayload();
+
+		assertThat(codec.read(QuestionType.DATE_TIME, survey, json, payload)).isTrue();
+		assertThat(payload.kind()).isEqualTo(AnswerPayload.Kind.DATE_TIME);
+		assertThat(payload.epochMillis()).isEqualTo(epochMillis);
+		assertThat(payload.text()).isEqualTo("2026-10-17T10:15:30Z");
+		assertThat(AnswerPayloadCodec.parseEpochMillis("2026-10-17T12:15:30+02:00")).isEqualTo(epochMillis);
+		assertThat(AnswerPayloadCodec.parseEpochMillis("next tuesday")).isEqualTo(Long.MIN_VALUE);
+	}
+
+	@Test
+	void readsPackedAndLegacyMatrixPayloads() {
+		AnswerPayload payload = new AnswerPayload();
+
+		assertThat(codec.read(QuestionType.MATRIX, survey,
+				codec.write(QuestionType.MATRIX, survey, codec.holder().setPacked()), payload)).isTrue();
+		assertThat(payload.kind()).isEqualTo(AnswerPayload.Kind.PACKED);
+
+		String legacy = "{\"matrix\":[\"" + survey.option(1).id() + "\",\"" + survey.option(1).id() + "\"]}";
+		assertThat(codec.read(QuestionType.MATRIX, survey, legacy, payload)).isTrue();
+		assertThat(options(payload)).containsExactly(1, 1);
+	}
+
+	@Test
+	void rejectsMalformedJson() {
+		AnswerPayload payload = new AnswerPayload();
+
+		assertThat(codec.read(QuestionType.RANKING, survey, "{\"ranking\":[", payload)).isFalse();
+		assertThat(payload.kind()).isEqualTo(AnswerPayload.Kind.NONE);
+		assertThat(codec.read(QuestionType.TEXT, survey, "[1]", payload)).isFalse();
+	}
+
+	private static int[] options(AnswerPayload payload) {
+		return Arrays.copyOf(payload.options(), payload.optionCount());
+	}
+}
@@ -0,0 +1,85 @@
+package com.nopaper.work.survey.scoring;
+
+import static com.nopaper.work.survey.SurveyFixtures.survey;
+import static com.nopaper.work.survey.SurveyFixtures.unscored;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.entity.QuestionOption;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+class MatrixAnswerCodecTests {
+
+	@Test
+	void roundTripsRowsIntoTheAnswerSheet() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(matrix(5), matrix(3)));
+		int[] options = {4, 0, 3, 3, 1, 2, 0, 4, 4, 1};
+
+		byte[] data = MatrixAnswerCodec.encode(survey, 0, options, options.length);
+
+		assertThat(data).hasSize(6 + 5 * 16 + 4);
+		assertThat(MatrixAnswerCodec.rows(data)).isEqualTo(10);
+		AnswerSheet sheet = new AnswerSheet();
+		sheet.reset(survey.questionCount());
+		assertThat(MatrixAnswerCodec.decodeInto(survey, 0, data, sheet)).isTrue();
+		assertThat(sheet.selectionCount(0)).isEqualTo(10);
+		for (int r = 0; r < options.length; r++) {
+			assertThat(sheet.selection(0, r)).isEqualTo(options[r]);
+		}
+		assertThat(MatrixAnswerCodec.decodeOptionIds(survey, 0, data))
+				.containsExactly(survey.option(4).id(), survey.option(0).id(), survey.option(3).id(),
+						survey.option(3).id(), survey.option(1).id(), survey.option(2).id(), survey.option(0).id(),
+						survey.option(4).id(), survey.option(4).id(), survey.option(1).id());
+	}
+
+	@Test
+	void decodesAnswersAfterTheColumnsChange() {
+		Question question = matrix(4);
+		List<QuestionOption> written = List.copyOf(question.getOptions());
+		CompiledSurvey before = CompiledSurvey.compile(survey(question));
+		byte[] data = MatrixAnswerCodec.encode(before, 0, new int[] {3, 0, 2}, 3);
+
+		// Column 1 removed, the rest reordered and a new column added.
+		QuestionOption added = QuestionOption.builder().id(UUID.randomUUID()).optionText("New").displayOrder(4).build();
+		question.setOptions(new ArrayList<>(List.of(written.get(2), written.get(3), added, written.get(0))));
+		CompiledSurvey after = CompiledSurvey.compile(survey(question));
+
+		AnswerSheet sheet = new AnswerSheet();
+		sheet.reset(after.questionCount());
+		assertThat(MatrixAnswerCodec.decodeInto(after, 0, data, sheet)).isTrue();
+		assertThat(after.option(sheet.selection(0, 0)).id()).isEqualTo(written.get(3).getId());
+		assertThat(after.option(sheet.selection(0, 1)).id()).isEqualTo(written.get(0).getId());
+		assertThat(after.option(sheet.selection(0, 2)).id()).isEqualTo(written.get(2).getId());
+
+		// A selected column that was removed is still reported by id, but cannot be scored.
+		byte[] removed = MatrixAnswerCodec.encode(before, 0, new int[] {1, 0}, 2);
+		sheet.reset(after.questionCount());
+		assertThat(MatrixAnswerCodec.decodeInto(after, 0, removed, sheet)).isFalse();
+		assertThat(sheet.isAnswered(0)).isFalse();
+		assertThat(MatrixAnswerCodec.decodeOptionIds(after, 0, removed))
+				.containsExactly(written.get(1).getId(), written.get(0).getId());
+	}
+
+	@Test
+	void rejectsAnswersWrittenForAnotherQuestion() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(matrix(4), matrix(4)));
+		byte[] data = MatrixAnswerCodec.encode(survey, 0, new int[] {0, 1, 2}, 3);
+
+		AnswerSheet sheet = new AnswerSheet();
+		sheet.reset(survey.questionCount());
+
+		assertThat(MatrixAnswerCodec.decodeInto(survey, 1, data, sheet)).isFalse();
+		assertThat(sheet.isAnswered(1)).isFalse();
+	}
+
+	private static Question matrix(int columns) {
+		return unscored(QuestionType.MATRIX, columns);
+	}
+}
@@ -0,0 +1,119 @@
+package com.nopaper.work.survey.scoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.SurveyFixtures;
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.entity.SurveySection;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+class ResponseScorerTests {
+
+	private final ResponseScorer scorer = new ResponseScorer(List.of(
+			new NoScoringEngine(),
+			new FixedScoreEngine(),
+			new WeightedScoreEngine(),
+			new DynamicScoreEngine(),
+			new FormulaBasedScoreEngine()));
+
+	@Test
+	void scoresEachQuestionWithItsEngineAndFillsTotals() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(6.0,
+				question(QuestionType.SINGLE_CHOICE, ScoringType.FIXED_SCORE, null, 0.0, 5.0),
+				question(QuestionType.SINGLE_CHOICE, ScoringType.WEIGHTED_SCORE, 10.0, 0.0, 2.0, 4.0),
+				question(QuestionType.SLIDER, ScoringType.DYNAMIC_SCORE, 10.0)));
+
+		AnswerSheet sheet = new AnswerSheet();
+		sheet.reset(survey.questionCount());
+		sheet.addSelection(0, 1);
+		sheet.addSelection(1, 3);
+		sheet.setNumericValue(2, 12.0);
+
+		ScoreCard card = new ScoreCard();
+		scorer.score(survey, sheet, card);
+
+		assertThat(card.questionScore(0)).isEqualTo(5.0);
+		assertThat(card.questionScore(1)).isEqualTo(5.0);
+		assertThat(card.questionScore(2)).isEqualTo(10.0);
+		assertThat(card.getTotalScore()).isEqualTo(20.0);
+		assertThat(card.getMaxScore()).isEqualTo(25.0);
+		assertThat(card.getScorePercentage()).isEqualTo(80.0);
+		assertThat(card.getPassed()).isTrue();
+	}
+
+	@Test
+	void unansweredQuestionsScoreZeroAndCanFailTheSection() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(3.0,
+				question(QuestionType.MULTIPLE_CHOICE, ScoringType.FIXED_SCORE, null, 1.0, 2.0, -1.0)));
+
+		AnswerSheet sheet = new AnswerSheet();
+		sheet.reset(survey.questionCount());
+
+		ScoreCard card = new ScoreCard();
+		scorer.score(survey, sheet, card);
+
+		assertThat(card.getTotalScore()).isZero();
+		assertThat(card.getMaxScore()).isEqualTo(3.0);
+		assertThat(card.getPassed()).isFalse();
+	}
+
+	@Test
+	void formulaMaximumIsTheFormulaOverPerfectScores() {
+		SurveySection first = section(1, 3.0, question(QuestionType.SINGLE_CHOICE, ScoringType.FIXED_SCORE, null,
+				0.0, 5.0));
+		SurveySection second = section(2, 6.0, question(QuestionType.SINGLE_CHOICE, ScoringType.FIXED_SCORE, null,
+				0.0, 10.0));
+		Survey formula = SurveyFixtures.survey(first, second);
+		formula.setScoringType(ScoringType.FORMULA_BASED);
+		formula.setScoringFormula("S1 * 0.4 + S2 * 0.6");
+		CompiledSurvey survey = CompiledSurvey.compile(formula);
+
+		AnswerSheet sheet = new AnswerSheet();
+		sheet.reset(survey.questionCount());
+		sheet.addSelection(0, 1);
+		sheet.addSelection(1, 3);
+		ScoreCard card = new ScoreCard();
+		scorer.score(survey, sheet, card);
+
+		assertThat(card.getTotalScore()).isEqualTo(8.0);
+		assertThat(card.getMaxScore()).isEqualTo(8.0);
+		assertThat(card.getScorePercentage()).isEqualTo(100.0);
+		assertThat(card.getPassed()).isTrue();
+
+		sheet.reset(survey.questionCount());
+		sheet.addSelection(0, 1);
+		sheet.addSelection(1, 2);
+		scorer.score(survey, sheet, card);
+
+		assertThat(card.getTotalScore()).isEqualTo(2.0);
+		assertThat(card.getMaxScore()).isEqualTo(8.0);
+		assertThat(card.getScorePercentage()).isEqualTo(25.0);
+		// The pass marks require 9 of 15 section points: 60% of the formula's 8.
+		assertThat(card.getPassed()).isFalse();
+	}
+
+	private static Survey survey(double passScore, Question... questions) {
+		return SurveyFixtures.survey(section(1, passScore, questions));
+	}
+
+	private static SurveySection section(int displayOrder, double passScore, Question... questions) {
+		SurveySection section = SurveyFixtures.section(displayOrder, questions);
+		section.setPassScore(passScore);
+		return section;
+	}
+
+	private static Question question(QuestionType type, ScoringType scoringType, Double maxPoints,
+			double... optionPoints) {
+		Question question = SurveyFixtures.question(type, scoringType, optionPoints);
+		question.setMaxPoints(maxPoints);
+		return question;
+	}
+
+}
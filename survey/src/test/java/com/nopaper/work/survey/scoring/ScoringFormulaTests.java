@@ -0,0 +1,57 @@
+package com.nopaper.work.survey.scoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.errors.InvalidFormulaException;
+
+class ScoringFormulaTests {
+
+	private final ScoreCard card = new ScoreCard();
+
+	@BeforeEach
+	void fillCard() {
+		card.reset(3, 2);
+		card.setQuestion(0, 2.0, 5.0);
+		card.setQuestion(1, 3.0, 5.0);
+		card.setQuestion(2, 4.0, 4.0);
+		card.setSection(0, 5.0, 10.0, Double.NaN);
+		card.setSection(1, 4.0, 4.0, Double.NaN);
+		card.setTotals(9.0, 14.0);
+	}
+
+	@Test
+	void evaluatesArithmeticOverSectionAndQuestionScores() {
+		assertThat(evaluate("S1 * 0.4 + S2 * 0.6")).isCloseTo(4.4, within(1e-9));
+		assertThat(evaluate("2 * (q1 + Q2) - -1")).isEqualTo(11.0);
+		assertThat(evaluate("round(TOTAL / MAX * 100, 1)")).isEqualTo(64.3);
+	}
+
+	@Test
+	void evaluatesFunctionsAndConditions() {
+		assertThat(evaluate("max(Q1, Q2, Q3)")).isEqualTo(4.0);
+		assertThat(evaluate("clamp(Q1 * 10, 0, QMAX1)")).isEqualTo(5.0);
+		assertThat(evaluate("if(S1 >= 10, TOTAL, TOTAL / 2)")).isEqualTo(4.5);
+		assertThat(evaluate("S2 / 0")).isZero();
+	}
+
+	@Test
+	void rejectsInvalidFormulas() {
+		assertThatThrownBy(() -> ScoringFormula.compile("S3", 3, 2))
+				.isInstanceOf(InvalidFormulaException.class)
+				.hasMessageContaining("out of range");
+		assertThatThrownBy(() -> ScoringFormula.compile("foo(1)", 3, 2))
+				.isInstanceOf(InvalidFormulaException.class);
+		assertThatThrownBy(() -> ScoringFormula.validate("1 +"))
+				.isInstanceOf(InvalidFormulaException.class);
+	}
+
+	private double evaluate(String formula) {
+		return ScoringFormula.compile(formula, 3, 2).evaluate(card);
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.nopaper.work.survey.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.entity.Survey;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.enums.SurveyStatus;
+import com.nopaper.work.survey.model.CompiledSurvey;
+
+class CompiledSurveyCacheTests {
+
+	private static final UUID SURVEY_ID = UUID.randomUUID();
+	private static final LocalDateTime V1 = LocalDateTime.of(2026, 1, 1, 10, 0);
+	private static final LocalDateTime V2 = V1.plusMinutes(1);
+	private static final LocalDateTime V3 = V1.plusMinutes(2);
+
+	private final CompiledSurveyCache cache = new CompiledSurveyCache();
+
+	@Test
+	void lateInvalidationDoesNotEvictNewerSnapshot() {
+		cache.put(snapshot(V2));
+
+		assertThat(cache.invalidate(SURVEY_ID, V1)).isFalse();
+		assertThat(cache.getIfPresent(SURVEY_ID).getVersion()).isEqualTo(V2);
+	}
+
+	@Test
+	void invalidatedVersionIsNeverResurrected() {
+		cache.put(snapshot(V2));
+
+		assertThat(cache.invalidate(SURVEY_ID, V3)).isTrue();
+		cache.put(snapshot(V2));
+		assertThat(cache.getIfPresent(SURVEY_ID)).isNull();
+
+		// An older message arriving afterwards must not lower the watermark.
+		cache.invalidate(SURVEY_ID, V1);
+		assertThat(cache.minimumVersion(SURVEY_ID)).isEqualTo(V3);
+
+		CompiledSurvey loaded = cache.get(SURVEY_ID, id -> snapshot(V3));
+		assertThat(loaded.getVersion()).isEqualTo(V3);
+		assertThat(cache.getIfPresent(SURVEY_ID)).isSameAs(loaded);
+	}
+
+	@Test
+	void staleLoadIsReturnedButNotCached() {
+		cache.invalidate(SURVEY_ID, V3);
+
+		CompiledSurvey loaded = cache.get(SURVEY_ID, id -> snapshot(V2));
+
+		assertThat(loaded.getVersion()).isEqualTo(V2);
+		assertThat(cache.getIfPresent(SURVEY_ID)).isNull();
+	}
+
+	@Test
+	void slowLoadBlocksNeitherOtherSurveysNorItsWaiters() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<CompiledSurvey> first = executor.submit(() -> cache.get(SURVEY_ID, id -> {
+				loads.incrementAndGet();
+				loading.countDown();
+				await(release);
+				return snapshot(V1);
+			}));
+			assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<CompiledSurvey> waiter = executor.submit(() -> cache.get(SURVEY_ID, id -> {
+				loads.incrementAndGet();
+				return snapshot(V1);
+			}));
+
+			UUID otherId = UUID.randomUUID();
+			assertThat(cache.get(otherId, id -> snapshot(id, V1)).getId()).isEqualTo(otherId);
+
+			release.countDown();
+			assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+			assertThat(loads).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static CompiledSurvey snapshot(LocalDateTime version) {
+		return snapshot(SURVEY_ID, version);
+	}
+
+	private static CompiledSurvey snapshot(UUID surveyId, LocalDateTime version) {
+		return CompiledSurvey.compile(Survey.builder()
+				.id(surveyId)
+				.title("Survey")
+				.status(SurveyStatus.ACTIVE)
+				.scoringType(ScoringType.NO_SCORING)
+				.showResults(false)
+				.updatedAt(version)
+				.sections(List.of())
+				.build());
+	}
+
+}
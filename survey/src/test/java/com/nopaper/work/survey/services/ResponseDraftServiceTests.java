@@ -0,0 +1,155 @@
+package com.nopaper.work.survey.services;
+
+import static com.nopaper.work.survey.SurveyFixtures.survey;
+import static com.nopaper.work.survey.SurveyFixtures.question;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.dto.AnswerSubmission;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ResponseStatus;
+import com.nopaper.work.survey.errors.InvalidSubmissionException;
+import com.nopaper.work.survey.errors.ResponseLockedException;
+import com.nopaper.work.survey.ids.UuidV7;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.repository.ResponseBatchWriter;
+import com.nopaper.work.survey.repository.ResponseBatchWriter.StoredResponse;
+import com.nopaper.work.survey.services.DraftAnswerStore.Draft;
+
+class ResponseDraftServiceTests {
+
+	private final CompiledSurvey survey = CompiledSurvey.compile(survey(
+			question(QuestionType.SINGLE_CHOICE, 1.0, 2.0, 3.0)));
+
+	private final UUID startedId = UuidV7.next();
+	private final UUID submittedId = UuidV7.next();
+	private final UUID refusedId = UuidV7.next();
+
+	private final List<UUID> saved = new ArrayList<>();
+	private final Map<UUID, Long> idle = new LinkedHashMap<>();
+	private final List<UUID> flushed = new ArrayList<>();
+	private final List<UUID> written = new ArrayList<>();
+
+	private final ResponseDraftService service = service();
+
+	@Test
+	void savesADraftOfAnOpenResponse() {
+		service.save(survey.getId(), startedId, List.of(answer(0, 1)));
+
+		assertThat(saved).containsExactly(startedId);
+	}
+
+	@Test
+	void rejectsADraftOfASubmittedOrUnknownResponse() {
+		assertThatThrownBy(() -> service.save(survey.getId(), submittedId, List.of(answer(0, 1))))
+				.isInstanceOf(ResponseLockedException.class);
+		assertThatThrownBy(() -> service.save(survey.getId(), UuidV7.next(), List.of(answer(0, 1))))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("Unknown response");
+		assertThatThrownBy(() -> service.save(UUID.randomUUID(), startedId, List.of(answer(0, 1))))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("Unknown response");
+		assertThat(saved).isEmpty();
+	}
+
+	@Test
+	void rejectsSeveralOptionsForASingleChoiceQuestion() {
+		assertThatThrownBy(() -> service.save(survey.getId(), startedId, List.of(answer(0, 0, 2))))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("single option");
+		assertThat(saved).isEmpty();
+	}
+
+	@Test
+	void flusherWritesTheOtherDraftsWhenOneIsRefused() {
+		UUID first = UuidV7.next();
+		UUID last = UuidV7.next();
+		idle.put(first, 1L);
+		idle.put(refusedId, 2L);
+		idle.put(last, 3L);
+
+		service.flushIdle();
+
+		assertThat(written).containsExactly(first, last);
+		assertThat(flushed).containsExactly(first, last);
+	}
+
+	private AnswerSubmission answer(int question, int... options) {
+		List<UUID> optionIds = new ArrayList<>();
+		for (int option : options) {
+			optionIds.add(survey.option(survey.firstOption(question) + option).id());
+		}
+		return new AnswerSubmission(survey.question(question).id(), optionIds, null, null, null);
+	}
+
+	/**
+	 * The service over in-memory stand-ins: startedId is open, submittedId
+	 * is SUBMITTED, and writing refusedId's draft fails like a constraint
+	 * violation, failing any transaction it is part of.
+	 */
+	private ResponseDraftService service() {
+		SurveyDefinitionService definitions = new SurveyDefinitionService(null, null, null) {
+			@Override
+			public CompiledSurvey getCompiledSurvey(UUID surveyId) {
+				return survey;
+			}
+		};
+		ResponseBatchWriter batchWriter = new ResponseBatchWriter(null) {
+			@Override
+			public Optional<StoredResponse> findResponse(UUID responseId) {
+				ResponseStatus status = responseId.equals(startedId) ? ResponseStatus.STARTED
+						: responseId.equals(submittedId) ? ResponseStatus.SUBMITTED : null;
+				return status == null ? Optional.empty() : Optional.of(new StoredResponse(responseId,
+						survey.getId(), "respondent", status, LocalDateTime.now(), LocalDateTime.now()));
+			}
+		};
+		ResponseSubmissionService submissions = new ResponseSubmissionService(definitions, null, batchWriter, null,
+				new ResponseDeadlineService(batchWriter, null, null, null), null, null, null) {
+			@Override
+			public int saveDrafts(Map<UUID, Draft> drafts) {
+				if (drafts.containsKey(refusedId)) {
+					throw new DataIntegrityViolationException("refused");
+				}
+				written.addAll(drafts.keySet());
+				return drafts.size();
+			}
+		};
+		DraftAnswerStore store = new DraftAnswerStore(null, null, new SurveyProperties()) {
+			@Override
+			public boolean save(UUID surveyId, UUID responseId, Collection<AnswerSubmission> answers) {
+				saved.add(responseId);
+				return true;
+			}
+
+			@Override
+			public Map<UUID, Long> idle(long savedBeforeMillis, int limit) {
+				return new LinkedHashMap<>(idle);
+			}
+
+			@Override
+			public Draft load(UUID responseId) {
+				return new Draft(survey.getId(), List.of());
+			}
+
+			@Override
+			public void flushed(Map<UUID, Long> responses) {
+				flushed.addAll(responses.keySet());
+			}
+		};
+		return new ResponseDraftService(definitions, submissions, store, new SurveyProperties());
+	}
+
+}
@@ -0,0 +1,154 @@
+package com.nopaper.work.survey.services;
+
+import static com.nopaper.work.survey.SurveyFixtures.survey;
+import static com.nopaper.work.survey.SurveyFixtures.question;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.entity.Question;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.errors.InvalidSubmissionException;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.payload.AnswerPayloadCodec;
+import com.nopaper.work.survey.repository.ResponseImportStager.StageRow;
+import com.nopaper.work.survey.services.ResponseImportService.ImportRecord;
+import com.nopaper.work.survey.services.ResponseImportService.ImportRun;
+import com.nopaper.work.survey.services.ResponseImportService.RecordReader;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class ResponseImportServiceTests {
+
+	private final CompiledSurvey survey = CompiledSurvey.compile(survey(
+			question(QuestionType.MULTIPLE_CHOICE, 1.0, 2.0),
+			question(QuestionType.NUMERIC)));
+
+	private final ImportRun run = new ImportRun(survey, new AnswerPayloadCodec(JsonMapper.builder().build()));
+	private final List<StageRow> rows = new ArrayList<>();
+
+	@Test
+	void headerMapsColumnsInAnyOrder() throws IOException {
+		int[] columns = ResponseImportService.readCsvHeader(
+				reader("\uFEFFvalue,question_id,extra,response_key\n"));
+
+		assertThat(columns).containsExactly(3, -1, 1, -1, 0, -1);
+	}
+
+	@Test
+	void headerWithoutQuestionIdIsRejected() {
+		assertThatThrownBy(() -> ResponseImportService.readCsvHeader(reader("response_key,value\n")))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("question_id");
+		assertThatThrownBy(() -> ResponseImportService.readCsvHeader(reader("")))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessage("Empty import file");
+	}
+
+	@Test
+	void quotedFieldsMaySpanLinesAndEscapeQuotes() throws IOException {
+		RecordReader records = reader("response_key,question_id,value\n"
+				+ "r1," + questionId(1) + ",\"4\"\n"
+				+ "\"r,2\"," + questionId(1) + ",\"line one\nsays \"\"hi\"\"\"\n"
+				+ "r3," + questionId(1) + ",5\n");
+		int[] columns = ResponseImportService.readCsvHeader(records);
+
+		assertThat(ResponseImportService.parseCsv(records.next(), columns).value()).isEqualTo("4");
+		assertThat(records.recordLineNo()).isEqualTo(2);
+		ImportRecord spanning = ResponseImportService.parseCsv(records.next(), columns);
+		assertThat(spanning.responseKey()).isEqualTo("r,2");
+		assertThat(spanning.value()).isEqualTo("line one\nsays \"hi\"");
+		assertThat(records.recordLineNo()).isEqualTo(3);
+		records.next();
+		assertThat(records.recordLineNo()).isEqualTo(5);
+		assertThat(records.next()).isNull();
+	}
+
+	@Test
+	void unterminatedQuotedFieldIsRejected() {
+		assertThatThrownBy(() -> ResponseImportService.splitCsv("r1,\"open"))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessage("Unterminated quoted field");
+	}
+
+	@Test
+	void stagesOneRowPerSelectedOption() {
+		run.collect(2, record("r1", questionId(0), List.of(optionId(0, 1)), null), rows);
+
+		assertThat(rows).singleElement().satisfies(row -> {
+			assertThat(row.lineNo()).isEqualTo(2);
+			assertThat(row.questionId()).isEqualTo(questionId(0));
+			assertThat(row.optionId()).isEqualTo(optionId(0, 1));
+		});
+	}
+
+	@Test
+	void rejectsAnUnknownQuestion() {
+		UUID unknown = UUID.randomUUID();
+
+		assertThatThrownBy(() -> run.collect(2, record("r1", unknown, List.of(), "1"), rows))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessage("Unknown question: " + unknown);
+	}
+
+	@Test
+	void rejectsAnOptionOfAnotherQuestion() {
+		assertThatThrownBy(() -> run.collect(2, record("r1", questionId(1), List.of(optionId(0, 0)), null), rows))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("does not belong to question " + questionId(1));
+	}
+
+	@Test
+	void rejectsABadNumber() {
+		assertThatThrownBy(() -> run.collect(2, record("r1", questionId(1), List.of(), "four"), rows))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("expects a number: four");
+	}
+
+	@Test
+	void rejectsAQuestionRepeatedWithinAResponse() {
+		run.collect(2, record("r1", questionId(1), List.of(), "4"), rows);
+		run.collect(3, record("r2", questionId(1), List.of(), "5"), rows);
+
+		assertThatThrownBy(() -> run.collect(4, record("r1", questionId(1), List.of(), "6"), rows))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessage("Question answered more than once: " + questionId(1));
+		assertThat(rows).extracting(StageRow::lineNo).containsExactly(2L, 3L);
+		assertThat(rows.get(0).responseId()).isNotEqualTo(rows.get(1).responseId());
+	}
+
+	@Test
+	void aRejectedRecordDoesNotClaimItsQuestion() {
+		assertThatThrownBy(() -> run.collect(2, record("r1", questionId(1), List.of(), "four"), rows))
+				.isInstanceOf(InvalidSubmissionException.class);
+
+		run.collect(3, record("r1", questionId(1), List.of(), "4"), rows);
+
+		assertThat(rows).extracting(StageRow::value).containsExactly("4");
+	}
+
+	private UUID questionId(int question) {
+		return survey.question(question).id();
+	}
+
+	private UUID optionId(int question, int option) {
+		return survey.option(survey.firstOption(question) + option).id();
+	}
+
+	private static ImportRecord record(String key, UUID questionId, List<UUID> optionIds, String value) {
+		return new ImportRecord(key, "respondent", questionId, optionIds, value, null);
+	}
+
+	private static RecordReader reader(String content) {
+		return new RecordReader(new BufferedReader(new StringReader(content)), true);
+	}
+
+}
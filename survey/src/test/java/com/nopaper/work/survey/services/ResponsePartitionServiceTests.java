@@ -0,0 +1,43 @@
+package com.nopaper.work.survey.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.repository.ResponsePartitionAdmin;
+
+class ResponsePartitionServiceTests {
+
+	@Test
+	void createsTheCurrentAndUpcomingMonthsThatAreMissing() {
+		List<YearMonth> existing = List.of(YearMonth.of(2026, 10), YearMonth.of(2026, 12));
+
+		assertThat(ResponsePartitionService.missing(existing, YearMonth.of(2026, 10), 3))
+				.containsExactly(YearMonth.of(2026, 11), YearMonth.of(2027, 1));
+		assertThat(ResponsePartitionService.missing(List.of(), YearMonth.of(2026, 10), 0))
+				.containsExactly(YearMonth.of(2026, 10));
+	}
+
+	@Test
+	void expiresMonthsBeforeTheRetentionWindowOldestFirst() {
+		List<YearMonth> existing = List.of(YearMonth.of(2026, 9), YearMonth.of(2026, 6), YearMonth.of(2026, 7),
+				YearMonth.of(2026, 10));
+
+		assertThat(ResponsePartitionService.expired(existing, YearMonth.of(2026, 10), 3))
+				.containsExactly(YearMonth.of(2026, 6));
+		assertThat(ResponsePartitionService.expired(existing, YearMonth.of(2026, 10), 1))
+				.containsExactly(YearMonth.of(2026, 6), YearMonth.of(2026, 7));
+	}
+
+	@Test
+	void windowStartsAtTheSurveysFirstMonth() {
+		assertThat(ResponsePartitionService.responseWindowStart(LocalDateTime.of(2026, 10, 17, 20, 32)))
+				.isEqualTo(LocalDateTime.of(2026, 10, 1, 0, 0));
+		assertThat(ResponsePartitionAdmin.partitionName("survey_response_answer", YearMonth.of(2027, 1)))
+				.isEqualTo("survey_response_answer_p202701");
+	}
+}
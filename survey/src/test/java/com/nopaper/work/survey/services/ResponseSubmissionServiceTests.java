@@ -0,0 +1,325 @@
+package com.nopaper.work.survey.services;
+
+import static com.nopaper.work.survey.SurveyFixtures.survey;
+import static com.nopaper.work.survey.SurveyFixtures.question;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nopaper.work.survey.config.SurveyProperties;
+import com.nopaper.work.survey.dto.AnswerSubmission;
+import com.nopaper.work.survey.dto.ResponseSession;
+import com.nopaper.work.survey.dto.ResponseStart;
+import com.nopaper.work.survey.dto.ResponseSubmission;
+import com.nopaper.work.survey.dto.SubmissionResult;
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.enums.ResponseStatus;
+import com.nopaper.work.survey.enums.ScoringType;
+import com.nopaper.work.survey.errors.InvalidSubmissionException;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.payload.AnswerPayloadCodec;
+import com.nopaper.work.survey.repository.ResponseBatchWriter;
+import com.nopaper.work.survey.repository.ResponseBatchWriter.AnswerRow;
+import com.nopaper.work.survey.repository.ResponseBatchWriter.ResponseRow;
+import com.nopaper.work.survey.repository.ResponseBatchWriter.StoredResponse;
+import com.nopaper.work.survey.scoring.AnswerSheet;
+import com.nopaper.work.survey.scoring.DynamicScoreEngine;
+import com.nopaper.work.survey.scoring.FixedScoreEngine;
+import com.nopaper.work.survey.scoring.FormulaBasedScoreEngine;
+import com.nopaper.work.survey.scoring.NoScoringEngine;
+import com.nopaper.work.survey.scoring.ResponseScorer;
+import com.nopaper.work.survey.scoring.ScoreCard;
+import com.nopaper.work.survey.scoring.WeightedScoreEngine;
+import com.nopaper.work.survey.services.DraftAnswerStore.Draft;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class ResponseSubmissionServiceTests {
+
+	private final CompiledSurvey survey = CompiledSurvey.compile(survey(
+			question(QuestionType.MULTIPLE_CHOICE, ScoringType.FIXED_SCORE, 1.0, 2.0, 4.0),
+			question(QuestionType.RANKING, ScoringType.NO_SCORING, 0.0, 0.0, 0.0),
+			question(QuestionType.NUMERIC, ScoringType.NO_SCORING)));
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private final List<ResponseRow> responses = new ArrayList<>();
+	private final List<AnswerRow> answers = new ArrayList<>();
+	private int recorded;
+	private final List<String> visitors = new ArrayList<>();
+	private final UUID startedId = UUID.randomUUID();
+	private Draft draft = new Draft(null, List.of());
+	private boolean redisDown;
+	private Collection<UUID> deletedQuestions = List.of();
+
+	private final ResponseSubmissionService service = service();
+
+	@Test
+	void storesAndScoresAValidSubmission() {
+		SubmissionResult result = service.submit(survey.getId(), submission(
+				answer(0, 0, 2), answer(1, 2, 0, 1)), "10.0.0.1", "test");
+
+		assertThat(result.answerCount()).isEqualTo(3);
+		assertThat(result.totalScore()).isEqualTo(5.0);
+		assertThat(responses).hasSize(1);
+		assertThat(answers).extracting(AnswerRow::questionId).containsExactly(
+				questionId(0), questionId(0), questionId(1));
+		assertThat(answers.get(0).score()).isEqualTo(5.0);
+		assertThat(recorded).isEqualTo(1);
+	}
+
+	@Test
+	void startCountsTheVisitor() {
+		ResponseSession session = service.start(survey.getId(), new ResponseStart("respondent"), "10.0.0.1", "test");
+
+		assertThat(session.deadline()).isNull();
+		assertThat(responses).extracting(ResponseRow::status).containsExactly(ResponseStatus.STARTED);
+		assertThat(visitors).containsExactly("respondent@10.0.0.1");
+		assertThat(recorded).isZero();
+	}
+
+	@Test
+	void rejectsAQuestionAnsweredTwice() {
+		assertThatThrownBy(() -> service.submit(survey.getId(), submission(
+				answer(0, 0), answer(1, 0, 1, 2), answer(0, 2)), "10.0.0.1", "test"))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("more than once");
+		assertNothingWritten();
+	}
+
+	@Test
+	void rejectsAnOptionSelectedTwice() {
+		assertThatThrownBy(() -> service.submit(survey.getId(), submission(answer(0, 2, 2)), "10.0.0.1", "test"))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("more than once");
+		assertNothingWritten();
+	}
+
+	@Test
+	void rejectsAnOptionRankedTwice() {
+		assertThatThrownBy(() -> service.submit(survey.getId(), submission(answer(1, 0, 1, 0, 2)), "10.0.0.1",
+				"test"))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("more than once");
+		assertNothingWritten();
+	}
+
+	@Test
+	void storesAClientPayloadReencodedForTheQuestionType() {
+		service.submit(survey.getId(), submission(new AnswerSubmission(questionId(2), List.of(), null,
+				jsonMapper.readTree("{\"value\": \"7\", \"script\": \"<b>\"}"), null)), "10.0.0.1", "test");
+
+		assertThat(answers).singleElement().satisfies(row -> {
+			assertThat(row.payload()).isEqualTo("{\"value\":7}");
+			assertThat(row.value()).isEqualTo("7.0");
+		});
+	}
+
+	@Test
+	void rejectsAPayloadThatDoesNotFitTheQuestion() {
+		assertThatThrownBy(() -> service.submit(survey.getId(), submission(new AnswerSubmission(questionId(2),
+				List.of(), null, jsonMapper.readTree("{\"value\": \"seven\"}"), null)), "10.0.0.1", "test"))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("does not fit");
+		assertThatThrownBy(() -> service.submit(survey.getId(), submission(new AnswerSubmission(questionId(2),
+				List.of(), null, jsonMapper.readTree("[7]"), null)), "10.0.0.1", "test"))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("does not fit");
+		assertNothingWritten();
+	}
+
+	@Test
+	void rejectsAPayloadContradictingTheAnswer() {
+		AnswerSubmission ranked = answer(1, 2, 0, 1);
+		String otherOrder = "{\"ranking\": [\"" + optionId(1, 0) + "\", \"" + optionId(1, 1) + "\", \""
+				+ optionId(1, 2) + "\"]}";
+
+		assertThatThrownBy(() -> service.submit(survey.getId(), submission(new AnswerSubmission(questionId(1),
+				ranked.optionIds(), null, jsonMapper.readTree(otherOrder), null)), "10.0.0.1", "test"))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("does not match the options");
+		assertThatThrownBy(() -> service.submit(survey.getId(), submission(new AnswerSubmission(questionId(2),
+				List.of(), "7", jsonMapper.readTree("{\"value\": 8}"), null)), "10.0.0.1", "test"))
+				.isInstanceOf(InvalidSubmissionException.class)
+				.hasMessageContaining("does not match the value");
+		assertNothingWritten();
+	}
+
+	@Test
+	void submitMergesCurrentDraftsAndSkipsStaleOnes() {
+		AnswerSubmission removed = new AnswerSubmission(UUID.randomUUID(), List.of(), "gone", null, null);
+		draft = new Draft(survey.getId(), List.of(removed, answer(1, 2, 0, 1)));
+
+		SubmissionResult result = service.submit(survey.getId(), new ResponseSubmission(startedId, "respondent",
+				null, List.of(answer(0, 0, 2))), "10.0.0.1", "test");
+
+		assertThat(result.answerCount()).isEqualTo(3);
+		assertThat(answers).extracting(AnswerRow::questionId).containsExactlyInAnyOrder(
+				questionId(0), questionId(0), questionId(1));
+	}
+
+	@Test
+	void submitGoesThroughWithoutTheDraftWhenRedisIsDown() {
+		draft = new Draft(survey.getId(), List.of(answer(1, 2, 0, 1)));
+		redisDown = true;
+
+		SubmissionResult result = service.submit(survey.getId(), new ResponseSubmission(startedId, "respondent",
+				null, List.of(answer(0, 0, 2))), "10.0.0.1", "test");
+
+		assertThat(result.answerCount()).isEqualTo(2);
+		assertThat(answers).extracting(AnswerRow::questionId).containsOnly(questionId(0));
+		// Rows flushed from the draft earlier are kept for the questions not answered now.
+		assertThat(deletedQuestions).containsExactly(questionId(0));
+	}
+
+	@Test
+	void submitIgnoresADraftSavedForAnotherSurvey() {
+		draft = new Draft(UUID.randomUUID(), List.of(answer(1, 2, 0, 1)));
+
+		SubmissionResult result = service.submit(survey.getId(), new ResponseSubmission(startedId, "respondent",
+				null, List.of(answer(0, 0, 2))), "10.0.0.1", "test");
+
+		assertThat(result.answerCount()).isEqualTo(2);
+		assertThat(answers).extracting(AnswerRow::questionId).containsOnly(questionId(0));
+	}
+
+	private void assertNothingWritten() {
+		assertThat(responses).isEmpty();
+		assertThat(answers).isEmpty();
+		assertThat(recorded).isZero();
+	}
+
+	/**
+	 * The service over in-memory stand-ins: no database, Redis or timers are
+	 * touched by an untimed submit; startedId is an open response whose
+	 * drafts are {@link #draft}.
+	 */
+	private ResponseSubmissionService service() {
+		SurveyDefinitionService definitions = new SurveyDefinitionService(null, null, null) {
+			@Override
+			public CompiledSurvey getCompiledSurvey(UUID surveyId) {
+				return survey;
+			}
+		};
+		ResponseScorer scorer = new ResponseScorer(List.of(new NoScoringEngine(), new FixedScoreEngine(),
+				new WeightedScoreEngine(), new DynamicScoreEngine(), new FormulaBasedScoreEngine()));
+		AnswerPayloadCodec payloadCodec = new AnswerPayloadCodec(jsonMapper);
+		ResponseBatchWriter batchWriter = new ResponseBatchWriter(null) {
+			@Override
+			public LocalDateTime insertResponse(ResponseRow row) {
+				responses.add(row);
+				return LocalDateTime.now();
+			}
+
+			@Override
+			public int insertAnswers(UUID responseId, LocalDateTime createdAt, List<AnswerRow> rows) {
+				answers.addAll(rows);
+				return rows.size();
+			}
+
+			@Override
+			public Optional<StoredResponse> findResponse(UUID responseId) {
+				return responseId.equals(startedId)
+						? Optional.of(new StoredResponse(startedId, survey.getId(), "respondent",
+								ResponseStatus.STARTED, LocalDateTime.now(), LocalDateTime.now()))
+						: Optional.empty();
+			}
+
+			@Override
+			public boolean completeResponse(ResponseRow row, LocalDateTime createdAt) {
+				responses.add(row);
+				return true;
+			}
+
+			@Override
+			public int deleteAnswers(UUID responseId, LocalDateTime createdAt, Collection<UUID> questionIds) {
+				deletedQuestions = questionIds;
+				return 0;
+			}
+		};
+		DraftAnswerStore draftStore = new DraftAnswerStore(null, null, new SurveyProperties()) {
+			@Override
+			public Draft load(UUID responseId) {
+				if (redisDown) {
+					throw new RedisConnectionFailureException("down");
+				}
+				return draft;
+			}
+
+			@Override
+			public void discard(UUID responseId) {
+			}
+		};
+		SurveyStatsService statsService = new SurveyStatsService(null, null, null, null, null, null, null, null,
+				null, null) {
+			@Override
+			public void record(CompiledSurvey survey, AnswerSheet sheet, ScoreCard card, String respondentId,
+					String ipAddress) {
+				recorded++;
+			}
+
+			@Override
+			public void recordVisitor(CompiledSurvey survey, String respondentId, String ipAddress) {
+				visitors.add(respondentId + "@" + ipAddress);
+			}
+		};
+		// Runs the write callbacks with synchronization, so after-commit work runs on commit.
+		TransactionTemplate transactions = new TransactionTemplate(new AbstractPlatformTransactionManager() {
+			@Override
+			protected Object doGetTransaction() {
+				return new Object();
+			}
+
+			@Override
+			protected void doBegin(Object transaction, TransactionDefinition definition) {
+			}
+
+			@Override
+			protected void doCommit(DefaultTransactionStatus status) {
+			}
+
+			@Override
+			protected void doRollback(DefaultTransactionStatus status) {
+			}
+		});
+		return new ResponseSubmissionService(definitions,
+				new ResponseScoringService(definitions, scorer, payloadCodec), batchWriter, statsService,
+				new ResponseDeadlineService(batchWriter, null, null, null), draftStore, payloadCodec,
+				transactions);
+	}
+
+	private UUID questionId(int question) {
+		return survey.question(question).id();
+	}
+
+	private UUID optionId(int question, int option) {
+		return survey.option(survey.firstOption(question) + option).id();
+	}
+
+	private AnswerSubmission answer(int question, int... options) {
+		int first = survey.firstOption(question);
+		List<UUID> optionIds = new ArrayList<>();
+		for (int option : options) {
+			optionIds.add(survey.option(first + option).id());
+		}
+		return new AnswerSubmission(questionId(question), optionIds, null, null, null);
+	}
+
+	private static ResponseSubmission submission(AnswerSubmission... answers) {
+		return new ResponseSubmission(null, "respondent", null, List.of(answers));
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.nopaper.work.survey.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTests {
+
+	@Test
+	void estimatesAreWithinStandardError() {
+		HyperLogLog small = new HyperLogLog();
+		HyperLogLog large = new HyperLogLog();
+		for (int i = 0; i < 1_000; i++) {
+			small.add("respondent-" + i);
+			small.add("respondent-" + i);
+		}
+		for (int i = 0; i < 1_000_000; i++) {
+			large.add("10.0." + i);
+		}
+
+		assertThat(small.estimate()).isCloseTo(1_000L, within(20L));
+		assertThat(large.estimate()).isCloseTo(1_000_000L, within(50_000L));
+	}
+
+	@Test
+	void mergedAndRoundTrippedSketchesEstimateTheUnion() {
+		HyperLogLog left = new HyperLogLog();
+		HyperLogLog right = new HyperLogLog();
+		for (int i = 0; i < 60_000; i++) {
+			left.add("user-" + i);
+			right.add("user-" + (i + 30_000));
+		}
+
+		HyperLogLog merged = HyperLogLog.fromBytes(left.toBytes());
+		merged.merge(HyperLogLog.fromBytes(right.toBytes()));
+
+		assertThat(merged.estimate()).isCloseTo(90_000L, within(4_500L));
+		assertThat(left.toBytes()).hasSize(3 + 4096 * 6 / 8);
+	}
+
+	@Test
+	void sparseSketchesSerializeCompactly() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 10; i++) {
+			sketch.add("visitor-" + i);
+		}
+		sketch.add(null);
+
+		byte[] bytes = sketch.toBytes();
+
+		assertThat(bytes.length).isLessThan(40);
+		assertThat(HyperLogLog.fromBytes(bytes).estimate()).isEqualTo(10L);
+		assertThat(sketch.takeAndReset().estimate()).isEqualTo(10L);
+		assertThat(sketch.isEmpty()).isTrue();
+	}
+}
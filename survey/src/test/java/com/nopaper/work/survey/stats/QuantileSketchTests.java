@@ -0,0 +1,58 @@
+package com.nopaper.work.survey.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTests {
+
+	@Test
+	void quantilesOfUniformValuesAreWithinRankError() {
+		QuantileSketch sketch = new QuantileSketch();
+		for (int i = 0; i < 100_000; i++) {
+			sketch.update(i);
+		}
+
+		assertThat(sketch.count()).isEqualTo(100_000);
+		assertThat(sketch.min()).isZero();
+		assertThat(sketch.max()).isEqualTo(99_999.0);
+		assertThat(sketch.quantile(0.5)).isCloseTo(50_000.0, within(1_000.0));
+		assertThat(sketch.quantile(0.9)).isCloseTo(90_000.0, within(1_000.0));
+		assertThat(sketch.retained()).isLessThan(1_000);
+	}
+
+	@Test
+	void mergedAndRoundTrippedSketchesMatchASingleSketch() {
+		Random random = new Random(7);
+		QuantileSketch left = new QuantileSketch();
+		QuantileSketch right = new QuantileSketch();
+		for (int i = 0; i < 50_000; i++) {
+			left.update(random.nextDouble() * 100.0);
+			right.update(100.0 + random.nextDouble() * 100.0);
+		}
+
+		QuantileSketch merged = QuantileSketch.fromBytes(left.toBytes());
+		merged.merge(QuantileSketch.fromBytes(right.toBytes()));
+
+		assertThat(merged.count()).isEqualTo(100_000);
+		assertThat(merged.quantile(0.5)).isCloseTo(100.0, within(2.0));
+		assertThat(merged.quantile(0.25)).isCloseTo(50.0, within(2.0));
+	}
+
+	@Test
+	void takeAndResetEmptiesTheSketch() {
+		QuantileSketch sketch = new QuantileSketch();
+		sketch.update(3.0);
+		sketch.update(Double.NaN);
+
+		QuantileSketch taken = sketch.takeAndReset();
+
+		assertThat(taken.count()).isEqualTo(1);
+		assertThat(taken.quantile(0.5)).isEqualTo(3.0);
+		assertThat(sketch.count()).isZero();
+		assertThat(sketch.quantile(0.5)).isNaN();
+	}
+}
@@ -0,0 +1,60 @@
+package com.nopaper.work.survey.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class RankAggregateTests {
+
+	private final UUID a = UUID.randomUUID();
+	private final UUID b = UUID.randomUUID();
+	private final UUID c = UUID.randomUUID();
+
+	@Test
+	void derivesBordaMeanRankAndPreferences() {
+		RankAggregate aggregate = new RankAggregate(new UUID[] {a, b, c});
+		aggregate.add(new int[] {0, 1, 2}, 0, 3);
+		aggregate.add(new int[] {1, 0, 2}, 0, 3);
+		aggregate.add(new int[] {9, 0, 2}, 1, 2);
+
+		assertThat(aggregate.responses()).isEqualTo(3);
+		assertThat(aggregate.bordaScores()).containsExactly(5, 3, 1);
+		assertThat(aggregate.meanRanks()).containsExactly(4.0 / 3, 1.5, 8.0 / 3);
+		assertThat(aggregate.preferences()[0]).containsExactly(0, 2, 3);
+		assertThat(aggregate.preferences()[1]).containsExactly(1, 0, 2);
+		assertThat(aggregate.preferences()[2]).containsExactly(0, 1, 0);
+	}
+
+	@Test
+	void skipsRepeatedAndUnknownOptionsOfAnOverlongRanking() {
+		RankAggregate aggregate = new RankAggregate(new UUID[] {a, b, c});
+		aggregate.add(new int[] {1, 1, 3, 0, 1, 2, 0}, 0, 7);
+
+		assertThat(aggregate.responses()).isEqualTo(1);
+		assertThat(aggregate.positions()[0]).containsExactly(0, 1, 0);
+		assertThat(aggregate.positions()[1]).containsExactly(1, 0, 0);
+		assertThat(aggregate.positions()[2]).containsExactly(0, 0, 1);
+		assertThat(aggregate.preferences()[0]).containsExactly(0, 0, 1);
+		assertThat(aggregate.preferences()[1]).containsExactly(1, 0, 1);
+		assertThat(aggregate.preferences()[2]).containsExactly(0, 0, 0);
+	}
+
+	@Test
+	void plusAlignsOptionsByIdAndRoundTrips() {
+		RankAggregate left = new RankAggregate(new UUID[] {a, b});
+		left.add(new int[] {1, 0}, 0, 2);
+		RankAggregate right = new RankAggregate(new UUID[] {b, c});
+		right.add(new int[] {0, 1}, 0, 2);
+
+		RankAggregate sum = RankAggregate.fromBytes(left.toBytes()).plus(RankAggregate.fromBytes(right.toBytes()));
+
+		assertThat(sum.optionIds()).containsExactly(a, b, c);
+		assertThat(sum.responses()).isEqualTo(2);
+		assertThat(sum.positions()[1]).containsExactly(2, 0, 0);
+		assertThat(sum.preferences()[1]).containsExactly(1, 0, 1);
+		assertThat(left.takeAndReset().responses()).isEqualTo(1);
+		assertThat(left.responses()).isZero();
+	}
+}
@@ -0,0 +1,87 @@
+package com.nopaper.work.survey.stats;
+
+import static com.nopaper.work.survey.SurveyFixtures.survey;
+import static com.nopaper.work.survey.SurveyFixtures.question;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.enums.QuestionType;
+import com.nopaper.work.survey.model.CompiledSurvey;
+import com.nopaper.work.survey.scoring.AnswerSheet;
+import com.nopaper.work.survey.scoring.DynamicScoreEngine;
+import com.nopaper.work.survey.scoring.FixedScoreEngine;
+import com.nopaper.work.survey.scoring.FormulaBasedScoreEngine;
+import com.nopaper.work.survey.scoring.NoScoringEngine;
+import com.nopaper.work.survey.scoring.ResponseScorer;
+import com.nopaper.work.survey.scoring.ScoreCard;
+import com.nopaper.work.survey.scoring.WeightedScoreEngine;
+
+class SurveyCountersTests {
+
+	private final ResponseScorer scorer = new ResponseScorer(List.of(
+			new NoScoringEngine(),
+			new FixedScoreEngine(),
+			new WeightedScoreEngine(),
+			new DynamicScoreEngine(),
+			new FormulaBasedScoreEngine()));
+
+	@Test
+	void countsSelectionsAnswersAndScores() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(
+				question(QuestionType.SINGLE_CHOICE, 0.0, 5.0),
+				question(QuestionType.MULTIPLE_CHOICE, 1.0, 2.0, 3.0)));
+		SurveyCounters counters = new SurveyCounters(survey);
+
+		counters.add(tally(survey, 1));
+		counters.add(tally(survey, 1, 3, 4));
+
+		assertThat(counters.responseCount()).isEqualTo(2);
+		assertThat(counters.totalScoreSum()).isEqualTo(15.0);
+		assertThat(counters.answerCount(0)).isEqualTo(2);
+		assertThat(counters.answerCount(1)).isEqualTo(1);
+		assertThat(counters.questionScoreSum(0)).isEqualTo(10.0);
+		assertThat(counters.questionScoreSum(1)).isEqualTo(5.0);
+		assertThat(counters.optionCount(0)).isZero();
+		assertThat(counters.optionCount(1)).isEqualTo(2);
+		assertThat(counters.optionCount(3)).isEqualTo(1);
+		assertThat(counters.sectionScoreSum(0)).isEqualTo(15.0);
+	}
+
+	@Test
+	void drainMovesIncrementsOutAndResets() {
+		CompiledSurvey survey = CompiledSurvey.compile(survey(
+				question(QuestionType.SINGLE_CHOICE, 0.0, 5.0)));
+		SurveyCounters counters = new SurveyCounters(survey);
+		counters.add(tally(survey, 1));
+
+		Map<UUID, Long> counts = new HashMap<>();
+		assertThat(counters.drain((itemId, type, count, sum) -> counts.put(itemId, count))).isTrue();
+
+		assertThat(counts).containsEntry(survey.getId(), 1L)
+				.containsEntry(survey.question(0).id(), 1L)
+				.containsEntry(survey.option(1).id(), 1L)
+				.doesNotContainKey(survey.option(0).id());
+		assertThat(counters.responseCount()).isZero();
+		assertThat(counters.drain((itemId, type, count, sum) -> counts.put(itemId, -1L))).isFalse();
+	}
+
+	/**
+	 * Tally of a response selecting the given option ordinals.
+	 */
+	private ResponseTally tally(CompiledSurvey survey, int... options) {
+		AnswerSheet sheet = new AnswerSheet();
+		sheet.reset(survey.questionCount());
+		for (int option : options) {
+			sheet.addSelection(survey.optionQuestion(option), option);
+		}
+		ScoreCard card = new ScoreCard();
+		scorer.score(survey, sheet, card);
+		return ResponseTally.of(survey, sheet, card);
+	}
+}
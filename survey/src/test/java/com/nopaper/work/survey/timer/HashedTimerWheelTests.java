@@ -0,0 +1,78 @@
+package com.nopaper.work.survey.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.survey.timer.HashedTimerWheel.Timer;
+
+class HashedTimerWheelTests {
+
+	private static final long START = 1_000_000;
+
+	@Test
+	void firesEachTimerOnceWithinATickAfterItsDeadline() {
+		HashedTimerWheel<Integer> wheel = new HashedTimerWheel<>(100, 8, START);
+		Random random = new Random(42);
+		Map<Integer, Long> deadlines = new HashMap<>();
+		for (int i = 0; i < 2_000; i++) {
+			long deadline = START + random.nextInt(10_000);
+			deadlines.put(i, deadline);
+			wheel.schedule(i, deadline);
+		}
+
+		List<Integer> fired = new ArrayList<>();
+		for (long now = START; now <= START + 10_100; now += 30) {
+			for (int item : wheel.advance(now)) {
+				assertThat(now).isGreaterThanOrEqualTo(deadlines.get(item)).isLessThan(deadlines.get(item) + 100 + 30);
+				fired.add(item);
+			}
+		}
+		assertThat(fired).hasSize(2_000).doesNotHaveDuplicates();
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void cancelledTimersNeverFire() {
+		HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 4, START);
+		Timer<String> cancelled = wheel.schedule("cancelled", START + 250);
+		wheel.schedule("kept", START + 250);
+		Timer<String> late = wheel.schedule("late", START + 5_000);
+
+		assertThat(cancelled.cancel()).isTrue();
+		assertThat(cancelled.cancel()).isFalse();
+		assertThat(wheel.advance(START + 300)).containsExactly("kept");
+
+		late.cancel();
+		assertThat(wheel.advance(START + 10_000)).isEmpty();
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void pastDeadlinesFireOnTheNextTick() {
+		HashedTimerWheel<String> wheel = new HashedTimerWheel<>(1_000, 16, START);
+		assertThat(wheel.advance(START + 5_500)).isEmpty();
+
+		Timer<String> overdue = wheel.schedule("overdue", START);
+		assertThat(wheel.advance(START + 5_900)).isEmpty();
+		assertThat(wheel.nextTickMillis()).isEqualTo(START + 6_000);
+		assertThat(wheel.advance(START + 6_000)).containsExactly("overdue");
+		assertThat(overdue.isExpired()).isTrue();
+		assertThat(overdue.cancel()).isFalse();
+	}
+
+	@Test
+	void timersSeveralRevolutionsAwayWaitForTheirRound() {
+		HashedTimerWheel<String> wheel = new HashedTimerWheel<>(10, 4, START);
+		wheel.schedule("far", START + 1_000);
+
+		assertThat(wheel.advance(START + 990)).isEmpty();
+		assertThat(wheel.advance(START + 1_000)).containsExactly("far");
+	}
+}